@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Stack;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the run queue of a strand group when many threads schedule items into it, such as when the workers of a
+ * function are resumed from other threads, while the thread executing the group takes the items. The lock-free
+ * {@link ItemGroup} runs next to the {@link Stack} the group used before, in the same run. The score is the time
+ * taken to move {@value #ITEMS_PER_PRODUCER} items from each producer through the run queue.
+ * <p>
+ * The benchmark is in the package of {@link ItemGroup}, as the group is not visible outside the scheduler.
+ *
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ItemGroupBenchmark {
+
+    private static final int ITEMS_PER_PRODUCER = 10_000;
+    private static final Function<Object[], Object> FUNCTION = params -> null;
+
+    @Param({"lock-free", "stack"})
+    private String implementation;
+
+    @Param({"1", "2", "4", "8"})
+    private int producers;
+
+    private ExecutorService executor;
+    private SchedulerItem[][] items;
+    private RunQueue queue;
+
+    @Setup
+    public void setup() {
+        executor = Executors.newFixedThreadPool(producers);
+        // Each item is pushed once per invocation, and is popped before it is pushed again.
+        items = new SchedulerItem[producers][ITEMS_PER_PRODUCER];
+        for (SchedulerItem[] producerItems : items) {
+            for (int i = 0; i < producerItems.length; i++) {
+                producerItems[i] = new SchedulerItem(FUNCTION, null, null);
+            }
+        }
+        // The queue is empty again at the end of each invocation.
+        queue = "stack".equals(implementation) ? new StackRunQueue() : new LockFreeRunQueue();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Pushes the items from all the producers, while the benchmark thread pops them as the thread executing the
+     * group does.
+     *
+     * @return the number of items popped
+     */
+    @Benchmark
+    public int pushFromProducers() {
+        RunQueue runQueue = queue;
+        CountDownLatch start = new CountDownLatch(1);
+        for (SchedulerItem[] producerItems : items) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (SchedulerItem item : producerItems) {
+                    runQueue.add(item);
+                }
+            });
+        }
+        start.countDown();
+
+        int expected = producers * ITEMS_PER_PRODUCER;
+        int popped = 0;
+        while (popped < expected) {
+            if (runQueue.get() != null) {
+                popped++;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        return popped;
+    }
+
+    private interface RunQueue {
+
+        void add(SchedulerItem item);
+
+        SchedulerItem get();
+    }
+
+    private static class LockFreeRunQueue implements RunQueue {
+
+        private final ItemGroup group = new ItemGroup(null);
+
+        @Override
+        public void add(SchedulerItem item) {
+            group.add(item);
+        }
+
+        @Override
+        public SchedulerItem get() {
+            return group.get();
+        }
+    }
+
+    /**
+     * The run queue of {@link ItemGroup} before it was made lock-free.
+     */
+    private static class StackRunQueue implements RunQueue {
+
+        private final Stack<SchedulerItem> items = new Stack<>();
+
+        @Override
+        public void add(SchedulerItem item) {
+            items.push(item);
+        }
+
+        @Override
+        public SchedulerItem get() {
+            // Only the executing thread pops, so the stack cannot become empty between the check and the pop.
+            return items.empty() ? null : items.pop();
+        }
+    }
+}
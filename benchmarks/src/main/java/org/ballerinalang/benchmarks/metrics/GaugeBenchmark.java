@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks.metrics;
+
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
+import org.ballerinalang.observe.metrics.extension.defaultimpl.DefaultMetricProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures updates of a gauge shared by many threads, such as the response time gauge of a resource, which is
+ * summarized over three time windows. Compare the throughput of the benchmarks with 1, 8 and 32 threads to see how
+ * the updates scale.
+ *
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class GaugeBenchmark {
+
+    private Gauge gauge;
+
+    @Setup
+    public void setup() {
+        StatisticConfig[] statisticConfigs = new StatisticConfig[3];
+        int[] windowMinutes = {1, 5, 15};
+        for (int i = 0; i < windowMinutes.length; i++) {
+            statisticConfigs[i] = StatisticConfig.builder()
+                    .expiry(Duration.ofMinutes(windowMinutes[i]))
+                    .percentiles(StatisticConfig.DEFAULT.getPercentiles())
+                    .build();
+        }
+        gauge = new DefaultMetricProvider().newGauge(new MetricId("response_time_seconds", "Response time",
+                                                                  Collections.emptySet()), statisticConfigs);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void setValue1Thread() {
+        setValue();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void setValue8Threads() {
+        setValue();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void setValue32Threads() {
+        setValue();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void incrementAndDecrement32Threads() {
+        gauge.increment();
+        gauge.decrement();
+    }
+
+    private void setValue() {
+        gauge.setValue(ThreadLocalRandom.current().nextDouble(0.001, 1));
+    }
+}
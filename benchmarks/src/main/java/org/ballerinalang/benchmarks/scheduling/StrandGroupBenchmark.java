@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks.scheduling;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import io.ballerina.runtime.internal.values.FPValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the cost of scheduling and running worker strands that share the strand group of their parent, which is
+ * what a function with many named workers does. Compare the results against a build of the previous revision to see
+ * the effect of a change to the strand group run queue.
+ *
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class StrandGroupBenchmark {
+
+    private static final StrandMetadata METADATA = new StrandMetadata("$anon", ".", "0.0.0", "main");
+
+    @Param({"10", "100", "1000"})
+    private int workers;
+
+    private FPValue<Object[], Object> workerFunction;
+    private Function<Object[], Object> mainFunction;
+    private Scheduler scheduler;
+
+    @Setup
+    public void setup() {
+        workerFunction = new FPValue<>(params -> null, null, "worker", false);
+        mainFunction = params -> {
+            Strand parent = (Strand) params[0];
+            for (int i = 0; i < workers; i++) {
+                scheduler.scheduleLocal(new Object[1], workerFunction, parent, PredefinedTypes.TYPE_NULL, "worker",
+                                        METADATA);
+            }
+            return null;
+        };
+    }
+
+    /**
+     * A scheduler stops once all its strands are done, so each invocation needs a new one. Creating it here keeps
+     * its construction out of the measurement.
+     */
+    @Setup(Level.Invocation)
+    public void createScheduler() {
+        // a single executor thread keeps thread start up out of the measurement
+        scheduler = new Scheduler(1, false);
+        scheduler.schedule(new Object[1], mainFunction, null, null, "main", METADATA);
+    }
+
+    @Benchmark
+    public void runLocalWorkers() {
+        scheduler.start();
+    }
+}
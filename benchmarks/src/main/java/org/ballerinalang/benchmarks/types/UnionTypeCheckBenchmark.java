@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.benchmarks.types;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures `is` checks of values against union types, such as the checks done when a json payload is matched in a
+ * match statement, or when the result of a function returning `T|error` is checked for an error.
+ *
+ * @since 2.0.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class UnionTypeCheckBenchmark {
+
+    @Param({"json", "anydata", "int|string|error", "map<json>|error"})
+    private String targetType;
+
+    private Type target;
+    private Object[] values;
+
+    @Setup
+    public void setup() {
+        Type jsonMap = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
+        switch (targetType) {
+            case "json":
+                target = PredefinedTypes.TYPE_JSON;
+                break;
+            case "anydata":
+                target = PredefinedTypes.TYPE_ANYDATA;
+                break;
+            case "int|string|error":
+                target = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING,
+                                                             PredefinedTypes.TYPE_ERROR));
+                break;
+            default:
+                target = TypeCreator.createUnionType(List.of(jsonMap, PredefinedTypes.TYPE_ERROR));
+                break;
+        }
+        MapValueImpl<Object, Object> map = new MapValueImpl<>(jsonMap);
+        map.put(StringUtils.fromString("id"), 1L);
+        values = new Object[]{1L, StringUtils.fromString("value"), null, true, 1.5d, map,
+                ErrorCreator.createError(StringUtils.fromString("failed"))};
+    }
+
+    @Benchmark
+    public void checkIsType(Blackhole blackhole) {
+        for (Object value : values) {
+            blackhole.consume(TypeChecker.checkIsType(value, TypeChecker.getType(value), target));
+        }
+    }
+}
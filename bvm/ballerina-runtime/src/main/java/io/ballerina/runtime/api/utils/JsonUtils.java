@@ -28,6 +28,7 @@ import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.api.values.BTable;
 import io.ballerina.runtime.internal.JsonGenerator;
 import io.ballerina.runtime.internal.JsonParser;
+import io.ballerina.runtime.internal.Utf8JsonParser;
 import io.ballerina.runtime.internal.values.ErrorValue;
 
 import java.io.IOException;
@@ -67,6 +68,77 @@ public class JsonUtils {
         return JsonParser.parse(in, charsetName);
     }
 
+    /**
+     * Parses the given UTF-8 encoded bytes and returns a json.
+     *
+     * @param jsonBytes the bytes which contain the JSON content
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] jsonBytes) throws BError {
+        return Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length, NonStringValueProcessingMode.FROM_JSON_STRING);
+    }
+
+    /**
+     * Parses the given UTF-8 encoded bytes and returns a json.
+     *
+     * @param jsonBytes the bytes which contain the JSON content
+     * @param mode      the mode to use when processing numeric values
+     * @return JSON   value if parsing is successful
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] jsonBytes, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        return Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length, mode);
+    }
+
+    /**
+     * Parses the contents in the given {@link InputStream} directly into a value of the given type.
+     *
+     * @param in          input stream which contains the JSON content
+     * @param charsetName the character set name of the input stream
+     * @param targetType  the type to parse the content into, for which {@link #canParseAs(Type)} is true
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(InputStream in, String charsetName, Type targetType) throws BError {
+        return JsonParser.parse(in, charsetName, targetType);
+    }
+
+    /**
+     * Parses the given UTF-8 encoded bytes directly into a value of the given type.
+     *
+     * @param jsonBytes  the bytes which contain the JSON content
+     * @param targetType the type to parse the content into, for which {@link #canParseAs(Type)} is true
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(byte[] jsonBytes, Type targetType) throws BError {
+        return Utf8JsonParser.parse(jsonBytes, 0, jsonBytes.length, targetType);
+    }
+
+    /**
+     * Parses the contents in the given string directly into a value of the given type.
+     *
+     * @param jsonStr    the string which contains the JSON content
+     * @param targetType the type to parse the content into, for which {@link #canParseAs(Type)} is true
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(String jsonStr, Type targetType) throws BError {
+        return JsonParser.parse(jsonStr, targetType);
+    }
+
+    /**
+     * Checks whether JSON content can be parsed directly into a value of the given type, instead of parsing it into a
+     * json and converting that.
+     *
+     * @param targetType the type to check
+     * @return true if the type is supported by the parse functions which take a target type
+     */
+    public static boolean canParseAs(Type targetType) {
+        return JsonParser.canParseAs(targetType);
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
@@ -24,6 +24,10 @@ import java.util.ArrayDeque;
 
 /**
  * {@code VarLock} represents lock object for variables in jvm.
+ * <p>
+ * The lock can be acquired in exclusive mode by regions that modify the locked variables, or in shared mode by
+ * regions that only read them. Both modes are reentrant for the strand holding the lock exclusively. Waiting
+ * exclusive requests are preferred over new shared requests, so that writers are not starved by a stream of readers.
  *
  * @since 1.0.0
  */
@@ -31,41 +35,163 @@ public class BLock {
 
     private ArrayDeque<Strand> current;
 
+    private ArrayDeque<Strand> sharedHolders;
+
     private ArrayDeque<Strand> waitingForLock;
 
+    private ArrayDeque<Strand> waitingForSharedLock;
+
+    /**
+     * Strand that was unblocked to acquire the lock in exclusive mode. The lock is reserved for it until it retries.
+     */
+    private Strand wokenStrand;
+
+    /**
+     * Lock store this lock belongs to, if any.
+     */
+    final BLockStore lockStore;
+
+    private final BLockStatistics statistics = new BLockStatistics();
+
     public BLock() {
+        this(null);
+    }
+
+    BLock(BLockStore lockStore) {
+        this.lockStore = lockStore;
         this.current = new ArrayDeque<>();
+        this.sharedHolders = new ArrayDeque<>();
         this.waitingForLock = new ArrayDeque<>();
+        this.waitingForSharedLock = new ArrayDeque<>();
     }
 
     public synchronized boolean lock(Strand strand) {
-        if (isLockFree() || lockedBySameContext(strand)) {
+        if (wokenStrand == strand) {
+            wokenStrand = null;
+            strand.reservedLock = null;
+        }
+        if (lockedBySameContext(strand) || (wokenStrand == null && isLockFree())) {
             this.current.offerLast(strand);
+            acquired(strand);
             return true;
         }
 
         this.waitingForLock.offerLast(strand);
+        block(strand);
+        return false;
+    }
 
-        // Strand state change
-        strand.setState(State.BLOCK_AND_YIELD);
-        strand.blockedOnExtern = false;
+    public synchronized boolean lockShared(Strand strand) {
+        if (lockedBySameContext(strand)) {
+            // Already holds the lock exclusively, hence treated as a reentrant exclusive acquisition.
+            this.current.offerLast(strand);
+            acquired(strand);
+            return true;
+        }
+        if (this.current.isEmpty() && wokenStrand == null && this.waitingForLock.isEmpty()) {
+            this.sharedHolders.offerLast(strand);
+            acquired(strand);
+            return true;
+        }
+
+        this.waitingForSharedLock.offerLast(strand);
+        block(strand);
         return false;
     }
 
     public synchronized void unlock() {
         //current cannot be empty as unlock cannot be called without lock being called first.
-        this.current.removeLast();
-        if (!waitingForLock.isEmpty()) {
-            Strand strand = this.waitingForLock.removeFirst();
+        released(this.current.removeLast());
+        if (this.current.isEmpty()) {
+            unblockWaitingStrands();
+        }
+    }
+
+    public synchronized void unlockShared(Strand strand) {
+        if (lockedBySameContext(strand)) {
+            unlock();
+            return;
+        }
+        this.sharedHolders.removeLastOccurrence(strand);
+        released(strand);
+        if (this.sharedHolders.isEmpty()) {
+            unblockWaitingStrands();
+        }
+    }
+
+    /**
+     * Releases the reservation held by a woken strand that will not retry the lock, e.g. because it was cancelled or
+     * panicked after it was unblocked, and wakes up the next waiting strands.
+     *
+     * @param strand strand that completed without retrying the lock
+     */
+    public synchronized void releaseReservation(Strand strand) {
+        if (wokenStrand != strand) {
+            return;
+        }
+        wokenStrand = null;
+        strand.reservedLock = null;
+        if (isLockFree()) {
+            unblockWaitingStrands();
+        }
+    }
+
+    public BLockStatistics getStatistics() {
+        return statistics;
+    }
+
+    private void acquired(Strand strand) {
+        if (strand.acquiredLocks == null) {
+            strand.acquiredLocks = new ArrayDeque<>();
+        }
+        strand.acquiredLocks.offerLast(this);
+        if (strand.lockWaitStartTime != 0) {
+            statistics.recordWait(System.nanoTime() - strand.lockWaitStartTime);
+            strand.lockWaitStartTime = 0;
+        }
+    }
+
+    private void released(Strand strand) {
+        strand.acquiredLocks.removeLastOccurrence(this);
+    }
+
+    private void block(Strand strand) {
+        if (strand.lockWaitStartTime == 0) {
+            strand.lockWaitStartTime = System.nanoTime();
+        }
+        updateQueueLength();
+        // Strand state change
+        strand.setState(State.BLOCK_AND_YIELD);
+        strand.blockedOnExtern = false;
+    }
+
+    private void unblockWaitingStrands() {
+        if (!this.sharedHolders.isEmpty() || wokenStrand != null) {
+            return;
+        }
+        if (!this.waitingForLock.isEmpty()) {
+            wokenStrand = this.waitingForLock.removeFirst();
+            wokenStrand.reservedLock = this;
+            updateQueueLength();
+            wokenStrand.scheduler.unblockStrand(wokenStrand);
+            return;
+        }
+        while (!this.waitingForSharedLock.isEmpty()) {
+            Strand strand = this.waitingForSharedLock.removeFirst();
             strand.scheduler.unblockStrand(strand);
         }
+        updateQueueLength();
+    }
+
+    private void updateQueueLength() {
+        statistics.updateQueueLength(this.waitingForLock.size() + this.waitingForSharedLock.size());
     }
 
     public boolean isLockFree() {
-        return this.current.isEmpty();
+        return this.current.isEmpty() && this.sharedHolders.isEmpty();
     }
 
     public boolean lockedBySameContext(Strand ctx) {
-        return this.current.getLast() == ctx;
+        return !this.current.isEmpty() && this.current.getLast() == ctx;
     }
 }
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package io.ballerina.runtime.internal;
+
+/**
+ * Contention statistics of a {@link BLock}. Updated while holding the monitor of the lock and read without
+ * synchronization by the metrics reporters.
+ *
+ * @since 2.0.0
+ */
+public class BLockStatistics {
+
+    private volatile long contendedAcquisitions;
+    private volatile long totalWaitTimeNanos;
+    private volatile int queueLength;
+    private volatile int maxQueueLength;
+
+    void updateQueueLength(int queueLength) {
+        this.queueLength = queueLength;
+        if (queueLength > maxQueueLength) {
+            maxQueueLength = queueLength;
+        }
+    }
+
+    void recordWait(long waitTimeNanos) {
+        contendedAcquisitions++;
+        totalWaitTimeNanos += waitTimeNanos;
+    }
+
+    /**
+     * @return number of acquisitions which had to wait for the lock
+     */
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions;
+    }
+
+    /**
+     * @return total time in nanoseconds strands have waited for the lock
+     */
+    public long getTotalWaitTimeNanos() {
+        return totalWaitTimeNanos;
+    }
+
+    /**
+     * @return number of strands currently waiting for the lock
+     */
+    public int getQueueLength() {
+        return queueLength;
+    }
+
+    /**
+     * @return maximum number of strands that have waited for the lock at the same time
+     */
+    public int getMaxQueueLength() {
+        return maxQueueLength;
+    }
+}
@@ -21,43 +21,116 @@ package io.ballerina.runtime.internal;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.internal.scheduling.Strand;
 import io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
 
+import java.io.PrintStream;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
 
 /**
+ * Holds the global locks of a module. The contention statistics of each lock are published as metrics if metrics
+ * are enabled by the time the lock is first used.
  *
  * @since 1.2.0
  */
 public class BLockStore {
 
+    private static final String TAG_KEY_MODULE = "module";
+    private static final String TAG_KEY_LOCK = "lock";
+
+    private static final PrintStream consoleError = System.err;
+
     /**
      * The map of locks inferred.
      */
     private  Map<String, BLock> globalLockMap;
 
+    private final String moduleName;
+
     public BLockStore() {
+        this("");
+    }
+
+    public BLockStore(String moduleName) {
+        this.moduleName = moduleName;
         globalLockMap = new ConcurrentHashMap<>();
     }
 
     public void addLockToMap(String lockName) {
-        globalLockMap.put(lockName, new BLock());
+        globalLockMap.put(lockName, createLock(lockName));
     }
 
     public BLock getLockFromMap(String lockName) {
-        return globalLockMap.computeIfAbsent(lockName, (k) -> {
-            return new BLock();
-        });
+        BLock lock = globalLockMap.get(lockName);
+        if (lock != null) {
+            return lock;
+        }
+        return globalLockMap.computeIfAbsent(lockName, this::createLock);
     }
 
     public void panicIfInLock(String lockName, Strand strand) {
-        for (BLock lock : globalLockMap.values()) {
-            if (lock.isLockFree()) {
-                continue;
-            }
-            if (lock.lockedBySameContext(strand)) {
+        if (strand.acquiredLocks == null) {
+            return;
+        }
+        for (BLock lock : strand.acquiredLocks) {
+            if (lock.lockStore == this) {
                 throw ErrorCreator.createError(BallerinaErrorReasons.ASYNC_CALL_INSIDE_LOCK);
             }
         }
     }
+
+    /**
+     * Returns the contention statistics of the locks in this store.
+     *
+     * @return map of lock name to its statistics
+     */
+    public Map<String, BLockStatistics> getLockStatistics() {
+        Map<String, BLockStatistics> statistics = new HashMap<>();
+        globalLockMap.forEach((lockName, lock) -> statistics.put(lockName, lock.getStatistics()));
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private BLock createLock(String lockName) {
+        BLock lock = new BLock(this);
+        // The default metric registry is only set once metrics are enabled.
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry != null) {
+            registerMetrics(metricRegistry, lockName, lock.getStatistics());
+        }
+        return lock;
+    }
+
+    private void registerMetrics(MetricRegistry metricRegistry, String lockName, BLockStatistics statistics) {
+        try {
+            registerMetric(metricRegistry, "lock_wait_time_nanoseconds_total",
+                           "Total time strands have waited to acquire the lock", lockName, statistics,
+                           BLockStatistics::getTotalWaitTimeNanos);
+            registerMetric(metricRegistry, "lock_contended_acquisitions_total",
+                           "Number of lock acquisitions which had to wait", lockName, statistics,
+                           BLockStatistics::getContendedAcquisitions);
+            registerMetric(metricRegistry, "lock_queue_length", "Number of strands waiting for the lock",
+                           lockName, statistics, BLockStatistics::getQueueLength);
+            registerMetric(metricRegistry, "lock_max_queue_length",
+                           "Maximum number of strands that have waited for the lock at once", lockName, statistics,
+                           BLockStatistics::getMaxQueueLength);
+        } catch (RuntimeException e) {
+            // Metric Provider may throw exceptions if there is a mismatch in tags.
+            consoleError.println("error: error registering metrics for lock " + lockName + " of module " +
+                                         moduleName + ": " + e.getMessage());
+        }
+    }
+
+    private void registerMetric(MetricRegistry metricRegistry, String name, String description, String lockName,
+                                BLockStatistics statistics, ToDoubleFunction<BLockStatistics> valueFunction) {
+        PolledGauge.builder(name, statistics, valueFunction)
+                .description(description)
+                .tag(TAG_KEY_MODULE, moduleName)
+                .tag(TAG_KEY_LOCK, lockName)
+                .register(metricRegistry);
+    }
 }
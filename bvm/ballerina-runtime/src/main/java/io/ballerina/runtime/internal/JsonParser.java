@@ -20,6 +20,7 @@ package io.ballerina.runtime.internal;
 import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
@@ -39,6 +40,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayDeque;
 import java.util.Deque;
 
@@ -78,6 +80,9 @@ public class JsonParser {
      * @throws BError for any parsing error
      */
     public static Object parse(InputStream in, String charsetName) throws BError {
+        if (isUtf8(charsetName)) {
+            return Utf8JsonParser.parse(in, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+        }
         try {
             Object jsonObj = parse(new InputStreamReader(new BufferedInputStream(in), charsetName),
                                    JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
@@ -88,6 +93,64 @@ public class JsonParser {
         }
     }
 
+    /**
+     * Parses the contents in the given {@link InputStream} directly into a value of the given type, as converting the
+     * json with {@code cloneWithType} would.
+     *
+     * @param in          input stream which contains the JSON content
+     * @param charsetName the character set name of the input stream
+     * @param targetType  the type to parse the content into, for which {@link #canParseAs(Type)} is true
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(InputStream in, String charsetName, Type targetType) throws BError {
+        byte[] content;
+        try {
+            content = in.readAllBytes();
+            if (!isUtf8(charsetName)) {
+                content = new String(content, charsetName).getBytes(StandardCharsets.UTF_8);
+            }
+        } catch (IOException e) {
+            throw ErrorCreator
+                    .createError(StringUtils.fromString(("Error in parsing JSON data: " + e.getMessage())));
+        }
+        return Utf8JsonParser.parse(content, 0, content.length, targetType);
+    }
+
+    /**
+     * Parses the contents in the given string directly into a value of the given type, as converting the json with
+     * {@code cloneWithType} would.
+     *
+     * @param jsonStr    the string which contains the JSON content
+     * @param targetType the type to parse the content into, for which {@link #canParseAs(Type)} is true
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(String jsonStr, Type targetType) throws BError {
+        byte[] content = jsonStr.getBytes(StandardCharsets.UTF_8);
+        return Utf8JsonParser.parse(content, 0, content.length, targetType);
+    }
+
+    /**
+     * Checks whether JSON content can be parsed directly into a value of the given type.
+     *
+     * @param targetType the type to check
+     * @return true if the type is json, anydata, a simple type, a union of simple types, or a record, map or open
+     * array of such types
+     */
+    public static boolean canParseAs(Type targetType) {
+        return Utf8JsonParser.canParseAs(targetType);
+    }
+
+    private static boolean isUtf8(String charsetName) {
+        try {
+            return StandardCharsets.UTF_8.equals(Charset.forName(charsetName));
+        } catch (IllegalArgumentException e) {
+            // Let the reader report the unsupported charset
+            return false;
+        }
+    }
+
     /**
      * Parses the contents in the given string and returns a json.
      *
@@ -222,6 +285,8 @@ public class JsonParser {
 
         public void reset() {
             this.index = 0;
+            this.charBuffIndex = 0;
+            this.hexBuilder.setLength(0);
             this.currentJsonNode = null;
             this.line = 1;
             this.column = 0;
@@ -48,7 +48,7 @@ public class TableUtils {
      * @param parent Node linking to the parent object of 'obj'
      * @return The hash value
      */
-    public static Long hash(Object obj, Node parent) {
+    public static long hash(Object obj, Node parent) {
         long result = 0;
 
         if (obj == null) {
@@ -47,6 +47,7 @@ import io.ballerina.runtime.internal.types.BObjectType;
 import io.ballerina.runtime.internal.types.BParameterizedType;
 import io.ballerina.runtime.internal.types.BRecordType;
 import io.ballerina.runtime.internal.types.BStreamType;
+import io.ballerina.runtime.internal.types.BStructureType;
 import io.ballerina.runtime.internal.types.BTableType;
 import io.ballerina.runtime.internal.types.BTupleType;
 import io.ballerina.runtime.internal.types.BType;
@@ -121,6 +122,11 @@ import static io.ballerina.runtime.api.utils.TypeUtils.isValueType;
 @SuppressWarnings({"rawtypes"})
 public class TypeChecker {
 
+    // Results of checks which start from types only, and of checks on values whose types make the result independent
+    // of the value.
+    private static final TypeCheckCache TYPE_CHECK_CACHE = new TypeCheckCache();
+    private static final TypeCheckCache VALUE_TYPE_CHECK_CACHE = new TypeCheckCache();
+
     public static Object checkCast(Object sourceVal, Type targetType) {
 
         if (checkIsType(sourceVal, targetType)) {
@@ -273,6 +279,12 @@ public class TypeChecker {
             return true;
         }
 
+        if (isSimpleValueTypeTag(sourceType.getTag()) && targetType.getTag() == TypeTags.UNION_TAG &&
+                ((BUnionType) targetType).hasOnlySimpleTypesForSimpleValues()) {
+            // The shape of a simple value is its own type, which is not a member of the union
+            return false;
+        }
+
         if (sourceType.getTag() == TypeTags.XML_TAG) {
             XmlValue val = (XmlValue) sourceVal;
             if (val.getNodeType() == XmlNodeType.SEQUENCE) {
@@ -690,8 +702,17 @@ public class TypeChecker {
             case TypeTags.XML_PI_TAG:
                 return targetTypeTag == sourceTypeTag;
             default:
-                return checkIsRecursiveType(sourceType, targetType,
-                        unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes != null) {
+                    return checkIsRecursiveType(sourceType, targetType, unresolvedTypes);
+                }
+                // This is not part of an enclosing check, so the result does not depend on any types assumed to match
+                Boolean cachedResult = TYPE_CHECK_CACHE.get(sourceType, targetType);
+                if (cachedResult != null) {
+                    return cachedResult;
+                }
+                boolean result = checkIsRecursiveType(sourceType, targetType, new ArrayList<>());
+                TYPE_CHECK_CACHE.put(sourceType, targetType, result);
+                return result;
         }
     }
 
@@ -715,6 +736,26 @@ public class TypeChecker {
         //
         // where `Bar b = {i: 100};`, `b is Foo` should evaluate to true.
         if (sourceTypeTag != TypeTags.RECORD_TYPE_TAG && sourceTypeTag != TypeTags.OBJECT_TYPE_TAG) {
+            if (isSimpleValueTypeTag(sourceTypeTag)) {
+                // Simple values are checked against the member type tags of the union, without going through the
+                // members in the common case.
+                switch (targetTypeTag) {
+                    case TypeTags.UNION_TAG:
+                        BUnionType unionType = (BUnionType) targetType;
+                        if (unionType.hasSimpleMemberFor(sourceTypeTag)) {
+                            return true;
+                        }
+                        if (unionType.hasOnlySimpleTypesForSimpleValues()) {
+                            return false;
+                        }
+                        break;
+                    case TypeTags.JSON_TAG:
+                    case TypeTags.ANYDATA_TAG:
+                        return true;
+                    default:
+                        break;
+                }
+            }
             return checkIsType(sourceType, targetType);
         }
 
@@ -737,11 +778,38 @@ public class TypeChecker {
             case TypeTags.READONLY_TAG:
                 return isInherentlyImmutableType(sourceType) || sourceType.isReadOnly();
             default:
-                return checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag, targetTypeTag,
-                                                   unresolvedTypes == null ? new ArrayList<>() : unresolvedTypes);
+                if (unresolvedTypes != null) {
+                    return checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag,
+                                                       targetTypeTag, unresolvedTypes);
+                }
+                Boolean cachedResult = VALUE_TYPE_CHECK_CACHE.get(sourceType, targetType);
+                if (cachedResult != null) {
+                    return cachedResult;
+                }
+                boolean result = checkIsRecursiveTypeOnValue(sourceVal, sourceType, targetType, sourceTypeTag,
+                                                             targetTypeTag, new ArrayList<>());
+                if (!isValueDependent(sourceType)) {
+                    VALUE_TYPE_CHECK_CACHE.put(sourceType, targetType, result);
+                }
+                return result;
         }
     }
 
+    /**
+     * Checks whether checking a value of the given record or object type looks at the value itself, which is the case
+     * when the type has {@code readonly} or {@code final} fields.
+     */
+    private static boolean isValueDependent(Type sourceType) {
+        long valueDependentFlag = sourceType.getTag() == TypeTags.RECORD_TYPE_TAG ? SymbolFlags.READONLY :
+                SymbolFlags.FINAL;
+        for (Field field : ((BStructureType) sourceType).getFields().values()) {
+            if (SymbolFlags.isFlagOn(field.getFlags(), valueDependentFlag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // Private methods
 
     private static boolean checkTypeDescType(Type sourceType, BTypedescType targetType,
@@ -810,7 +878,7 @@ public class TypeChecker {
             case TypeTags.RECORD_TYPE_TAG:
                 return checkIsRecordType(sourceVal, sourceType, (BRecordType) targetType, unresolvedTypes);
             case TypeTags.UNION_TAG:
-                for (Type type : ((BUnionType) targetType).getMemberTypes()) {
+                for (Type type : ((BUnionType) targetType).getMemberTypes(sourceTypeTag)) {
                     if (checkIsType(sourceVal, sourceType, type, unresolvedTypes)) {
                         return true;
                     }
@@ -858,7 +926,7 @@ public class TypeChecker {
             case TypeTags.FINITE_TYPE_TAG:
                 return isFiniteTypeMatch((BFiniteType) sourceType, targetType);
             default:
-                for (Type type : targetType.getMemberTypes()) {
+                for (Type type : targetType.getMemberTypes(sourceType.getTag())) {
                     if (checkIsType(sourceType, type, unresolvedTypes)) {
                         return true;
                     }
@@ -2571,6 +2639,21 @@ public class TypeChecker {
         return type.getTag() < TypeTags.JSON_TAG || TypeTags.isIntegerTypeTag(type.getTag());
     }
 
+    private static boolean isSimpleValueTypeTag(int typeTag) {
+        switch (typeTag) {
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.NULL_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
     private static boolean isHandleType(Type type) {
         return type.getTag() == TypeTags.HANDLE_TAG;
     }
@@ -2771,6 +2854,53 @@ public class TypeChecker {
                 isEqual(lhsError.getCause(), rhsError.getCause(), checkedValues);
     }
 
+    /**
+     * A bounded cache of type check results, keyed on the identities of the source and the target type. Each pair of
+     * types maps to one slot, and replaces the pair which was in it. Entries are immutable, so the cache is read and
+     * updated without locking; an update lost to a concurrent one only means the check is done again.
+     */
+    private static class TypeCheckCache {
+
+        private static final int SIZE = 4096;
+
+        private final Entry[] entries = new Entry[SIZE];
+
+        /**
+         * Returns the cached result of checking whether the source type is a subtype of the target type.
+         *
+         * @return the result, or null if it is not cached
+         */
+        Boolean get(Type sourceType, Type targetType) {
+            Entry entry = entries[slot(sourceType, targetType)];
+            if (entry != null && entry.sourceType == sourceType && entry.targetType == targetType) {
+                return entry.result;
+            }
+            return null;
+        }
+
+        void put(Type sourceType, Type targetType, boolean result) {
+            entries[slot(sourceType, targetType)] = new Entry(sourceType, targetType, result);
+        }
+
+        private static int slot(Type sourceType, Type targetType) {
+            int hash = 31 * System.identityHashCode(sourceType) + System.identityHashCode(targetType);
+            return (hash ^ (hash >>> 16)) & (SIZE - 1);
+        }
+
+        private static class Entry {
+
+            final Type sourceType;
+            final Type targetType;
+            final boolean result;
+
+            Entry(Type sourceType, Type targetType, boolean result) {
+                this.sourceType = sourceType;
+                this.targetType = targetType;
+                this.result = result;
+            }
+        }
+    }
+
     /**
      * Type vector of size two, to hold the source and the target types.
      *
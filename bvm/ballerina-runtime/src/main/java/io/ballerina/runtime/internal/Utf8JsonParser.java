@@ -0,0 +1,1006 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.util.exceptions.BLangExceptionHelper;
+import io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons;
+import io.ballerina.runtime.internal.util.exceptions.RuntimeErrors;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.BmpStringValue;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON parser which works on UTF-8 encoded bytes, without decoding the input into chars first.
+ * <p>
+ * String contents are scanned eight bytes at a time for quotes, escapes and non-ASCII bytes, ASCII strings are
+ * created without going through a decoder, and the field names of the documents parsed by a thread are shared
+ * between them. Array elements are collected before the array is created, so they are not type checked one by one.
+ * <p>
+ * The parser produces the same values as {@link JsonParser}, but only handles well-formed documents. Anything else,
+ * including the lenient syntax accepted by {@link JsonParser} such as single quoted strings, is handed over to
+ * {@link JsonParser}, so that the results and the error messages stay the same.
+ * <p>
+ * Documents can also be parsed straight into records, maps and arrays of a given type, without creating the json and
+ * converting it afterwards. Values which do not belong to the type are reported as soon as they are read.
+ *
+ * @since 2.0.0
+ */
+public class Utf8JsonParser {
+
+    private static final ThreadLocal<Utf8JsonParser> tlParser = ThreadLocal.withInitial(Utf8JsonParser::new);
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class,
+                                                                                ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final long QUOTES = ONES * '"';
+    private static final long REV_SOLS = ONES * '\\';
+
+    private static final BMapType JSON_MAP_TYPE = new BMapType(PredefinedTypes.TYPE_JSON);
+    private static final NotHandledException NOT_HANDLED = new NotHandledException();
+
+    private static final int FIELD_NAME_CACHE_SIZE = 512;
+    private static final int MAX_CACHED_FIELD_NAME_LENGTH = 64;
+    private static final int INITIAL_DEPTH = 16;
+    private static final int INITIAL_ELEMENTS = 64;
+    private static final int MAX_RETAINED_ELEMENTS = 1024;
+    private static final int MAX_FAST_PATH_DIGITS = 18;
+
+    private byte[] bytes;
+    private int pos;
+    private int end;
+    private JsonUtils.NonStringValueProcessingMode mode;
+
+    // Open containers, by depth. The map of an array is null, and its elements start at its element start.
+    private MapValueImpl<BString, Object>[] maps = newMaps(INITIAL_DEPTH);
+    private BString[] fieldNames = new BString[INITIAL_DEPTH];
+    private int[] elementStarts = new int[INITIAL_DEPTH];
+    private Object[] elements = new Object[INITIAL_ELEMENTS];
+    private int elementCount;
+
+    private final StringBuilder chars = new StringBuilder();
+    private final byte[][] cachedFieldNameBytes = new byte[FIELD_NAME_CACHE_SIZE][];
+    private final BString[] cachedFieldNames = new BString[FIELD_NAME_CACHE_SIZE];
+
+    /**
+     * Parses the UTF-8 encoded contents of the given {@link InputStream} and returns a json.
+     *
+     * @param in   input stream which contains the JSON content
+     * @param mode the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(InputStream in, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        byte[] content;
+        try {
+            content = in.readAllBytes();
+        } catch (IOException e) {
+            throw ErrorCreator.createError(StringUtils.fromString("Error reading JSON: " + e.getMessage()));
+        }
+        return parse(content, 0, content.length, mode);
+    }
+
+    /**
+     * Parses the remaining UTF-8 encoded contents of the given {@link ByteBuffer} and returns a json. The position of
+     * the buffer is moved to its limit.
+     *
+     * @param buffer buffer which contains the JSON content
+     * @param mode   the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(ByteBuffer buffer, JsonUtils.NonStringValueProcessingMode mode) throws BError {
+        if (!buffer.hasArray()) {
+            byte[] content = new byte[buffer.remaining()];
+            buffer.get(content);
+            return parse(content, 0, content.length, mode);
+        }
+        int offset = buffer.arrayOffset() + buffer.position();
+        int length = buffer.remaining();
+        buffer.position(buffer.limit());
+        return parse(buffer.array(), offset, length, mode);
+    }
+
+    /**
+     * Parses the given range of UTF-8 encoded bytes and returns a json.
+     *
+     * @param content bytes which contain the JSON content
+     * @param offset  index of the first byte of the content
+     * @param length  number of bytes of the content
+     * @param mode    the mode to use when processing numeric values
+     * @return JSON structure
+     * @throws BError for any parsing error
+     */
+    public static Object parse(byte[] content, int offset, int length, JsonUtils.NonStringValueProcessingMode mode)
+            throws BError {
+        Utf8JsonParser parser = tlParser.get();
+        try {
+            return parser.parseDocument(content, offset, offset + length, mode);
+        } catch (NotHandledException e) {
+            return JsonParser.parse(new StringReader(new String(content, offset, length, StandardCharsets.UTF_8)),
+                                    mode);
+        } finally {
+            // Do not hold on to the input or to the parsed values once the document is parsed.
+            parser.reset();
+        }
+    }
+
+    /**
+     * Parses the given range of UTF-8 encoded bytes directly into a value of the given type, without creating the
+     * json first. The value is the same as the one converting the json with {@code cloneWithType} would give, and
+     * values which do not belong to the type are reported along with their path in the document, such as
+     * {@code $.items[2].price}.
+     *
+     * @param content    bytes which contain the JSON content
+     * @param offset     index of the first byte of the content
+     * @param length     number of bytes of the content
+     * @param targetType the type to parse the content into, for which {@link #canParseAs(Type)} is true
+     * @return value of the target type
+     * @throws BError for any parsing error, or if the content does not belong to the target type
+     */
+    public static Object parse(byte[] content, int offset, int length, Type targetType) throws BError {
+        try {
+            return bind(content, offset, length, targetType);
+        } catch (NotHandledException e) {
+            // Report the same syntax errors as JsonParser, and bind the lenient syntax it accepts from its json.
+            String jsonStr = new String(content, offset, length, StandardCharsets.UTF_8);
+            Object json = JsonParser.parse(jsonStr, JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING);
+            byte[] normalized = serialize(json);
+            try {
+                return bind(normalized, 0, normalized.length, targetType);
+            } catch (NotHandledException ex) {
+                throw createConversionError(BLangExceptionHelper.getErrorMessage(
+                        RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION, TypeChecker.getType(json), targetType));
+            }
+        }
+    }
+
+    /**
+     * Checks whether JSON content can be parsed directly into a value of the given type. These are json, anydata
+     * and the simple types, unions of simple types, and records, maps and open arrays of such types.
+     *
+     * @param targetType the type to check
+     * @return true if {@link #parse(byte[], int, int, Type)} supports the type
+     */
+    public static boolean canParseAs(Type targetType) {
+        return canParseAs(targetType, Collections.newSetFromMap(new IdentityHashMap<>()));
+    }
+
+    private static boolean canParseAs(Type type, Set<Type> visitedTypes) {
+        switch (type.getTag()) {
+            case TypeTags.JSON_TAG:
+            case TypeTags.ANYDATA_TAG:
+                return true;
+            case TypeTags.RECORD_TYPE_TAG:
+                if (type.isReadOnly()) {
+                    return false;
+                }
+                if (!visitedTypes.add(type)) {
+                    return true;
+                }
+                RecordType recordType = (RecordType) type;
+                for (Field field : recordType.getFields().values()) {
+                    if (!canParseAs(field.getFieldType(), visitedTypes)) {
+                        return false;
+                    }
+                }
+                return recordType.isSealed() || canParseAs(recordType.getRestFieldType(), visitedTypes);
+            case TypeTags.MAP_TAG:
+                return !type.isReadOnly() && canParseAs(((MapType) type).getConstrainedType(), visitedTypes);
+            case TypeTags.ARRAY_TAG:
+                ArrayType arrayType = (ArrayType) type;
+                return !type.isReadOnly() && arrayType.getState() == ArrayType.ArrayState.OPEN &&
+                        canParseAs(arrayType.getElementType(), visitedTypes);
+            case TypeTags.UNION_TAG:
+                for (Type memberType : ((UnionType) type).getMemberTypes()) {
+                    if (!isSimpleType(memberType)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return isSimpleType(type);
+        }
+    }
+
+    private static boolean isSimpleType(Type type) {
+        switch (type.getTag()) {
+            case TypeTags.INT_TAG:
+            case TypeTags.SIGNED32_INT_TAG:
+            case TypeTags.SIGNED16_INT_TAG:
+            case TypeTags.SIGNED8_INT_TAG:
+            case TypeTags.UNSIGNED32_INT_TAG:
+            case TypeTags.UNSIGNED16_INT_TAG:
+            case TypeTags.UNSIGNED8_INT_TAG:
+            case TypeTags.BYTE_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.DECIMAL_TAG:
+            case TypeTags.STRING_TAG:
+            case TypeTags.CHAR_STRING_TAG:
+            case TypeTags.BOOLEAN_TAG:
+            case TypeTags.NULL_TAG:
+            case TypeTags.FINITE_TYPE_TAG:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static Object bind(byte[] content, int offset, int length, Type targetType) {
+        Utf8JsonParser parser = tlParser.get();
+        try {
+            return parser.bindDocument(content, offset, offset + length, targetType);
+        } catch (BindingException e) {
+            throw createConversionError(e.getDetail());
+        } finally {
+            parser.reset();
+        }
+    }
+
+    private static byte[] serialize(Object json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator generator = new JsonGenerator(out, StandardCharsets.UTF_8);
+        try {
+            generator.serialize(json);
+            generator.flush();
+        } catch (IOException e) {
+            throw ErrorCreator.createError(StringUtils.fromString("Error in parsing JSON data: " + e.getMessage()));
+        }
+        return out.toByteArray();
+    }
+
+    private static BError createConversionError(BString detail) {
+        return ErrorCreator.createError(BallerinaErrorReasons.CONSTRUCT_FROM_CONVERSION_ERROR, detail);
+    }
+
+    private Object parseDocument(byte[] content, int offset, int end, JsonUtils.NonStringValueProcessingMode mode) {
+        this.bytes = content;
+        this.pos = offset;
+        this.end = end;
+        this.mode = mode;
+
+        skipWhitespace();
+        if (pos == end) {
+            throw NOT_HANDLED;
+        }
+        Object json;
+        byte b = bytes[pos];
+        if (b == '{' || b == '[') {
+            json = readContainers();
+        } else if (b == '"') {
+            json = readString();
+        } else {
+            // A top level value only ends with a whitespace.
+            int start = pos;
+            while (pos < end && !isWhitespace(bytes[pos])) {
+                pos++;
+            }
+            json = nonStringValue(start, pos);
+        }
+        skipWhitespace();
+        if (pos != end) {
+            throw NOT_HANDLED;
+        }
+        return json;
+    }
+
+    /**
+     * Reads the object or array at the current position, along with all the values nested in it, without recursion.
+     */
+    private Object readContainers() {
+        int depth = 0;
+        while (true) {
+            // Read the next value, opening the containers which start with it
+            Object value;
+            byte b = bytes[pos];
+            if (b == '{') {
+                pos++;
+                MapValueImpl<BString, Object> map = new MapValueImpl<>(JSON_MAP_TYPE);
+                if (skipWhitespaceAndPeek() == '}') {
+                    pos++;
+                    value = map;
+                } else {
+                    openContainer(depth, map);
+                    fieldNames[depth++] = readFieldStart();
+                    continue;
+                }
+            } else if (b == '[') {
+                pos++;
+                if (skipWhitespaceAndPeek() == ']') {
+                    pos++;
+                    value = new ArrayValueImpl(new Object[0], PredefinedTypes.TYPE_JSON_ARRAY);
+                } else {
+                    openContainer(depth++, null);
+                    continue;
+                }
+            } else if (b == '"') {
+                value = readString();
+            } else {
+                int start = pos;
+                while (pos < end && !isValueEnd(bytes[pos])) {
+                    pos++;
+                }
+                value = nonStringValue(start, pos);
+            }
+
+            // Add the value to its container, closing the containers which end with it
+            while (true) {
+                if (depth == 0) {
+                    return value;
+                }
+                int top = depth - 1;
+                MapValueImpl<BString, Object> map = maps[top];
+                byte next = skipWhitespaceAndPeek();
+                pos++;
+                if (map != null) {
+                    map.put(fieldNames[top], value);
+                    if (next == ',') {
+                        skipWhitespaceAndPeek();
+                        fieldNames[top] = readFieldStart();
+                        break;
+                    } else if (next != '}') {
+                        throw NOT_HANDLED;
+                    }
+                    value = map;
+                    maps[top] = null;
+                    fieldNames[top] = null;
+                } else {
+                    addElement(value);
+                    if (next == ',') {
+                        skipWhitespaceAndPeek();
+                        break;
+                    } else if (next != ']') {
+                        throw NOT_HANDLED;
+                    }
+                    value = closeArray(top);
+                }
+                depth--;
+            }
+        }
+    }
+
+    private void openContainer(int depth, MapValueImpl<BString, Object> map) {
+        if (depth == maps.length) {
+            int newDepth = depth * 2;
+            maps = Arrays.copyOf(maps, newDepth);
+            fieldNames = Arrays.copyOf(fieldNames, newDepth);
+            elementStarts = Arrays.copyOf(elementStarts, newDepth);
+        }
+        maps[depth] = map;
+        elementStarts[depth] = elementCount;
+    }
+
+    /**
+     * Reads the name of a field, along with the colon which follows it, up to the start of the value of the field.
+     */
+    private BString readFieldStart() {
+        if (bytes[pos] != '"') {
+            throw NOT_HANDLED;
+        }
+        BString fieldName = readFieldName();
+        if (skipWhitespaceAndPeek() != ':') {
+            throw NOT_HANDLED;
+        }
+        pos++;
+        skipWhitespaceAndPeek();
+        return fieldName;
+    }
+
+    private void addElement(Object value) {
+        if (elementCount == elements.length) {
+            elements = Arrays.copyOf(elements, elementCount * 2);
+        }
+        elements[elementCount++] = value;
+    }
+
+    private ArrayValueImpl closeArray(int depth) {
+        int start = elementStarts[depth];
+        Object[] values = Arrays.copyOfRange(elements, start, elementCount);
+        elementCount = start;
+        return new ArrayValueImpl(values, PredefinedTypes.TYPE_JSON_ARRAY);
+    }
+
+    private Object bindDocument(byte[] content, int offset, int end, Type targetType) {
+        this.bytes = content;
+        this.pos = offset;
+        this.end = end;
+        this.mode = JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING;
+
+        skipWhitespace();
+        if (pos == end) {
+            throw NOT_HANDLED;
+        }
+        byte first = bytes[pos];
+        Object value;
+        try {
+            value = bindValue(targetType, false);
+        } catch (BindingException e) {
+            // A value within a document is reported as the reason why the document cannot be converted, the way
+            // cloneWithType reports it.
+            if (first == '{') {
+                e.within(JSON_MAP_TYPE, targetType);
+            } else if (first == '[') {
+                e.within(PredefinedTypes.TYPE_JSON_ARRAY, targetType);
+            }
+            throw e.at("$");
+        }
+        skipWhitespace();
+        if (pos != end) {
+            throw NOT_HANDLED;
+        }
+        return value;
+    }
+
+    /**
+     * Reads the value at the current position as a value of the given type, the way {@code cloneWithType} converts
+     * the same json value. Ambiguous conversions of simple values are only allowed for the values of maps.
+     */
+    private Object bindValue(Type type, boolean allowAmbiguity) {
+        byte b = bytes[pos];
+        switch (type.getTag()) {
+            case TypeTags.JSON_TAG:
+                return b == '{' || b == '[' ? readContainers() : readToken();
+            case TypeTags.ANYDATA_TAG:
+                return b == '{' || b == '[' ? readContainers() : bindSimpleValue(readToken(), type, allowAmbiguity);
+            case TypeTags.RECORD_TYPE_TAG:
+                if (b != '{') {
+                    throw incompatibleValue(type);
+                }
+                return bindRecord((RecordType) type);
+            case TypeTags.MAP_TAG:
+                if (b != '{') {
+                    throw incompatibleValue(type);
+                }
+                return bindMap((MapType) type);
+            case TypeTags.ARRAY_TAG:
+                if (b != '[') {
+                    throw incompatibleValue(type);
+                }
+                return bindArray((ArrayType) type);
+            default:
+                if (b == '{' || b == '[') {
+                    throw incompatibleValue(type);
+                }
+                return bindSimpleValue(readToken(), type, allowAmbiguity);
+        }
+    }
+
+    private BMap<BString, Object> bindRecord(RecordType type) {
+        pos++;
+        BMap<BString, Object> record = ValueCreator.createRecordValue(type.getPackage(), type.getName());
+        Map<String, Field> fields = type.getFields();
+        if (skipWhitespaceAndPeek() == '}') {
+            pos++;
+        } else {
+            do {
+                BString fieldName = readFieldStart();
+                Field field = fields.get(fieldName.getValue());
+                Type fieldType;
+                if (field != null) {
+                    fieldType = field.getFieldType();
+                } else if (type.isSealed()) {
+                    throw new BindingException(RuntimeErrors.UNDEFINED_JSON_FIELD, type).at(fieldPath(fieldName));
+                } else {
+                    fieldType = type.getRestFieldType();
+                }
+                try {
+                    record.put(fieldName, bindValue(fieldType, false));
+                } catch (BindingException e) {
+                    throw e.at(fieldPath(fieldName));
+                }
+            } while (readSeparator('}'));
+        }
+
+        for (Map.Entry<String, Field> field : fields.entrySet()) {
+            if (!SymbolFlags.isFlagOn(field.getValue().getFlags(), SymbolFlags.REQUIRED)) {
+                continue;
+            }
+            BString fieldName = StringUtils.fromString(field.getKey());
+            if (!record.containsKey(fieldName)) {
+                throw new BindingException(RuntimeErrors.MISSING_REQUIRED_JSON_FIELD, type).at(fieldPath(fieldName));
+            }
+        }
+        return record;
+    }
+
+    private BMap<BString, Object> bindMap(MapType type) {
+        pos++;
+        BMap<BString, Object> map = ValueCreator.createMapValue(type);
+        Type constraintType = type.getConstrainedType();
+        if (skipWhitespaceAndPeek() == '}') {
+            pos++;
+            return map;
+        }
+        do {
+            BString key = readFieldStart();
+            try {
+                map.put(key, bindValue(constraintType, true));
+            } catch (BindingException e) {
+                throw e.at(fieldPath(key));
+            }
+        } while (readSeparator('}'));
+        return map;
+    }
+
+    private BArray bindArray(ArrayType type) {
+        pos++;
+        BArray array = ValueCreator.createArrayValue(type);
+        if (skipWhitespaceAndPeek() == ']') {
+            pos++;
+            return array;
+        }
+        Type elementType = type.getElementType();
+        int start = elementCount;
+        int index = 0;
+        do {
+            try {
+                addElement(bindValue(elementType, false));
+            } catch (BindingException e) {
+                throw e.at("[" + index + "]");
+            }
+            index++;
+        } while (readSeparator(']'));
+
+        for (int i = start; i < elementCount; i++) {
+            array.add(i - start, elements[i]);
+            elements[i] = null;
+        }
+        elementCount = start;
+        return array;
+    }
+
+    /**
+     * Converts a simple value the same way {@code cloneWithType} does.
+     */
+    private static Object bindSimpleValue(Object value, Type type, boolean allowAmbiguity) {
+        if (value == null) {
+            if (type.isNilable()) {
+                return null;
+            }
+            throw new BindingException(RuntimeErrors.INCOMPATIBLE_JSON_VALUE, PredefinedTypes.TYPE_NULL, type);
+        }
+        Type sourceType = TypeChecker.getType(value);
+        if (sourceType == type) {
+            return value;
+        }
+        List<Type> convertibleTypes = TypeConverter.getConvertibleTypes(value, type);
+        if (convertibleTypes.isEmpty() || (!allowAmbiguity && convertibleTypes.size() > 1)) {
+            throw new BindingException(RuntimeErrors.INCOMPATIBLE_JSON_VALUE, sourceType, type);
+        }
+        Type matchingType = convertibleTypes.get(0);
+        if (TypeChecker.checkIsType(value, matchingType)) {
+            return value;
+        }
+        // Has to be a numeric conversion
+        return TypeConverter.convertValues(matchingType, value);
+    }
+
+    /**
+     * Creates the error for a value which cannot be converted to the given type, reading the value if it is simple.
+     */
+    private BindingException incompatibleValue(Type type) {
+        byte b = bytes[pos];
+        Type sourceType;
+        if (b == '{') {
+            sourceType = JSON_MAP_TYPE;
+        } else if (b == '[') {
+            sourceType = PredefinedTypes.TYPE_JSON_ARRAY;
+        } else {
+            Object value = readToken();
+            sourceType = value == null ? PredefinedTypes.TYPE_NULL : TypeChecker.getType(value);
+        }
+        return new BindingException(RuntimeErrors.INCOMPATIBLE_JSON_VALUE, sourceType, type);
+    }
+
+    /**
+     * Reads a string or an unquoted token.
+     */
+    private Object readToken() {
+        if (bytes[pos] == '"') {
+            return readString();
+        }
+        int start = pos;
+        while (pos < end && !isValueEnd(bytes[pos])) {
+            pos++;
+        }
+        return nonStringValue(start, pos);
+    }
+
+    /**
+     * Reads the comma after a member of an object or array, up to the next member, or the end of the object or array.
+     *
+     * @return true if there is a next member
+     */
+    private boolean readSeparator(char close) {
+        byte next = skipWhitespaceAndPeek();
+        pos++;
+        if (next == ',') {
+            skipWhitespaceAndPeek();
+            return true;
+        } else if (next != close) {
+            throw NOT_HANDLED;
+        }
+        return false;
+    }
+
+    private static String fieldPath(BString fieldName) {
+        return "." + fieldName.getValue();
+    }
+
+    private BString readFieldName() {
+        int start = pos + 1;
+        int quote = nextSpecialByte(start, true);
+        int length = quote - start;
+        if (quote == end || bytes[quote] != '"' || length > MAX_CACHED_FIELD_NAME_LENGTH) {
+            return readString();
+        }
+        pos = quote + 1;
+
+        int hash = 0;
+        for (int i = start; i < quote; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        int slot = (hash ^ (hash >>> 16)) & (FIELD_NAME_CACHE_SIZE - 1);
+        byte[] cachedBytes = cachedFieldNameBytes[slot];
+        if (cachedBytes != null && Arrays.equals(cachedBytes, 0, cachedBytes.length, bytes, start, quote)) {
+            return cachedFieldNames[slot];
+        }
+        BString fieldName = new BmpStringValue(new String(bytes, start, length, StandardCharsets.ISO_8859_1));
+        cachedFieldNameBytes[slot] = Arrays.copyOfRange(bytes, start, quote);
+        cachedFieldNames[slot] = fieldName;
+        return fieldName;
+    }
+
+    private BString readString() {
+        int start = pos + 1;
+        int i = nextSpecialByte(start, true);
+        if (i < end && bytes[i] == '"') {
+            pos = i + 1;
+            return new BmpStringValue(new String(bytes, start, i - start, StandardCharsets.ISO_8859_1));
+        }
+        i = nextSpecialByte(i, false);
+        if (i < end && bytes[i] == '"') {
+            pos = i + 1;
+            return StringUtils.fromString(new String(bytes, start, i - start, StandardCharsets.UTF_8));
+        }
+        return StringUtils.fromString(readEscapedString(start, i));
+    }
+
+    private String readEscapedString(int start, int i) {
+        chars.setLength(0);
+        while (true) {
+            if (i == end) {
+                throw NOT_HANDLED;
+            }
+            appendChars(start, i);
+            if (bytes[i] == '"') {
+                pos = i + 1;
+                return chars.toString();
+            }
+            if (++i == end) {
+                throw NOT_HANDLED;
+            }
+            switch (bytes[i]) {
+                case '"':
+                    chars.append('"');
+                    break;
+                case '\\':
+                    chars.append('\\');
+                    break;
+                case '/':
+                    chars.append('/');
+                    break;
+                case 'b':
+                    chars.append('\b');
+                    break;
+                case 'f':
+                    chars.append('\f');
+                    break;
+                case 'n':
+                    chars.append('\n');
+                    break;
+                case 'r':
+                    chars.append('\r');
+                    break;
+                case 't':
+                    chars.append('\t');
+                    break;
+                case 'u':
+                    chars.append(readUnicodeEscape(i + 1));
+                    i += 4;
+                    break;
+                default:
+                    throw NOT_HANDLED;
+            }
+            start = i + 1;
+            i = nextSpecialByte(start, false);
+        }
+    }
+
+    private char readUnicodeEscape(int start) {
+        if (end - start < 4) {
+            throw NOT_HANDLED;
+        }
+        int c = 0;
+        for (int i = start; i < start + 4; i++) {
+            int digit = Character.digit(bytes[i], 16);
+            if (digit < 0) {
+                throw NOT_HANDLED;
+            }
+            c = (c << 4) | digit;
+        }
+        return (char) c;
+    }
+
+    private void appendChars(int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b < 0) {
+                chars.append(new String(bytes, i, end - i, StandardCharsets.UTF_8));
+                return;
+            }
+            chars.append((char) b);
+        }
+    }
+
+    /**
+     * Finds the first quote or reverse solidus, or optionally non-ASCII byte, from the given index. Eight bytes are
+     * checked at a time, by looking for zero bytes in the word xor-ed with the searched bytes.
+     *
+     * @return the index of the byte, or the end of the input if there is none
+     */
+    private int nextSpecialByte(int i, boolean nonAscii) {
+        long highBits = nonAscii ? HIGH_BITS : 0;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            long word = (long) LONGS.get(bytes, i);
+            // A zero byte can only set the high bits of the bytes above it as well, so the lowest bit is exact.
+            long found = zeroBytes(word ^ QUOTES) | zeroBytes(word ^ REV_SOLS) | (word & highBits);
+            if (found != 0) {
+                return i + (Long.numberOfTrailingZeros(found) >>> 3);
+            }
+        }
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b == '"' || b == '\\' || (nonAscii && b < 0)) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static long zeroBytes(long word) {
+        return (word - ONES) & ~word & HIGH_BITS;
+    }
+
+    /**
+     * Creates the value of the given unquoted token, the same way {@link JsonParser} does.
+     */
+    private Object nonStringValue(int start, int end) {
+        int length = end - start;
+        if (length == 0) {
+            throw NOT_HANDLED;
+        }
+        if (mode == JsonUtils.NonStringValueProcessingMode.FROM_JSON_STRING) {
+            Object integer = integerValue(start, end);
+            if (integer != null) {
+                return integer;
+            }
+        }
+        if (length == 4 && matches(start, "true")) {
+            return Boolean.TRUE;
+        } else if (length == 5 && matches(start, "false")) {
+            return Boolean.FALSE;
+        } else if (length == 4 && matches(start, "null")) {
+            return null;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (bytes[i] < 0 || bytes[i] == '{' || bytes[i] == '[') {
+                throw NOT_HANDLED;
+            }
+        }
+        String str = new String(bytes, start, length, StandardCharsets.ISO_8859_1);
+        try {
+            switch (mode) {
+                case FROM_JSON_FLOAT_STRING:
+                    return Double.parseDouble(str);
+                case FROM_JSON_DECIMAL_STRING:
+                    return new DecimalValue(str);
+                default:
+                    if ('-' == str.charAt(0) && 0 == Double.parseDouble(str)) {
+                        return Double.parseDouble(str);
+                    }
+                    return str.indexOf('.') >= 0 ? new DecimalValue(str) : Long.parseLong(str);
+            }
+        } catch (NumberFormatException e) {
+            throw NOT_HANDLED;
+        }
+    }
+
+    /**
+     * Creates the value of a token which consists of up to 18 digits and an optional minus sign.
+     *
+     * @return the value, or null if the token is not such an integer
+     */
+    private Object integerValue(int start, int end) {
+        boolean negative = bytes[start] == '-';
+        int i = negative ? start + 1 : start;
+        if (i == end || end - i > MAX_FAST_PATH_DIGITS) {
+            return null;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            value = value * 10 + digit;
+        }
+        if (!negative) {
+            return value;
+        }
+        // Negative zero is a float, as in JsonParser
+        return value == 0 ? Double.valueOf(-0.0d) : (Object) (-value);
+    }
+
+    private boolean matches(int start, String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            if (bytes[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void skipWhitespace() {
+        while (pos < end && isWhitespace(bytes[pos])) {
+            pos++;
+        }
+    }
+
+    private byte skipWhitespaceAndPeek() {
+        skipWhitespace();
+        if (pos == end) {
+            throw NOT_HANDLED;
+        }
+        return bytes[pos];
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static boolean isValueEnd(byte b) {
+        return b == ',' || b == '}' || b == ']' || isWhitespace(b);
+    }
+
+    private void reset() {
+        bytes = null;
+        Arrays.fill(maps, null);
+        Arrays.fill(fieldNames, null);
+        if (elements.length > MAX_RETAINED_ELEMENTS) {
+            elements = new Object[INITIAL_ELEMENTS];
+        } else {
+            Arrays.fill(elements, null);
+        }
+        elementCount = 0;
+        if (chars.length() > MAX_RETAINED_ELEMENTS) {
+            chars.setLength(0);
+            chars.trimToSize();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MapValueImpl<BString, Object>[] newMaps(int size) {
+        return new MapValueImpl[size];
+    }
+
+    /**
+     * Thrown when the input is not a well-formed document, for {@link JsonParser} to parse it instead.
+     */
+    private static class NotHandledException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        NotHandledException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Thrown when a value does not belong to the type it is parsed into. The path of the value is built up while the
+     * exception passes through the values which contain it.
+     */
+    private static class BindingException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final RuntimeErrors error;
+        private final Object[] params;
+        private final Deque<String> path = new ArrayDeque<>();
+        private Type documentType;
+        private Type documentTargetType;
+
+        BindingException(RuntimeErrors error, Object... params) {
+            super(null, null, false, false);
+            this.error = error;
+            this.params = params;
+        }
+
+        BindingException at(String segment) {
+            path.addFirst(segment);
+            return this;
+        }
+
+        void within(Type documentType, Type documentTargetType) {
+            this.documentType = documentType;
+            this.documentTargetType = documentTargetType;
+        }
+
+        BString getDetail() {
+            Object[] messageParams = new Object[params.length + 1];
+            messageParams[0] = String.join("", path);
+            System.arraycopy(params, 0, messageParams, 1, params.length);
+            BString detail = BLangExceptionHelper.getErrorMessage(error, messageParams);
+            if (documentType == null) {
+                return detail;
+            }
+            return BLangExceptionHelper.getErrorMessage(RuntimeErrors.INCOMPATIBLE_CONVERT_OPERATION, documentType,
+                                                        documentTargetType)
+                    .concat(StringUtils.fromString(": ")).concat(detail);
+        }
+    }
+}
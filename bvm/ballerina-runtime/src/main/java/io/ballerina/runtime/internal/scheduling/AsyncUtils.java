@@ -18,12 +18,15 @@
 
 package io.ballerina.runtime.internal.scheduling;
 
+import io.ballerina.runtime.api.async.Callback;
 import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BFunctionPointer;
 import io.ballerina.runtime.internal.types.BFunctionType;
 import io.ballerina.runtime.internal.values.FutureValue;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
@@ -132,6 +135,79 @@ public class AsyncUtils {
                              futureResultConsumer, returnValueSupplier, scheduler);
     }
 
+    /**
+     * Invoke Function Pointer asynchronously once for each of the given arguments. Each invocation gets a strand group
+     * of its own, so that the invocations can run in parallel on the scheduler workers. This will block the strand
+     * until all the invocations are completed. If any of the invocations panic, the strand panics with the panic of the
+     * first of them in the order of the arguments, irrespective of the order in which they completed.
+     *
+     * @param func                Function Pointer to be invoked.
+     * @param strandName          Name for newly creating strands which are used to execute the function pointer. This
+     *                            is optional and can be null.
+     * @param metadata            Meta data of new strands.
+     * @param argsList            Ballerina function arguments of each invocation.
+     * @param returnValueFunction Function used to set the final return value for the parent function invocation from
+     *                            the results of the invocations, which are in the order of the arguments.
+     * @param scheduler           The scheduler for invoking functions
+     */
+    public static void invokeFunctionPointerAsyncConcurrently(BFunctionPointer<?, ?> func, String strandName,
+                                                              StrandMetadata metadata, List<Object[]> argsList,
+                                                              Function<Object[], Object> returnValueFunction,
+                                                              Scheduler scheduler) {
+        int noOfInvocations = argsList.size();
+        if (noOfInvocations == 0) {
+            return;
+        }
+        Strand strand = Scheduler.getStrand();
+        blockStrand(strand);
+        Object[] results = new Object[noOfInvocations];
+        AtomicInteger remainingCount = new AtomicInteger(noOfInvocations);
+        BError[] panics = new BError[noOfInvocations];
+        Type returnType = ((BFunctionType) func.getType()).retType;
+        for (int i = 0; i < noOfInvocations; i++) {
+            int index = i;
+            Callback callback = new Callback() {
+                @Override
+                public void notifySuccess(Object result) {
+                    results[index] = result;
+                    complete();
+                }
+
+                @Override
+                public void notifyFailure(BError error) {
+                    panics[index] = error;
+                    complete();
+                }
+
+                private void complete() {
+                    // The last invocation to complete sees the results and panics of the others, as they are set
+                    // before decrementing the count
+                    if (remainingCount.decrementAndGet() != 0) {
+                        return;
+                    }
+                    BError panic = getFirstPanic(panics);
+                    if (panic != null) {
+                        strand.panic = panic;
+                    } else {
+                        strand.returnValue = returnValueFunction.apply(results);
+                    }
+                    strand.scheduler.unblockStrand(strand);
+                }
+            };
+            scheduler.schedule(argsList.get(i), func.getFunction(), strand, callback, null, returnType, strandName,
+                               metadata);
+        }
+    }
+
+    private static BError getFirstPanic(BError[] panics) {
+        for (BError panic : panics) {
+            if (panic != null) {
+                return panic;
+            }
+        }
+        return null;
+    }
+
     private static void scheduleNextFunction(BFunctionPointer<?, ?> func, Strand strand, String strandName,
                                              StrandMetadata metadata, int noOfIterations,
                                              AtomicInteger callCount, Supplier<Object[]> argsSupplier,
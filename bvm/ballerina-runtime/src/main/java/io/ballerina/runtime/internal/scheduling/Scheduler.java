@@ -31,15 +31,21 @@ import io.ballerina.runtime.internal.values.ChannelDetails;
 import io.ballerina.runtime.internal.values.FutureValue;
 
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Stack;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -59,16 +65,58 @@ public class Scheduler {
     private volatile boolean immortal;
     private boolean listenerDeclarationFound;
     /**
-     * Strands that are ready for execution.
+     * Strands that are ready for execution. In work stealing mode this only holds the strand groups submitted from
+     * non-worker threads and the poison pills.
      */
     private BlockingQueue<ItemGroup> runnableList = new LinkedBlockingDeque<>();
 
+    /**
+     * Run queues owned by each worker thread. Only used in work stealing mode.
+     */
+    private final List<Deque<ItemGroup>> workerQueues = new ArrayList<>();
+
+    /**
+     * Run queue of the current worker thread, if the current thread is a worker of this scheduler.
+     */
+    private final ThreadLocal<Deque<ItemGroup>> localQueue = new ThreadLocal<>();
+
+    /**
+     * Number of worker threads waiting for work. Groups are handed over through the runnable list while there are
+     * idle workers, so that they get picked up without waiting for a steal attempt.
+     */
+    private final AtomicInteger idleWorkers = new AtomicInteger();
+
+    /**
+     * Idle workers park on this until a strand group is made available while they are idle. A worker may be woken
+     * without finding a group, in which case it parks again.
+     */
+    private final Semaphore idleWorkerPermits = new Semaphore(0);
+
+    /**
+     * Workers check the runnable list before their own run queue once in this many iterations, so that groups
+     * submitted from non-worker threads are not starved by local work.
+     */
+    private static final int GLOBAL_QUEUE_CHECK_INTERVAL = 61;
+
+    /**
+     * Creates the virtual thread each strand group runs on. Only used in virtual thread mode.
+     */
+    private ThreadFactory strandGroupThreadFactory;
+
+    /**
+     * Indicates whether strand groups are started on virtual threads as soon as they are scheduled. Until the
+     * scheduler is started they are kept in the runnable list.
+     */
+    private volatile boolean virtualThreadsStarted;
+
     private static final ThreadLocal<StrandHolder> strandHolder = ThreadLocal.withInitial(StrandHolder::new);
 
     private AtomicInteger totalStrands = new AtomicInteger();
 
     private static String poolSizeConf = System.getenv(RuntimeConstants.BALLERINA_MAX_POOL_SIZE_ENV_VAR);
 
+    private static String schedulerModeConf = System.getenv(RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR);
+
     /**
      * This can be changed by setting the BALLERINA_MAX_POOL_SIZE system variable.
      * Default is 100.
@@ -77,6 +125,12 @@ public class Scheduler {
 
     private static int poolSize = Runtime.getRuntime().availableProcessors() * 2;
 
+    /**
+     * This can be changed by setting the BALLERINA_SCHEDULER_MODE system variable.
+     * Default is {@link SchedulerMode#SHARED_QUEUE}.
+     */
+    private final SchedulerMode mode;
+
     private Semaphore mainBlockSem;
     private ListenerRegistry listenerRegistry;
 
@@ -92,15 +146,94 @@ public class Scheduler {
         }
         this.numThreads = poolSize;
         this.immortal = immortal;
+        this.mode = initMode(readSchedulerMode());
+        initWorkers();
         listenerRegistry = new ListenerRegistry();
     }
 
     public Scheduler(int numThreads, boolean immortal) {
         this.numThreads = numThreads;
         this.immortal = immortal;
+        this.mode = initMode(readSchedulerMode());
+        initWorkers();
+        listenerRegistry = new ListenerRegistry();
+    }
+
+    public Scheduler(int numThreads, boolean immortal, SchedulerMode mode) {
+        this.numThreads = numThreads;
+        this.immortal = immortal;
+        this.mode = initMode(mode);
+        initWorkers();
         listenerRegistry = new ListenerRegistry();
     }
 
+    private SchedulerMode readSchedulerMode() {
+        if (schedulerModeConf == null) {
+            return SchedulerMode.SHARED_QUEUE;
+        }
+        try {
+            return SchedulerMode.fromConfigValue(schedulerModeConf);
+        } catch (Throwable t) {
+            // Log and continue with default
+            err.println("ballerina: error occurred in scheduler while reading system variable:" +
+                                RuntimeConstants.BALLERINA_SCHEDULER_MODE_ENV_VAR + ", " + t.getMessage());
+            return SchedulerMode.SHARED_QUEUE;
+        }
+    }
+
+    /**
+     * Returns the mode the scheduler runs in, which is the shared queue mode if the given mode is not supported by
+     * the current Java runtime.
+     */
+    private SchedulerMode initMode(SchedulerMode schedulerMode) {
+        if (schedulerMode == SchedulerMode.VIRTUAL_THREADS) {
+            strandGroupThreadFactory = createVirtualThreadFactory();
+            if (strandGroupThreadFactory == null) {
+                err.println("ballerina: virtual threads are not supported by the current Java runtime, " +
+                                    "using the " + SchedulerMode.SHARED_QUEUE.getConfigValue() + " scheduler mode");
+                return SchedulerMode.SHARED_QUEUE;
+            }
+        }
+        return schedulerMode;
+    }
+
+    public SchedulerMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Creates a virtual thread factory through reflection, since virtual threads are only available from Java 21.
+     *
+     * @return virtual thread factory or null if the current Java runtime does not support virtual threads
+     */
+    private static ThreadFactory createVirtualThreadFactory() {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, "jbal-strand-vthread-", 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+    private void initWorkers() {
+        switch (mode) {
+            case WORK_STEALING:
+                for (int i = 0; i < numThreads; i++) {
+                    workerQueues.add(new ConcurrentLinkedDeque<>());
+                }
+                break;
+            case VIRTUAL_THREADS:
+                // released once when the scheduler is poisoned
+                this.mainBlockSem = new Semaphore(0);
+                break;
+            default:
+                break;
+        }
+    }
+
     public static Strand getStrand() {
         Strand strand = strandHolder.get().strand;
         if (strand == null) {
@@ -155,7 +288,7 @@ public class Scheduler {
         future.strand.strandGroup = parent.strandGroup;
         parent.strandGroup.add(item);
         if (parent.strandGroup.scheduled.compareAndSet(false, true)) {
-            runnableList.add(future.strand.strandGroup);
+            addToRunnableList(future.strand.strandGroup);
         }
         return future;
     }
@@ -218,7 +351,7 @@ public class Scheduler {
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        addToRunnableList(group);
         return future;
     }
 
@@ -244,16 +377,36 @@ public class Scheduler {
         ItemGroup group = new ItemGroup(item);
         future.strand.strandGroup = group;
         group.scheduled.set(true);
-        runnableList.add(group);
+        addToRunnableList(group);
         return future;
     }
 
     public void start() {
+        if (mode == SchedulerMode.VIRTUAL_THREADS) {
+            startVirtualThreads();
+            return;
+        }
         this.mainBlockSem = new Semaphore(-(numThreads - 1));
         for (int i = 0; i < numThreads - 1; i++) {
-            new Thread(this::runSafely, "jbal-strand-exec-" + i).start();
+            int workerId = i;
+            new Thread(() -> runSafely(workerId), "jbal-strand-exec-" + i).start();
+        }
+        this.runSafely(numThreads - 1);
+        try {
+            this.mainBlockSem.acquire();
+        } catch (InterruptedException e) {
+            RuntimeUtils.printCrashLog(e);
+        }
+    }
+
+    private void startVirtualThreads() {
+        synchronized (runnableList) {
+            virtualThreadsStarted = true;
+            ItemGroup group;
+            while ((group = runnableList.poll()) != null) {
+                startStrandGroupThread(group);
+            }
         }
-        this.runSafely();
         try {
             this.mainBlockSem.acquire();
         } catch (InterruptedException e) {
@@ -261,26 +414,46 @@ public class Scheduler {
         }
     }
 
+    private void startStrandGroupThread(ItemGroup group) {
+        strandGroupThreadFactory.newThread(() -> runGroupSafely(group)).start();
+    }
+
+    /**
+     * Defensive programming to prevent unforeseen errors.
+     */
+    private void runGroupSafely(ItemGroup group) {
+        try {
+            runGroup(group);
+        } catch (Throwable t) {
+            RuntimeUtils.printCrashLog(t);
+        }
+    }
+
     /**
      * Defensive programming to prevent unforeseen errors.
      */
-    private void runSafely() {
+    private void runSafely(int workerId) {
         try {
-            run();
+            run(workerId);
         } catch (Throwable t) {
             RuntimeUtils.printCrashLog(t);
+        } finally {
+            localQueue.remove();
         }
     }
 
     /**
      * Executes tasks that are submitted to the Scheduler.
      */
-    private void run() {
+    private void run(int workerId) {
+        if (mode == SchedulerMode.WORK_STEALING) {
+            localQueue.set(workerQueues.get(workerId));
+        }
+        int iteration = 0;
         while (true) {
-            SchedulerItem item;
             ItemGroup group;
             try {
-                group = runnableList.take();
+                group = takeGroup(workerId, ++iteration % GLOBAL_QUEUE_CHECK_INTERVAL == 0);
             } catch (InterruptedException ignored) {
                 continue;
             }
@@ -290,36 +463,151 @@ public class Scheduler {
                 break;
             }
 
-            while (!group.items.empty()) {
-                Object result = null;
-                Throwable panic = null;
+            runGroup(group);
+        }
+    }
 
-                item = group.get();
+    /**
+     * Executes the items of the given strand group until none of them are runnable.
+     */
+    private void runGroup(ItemGroup group) {
+        SchedulerItem item;
+        while (!group.isEmpty()) {
+            Object result = null;
+            Throwable panic = null;
 
-                try {
-                    strandHolder.get().strand = item.future.strand;
-                    result = item.execute();
-                } catch (Throwable e) {
-                    panic = createError(e);
-                    notifyChannels(item, panic);
+            item = group.get();
 
-                    if (!(panic instanceof BError)) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                    // Please refer #18763.
-                    // This logs cases where errors have occurred while strand is blocked.
-                    if (item.isYielded()) {
-                        RuntimeUtils.printCrashLog(panic);
-                    }
-                } finally {
-                    strandHolder.get().strand = null;
+            try {
+                strandHolder.get().strand = item.future.strand;
+                result = item.execute();
+            } catch (Throwable e) {
+                panic = createError(e);
+                notifyChannels(item, panic);
+
+                if (!(panic instanceof BError)) {
+                    RuntimeUtils.printCrashLog(panic);
+                }
+                // Please refer #18763.
+                // This logs cases where errors have occurred while strand is blocked.
+                if (item.isYielded()) {
+                    RuntimeUtils.printCrashLog(panic);
+                }
+            } finally {
+                strandHolder.get().strand = null;
+            }
+            postProcess(item, result, panic);
+            if (group.isEmpty()) {
+                group.scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Returns the next strand group to be executed by the given worker, blocking until one is available.
+     */
+    private ItemGroup takeGroup(int workerId, boolean checkRunnableListFirst) throws InterruptedException {
+        if (mode != SchedulerMode.WORK_STEALING) {
+            return runnableList.take();
+        }
+
+        Deque<ItemGroup> ownQueue = workerQueues.get(workerId);
+        ItemGroup group;
+        if (checkRunnableListFirst && (group = runnableList.poll()) != null) {
+            return group;
+        }
+        while (true) {
+            group = ownQueue.pollFirst();
+            if (group != null) {
+                return group;
+            }
+            group = runnableList.poll();
+            if (group != null) {
+                return group;
+            }
+            group = steal(workerId);
+            if (group != null) {
+                return group;
+            }
+
+            idleWorkers.incrementAndGet();
+            try {
+                // A group might have been made available before this worker was counted as idle, without a permit.
+                group = runnableList.poll();
+                if (group == null) {
+                    group = steal(workerId);
+                }
+                if (group == null) {
+                    idleWorkerPermits.acquire();
                 }
-                postProcess(item, result, panic);
-                if (group.items.empty()) {
-                    group.scheduled.set(false);
+            } finally {
+                idleWorkers.decrementAndGet();
+            }
+            if (group != null) {
+                return group;
+            }
+        }
+    }
+
+    /**
+     * Wakes up one of the idle workers, if any, after a strand group was made available. Since the group is added
+     * before the idle workers are counted, and a worker is counted as idle before it looks for groups for the last
+     * time, either the group is found or the worker is woken up.
+     */
+    private void signalIdleWorker() {
+        if (idleWorkers.get() > 0) {
+            idleWorkerPermits.release();
+        }
+    }
+
+    /**
+     * Takes a strand group from the tail of another worker's run queue, starting from a random victim.
+     */
+    private ItemGroup steal(int thiefId) {
+        int numQueues = workerQueues.size();
+        int start = ThreadLocalRandom.current().nextInt(numQueues);
+        for (int i = 0; i < numQueues; i++) {
+            int victimId = (start + i) % numQueues;
+            if (victimId == thiefId) {
+                continue;
+            }
+            ItemGroup group = workerQueues.get(victimId).pollLast();
+            if (group != null) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Makes the given strand group available to the workers. In work stealing mode, groups scheduled from a worker
+     * thread are kept in that worker's own run queue unless there are idle workers to hand them over to. In virtual
+     * thread mode, each group gets its own virtual thread once the scheduler is started.
+     */
+    private void addToRunnableList(ItemGroup group) {
+        if (mode == SchedulerMode.VIRTUAL_THREADS) {
+            if (!virtualThreadsStarted) {
+                synchronized (runnableList) {
+                    if (!virtualThreadsStarted) {
+                        runnableList.add(group);
+                        return;
+                    }
                 }
             }
+            startStrandGroupThread(group);
+            return;
+        }
+        if (mode != SchedulerMode.WORK_STEALING) {
+            runnableList.add(group);
+            return;
+        }
+        Deque<ItemGroup> ownQueue = localQueue.get();
+        if (ownQueue != null && idleWorkers.get() == 0) {
+            ownQueue.addFirst(group);
+        } else {
+            runnableList.add(group);
         }
+        signalIdleWorker();
     }
 
     /**
@@ -432,6 +720,10 @@ public class Scheduler {
     }
 
     private void cleanUp(Strand justCompleted) {
+        if (justCompleted.reservedLock != null) {
+            // Woken up for a lock but cancelled or panicked before retrying it.
+            justCompleted.reservedLock.releaseReservation(justCompleted);
+        }
         justCompleted.scheduler = null;
         justCompleted.frames = null;
         justCompleted.waitingContexts = null;
@@ -469,7 +761,7 @@ public class Scheduler {
             //  2) All others have finished
             // In this case we need to put it back in the runnable list.
             if (group.scheduled.compareAndSet(false, true)) {
-                runnableList.add(group);
+                addToRunnableList(group);
             }
         }
     }
@@ -494,9 +786,16 @@ public class Scheduler {
     }
 
     public void poison() {
+        if (mode == SchedulerMode.VIRTUAL_THREADS) {
+            this.mainBlockSem.release();
+            return;
+        }
         for (int i = 0; i < numThreads; i++) {
             runnableList.add(POISON_PILL);
         }
+        if (mode == SchedulerMode.WORK_STEALING) {
+            idleWorkerPermits.release(numThreads);
+        }
     }
 
     public void setListenerDeclarationFound(boolean listenerDeclarationFound) {
@@ -551,6 +850,11 @@ class SchedulerItem {
     final FutureValue future;
     boolean parked;
 
+    /**
+     * Next item in the run queue of the {@link ItemGroup} this item is scheduled in.
+     */
+    SchedulerItem next;
+
     public SchedulerItem(Function function, Object[] params, FutureValue future) {
         this.future = future;
         this.function = function;
@@ -594,11 +898,16 @@ class SchedulerItem {
  */
 class ItemGroup {
 
+    private static final AtomicReferenceFieldUpdater<ItemGroup, SchedulerItem> HEAD_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(ItemGroup.class, SchedulerItem.class, "head");
+
     /**
      * Keep the list of items that should run on same thread.
-     * Using a stack to get advantage of the locality.
+     * Using a stack to get advantage of the locality. The stack is linked through {@link SchedulerItem#next}, so
+     * that pushing an item does not allocate. Items can be pushed from any thread, but are only popped by the
+     * thread currently executing the group, which rules out the ABA problem of a lock-free stack.
      */
-    Stack<SchedulerItem> items = new Stack<>();
+    private volatile SchedulerItem head;
 
     /**
      * Indicates this item is already in runnable list/executing or not.
@@ -608,18 +917,38 @@ class ItemGroup {
     public static final ItemGroup POISON_PILL = new ItemGroup();
 
     public ItemGroup(SchedulerItem item) {
-        items.push(item);
+        this.head = item;
     }
 
     private ItemGroup() {
-        items = null;
     }
 
     public void add(SchedulerItem item) {
-        items.push(item);
+        SchedulerItem current;
+        do {
+            current = head;
+            item.next = current;
+        } while (!HEAD_UPDATER.compareAndSet(this, current, item));
     }
 
+    /**
+     * Pops the most recently added item. Must only be called by the thread executing this group.
+     *
+     * @return the most recently added item or null if there are no items
+     */
     public SchedulerItem get() {
-        return items.pop();
+        SchedulerItem current;
+        do {
+            current = head;
+            if (current == null) {
+                return null;
+            }
+        } while (!HEAD_UPDATER.compareAndSet(this, current, current.next));
+        current.next = null;
+        return current;
+    }
+
+    public boolean isEmpty() {
+        return head == null;
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.scheduling;
+
+/**
+ * Strategies used by the {@link Scheduler} to hand strand groups over to the executor threads. The mode can be
+ * selected with the BALLERINA_SCHEDULER_MODE system variable.
+ *
+ * @since 2.0.0
+ */
+public enum SchedulerMode {
+
+    /**
+     * All executor threads take strand groups from a single shared runnable list.
+     */
+    SHARED_QUEUE("shared"),
+
+    /**
+     * Each executor thread owns a run queue and idle threads steal strand groups from the others.
+     */
+    WORK_STEALING("work-stealing"),
+
+    /**
+     * Each strand group runs on its own virtual thread, so that strands blocked on Java interop calls do not hold
+     * up a platform thread. Requires a Java runtime with virtual thread support.
+     */
+    VIRTUAL_THREADS("virtual-threads");
+
+    private final String configValue;
+
+    SchedulerMode(String configValue) {
+        this.configValue = configValue;
+    }
+
+    String getConfigValue() {
+        return configValue;
+    }
+
+    static SchedulerMode fromConfigValue(String configValue) {
+        for (SchedulerMode mode : values()) {
+            if (mode.configValue.equalsIgnoreCase(configValue.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("unsupported scheduler mode '" + configValue + "'");
+    }
+}
@@ -21,6 +21,7 @@ import io.ballerina.runtime.api.PredefinedTypes;
 import io.ballerina.runtime.api.async.StrandMetadata;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.BLock;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.values.ChannelDetails;
 import io.ballerina.runtime.internal.values.ErrorValue;
@@ -28,6 +29,7 @@ import io.ballerina.runtime.internal.values.FutureValue;
 import io.ballerina.runtime.internal.values.MapValue;
 import io.ballerina.runtime.transactions.TransactionLocalContext;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -72,6 +74,21 @@ public class Strand {
     public Set<SchedulerItem> dependants;
     public boolean cancel;
 
+    /**
+     * Global locks currently held by this strand, created on first lock acquisition.
+     */
+    public ArrayDeque<BLock> acquiredLocks;
+
+    /**
+     * Time at which this strand started waiting for a global lock, or 0 if it is not waiting.
+     */
+    public long lockWaitStartTime;
+
+    /**
+     * Global lock that was reserved for this strand when it was woken up, until it retries the acquisition.
+     */
+    public BLock reservedLock;
+
     SchedulerItem schedulerItem;
     List<WaitContext> waitingContexts;
     WaitContext waitContext;
@@ -50,6 +50,8 @@ public class BUnionType extends BType implements UnionType {
     protected IntersectionType immutableType;
     private boolean resolving = false;
     public boolean resolvingReadonly = false;
+    // Built from the member types when a value is first checked against the union, and dropped when they change.
+    private volatile MemberTypeTable memberTypeTable;
 
     private static final String INT_CLONEABLE = "__Cloneable";
     private static final String CLONEABLE = "Cloneable";
@@ -198,6 +200,7 @@ public class BUnionType extends BType implements UnionType {
             return;
         }
         this.memberTypes = readonly ? getReadOnlyTypes(members) : Arrays.asList(members);
+        this.memberTypeTable = null;
         setFlagsBasedOnMembers();
     }
 
@@ -205,6 +208,7 @@ public class BUnionType extends BType implements UnionType {
         if (members == null) {
             return;
         }
+        this.memberTypeTable = null;
         if (members.isEmpty()) {
             this.memberTypes = members;
             return;
@@ -219,6 +223,7 @@ public class BUnionType extends BType implements UnionType {
         if (members == null) {
             return;
         }
+        this.memberTypeTable = null;
         if (members.isEmpty()) {
             this.memberTypes = members;
             return;
@@ -263,11 +268,13 @@ public class BUnionType extends BType implements UnionType {
 
     private void addMember(Type type) {
         this.memberTypes.add(type);
+        this.memberTypeTable = null;
         setFlagsBasedOnMembers();
     }
 
     public void addMembers(Type... types) {
         this.memberTypes.addAll(Arrays.asList(types));
+        this.memberTypeTable = null;
         setFlagsBasedOnMembers();
     }
 
@@ -302,6 +309,48 @@ public class BUnionType extends BType implements UnionType {
         return memberTypes;
     }
 
+    /**
+     * Returns the member types which a value of the type with the given tag may belong to. Members of a basic type
+     * other than the basic type of the given tag are left out, such as list and error types for a mapping value.
+     *
+     * @param typeTag tag of the type of the value
+     * @return the member types to check the value against
+     */
+    public Type[] getMemberTypes(int typeTag) {
+        return getMemberTypeTable().membersByBasicType[MemberTypeTable.basicTypeOf(typeTag)];
+    }
+
+    /**
+     * Checks whether a member of the union is the simple basic type with the given tag, or a type it is a subtype of.
+     *
+     * @param typeTag tag of int, byte, float, decimal, string, boolean or nil
+     * @return true if a value of the type belongs to a member type
+     */
+    public boolean hasSimpleMemberFor(int typeTag) {
+        return (getMemberTypeTable().simpleMemberTags & (1L << typeTag)) != 0;
+    }
+
+    /**
+     * Checks whether all the members of the union which may contain simple values are int, float, decimal, string,
+     * boolean or nil, so that a simple value belongs to the union only if {@link #hasSimpleMemberFor(int)} is true
+     * for the tag of its type. Mapping, list, error and object members, such as the error member of `T|error`, do not
+     * contain simple values.
+     *
+     * @return true if the simple values of the union are given by {@link #hasSimpleMemberFor(int)}
+     */
+    public boolean hasOnlySimpleTypesForSimpleValues() {
+        return getMemberTypeTable().onlySimpleTypesForSimpleValues;
+    }
+
+    private MemberTypeTable getMemberTypeTable() {
+        MemberTypeTable table = this.memberTypeTable;
+        if (table == null) {
+            table = new MemberTypeTable(memberTypes == null ? List.of() : memberTypes);
+            this.memberTypeTable = table;
+        }
+        return table;
+    }
+
     public boolean isNullable() {
         return isNilable();
     }
@@ -502,4 +551,99 @@ public class BUnionType extends BType implements UnionType {
         }
         setFlagsBasedOnMembers();
     }
+
+    /**
+     * The member types of a union, grouped by the basic types of the values which can belong to them.
+     */
+    private static class MemberTypeTable {
+
+        private static final int SIMPLE = 0;
+        private static final int MAPPING = 1;
+        private static final int LIST = 2;
+        private static final int ERROR = 3;
+        private static final int OBJECT = 4;
+        // Types which may contain values of more than one basic type, or which are not grouped
+        private static final int OTHER = 5;
+
+        final Type[][] membersByBasicType = new Type[OTHER + 1][];
+        final long simpleMemberTags;
+        final boolean onlySimpleTypesForSimpleValues;
+
+        MemberTypeTable(List<Type> memberTypes) {
+            long simpleMemberTags = 0;
+            boolean onlySimpleTypesForSimpleValues = true;
+            for (Type memberType : memberTypes) {
+                switch (memberType.getTag()) {
+                    case TypeTags.INT_TAG:
+                        simpleMemberTags |= (1L << TypeTags.INT_TAG) | (1L << TypeTags.BYTE_TAG);
+                        break;
+                    case TypeTags.FLOAT_TAG:
+                    case TypeTags.DECIMAL_TAG:
+                    case TypeTags.STRING_TAG:
+                    case TypeTags.BOOLEAN_TAG:
+                    case TypeTags.NULL_TAG:
+                        simpleMemberTags |= 1L << memberType.getTag();
+                        break;
+                    case TypeTags.BYTE_TAG:
+                        // An int value in the byte range also belongs to byte
+                        simpleMemberTags |= 1L << TypeTags.BYTE_TAG;
+                        onlySimpleTypesForSimpleValues = false;
+                        break;
+                    default:
+                        // Subtypes of simple types, finite types, and types such as json may contain some of the
+                        // values of a simple type, which needs the full check
+                        int basicType = basicTypeOf(memberType.getTag());
+                        if (basicType == SIMPLE || basicType == OTHER) {
+                            onlySimpleTypesForSimpleValues = false;
+                        }
+                }
+            }
+            this.simpleMemberTags = simpleMemberTags;
+            this.onlySimpleTypesForSimpleValues = onlySimpleTypesForSimpleValues;
+
+            for (int basicType = SIMPLE; basicType <= OTHER; basicType++) {
+                List<Type> members = new ArrayList<>(memberTypes.size());
+                for (Type memberType : memberTypes) {
+                    int memberBasicType = basicTypeOf(memberType.getTag());
+                    if (basicType == OTHER || memberBasicType == OTHER || memberBasicType == basicType) {
+                        members.add(memberType);
+                    }
+                }
+                membersByBasicType[basicType] = members.toArray(new Type[0]);
+            }
+        }
+
+        static int basicTypeOf(int typeTag) {
+            switch (typeTag) {
+                case TypeTags.INT_TAG:
+                case TypeTags.SIGNED32_INT_TAG:
+                case TypeTags.SIGNED16_INT_TAG:
+                case TypeTags.SIGNED8_INT_TAG:
+                case TypeTags.UNSIGNED32_INT_TAG:
+                case TypeTags.UNSIGNED16_INT_TAG:
+                case TypeTags.UNSIGNED8_INT_TAG:
+                case TypeTags.BYTE_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.DECIMAL_TAG:
+                case TypeTags.STRING_TAG:
+                case TypeTags.CHAR_STRING_TAG:
+                case TypeTags.BOOLEAN_TAG:
+                case TypeTags.NULL_TAG:
+                    return SIMPLE;
+                case TypeTags.MAP_TAG:
+                case TypeTags.RECORD_TYPE_TAG:
+                    return MAPPING;
+                case TypeTags.ARRAY_TAG:
+                case TypeTags.TUPLE_TAG:
+                    return LIST;
+                case TypeTags.ERROR_TAG:
+                    return ERROR;
+                case TypeTags.OBJECT_TYPE_TAG:
+                case TypeTags.SERVICE_TAG:
+                    return OBJECT;
+                default:
+                    return OTHER;
+            }
+        }
+    }
 }
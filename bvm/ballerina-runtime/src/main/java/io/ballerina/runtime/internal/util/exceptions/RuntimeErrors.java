@@ -77,7 +77,10 @@ public enum RuntimeErrors {
     XML_SEQUENCE_INDEX_OUT_OF_RANGE("xml.index.out.of.range", "RUNTIME_0050"),
     RECORD_INVALID_READONLY_FIELD_UPDATE("record.invalid.readonly.field.update", "RUNTIME_0051"),
     INVALID_READONLY_VALUE_UPDATE("invalid.update.on.readonly.value", "RUNTIME_0052"),
-    OBJECT_INVALID_FINAL_FIELD_UPDATE("object.invalid.final.field.update", "RUNTIME_0053");
+    OBJECT_INVALID_FINAL_FIELD_UPDATE("object.invalid.final.field.update", "RUNTIME_0053"),
+    INCOMPATIBLE_JSON_VALUE("incompatible.json.value", "RUNTIME_0054"),
+    MISSING_REQUIRED_JSON_FIELD("missing.required.json.field", "RUNTIME_0055"),
+    UNDEFINED_JSON_FIELD("undefined.json.field", "RUNTIME_0056");
 
     private String errorMsgKey;
     private String errorCode;
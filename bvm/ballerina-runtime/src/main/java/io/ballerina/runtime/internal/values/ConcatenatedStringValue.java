@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.runtime.internal.values;
+
+import io.ballerina.runtime.api.values.BLink;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Represent a ballerina string which is the concatenation of two strings, without copying their characters.
+ * <p>
+ * Concatenating a long string is a constant time operation, so strings built up in a loop take linear time overall.
+ * The characters are copied once, the first time the value of the string or any of its characters is needed. Short
+ * strings are still concatenated by copying, since copying them is cheaper than keeping the parts around.
+ *
+ * @since 2.0.0
+ */
+public class ConcatenatedStringValue implements StringValue {
+
+    // Concatenations shorter than this many chars are copied right away.
+    private static final int MIN_CONCATENATED_LENGTH = 256;
+    private static final int[] NO_SURROGATES = new int[0];
+
+    // The parts are cleared once the string is flattened. The flattened value is set before the parts are cleared,
+    // so a reader which finds the parts cleared always finds the flattened value.
+    private volatile BString left;
+    private volatile BString right;
+    private volatile StringValue flattened;
+    private final int length;
+    private final int charLength;
+
+    private ConcatenatedStringValue(BString left, BString right, int charLength) {
+        this.left = left;
+        this.right = right;
+        this.length = left.length() + right.length();
+        this.charLength = charLength;
+    }
+
+    /**
+     * Concatenates two strings.
+     *
+     * @param left  string on the left
+     * @param right string on the right
+     * @return the concatenated string
+     */
+    public static BString concat(BString left, BString right) {
+        int leftCharLength = charLength(left);
+        int rightCharLength = charLength(right);
+        if (leftCharLength == 0) {
+            return right;
+        }
+        if (rightCharLength == 0) {
+            return left;
+        }
+        int charLength = leftCharLength + rightCharLength;
+        if (charLength < 0) {
+            throw new OutOfMemoryError("string is too long");
+        }
+        if (charLength < MIN_CONCATENATED_LENGTH) {
+            if (left instanceof BmpStringValue && right instanceof BmpStringValue) {
+                // Neither part has surrogates, so the result needs no surrogate bookkeeping
+                return new BmpStringValue(left.getValue() + right.getValue());
+            }
+            return flatten(new BString[]{left, right}, charLength);
+        }
+        return new ConcatenatedStringValue(left, right, charLength);
+    }
+
+    /**
+     * Concatenates several strings. Consecutive short strings are copied into a single string at once, and the long
+     * ones are joined without copying.
+     *
+     * @param parts strings to concatenate, from left to right
+     * @return the concatenated string
+     */
+    public static BString concat(BString[] parts) {
+        BString result = null;
+        int start = 0;
+        int runCharLength = 0;
+        for (int i = 0; i < parts.length; i++) {
+            int charLength = charLength(parts[i]);
+            if (charLength >= MIN_CONCATENATED_LENGTH) {
+                result = join(result, copyRun(parts, start, i, runCharLength));
+                result = join(result, parts[i]);
+                start = i + 1;
+                runCharLength = 0;
+            } else if (runCharLength + charLength >= MIN_CONCATENATED_LENGTH) {
+                result = join(result, copyRun(parts, start, i, runCharLength));
+                start = i;
+                runCharLength = charLength;
+            } else {
+                runCharLength += charLength;
+            }
+        }
+        result = join(result, copyRun(parts, start, parts.length, runCharLength));
+        return result == null ? new BmpStringValue("") : result;
+    }
+
+    @Override
+    public String getValue() {
+        return flatten().getValue();
+    }
+
+    @Override
+    public int getCodePoint(int index) {
+        return flatten().getCodePoint(index);
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public BString concat(BString str) {
+        return concat(this, str);
+    }
+
+    @Override
+    public Long indexOf(BString str, int fromIndex) {
+        return flatten().indexOf(str, fromIndex);
+    }
+
+    @Override
+    public Long lastIndexOf(BString str, int fromIndex) {
+        return flatten().lastIndexOf(str, fromIndex);
+    }
+
+    @Override
+    public BString substring(int beginIndex, int endIndex) {
+        return flatten().substring(beginIndex, endIndex);
+    }
+
+    @Override
+    public String stringValue(BLink parent) {
+        return getValue();
+    }
+
+    @Override
+    public String informalStringValue(BLink parent) {
+        return "\"" + toString() + "\"";
+    }
+
+    @Override
+    public String expressionStringValue(BLink parent) {
+        return informalStringValue(parent);
+    }
+
+    @Override
+    public int hashCode() {
+        return getValue().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object str) {
+        if (str == this) {
+            return true;
+        }
+        if (str instanceof BString) {
+            return ((BString) str).getValue().equals(getValue());
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private StringValue flatten() {
+        StringValue value = flattened;
+        if (value != null) {
+            return value;
+        }
+        BString leftPart = left;
+        BString rightPart = right;
+        if (leftPart == null || rightPart == null) {
+            // Flattened by another thread in the meantime
+            return flattened;
+        }
+        value = flatten(new BString[]{leftPart, rightPart}, charLength);
+        flattened = value;
+        left = null;
+        right = null;
+        return value;
+    }
+
+    private static BString join(BString result, BString part) {
+        if (part == null) {
+            return result;
+        }
+        return result == null ? part : concat(result, part);
+    }
+
+    private static BString copyRun(BString[] parts, int start, int end, int charLength) {
+        if (end - start == 0) {
+            return null;
+        }
+        if (end - start == 1) {
+            return parts[start];
+        }
+        return flatten(Arrays.copyOfRange(parts, start, end), charLength);
+    }
+
+    /**
+     * Copies the characters of the given strings into one string. Concatenated strings among them are walked
+     * iteratively, since strings built up in a loop are nested as deep as the number of iterations.
+     */
+    private static StringValue flatten(BString[] parts, int charLength) {
+        StringBuilder builder = new StringBuilder(charLength);
+        int[] surrogates = NO_SURROGATES;
+        int surrogateCount = 0;
+        int codePointOffset = 0;
+
+        Deque<BString> pending = new ArrayDeque<>();
+        for (int i = parts.length - 1; i >= 0; i--) {
+            pending.push(parts[i]);
+        }
+        while (!pending.isEmpty()) {
+            BString part = pending.pop();
+            if (part instanceof ConcatenatedStringValue) {
+                ConcatenatedStringValue concatenated = (ConcatenatedStringValue) part;
+                BString leftPart = concatenated.left;
+                BString rightPart = concatenated.right;
+                StringValue value = concatenated.flattened;
+                if (value == null && leftPart != null && rightPart != null) {
+                    pending.push(rightPart);
+                    pending.push(leftPart);
+                    continue;
+                }
+                part = value != null ? value : concatenated.flattened;
+            }
+
+            int[] partSurrogates = surrogatesOf(part);
+            if (partSurrogates.length > 0) {
+                if (surrogateCount + partSurrogates.length > surrogates.length) {
+                    surrogates = Arrays.copyOf(surrogates, Math.max(surrogates.length * 2,
+                                                                    surrogateCount + partSurrogates.length));
+                }
+                for (int surrogate : partSurrogates) {
+                    surrogates[surrogateCount++] = surrogate + codePointOffset;
+                }
+            }
+            builder.append(part.getValue());
+            codePointOffset += part.length();
+        }
+
+        String value = builder.toString();
+        if (surrogateCount == 0) {
+            return new BmpStringValue(value);
+        }
+        return new NonBmpStringValue(value, Arrays.copyOf(surrogates, surrogateCount));
+    }
+
+    private static int[] surrogatesOf(BString str) {
+        if (str instanceof BmpStringValue) {
+            return NO_SURROGATES;
+        }
+        if (str instanceof NonBmpStringValue) {
+            return ((NonBmpStringValue) str).surrogates();
+        }
+        // Code point indexes of the surrogate pairs of any other string
+        String value = str.getValue();
+        int[] surrogates = NO_SURROGATES;
+        int count = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (Character.isHighSurrogate(value.charAt(i))) {
+                if (count == surrogates.length) {
+                    surrogates = Arrays.copyOf(surrogates, Math.max(4, count * 2));
+                }
+                surrogates[count] = i - count;
+                count++;
+            }
+        }
+        return Arrays.copyOf(surrogates, count);
+    }
+
+    private static int charLength(BString str) {
+        if (str instanceof ConcatenatedStringValue) {
+            return ((ConcatenatedStringValue) str).charLength;
+        }
+        return str.getValue().length();
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash map from {@code long} keys to non-negative {@code int} values, which stores both in
+ * primitive arrays so that neither keys nor values are boxed. Tables use it to map key hashes to row numbers.
+ *
+ * @since 2.0.0
+ */
+final class LongIntHashMap {
+
+    static final int NO_VALUE = -1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    // A slot is empty when its value is NO_VALUE.
+    private int[] values;
+    private int size;
+
+    LongIntHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    int get(long key) {
+        int mask = values.length - 1;
+        int slot = mix(key) & mask;
+        int value;
+        while ((value = values[slot]) != NO_VALUE) {
+            if (keys[slot] == key) {
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Maps the key to the given value.
+     *
+     * @param key   key
+     * @param value value, which must not be negative
+     * @return the previous value of the key, or {@link #NO_VALUE} if the key was not mapped
+     */
+    int put(long key, int value) {
+        int mask = values.length - 1;
+        int slot = mix(key) & mask;
+        int oldValue;
+        while ((oldValue = values[slot]) != NO_VALUE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        // Keep the load factor at or below one half.
+        if (++size > values.length >> 1) {
+            resize(values.length << 1);
+        }
+        return NO_VALUE;
+    }
+
+    /**
+     * Removes the mapping of the key.
+     *
+     * @param key key
+     * @return the removed value, or {@link #NO_VALUE} if the key was not mapped
+     */
+    int remove(long key) {
+        int mask = values.length - 1;
+        int slot = mix(key) & mask;
+        int oldValue;
+        while ((oldValue = values[slot]) != NO_VALUE) {
+            if (keys[slot] == key) {
+                shiftBack(slot);
+                size--;
+                return oldValue;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    void clear() {
+        Arrays.fill(values, NO_VALUE);
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private void shiftBack(int gap) {
+        // Move later entries of the probe sequence into the gap, so that lookups never need tombstones.
+        int mask = values.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == NO_VALUE) {
+                break;
+            }
+            int home = mix(keys[slot]) & mask;
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = NO_VALUE;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == NO_VALUE) {
+                continue;
+            }
+            int slot = mix(oldKeys[i]) & mask;
+            while (values[slot] != NO_VALUE) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+    }
+
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
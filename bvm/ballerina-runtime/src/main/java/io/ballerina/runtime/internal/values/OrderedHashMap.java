@@ -0,0 +1,547 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.runtime.internal.values;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * <p>
+ * An insertion ordered hash map that keeps its keys and values in a single flat array, and finds them through an
+ * open addressing index of array positions. Unlike {@link java.util.LinkedHashMap}, no entry object is allocated per
+ * mapping, which keeps small maps and records compact.
+ * </p>
+ * <p>
+ * Removed mappings leave a gap in the entry array, which is reclaimed the next time the map runs out of space. The
+ * views returned by {@link #entrySet()}, {@link #keySet()} and {@link #values()} only cover the mappings held in this
+ * map, even when a subclass overrides those methods.
+ * </p>
+ * <p>
+ * <i>Note: This is an internal API and may change in future versions.</i>
+ * </p>
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ *
+ * @since 2.0.0
+ */
+public class OrderedHashMap<K, V> extends AbstractMap<K, V> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int INITIAL_CAPACITY = 4;
+    private static final int EMPTY_SLOT = 0;
+    private static final int REMOVED_SLOT = -1;
+    private static final Object NULL_KEY = new NullKey();
+
+    // Keys are at even positions and their values at the following odd position, in insertion order. A null key
+    // marks a removed mapping.
+    private Object[] entries;
+    // Open addressing index with linear probing. Each slot holds the entry number plus one, or one of EMPTY_SLOT or
+    // REMOVED_SLOT. The index is always at least twice as large as the entry capacity, so probing always ends.
+    private transient int[] index;
+    private int size;
+    private int entryCount;
+    private transient int modCount;
+
+    private transient Set<Map.Entry<K, V>> entrySetView;
+    private transient Set<K> keySetView;
+    private transient Collection<V> valuesView;
+
+    public OrderedHashMap() {
+        super();
+    }
+
+    @Override
+    public V get(Object key) {
+        int entry = findEntry(key);
+        return entry < 0 ? null : valueAt(entry);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findEntry(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < entryCount; i++) {
+            if (entries[i << 1] != null && Objects.equals(entries[(i << 1) + 1], value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Object maskedKey = maskNull(key);
+        int hash = hash(maskedKey);
+        int entry = findEntry(maskedKey, hash);
+        if (entry >= 0) {
+            V oldValue = valueAt(entry);
+            entries[(entry << 1) + 1] = value;
+            return oldValue;
+        }
+
+        if (entries == null) {
+            allocate(INITIAL_CAPACITY);
+        } else if (entryCount == entries.length >> 1) {
+            // Reclaim the removed entries if that frees up at least half of the space, or grow otherwise.
+            int capacity = entries.length >> 1;
+            rehash(size < capacity >> 1 ? capacity : capacity << 1);
+        }
+
+        entry = entryCount++;
+        entries[entry << 1] = maskedKey;
+        entries[(entry << 1) + 1] = value;
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        while (index[slot] > EMPTY_SLOT) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = entry + 1;
+        size++;
+        modCount++;
+        return null;
+    }
+
+    @Override
+    public V remove(Object key) {
+        Object maskedKey = maskNull(key);
+        int slot = findSlot(maskedKey, hash(maskedKey));
+        if (slot < 0) {
+            return null;
+        }
+        return removeSlot(slot);
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        if (entries == null) {
+            return;
+        }
+        Arrays.fill(entries, 0, entryCount << 1, null);
+        Arrays.fill(index, EMPTY_SLOT);
+        size = 0;
+        entryCount = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        for (int i = 0; i < entryCount; i++) {
+            if (entries[i << 1] != null) {
+                action.accept(keyAt(i), valueAt(i));
+            }
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        Set<Map.Entry<K, V>> entrySet = entrySetView;
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+            entrySetView = entrySet;
+        }
+        return entrySet;
+    }
+
+    @Override
+    public Set<K> keySet() {
+        Set<K> keySet = keySetView;
+        if (keySet == null) {
+            keySet = new KeySet();
+            keySetView = keySet;
+        }
+        return keySet;
+    }
+
+    @Override
+    public Collection<V> values() {
+        Collection<V> values = valuesView;
+        if (values == null) {
+            values = new Values();
+            valuesView = values;
+        }
+        return values;
+    }
+
+    private void allocate(int capacity) {
+        entries = new Object[capacity << 1];
+        index = new int[capacity << 1];
+    }
+
+    private void rehash(int capacity) {
+        Object[] oldEntries = entries;
+        int oldEntryCount = entryCount;
+        allocate(capacity);
+        int mask = index.length - 1;
+        int entry = 0;
+        for (int i = 0; i < oldEntryCount; i++) {
+            Object key = oldEntries[i << 1];
+            if (key == null) {
+                continue;
+            }
+            entries[entry << 1] = key;
+            entries[(entry << 1) + 1] = oldEntries[(i << 1) + 1];
+            int slot = hash(key) & mask;
+            while (index[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = ++entry;
+        }
+        entryCount = entry;
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (entries != null) {
+            // The index is not serialized, since the hash codes of the keys may differ in this runtime.
+            rehash(entries.length >> 1);
+        }
+    }
+
+    private int findEntry(Object key) {
+        Object maskedKey = maskNull(key);
+        return findEntry(maskedKey, hash(maskedKey));
+    }
+
+    private int findEntry(Object maskedKey, int hash) {
+        int slot = findSlot(maskedKey, hash);
+        return slot < 0 ? -1 : index[slot] - 1;
+    }
+
+    private int findSlot(Object maskedKey, int hash) {
+        if (index == null) {
+            return -1;
+        }
+        int mask = index.length - 1;
+        int slot = hash & mask;
+        int entry;
+        while ((entry = index[slot]) != EMPTY_SLOT) {
+            if (entry != REMOVED_SLOT) {
+                Object key = entries[(entry - 1) << 1];
+                if (key == maskedKey || key.equals(maskedKey)) {
+                    return slot;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private V removeSlot(int slot) {
+        int entry = index[slot] - 1;
+        V oldValue = valueAt(entry);
+        index[slot] = REMOVED_SLOT;
+        entries[entry << 1] = null;
+        entries[(entry << 1) + 1] = null;
+        size--;
+        modCount++;
+        return oldValue;
+    }
+
+    private void removeEntry(int entry) {
+        Object key = entries[entry << 1];
+        removeSlot(findSlot(key, hash(key)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private K keyAt(int entry) {
+        return (K) unmaskNull(entries[entry << 1]);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int entry) {
+        return (V) entries[(entry << 1) + 1];
+    }
+
+    private static int hash(Object maskedKey) {
+        int h = maskedKey.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Object maskNull(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    private static Object unmaskNull(Object key) {
+        return key == NULL_KEY ? null : key;
+    }
+
+    /**
+     * Stands in for the null key, which is used to mark removed entries.
+     */
+    private static class NullKey implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private Object readResolve() {
+            return NULL_KEY;
+        }
+    }
+
+    /**
+     * Iterates the live entries of the map in insertion order.
+     */
+    private abstract class OrderedIterator<T> implements Iterator<T> {
+
+        private int nextEntry;
+        private int lastEntry = -1;
+        private int expectedModCount = modCount;
+
+        OrderedIterator() {
+            skipRemoved();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextEntry < entryCount;
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (nextEntry >= entryCount) {
+                throw new NoSuchElementException();
+            }
+            lastEntry = nextEntry++;
+            skipRemoved();
+            return get(lastEntry);
+        }
+
+        @Override
+        public void remove() {
+            if (lastEntry < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            removeEntry(lastEntry);
+            lastEntry = -1;
+            expectedModCount = modCount;
+        }
+
+        abstract T get(int entry);
+
+        private void skipRemoved() {
+            while (nextEntry < entryCount && entries[nextEntry << 1] == null) {
+                nextEntry++;
+            }
+        }
+    }
+
+    /**
+     * A mapping that reads and writes through to the entry array while the mapping is in place. Once the key is
+     * removed from the map, the entry keeps the value it last read or wrote, as the entries of a
+     * {@link java.util.LinkedHashMap} do, so that a snapshot of the entries can still be iterated.
+     */
+    private class OrderedEntry implements Map.Entry<K, V> {
+
+        private final Object maskedKey;
+        private int entry;
+        private V value;
+
+        OrderedEntry(int entry) {
+            this.maskedKey = entries[entry << 1];
+            this.entry = entry;
+            this.value = valueAt(entry);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K getKey() {
+            return (K) unmaskNull(maskedKey);
+        }
+
+        @Override
+        public V getValue() {
+            if (locate()) {
+                value = valueAt(entry);
+            }
+            return value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            V oldValue = getValue();
+            if (locate()) {
+                entries[(entry << 1) + 1] = value;
+            }
+            this.value = value;
+            return oldValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+
+        /**
+         * Finds the current position of the entry, which moves when the map reclaims the space of removed entries.
+         *
+         * @return true if the key is still in the map
+         */
+        private boolean locate() {
+            if (entry >= 0 && entry < entryCount && entries[entry << 1] == maskedKey) {
+                return true;
+            }
+            entry = findEntry(maskedKey, hash(maskedKey));
+            return entry >= 0;
+        }
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, V>> {
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return new OrderedIterator<Map.Entry<K, V>>() {
+                @Override
+                Map.Entry<K, V> get(int entry) {
+                    return new OrderedEntry(entry);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            int entry = findEntry(e.getKey());
+            return entry >= 0 && Objects.equals(valueAt(entry), e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!contains(o)) {
+                return false;
+            }
+            OrderedHashMap.this.remove(((Map.Entry<?, ?>) o).getKey());
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            OrderedHashMap.this.clear();
+        }
+    }
+
+    private class KeySet extends AbstractSet<K> {
+
+        @Override
+        public Iterator<K> iterator() {
+            return new OrderedIterator<K>() {
+                @Override
+                K get(int entry) {
+                    return keyAt(entry);
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return findEntry(o) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            OrderedHashMap.this.clear();
+        }
+    }
+
+    private class Values extends AbstractCollection<V> {
+
+        @Override
+        public Iterator<V> iterator() {
+            return new OrderedIterator<V>() {
+                @Override
+                V get(int entry) {
+                    return valueAt(entry);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            OrderedHashMap.this.clear();
+        }
+    }
+}
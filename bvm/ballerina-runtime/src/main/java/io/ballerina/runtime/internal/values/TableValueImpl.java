@@ -20,6 +20,7 @@ package io.ballerina.runtime.internal.values;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.creators.ErrorCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
 import io.ballerina.runtime.api.types.Field;
 import io.ballerina.runtime.api.types.TableType;
 import io.ballerina.runtime.api.types.Type;
@@ -44,16 +45,14 @@ import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.StringJoiner;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.TABLE_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INHERENT_TYPE_VIOLATION_ERROR_IDENTIFIER;
@@ -72,32 +71,32 @@ import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReason
  */
 public class TableValueImpl<K, V> implements TableValue<K, V> {
 
+    private static final int INITIAL_ROW_CAPACITY = 8;
+
     private TableType type;
     private Type iteratorNextReturnType;
-    private ConcurrentHashMap<Long, Map.Entry<K, V>> entries;
-    private LinkedHashMap<Long, V> values;
-    private LinkedHashMap<Long, K> keys;
     private String[] fieldNames;
     private ValueHolder valueHolder;
     private long maxIntKey = 0;
 
-    //These are required to achieve the iterator behavior
-    private LinkedHashMap<Long, Long> indexToKeyMap;
-    private LinkedHashMap<Long, Long> keyToIndexMap;
-    private long noOfAddedEntries = 0;
+    // Rows are kept in insertion order. A removed row leaves a null value behind until the rows are compacted.
+    private Object[] rowKeys;
+    private Object[] rowValues;
+    private long[] rowKeyHashes;
+    private int rowCount;
+    private int size;
+    private int compactionCount;
+    // Maps the key hash of each row of a keyed table to its row number, null for a keyless table
+    private LongIntHashMap keyIndex;
+    private volatile Map<String, SecondaryIndex> secondaryIndexes;
 
     private boolean nextKeySupported;
 
-    private final Map<String, Object> nativeData = new HashMap<>();
+    private Map<String, Object> nativeData;
 
     public TableValueImpl(TableType type) {
         this.type = type;
 
-        this.entries = new ConcurrentHashMap<>();
-        this.keys = new LinkedHashMap<>();
-        this.values = new LinkedHashMap<>();
-        this.keyToIndexMap = new LinkedHashMap<>();
-        this.indexToKeyMap = new LinkedHashMap<>();
         this.fieldNames = type.getFieldNames();
         if (type.getFieldNames() != null) {
             this.valueHolder = new KeyHashValueHolder();
@@ -212,23 +211,41 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public Set<Map.Entry<K, V>> entrySet() {
-        return new LinkedHashSet<>(entries.values());
+        Set<Map.Entry<K, V>> entrySet = new LinkedHashSet<>(size);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                entrySet.add(new AbstractMap.SimpleEntry<>(getRowKey(row), getRowValue(row)));
+            }
+        }
+        return entrySet;
     }
 
     @Override
     public Collection<V> values() {
-        return values.values();
+        List<V> values = new ArrayList<>(size);
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                values.add(getRowValue(row));
+            }
+        }
+        return values;
     }
 
     @Override
     public void clear() {
         handleFrozenTableValue();
-        entries.clear();
-        keys.clear();
-        values.clear();
-        keyToIndexMap.clear();
-        indexToKeyMap.clear();
-        noOfAddedEntries = 0;
+        if (rowValues != null) {
+            Arrays.fill(rowKeys, 0, rowCount, null);
+            Arrays.fill(rowValues, 0, rowCount, null);
+        }
+        rowCount = 0;
+        size = 0;
+        if (keyIndex != null) {
+            keyIndex.clear();
+        }
+        if (secondaryIndexes != null) {
+            secondaryIndexes.values().forEach(SecondaryIndex::clear);
+        }
     }
 
     @Override
@@ -257,7 +274,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                                         + "The key sequence should only have an " +
                                                                            "Integer field."));
         }
-        return keys.size() == 0 ? 0 : (this.maxIntKey + 1);
+        return size == 0 ? 0 : (this.maxIntKey + 1);
     }
 
     public Type getKeyType() {
@@ -285,27 +302,106 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public K[] getKeys() {
-        return (K[]) keys.values().toArray(new Object[]{});
+        if (!(valueHolder instanceof TableValueImpl.KeyHashValueHolder)) {
+            return (K[]) new Object[]{};
+        }
+        Object[] keys = new Object[size];
+        int i = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null) {
+                keys[i++] = rowKeys[row];
+            }
+        }
+        return (K[]) keys;
     }
 
     @Override
     public int size() {
-        return entries.size();
+        return size;
     }
 
     @Override
     public boolean isEmpty() {
-        return entries.isEmpty();
+        return size == 0;
     }
 
     @Override
     public void addNativeData(String key, Object data) {
+        if (nativeData == null) {
+            nativeData = new HashMap<>();
+        }
         nativeData.put(key, data);
     }
 
     @Override
     public Object getNativeData(String key) {
-        return nativeData.get(key);
+        return nativeData == null ? null : nativeData.get(key);
+    }
+
+    /**
+     * Creates an index on a field of the rows of this table, so that {@link #getRowsWithFieldValue} can find the rows
+     * with a given value of the field without scanning the table. Only fields that cannot change after a row is added
+     * to the table can be indexed, which are the fields declared readonly in the row type, or any field when the rows
+     * are immutable.
+     *
+     * @param fieldName name of the field to index
+     * @return true if the field is indexed, false if the field cannot be indexed
+     */
+    public boolean createSecondaryIndex(String fieldName) {
+        if (secondaryIndexes != null && secondaryIndexes.containsKey(fieldName)) {
+            return true;
+        }
+        if (!isImmutableField(fieldName)) {
+            return false;
+        }
+        // Immutable tables can be shared between threads, so the index is only published once it is complete
+        Map<String, SecondaryIndex> indexes = secondaryIndexes == null ? new HashMap<>() :
+                new HashMap<>(secondaryIndexes);
+        SecondaryIndex index = new SecondaryIndex(StringUtils.fromString(fieldName));
+        index.rebuild();
+        indexes.put(fieldName, index);
+        secondaryIndexes = indexes;
+        return true;
+    }
+
+    public boolean hasSecondaryIndex(String fieldName) {
+        return secondaryIndexes != null && secondaryIndexes.containsKey(fieldName);
+    }
+
+    /**
+     * Returns the rows of this table whose given field is equal to the given value, in the order of the table. An
+     * index created with {@link #createSecondaryIndex} is used when there is one, and the table is scanned otherwise.
+     *
+     * @param fieldName name of the field
+     * @param value     value to look for
+     * @return the matching rows
+     */
+    public List<V> getRowsWithFieldValue(String fieldName, Object value) {
+        if (hasSecondaryIndex(fieldName)) {
+            return secondaryIndexes.get(fieldName).lookup(value);
+        }
+
+        BString field = StringUtils.fromString(fieldName);
+        List<V> rows = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] != null && TypeChecker.isEqual(((MapValue) rowValues[row]).get(field), value)) {
+                rows.add(getRowValue(row));
+            }
+        }
+        return rows;
+    }
+
+    private boolean isImmutableField(String fieldName) {
+        Type constraintType = type.getConstrainedType();
+        if (type.isReadOnly() || constraintType.isReadOnly()) {
+            return true;
+        }
+        if (constraintType.getTag() != TypeTags.RECORD_TYPE_TAG) {
+            return false;
+        }
+        Field field = ((BRecordType) constraintType).getFields().get(fieldName);
+        // A field of a readonly type can still be assigned another value, unless the field itself is readonly
+        return field != null && SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.READONLY);
     }
 
     @Override
@@ -320,7 +416,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     public String stringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
+        Iterator<V> itr = values().iterator();
         return createStringValueDataEntry(itr, parent);
     }
 
@@ -331,21 +427,21 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
     @Override
     public String expressionStringValue(BLink parent) {
-        Iterator<Map.Entry<Long, V>> itr = values.entrySet().iterator();
+        Iterator<V> itr = values().iterator();
         return createExpressionStringValueDataEntry(itr, parent);
     }
 
-    private String createStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createStringValueDataEntry(Iterator<V> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getStringValue(struct.getValue(),
+            V struct = itr.next();
+            sj.add(StringUtils.getStringValue(struct,
                                               new CycleUtils.Node(this, parent)));
         }
         return "[" + sj.toString() + "]";
     }
 
-    private String createExpressionStringValueDataEntry(Iterator<Map.Entry<Long, V>> itr, BLink parent) {
+    private String createExpressionStringValueDataEntry(Iterator<V> itr, BLink parent) {
         StringJoiner sj = new StringJoiner(",");
         StringJoiner keyJoiner = new StringJoiner(",");
         if (type.getFieldNames() != null) {
@@ -355,8 +451,8 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
             }
         }
         while (itr.hasNext()) {
-            Map.Entry<Long, V> struct = itr.next();
-            sj.add(StringUtils.getExpressionStringValue(struct.getValue(),
+            V struct = itr.next();
+            sj.add(StringUtils.getExpressionStringValue(struct,
                                                         new CycleUtils.Node(this, parent)));
         }
         return "table key(" + keyJoiner.toString() + ") [" + sj.toString() + "]";
@@ -386,7 +482,10 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
     }
 
     private class TableIterator<K, V> implements IteratorValue {
-        private long cursor;
+        private int cursor;
+        private int lastRow = -1;
+        private Object lastValue;
+        private int expectedCompactionCount = compactionCount;
 
         TableIterator() {
             this.cursor = 0;
@@ -394,31 +493,50 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         @Override
         public Object next() {
-            Long hash = indexToKeyMap.get(cursor);
-            if (hash != null) {
-                Map.Entry<K, V> next = (Map.Entry<K, V>) entries.get(hash);
-                V value = next.getValue();
-                K key = next.getKey();
-
-                List<Type> types = new ArrayList<>();
-                types.add(TypeChecker.getType(key));
-                types.add(TypeChecker.getType(value));
-                BTupleType tupleType = new BTupleType(types);
-
-                TupleValueImpl tuple = new TupleValueImpl(tupleType);
-                tuple.add(0, key);
-                tuple.add(1, value);
-                cursor++;
-                return tuple;
-            } else {
-                cursor++;
-                return next();
-            }
+            skipRemovedRows();
+            int row = cursor++;
+            lastRow = row;
+            lastValue = rowValues[row];
+            V value = (V) rowValues[row];
+            K key = (K) rowKeys[row];
+
+            List<Type> types = new ArrayList<>();
+            types.add(TypeChecker.getType(key));
+            types.add(TypeChecker.getType(value));
+            BTupleType tupleType = new BTupleType(types);
+
+            TupleValueImpl tuple = new TupleValueImpl(tupleType);
+            tuple.add(0, key);
+            tuple.add(1, value);
+            return tuple;
         }
 
         @Override
         public boolean hasNext() {
-           return cursor < noOfAddedEntries;
+            skipRemovedRows();
+            return cursor < rowCount;
+        }
+
+        private void skipRemovedRows() {
+            if (expectedCompactionCount != compactionCount) {
+                // The rows were moved while iterating, so continue after the new position of the last row.
+                expectedCompactionCount = compactionCount;
+                cursor = lastRow < 0 ? 0 : findRowAfterCompaction(lastValue, lastRow);
+            }
+            while (cursor < rowCount && rowValues[cursor] == null) {
+                cursor++;
+            }
+        }
+
+        private int findRowAfterCompaction(Object value, int oldRow) {
+            // Compaction only moves rows to lower row numbers. If the last row was removed as well, its new position
+            // is not known and the iteration continues from its old position.
+            for (int row = Math.min(oldRow, rowCount - 1); row >= 0; row--) {
+                if (rowValues[row] == value) {
+                    return row + 1;
+                }
+            }
+            return Math.min(oldRow, rowCount);
         }
     }
 
@@ -440,11 +558,9 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public V putData(V data) {
             checkInherentTypeViolation((MapValue) data, type);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(data, data);
-            UUID uuid = UUID.randomUUID();
-            entries.put((long) uuid.hashCode(), entry);
-            updateIndexKeyMappings((long) uuid.hashCode());
-            return values.put((long) uuid.hashCode(), data);
+            // A row of a table without a key is its own key.
+            addRow(data, data, 0);
+            return null;
         }
 
         public V remove(K key) {
@@ -468,6 +584,7 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
 
         public KeyHashValueHolder() {
             super();
+            keyIndex = new LongIntHashMap();
             if (fieldNames.length > 1) {
                 keyWrapper = new MultiKeyWrapper();
             } else {
@@ -485,63 +602,56 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
                                                StringUtils.fromString("A value " + "found for key '" + key + "'"));
             }
 
-            if (nextKeySupported && (keys.size() == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
+            if (nextKeySupported && (size == 0 || maxIntKey < TypeChecker.anyToInt(key))) {
                 maxIntKey = ((Long) TypeChecker.anyToInt(key)).intValue();
             }
 
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry(key, data);
-            Long hash = TableUtils.hash(key, null);
-            putData(key, data, entry, hash);
+            long hash = TableUtils.hash(key, null);
+            putData(key, data, hash);
         }
 
         public V getData(K key) {
-            return values.get(TableUtils.hash(key, null));
+            int row = keyIndex.get(TableUtils.hash(key, null));
+            return row == LongIntHashMap.NO_VALUE ? null : getRowValue(row);
         }
 
         public V putData(K key, V data) {
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
             Object actualKey = this.keyWrapper.wrapKey((MapValue) data);
-            Long actualHash = TableUtils.hash(actualKey, null);
-            Long hash = TableUtils.hash(key, null);
+            long actualHash = TableUtils.hash(actualKey, null);
+            long hash = TableUtils.hash(key, null);
 
-            if (!hash.equals(actualHash)) {
+            if (hash != actualHash) {
                 throw ErrorCreator.createError(TABLE_KEY_NOT_FOUND_ERROR, StringUtils.fromString("The key '" +
                         key + "' not found in value " + data.toString()));
             }
 
-            return putData(key, data, entry, hash);
+            return putData(key, data, hash);
         }
 
-        private V putData(K key, V data, Map.Entry<K, V> entry, Long hash) {
-            entries.put(hash, entry);
-            keys.put(hash, key);
-            updateIndexKeyMappings(hash);
-            return values.put(hash, data);
+        private V putData(K key, V data, long hash) {
+            int row = keyIndex.get(hash);
+            if (row == LongIntHashMap.NO_VALUE) {
+                keyIndex.put(hash, addRow(key, data, hash));
+                return null;
+            }
+            return replaceRow(row, key, data);
         }
 
         public V putData(V data) {
             MapValue dataMap = (MapValue) data;
             checkInherentTypeViolation(dataMap, type);
             K key = this.keyWrapper.wrapKey(dataMap);
-            Map.Entry<K, V> entry = new AbstractMap.SimpleEntry<>(key, data);
-            Long hash = TableUtils.hash(key, null);
-            return putData((K) key, data, entry, hash);
+            long hash = TableUtils.hash(key, null);
+            return putData((K) key, data, hash);
         }
 
         public V remove(K key) {
-            Long hash = TableUtils.hash(key, null);
-            entries.remove(hash);
-            keys.remove(hash);
-            Long index = keyToIndexMap.remove(hash);
-            indexToKeyMap.remove(index);
-            if (index != null && index == noOfAddedEntries - 1) {
-                noOfAddedEntries--;
-            }
-            return values.remove(hash);
+            int row = keyIndex.remove(TableUtils.hash(key, null));
+            return row == LongIntHashMap.NO_VALUE ? null : removeRow(row);
         }
 
         public boolean containsKey(K key) {
-            return keys.containsKey(TableUtils.hash(key, null));
+            return keyIndex.containsKey(TableUtils.hash(key, null));
         }
 
         public Type getKeyType() {
@@ -592,12 +702,173 @@ public class TableValueImpl<K, V> implements TableValue<K, V> {
         }
     }
 
-    // This method updates the indexes and the order required by the iterators
-    private void updateIndexKeyMappings(Long hash) {
-        if (!keyToIndexMap.containsKey(hash)) {
-            keyToIndexMap.put(hash, noOfAddedEntries);
-            indexToKeyMap.put(noOfAddedEntries, hash);
-            noOfAddedEntries++;
+    private K getRowKey(int row) {
+        return (K) rowKeys[row];
+    }
+
+    private V getRowValue(int row) {
+        return (V) rowValues[row];
+    }
+
+    private int addRow(Object key, V value, long keyHash) {
+        ensureRowCapacity();
+        int row = rowCount++;
+        rowKeys[row] = key;
+        rowValues[row] = value;
+        rowKeyHashes[row] = keyHash;
+        size++;
+        if (secondaryIndexes != null) {
+            for (SecondaryIndex index : secondaryIndexes.values()) {
+                index.add(row);
+            }
+        }
+        return row;
+    }
+
+    private V replaceRow(int row, Object key, V value) {
+        if (secondaryIndexes != null) {
+            for (SecondaryIndex index : secondaryIndexes.values()) {
+                index.remove(row);
+            }
+        }
+        V oldValue = getRowValue(row);
+        rowKeys[row] = key;
+        rowValues[row] = value;
+        if (secondaryIndexes != null) {
+            for (SecondaryIndex index : secondaryIndexes.values()) {
+                index.add(row);
+            }
+        }
+        return oldValue;
+    }
+
+    private V removeRow(int row) {
+        if (secondaryIndexes != null) {
+            for (SecondaryIndex index : secondaryIndexes.values()) {
+                index.remove(row);
+            }
+        }
+        V oldValue = getRowValue(row);
+        rowKeys[row] = null;
+        rowValues[row] = null;
+        size--;
+        return oldValue;
+    }
+
+    private void ensureRowCapacity() {
+        if (rowValues == null) {
+            rowKeys = new Object[INITIAL_ROW_CAPACITY];
+            rowValues = new Object[INITIAL_ROW_CAPACITY];
+            rowKeyHashes = new long[INITIAL_ROW_CAPACITY];
+            return;
+        }
+        if (rowCount < rowValues.length) {
+            return;
+        }
+        if (size <= rowValues.length >> 1) {
+            // At least half of the rows were removed, so reuse their space instead of growing.
+            compactRows();
+            return;
+        }
+        int capacity = rowValues.length << 1;
+        rowKeys = Arrays.copyOf(rowKeys, capacity);
+        rowValues = Arrays.copyOf(rowValues, capacity);
+        rowKeyHashes = Arrays.copyOf(rowKeyHashes, capacity);
+    }
+
+    private void compactRows() {
+        int newRowCount = 0;
+        for (int row = 0; row < rowCount; row++) {
+            if (rowValues[row] == null) {
+                continue;
+            }
+            rowKeys[newRowCount] = rowKeys[row];
+            rowValues[newRowCount] = rowValues[row];
+            rowKeyHashes[newRowCount] = rowKeyHashes[row];
+            if (keyIndex != null) {
+                keyIndex.put(rowKeyHashes[newRowCount], newRowCount);
+            }
+            newRowCount++;
+        }
+        Arrays.fill(rowKeys, newRowCount, rowCount, null);
+        Arrays.fill(rowValues, newRowCount, rowCount, null);
+        rowCount = newRowCount;
+        compactionCount++;
+        if (secondaryIndexes != null) {
+            secondaryIndexes.values().forEach(SecondaryIndex::rebuild);
+        }
+    }
+
+    /**
+     * Index of the rows of the table by the value of a field that does not change while the row is in the table.
+     * Rows with the same hash of the field value are chained through an array indexed by row number.
+     */
+    private class SecondaryIndex {
+
+        private final BString fieldName;
+        private final LongIntHashMap firstRows = new LongIntHashMap();
+        private int[] nextRows = new int[0];
+
+        SecondaryIndex(BString fieldName) {
+            this.fieldName = fieldName;
+        }
+
+        void add(int row) {
+            if (nextRows.length <= row) {
+                nextRows = Arrays.copyOf(nextRows, rowValues.length);
+            }
+            nextRows[row] = firstRows.put(hash(row), row);
+        }
+
+        void remove(int row) {
+            long hash = hash(row);
+            int current = firstRows.get(hash);
+            if (current == row) {
+                if (nextRows[row] == LongIntHashMap.NO_VALUE) {
+                    firstRows.remove(hash);
+                } else {
+                    firstRows.put(hash, nextRows[row]);
+                }
+                return;
+            }
+            while (current != LongIntHashMap.NO_VALUE) {
+                if (nextRows[current] == row) {
+                    nextRows[current] = nextRows[row];
+                    return;
+                }
+                current = nextRows[current];
+            }
+        }
+
+        List<V> lookup(Object value) {
+            List<V> rows = new ArrayList<>();
+            int row = firstRows.get(TableUtils.hash(value, null));
+            while (row != LongIntHashMap.NO_VALUE) {
+                if (TypeChecker.isEqual(((MapValue) rowValues[row]).get(fieldName), value)) {
+                    rows.add(getRowValue(row));
+                }
+                row = nextRows[row];
+            }
+            // Rows are chained from the last added one.
+            Collections.reverse(rows);
+            return rows;
+        }
+
+        void rebuild() {
+            clear();
+            for (int row = 0; row < rowCount; row++) {
+                if (rowValues[row] != null) {
+                    add(row);
+                }
+            }
+        }
+
+        void clear() {
+            firstRows.clear();
+        }
+
+        private long hash(int row) {
+            return TableUtils.hash(((MapValue) rowValues[row]).get(fieldName), null);
         }
     }
 
@@ -19,6 +19,8 @@ package io.ballerina.runtime.observability;
 
 import io.ballerina.runtime.observability.metrics.Tag;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -42,6 +44,8 @@ public class ObserverContext {
      */
     private final Map<String, Tag> tags;
 
+    private final Collection<Tag> tagValues;
+
     /**
      * {@link Map} of custom Tags, which are relevant to metrics  .
      */
@@ -68,6 +72,7 @@ public class ObserverContext {
     public ObserverContext() {
         this.properties = new HashMap<>();
         this.tags = new HashMap<>();
+        this.tagValues = Collections.unmodifiableCollection(tags.values());
     }
 
     public void addProperty(String key, Object value) {
@@ -92,6 +97,16 @@ public class ObserverContext {
         return new HashSet<>(tags.values());
     }
 
+    /**
+     * Returns a read only view of the tags of the context, which reflects the tags added later. Unlike
+     * {@link #getAllTags()}, the tags are not copied.
+     *
+     * @return the tags of the context
+     */
+    public Collection<Tag> getTagValues() {
+        return tagValues;
+    }
+
     public String getEntrypointFunctionModule() {
         return entrypointFunctionModule;
     }
@@ -40,6 +40,14 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
 
     private static final PrintStream consoleError = System.err;
 
+    private static final Tag[] STATUS_CODE_GROUP_TAGS = new Tag[10];
+
+    static {
+        for (int i = 0; i < STATUS_CODE_GROUP_TAGS.length; i++) {
+            STATUS_CODE_GROUP_TAGS[i] = Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, i + STATUS_CODE_GROUP_SUFFIX);
+        }
+    }
+
     private static final MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
 
     private static final StatisticConfig[] responseTimeStatisticConfigs = new StatisticConfig[]{
@@ -57,6 +65,9 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
                     .build()
     };
 
+    private static final MetricCache<Gauge> inProgressGauges = new MetricCache<>();
+    private static final MetricCache<RequestMetrics> requestMetrics = new MetricCache<>();
+
     @Override
     public void startServerObservation(ObserverContext observerContext) {
         startObservation(observerContext);
@@ -87,10 +98,15 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
 
     private void startObservation(ObserverContext observerContext) {
         observerContext.addProperty(PROPERTY_START_TIME, System.nanoTime());
-        Set<Tag> tags = observerContext.getAllTags();
         try {
-            Gauge inProgressGauge = metricRegistry.gauge(new MetricId("inprogress_requests", "In-progress requests",
-                    tags));
+            int removals = metricRegistry.getRemovals();
+            Gauge inProgressGauge = inProgressGauges.get(null, observerContext, null, removals);
+            if (inProgressGauge == null) {
+                Set<Tag> tags = observerContext.getAllTags();
+                inProgressGauge = metricRegistry.gauge(new MetricId("inprogress_requests", "In-progress requests",
+                        tags));
+                inProgressGauges.put(tags, inProgressGauge, removals);
+            }
             inProgressGauge.increment();
             /*
              * The in progress counter is stored so that the same counter can be decremted when the observation
@@ -99,42 +115,164 @@ public class BallerinaMetricsObserver implements BallerinaObserver {
              */
             observerContext.addProperty(PROPERTY_IN_PROGRESS_COUNTER, inProgressGauge);
         } catch (RuntimeException e) {
-            handleError("inprogress_requests", tags, e);
+            handleError("inprogress_requests", observerContext.getAllTags(), e);
         }
     }
 
     private void stopObservation(ObserverContext observerContext) {
-        Set<Tag> tags = new HashSet<>();
         Map<String, Tag> customTags = observerContext.customMetricTags;
-        if (customTags != null) {
-            tags.addAll(customTags.values());
-        }
-        tags.addAll(observerContext.getAllTags());
-
         // Add status_code_group tag
+        Tag statusCodeGroupTag = null;
         Integer statusCode = (Integer) observerContext.getProperty(PROPERTY_KEY_HTTP_STATUS_CODE);
         if (statusCode != null && statusCode > 0) {
-            tags.add(Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, (statusCode / 100) + STATUS_CODE_GROUP_SUFFIX));
+            statusCodeGroupTag = getStatusCodeGroupTag(statusCode / 100);
         }
 
         try {
             Long startTime = (Long) observerContext.getProperty(PROPERTY_START_TIME);
             long duration = System.nanoTime() - startTime;
             ((Gauge) observerContext.getProperty(PROPERTY_IN_PROGRESS_COUNTER)).decrement();
-            metricRegistry.gauge(new MetricId("response_time_seconds",
-                    "Response time", tags), responseTimeStatisticConfigs).setValue(duration / 1E9);
-            metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
-                    "Total response response time for all requests", tags)).increment(duration);
-            metricRegistry.counter(new MetricId("requests_total",
-                    "Total number of requests", tags)).increment();
+
+            int removals = metricRegistry.getRemovals();
+            RequestMetrics metrics = requestMetrics.get(customTags, observerContext, statusCodeGroupTag, removals);
+            if (metrics == null) {
+                Set<Tag> tags = getTags(customTags, observerContext, statusCodeGroupTag);
+                metrics = new RequestMetrics(tags);
+                requestMetrics.put(tags, metrics, removals);
+            }
+            metrics.responseTime.setValue(duration / 1E9);
+            metrics.responseTimeTotal.increment(duration);
+            metrics.requestsTotal.increment();
         } catch (RuntimeException e) {
-            handleError("multiple metrics", tags, e);
+            handleError("multiple metrics", getTags(customTags, observerContext, statusCodeGroupTag), e);
         }
     }
 
+    private static Set<Tag> getTags(Map<String, Tag> customTags, ObserverContext observerContext,
+                                    Tag statusCodeGroupTag) {
+        Set<Tag> tags = new HashSet<>();
+        if (customTags != null) {
+            tags.addAll(customTags.values());
+        }
+        tags.addAll(observerContext.getTagValues());
+        if (statusCodeGroupTag != null) {
+            tags.add(statusCodeGroupTag);
+        }
+        return tags;
+    }
+
+    private static Tag getStatusCodeGroupTag(int statusCodeGroup) {
+        if (statusCodeGroup < STATUS_CODE_GROUP_TAGS.length) {
+            return STATUS_CODE_GROUP_TAGS[statusCodeGroup];
+        }
+        return Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, statusCodeGroup + STATUS_CODE_GROUP_SUFFIX);
+    }
+
     private void handleError(String metricName, Set<Tag> tags, RuntimeException e) {
         // Metric Provider may throw exceptions if there is a mismatch in tags.
         consoleError.println("error: error collecting metrics for " + metricName + " with tags " + tags +
                 ": " + e.getMessage());
     }
+
+    /**
+     * The metrics recorded when an observation ends, for a set of tags.
+     */
+    private static class RequestMetrics {
+
+        final Gauge responseTime;
+        final Counter responseTimeTotal;
+        final Counter requestsTotal;
+
+        RequestMetrics(Set<Tag> tags) {
+            responseTime = metricRegistry.gauge(new MetricId("response_time_seconds",
+                    "Response time", tags), responseTimeStatisticConfigs);
+            responseTimeTotal = metricRegistry.counter(new MetricId("response_time_nanoseconds_total",
+                    "Total response response time for all requests", tags));
+            requestsTotal = metricRegistry.counter(new MetricId("requests_total",
+                    "Total number of requests", tags));
+        }
+    }
+
+    /**
+     * Caches the metrics of the most recently seen tag sets, so that the metrics of an observation are found without
+     * building its tag set. The tags of an observation are the custom metric tags, the tags of the context and the
+     * status code group tag, where the same tag in more than one of them is counted once as in a set. An entry is
+     * not used once any metric is removed from the registry.
+     *
+     * @param <M> the type of the cached metrics
+     */
+    private static class MetricCache<M> {
+
+        private static final int SIZE = 1024;
+
+        private final Entry<M>[] entries = createEntries();
+
+        M get(Map<String, Tag> customTags, ObserverContext observerContext, Tag statusCodeGroupTag, int removals) {
+            int hash = 0;
+            int size = 0;
+            if (customTags != null) {
+                for (Tag tag : customTags.values()) {
+                    hash += tag.hashCode();
+                    size++;
+                }
+            }
+            for (Tag tag : observerContext.getTagValues()) {
+                if (!isCustomTag(tag, customTags)) {
+                    hash += tag.hashCode();
+                    size++;
+                }
+            }
+            if (statusCodeGroupTag != null && !isCustomTag(statusCodeGroupTag, customTags) &&
+                    !statusCodeGroupTag.equals(observerContext.getTag(statusCodeGroupTag.getKey()))) {
+                hash += statusCodeGroupTag.hashCode();
+                size++;
+            }
+
+            Entry<M> entry = entries[slot(hash)];
+            if (entry == null || entry.hash != hash || entry.tags.length != size || entry.removals != removals) {
+                return null;
+            }
+            for (Tag tag : entry.tags) {
+                if (!tag.equals(statusCodeGroupTag) && !isCustomTag(tag, customTags) &&
+                        !tag.equals(observerContext.getTag(tag.getKey()))) {
+                    return null;
+                }
+            }
+            return entry.metrics;
+        }
+
+        void put(Set<Tag> tags, M metrics, int removals) {
+            // The hash code of a set is the sum of the hash codes of its elements
+            int hash = tags.hashCode();
+            entries[slot(hash)] = new Entry<>(tags.toArray(new Tag[0]), hash, metrics, removals);
+        }
+
+        private static boolean isCustomTag(Tag tag, Map<String, Tag> customTags) {
+            return customTags != null && tag.equals(customTags.get(tag.getKey()));
+        }
+
+        private static int slot(int hash) {
+            return (hash ^ (hash >>> 16)) & (SIZE - 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <M> Entry<M>[] createEntries() {
+            return new Entry[SIZE];
+        }
+
+        private static class Entry<M> {
+
+            final Tag[] tags;
+            final int hash;
+            final M metrics;
+            final int removals;
+
+            Entry(Tag[] tags, int hash, M metrics, int removals) {
+                this.tags = tags;
+                this.hash = hash;
+                this.metrics = metrics;
+                this.removals = removals;
+            }
+        }
+    }
 }
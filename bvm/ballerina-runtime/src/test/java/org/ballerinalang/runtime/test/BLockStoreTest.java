@@ -0,0 +1,131 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.internal.BLock;
+import io.ballerina.runtime.internal.BLockStatistics;
+import io.ballerina.runtime.internal.BLockStore;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for {@link BLockStore} and {@link BLock}.
+ */
+public class BLockStoreTest {
+
+    private static final String LOCK_NAME = "lock0";
+    private static final StrandMetadata METADATA = new StrandMetadata("$anon", ".", "0.0.0", "main");
+
+    @Test
+    public void testPanicIfInLock() {
+        BLockStore lockStore = new BLockStore("test");
+        Strand strand = createStrand();
+        BLock lock = lockStore.getLockFromMap(LOCK_NAME);
+
+        lockStore.panicIfInLock(LOCK_NAME, strand);
+        Assert.assertTrue(lock.lock(strand));
+        Assert.assertThrows(BError.class, () -> lockStore.panicIfInLock(LOCK_NAME, strand));
+        lock.unlock();
+        lockStore.panicIfInLock(LOCK_NAME, strand);
+
+        Assert.assertTrue(lock.lockShared(strand));
+        Assert.assertThrows(BError.class, () -> lockStore.panicIfInLock(LOCK_NAME, strand));
+        lock.unlockShared(strand);
+        lockStore.panicIfInLock(LOCK_NAME, strand);
+    }
+
+    @Test
+    public void testPanicIfInLockOfOtherStore() {
+        BLockStore lockStore = new BLockStore("test");
+        BLock otherLock = new BLockStore("other").getLockFromMap(LOCK_NAME);
+        Strand strand = createStrand();
+
+        Assert.assertTrue(otherLock.lock(strand));
+        lockStore.panicIfInLock(LOCK_NAME, strand);
+        otherLock.unlock();
+    }
+
+    @Test
+    public void testSharedAndExclusiveLock() {
+        BLock lock = new BLockStore("test").getLockFromMap(LOCK_NAME);
+        Strand reader1 = createStrand();
+        Strand reader2 = createStrand();
+        Strand writer = createStrand();
+
+        Assert.assertTrue(lock.lockShared(reader1));
+        Assert.assertTrue(lock.lockShared(reader2));
+        Assert.assertFalse(lock.lock(writer));
+        Assert.assertTrue(writer.isBlocked());
+
+        BLockStatistics statistics = lock.getStatistics();
+        Assert.assertEquals(statistics.getQueueLength(), 1);
+        Assert.assertEquals(statistics.getMaxQueueLength(), 1);
+    }
+
+    @Test
+    public void testReentrantSharedLock() {
+        BLock lock = new BLockStore("test").getLockFromMap(LOCK_NAME);
+        Strand strand = createStrand();
+
+        Assert.assertTrue(lock.lock(strand));
+        Assert.assertTrue(lock.lockShared(strand));
+        lock.unlockShared(strand);
+        Assert.assertFalse(lock.isLockFree());
+        lock.unlock();
+        Assert.assertTrue(lock.isLockFree());
+    }
+
+    @Test
+    public void testReleaseReservationOfWokenStrand() {
+        BLock lock = new BLockStore("test").getLockFromMap(LOCK_NAME);
+        Scheduler scheduler = new Scheduler(1, false);
+        Strand owner = createScheduledStrand(scheduler);
+        Strand cancelled = createScheduledStrand(scheduler);
+        Strand next = createScheduledStrand(scheduler);
+
+        Assert.assertTrue(lock.lock(owner));
+        Assert.assertFalse(lock.lock(cancelled));
+        Assert.assertFalse(lock.lock(next));
+        lock.unlock();
+
+        // The lock is reserved for the first waiter, which completes without retrying it.
+        Assert.assertSame(cancelled.reservedLock, lock);
+        Assert.assertFalse(cancelled.isBlocked());
+        Assert.assertTrue(next.isBlocked());
+        lock.releaseReservation(cancelled);
+
+        Assert.assertNull(cancelled.reservedLock);
+        Assert.assertSame(next.reservedLock, lock);
+        Assert.assertFalse(next.isBlocked());
+        Assert.assertTrue(lock.lock(next));
+        Assert.assertNull(next.reservedLock);
+    }
+
+    private Strand createScheduledStrand(Scheduler scheduler) {
+        return scheduler.schedule(new Object[1], params -> null, null, null, "test", METADATA).strand;
+    }
+
+    private Strand createStrand() {
+        return new Strand("test", null, new Scheduler(1, false), null, null);
+    }
+}
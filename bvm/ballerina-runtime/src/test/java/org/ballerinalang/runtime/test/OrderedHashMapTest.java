@@ -0,0 +1,151 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.ArrayValue;
+import io.ballerina.runtime.internal.values.IteratorValue;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.OrderedHashMap;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for {@link OrderedHashMap}.
+ */
+public class OrderedHashMapTest {
+
+    @Test
+    public void testInsertionOrder() {
+        OrderedHashMap<String, Integer> map = new OrderedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        map.put("key5", -5);
+
+        Assert.assertEquals(map.size(), 100);
+        Assert.assertEquals(map.get("key5"), Integer.valueOf(-5));
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            Assert.assertEquals(entry.getKey(), "key" + i);
+            i++;
+        }
+    }
+
+    @Test
+    public void testRemoveAndReinsert() {
+        OrderedHashMap<String, Integer> map = new OrderedHashMap<>();
+        LinkedHashMap<String, Integer> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            String key = "key" + (i % 37);
+            if (i % 3 == 0) {
+                Assert.assertEquals(map.remove(key), expected.remove(key));
+            } else {
+                Assert.assertEquals(map.put(key, i), expected.put(key, i));
+            }
+            Assert.assertEquals(new ArrayList<>(map.entrySet()), new ArrayList<>(expected.entrySet()));
+        }
+        Assert.assertEquals(map, expected);
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        OrderedHashMap<String, Integer> map = new OrderedHashMap<>();
+        for (int i = 0; i < 10; i++) {
+            map.put("key" + i, i);
+        }
+        Iterator<Integer> iterator = map.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() % 2 == 0) {
+                iterator.remove();
+            }
+        }
+
+        Assert.assertEquals(new ArrayList<>(map.keySet()), Arrays.asList("key1", "key3", "key5", "key7", "key9"));
+        Assert.assertFalse(map.containsKey("key2"));
+    }
+
+    @Test
+    public void testEntrySetValue() {
+        OrderedHashMap<String, Integer> map = new OrderedHashMap<>();
+        map.put("a", 1);
+        map.put(null, 2);
+        Map.Entry<String, Integer> entry = map.entrySet().iterator().next();
+        entry.setValue(10);
+
+        Assert.assertEquals(map.get("a"), Integer.valueOf(10));
+        Assert.assertEquals(map.get(null), Integer.valueOf(2));
+        Assert.assertTrue(map.containsValue(2));
+    }
+
+    @Test
+    public void testEntriesOfRemovedKeys() {
+        OrderedHashMap<String, Integer> map = new OrderedHashMap<>();
+        for (int i = 0; i < 5; i++) {
+            map.put("key" + i, i);
+        }
+        // A snapshot of the entries, as taken by the map iterator of a foreach
+        List<Map.Entry<String, Integer>> values = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : new LinkedHashSet<>(map.entrySet())) {
+            map.remove(entry.getKey());
+            map.remove("key4");
+            values.add(entry);
+        }
+
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertEquals(values.size(), 5);
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(values.get(i).getKey(), "key" + i);
+            Assert.assertEquals(values.get(i).getValue(), Integer.valueOf(i));
+        }
+        Assert.assertEquals(values.get(0).setValue(10), Integer.valueOf(0));
+        Assert.assertEquals(values.get(0).getValue(), Integer.valueOf(10));
+        Assert.assertFalse(map.containsKey("key0"));
+    }
+
+    @Test
+    public void testDeleteWhileIteratingMapValue() {
+        MapValueImpl<BString, Object> map = new MapValueImpl<>(PredefinedTypes.TYPE_MAP);
+        map.put(StringUtils.fromString("name"), StringUtils.fromString("bob"));
+        map.put(StringUtils.fromString("age"), 10L);
+        map.put(StringUtils.fromString("pass"), true);
+
+        // The entries of the map when the iteration starts are iterated, including the ones removed on the way
+        IteratorValue iterator = map.getIterator();
+        List<Object> values = new ArrayList<>();
+        while (iterator.hasNext()) {
+            ArrayValue next = (ArrayValue) iterator.next();
+            map.remove(StringUtils.fromString("pass"));
+            values.add(next.getRefValue(1));
+        }
+
+        Assert.assertEquals(map.size(), 2);
+        Assert.assertEquals(values, Arrays.asList(StringUtils.fromString("bob"), 10L, true));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import io.ballerina.runtime.internal.scheduling.SchedulerMode;
+import io.ballerina.runtime.internal.scheduling.Strand;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Test cases for the modes of the {@link Scheduler}.
+ */
+public class SchedulerTest {
+
+    private static final StrandMetadata METADATA = new StrandMetadata("$anon", ".", "0.0.0", "main");
+
+    @Test
+    public void testWorkStealingRunsStrandsOnIdleWorkers() {
+        Scheduler scheduler = new Scheduler(4, false, SchedulerMode.WORK_STEALING);
+        int strandCount = 100;
+        AtomicInteger completed = new AtomicInteger();
+        Set<String> threadNames = ConcurrentHashMap.newKeySet();
+        Function<Object[], Object> childFunction = params -> {
+            threadNames.add(Thread.currentThread().getName());
+            sleep(1);
+            completed.incrementAndGet();
+            return null;
+        };
+        Function<Object[], Object> mainFunction = params -> {
+            // Scheduled from a worker, so the children are only run by the other workers if they are woken up.
+            for (int i = 0; i < strandCount; i++) {
+                scheduler.schedule(new Object[1], childFunction, (Strand) params[0], null, "child", METADATA);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], mainFunction, null, null, "main", METADATA);
+        scheduler.start();
+
+        Assert.assertEquals(completed.get(), strandCount);
+        Assert.assertTrue(threadNames.size() > 1);
+    }
+
+    @Test
+    public void testWorkStealingWakesIdleWorkersForExternalStrands() throws InterruptedException {
+        Scheduler scheduler = new Scheduler(4, true, SchedulerMode.WORK_STEALING);
+        Thread schedulerThread = new Thread(scheduler::start);
+        schedulerThread.start();
+        // Let all the workers run out of work and park.
+        sleep(100);
+
+        int strandCount = 10;
+        CountDownLatch latch = new CountDownLatch(strandCount);
+        for (int i = 0; i < strandCount; i++) {
+            scheduler.schedule(new Object[1], params -> {
+                latch.countDown();
+                return null;
+            }, null, null, "external", METADATA);
+        }
+        Assert.assertTrue(latch.await(10, TimeUnit.SECONDS));
+
+        scheduler.poison();
+        schedulerThread.join(TimeUnit.SECONDS.toMillis(10));
+        Assert.assertFalse(schedulerThread.isAlive());
+    }
+
+    @Test
+    public void testVirtualThreadsFallback() {
+        Scheduler scheduler = new Scheduler(2, false, SchedulerMode.VIRTUAL_THREADS);
+        // Virtual threads are only available from Java 21, before which the shared queue is used
+        Assert.assertEquals(scheduler.getMode(), getExpectedVirtualThreadsMode());
+
+        int strandCount = 10;
+        AtomicInteger completed = new AtomicInteger();
+        Function<Object[], Object> childFunction = params -> {
+            completed.incrementAndGet();
+            return null;
+        };
+        Function<Object[], Object> mainFunction = params -> {
+            for (int i = 0; i < strandCount; i++) {
+                scheduler.schedule(new Object[1], childFunction, (Strand) params[0], null, "child", METADATA);
+            }
+            return null;
+        };
+        scheduler.schedule(new Object[1], mainFunction, null, null, "main", METADATA);
+        scheduler.start();
+
+        Assert.assertEquals(completed.get(), strandCount);
+    }
+
+    @Test
+    public void testSchedulerModeFromSystemVariable() throws IOException, InterruptedException {
+        Assert.assertEquals(runWithSchedulerMode("work-stealing"), SchedulerMode.WORK_STEALING.name());
+        Assert.assertEquals(runWithSchedulerMode("virtual-threads"), getExpectedVirtualThreadsMode().name());
+        Assert.assertEquals(runWithSchedulerMode("unknown"), SchedulerMode.SHARED_QUEUE.name());
+    }
+
+    /**
+     * Prints the mode of a scheduler created with the mode given by the BALLERINA_SCHEDULER_MODE system variable.
+     */
+    public static class SchedulerModePrinter {
+
+        public static void main(String[] args) {
+            System.out.print(new Scheduler(1, false).getMode().name());
+        }
+    }
+
+    private static String runWithSchedulerMode(String schedulerMode) throws IOException, InterruptedException {
+        ProcessBuilder processBuilder = new ProcessBuilder(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-cp",
+                System.getProperty("java.class.path"), SchedulerModePrinter.class.getName());
+        processBuilder.environment().put("BALLERINA_SCHEDULER_MODE", schedulerMode);
+        processBuilder.redirectError(ProcessBuilder.Redirect.INHERIT);
+        Process process = processBuilder.start();
+        String output;
+        try (InputStream inputStream = process.getInputStream()) {
+            output = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        Assert.assertTrue(process.waitFor(1, TimeUnit.MINUTES));
+        Assert.assertEquals(process.exitValue(), 0);
+        return output.trim();
+    }
+
+    private static SchedulerMode getExpectedVirtualThreadsMode() {
+        return Runtime.version().feature() >= 21 ? SchedulerMode.VIRTUAL_THREADS : SchedulerMode.SHARED_QUEUE;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
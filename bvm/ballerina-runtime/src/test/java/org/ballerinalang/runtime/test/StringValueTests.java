@@ -1,5 +1,9 @@
 package org.ballerinalang.runtime.test;
 
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.BmpStringValue;
+import io.ballerina.runtime.internal.values.ConcatenatedStringValue;
 import io.ballerina.runtime.internal.values.NonBmpStringValue;
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -40,4 +44,56 @@ public class StringValueTests {
         Assert.assertEquals(SUBJECT.length(), 16);
     }
 
+    @Test
+    void testConcatInLoop() {
+        BString result = StringUtils.fromString("");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            BString part = StringUtils.fromString(i % 100 == 0 ? UNICODE_STR : Integer.toString(i));
+            result = result.concat(part);
+            expected.append(part.getValue());
+        }
+
+        Assert.assertTrue(result instanceof ConcatenatedStringValue);
+        Assert.assertEquals(result.getValue(), expected.toString());
+        Assert.assertEquals(result.length(), expected.codePointCount(0, expected.length()));
+        Assert.assertEquals(result, StringUtils.fromString(expected.toString()));
+    }
+
+    @Test
+    void testConcatShortStrings() {
+        BString bmpResult = StringUtils.fromString("ab").concat(StringUtils.fromString("cd"));
+        Assert.assertTrue(bmpResult instanceof BmpStringValue);
+        Assert.assertEquals(bmpResult.getValue(), "abcd");
+
+        BString nonBmpResult = StringUtils.fromString("ab").concat(SUBJECT);
+        Assert.assertTrue(nonBmpResult instanceof NonBmpStringValue);
+        Assert.assertEquals(nonBmpResult.length(), 2 + 16);
+        Assert.assertEquals(nonBmpResult.getCodePoint(3), 0x1F6F8);
+    }
+
+    @Test
+    void testConcatenatedCodePoints() {
+        BString longBmp = StringUtils.fromString(new String(new char[300]).replace('\0', 'a'));
+        BString result = SUBJECT.concat(longBmp).concat(SUBJECT);
+
+        Assert.assertEquals(result.length(), 16 + 300 + 16);
+        Assert.assertEquals(result.getCodePoint(1), 0x1F6F8);
+        Assert.assertEquals(result.getCodePoint(316), 'C');
+        Assert.assertEquals(result.getCodePoint(317), 0x1F6F8);
+        Assert.assertEquals(result.getCodePoint(330), 0x1F47D);
+        Assert.assertEquals(result.substring(316, 318).getValue(), "C\uD83D\uDEF8");
+    }
+
+    @Test
+    void testConcatParts() {
+        BString longBmp = StringUtils.fromString(new String(new char[300]).replace('\0', 'b'));
+        BString[] parts = {StringUtils.fromString("x"), SUBJECT, longBmp, StringUtils.fromString(""), SUBJECT};
+        BString result = ConcatenatedStringValue.concat(parts);
+
+        Assert.assertEquals(result.getValue(), "x" + UNICODE_STR + longBmp.getValue() + UNICODE_STR);
+        Assert.assertEquals(result.getCodePoint(2), 0x1F6F8);
+        Assert.assertEquals(result.getCodePoint(318), 0x1F6F8);
+        Assert.assertEquals(ConcatenatedStringValue.concat(new BString[0]).getValue(), "");
+    }
 }
@@ -0,0 +1,137 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*    http://www.apache.org/licenses/LICENSE-2.0
+*
+* Unless required by applicable law or agreed to in writing,
+* software distributed under the License is distributed on an
+* "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+* KIND, either express or implied.  See the License for the
+* specific language governing permissions and limitations
+* under the License.
+*/
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.types.BMapType;
+import io.ballerina.runtime.internal.types.BTableType;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the row storage and the secondary indexes of {@link TableValueImpl}.
+ */
+public class TableValueTest {
+
+    private static final BMapType ROW_TYPE = new BMapType(PredefinedTypes.TYPE_INT, true);
+
+    @Test
+    public void testInsertionOrderAfterRemoval() {
+        TableValueImpl<Object, Object> table = createTable(new BTableType(ROW_TYPE, new String[]{"id"}, false));
+        for (long id = 0; id < 100; id++) {
+            table.add(createRow(id, id % 10));
+        }
+        for (long id = 0; id < 100; id++) {
+            if (id % 4 != 3) {
+                table.remove(id);
+            }
+        }
+        // adding beyond the capacity reuses the space of the removed rows
+        for (long id = 100; id < 200; id++) {
+            table.add(createRow(id, id % 10));
+        }
+
+        Assert.assertEquals(table.size(), 125);
+        Assert.assertNull(table.get(2L));
+        Assert.assertEquals(((MapValueImpl<?, ?>) table.get(3L)).get(StringUtils.fromString("id")), 3L);
+        Object[] keys = table.getKeys();
+        Assert.assertEquals(keys.length, 125);
+        Assert.assertEquals(keys[0], 3L);
+        Assert.assertEquals(keys[24], 99L);
+        Assert.assertEquals(keys[25], 100L);
+        Assert.assertEquals(keys[124], 199L);
+    }
+
+    @Test
+    public void testSecondaryIndex() {
+        TableValueImpl<Object, Object> table = createTable(new BTableType(ROW_TYPE, new String[]{"id"}, false));
+        for (long id = 0; id < 20; id++) {
+            table.add(createRow(id, id % 3));
+        }
+        List<Object> scanned = table.getRowsWithFieldValue("group", 1L);
+
+        Assert.assertTrue(table.createSecondaryIndex("group"));
+        Assert.assertEquals(table.getRowsWithFieldValue("group", 1L), scanned);
+
+        table.remove(4L);
+        table.put(7L, createRow(7, 2));
+        table.add(createRow(20, 1));
+        List<Object> rows = table.getRowsWithFieldValue("group", 1L);
+        Assert.assertEquals(ids(rows), Arrays.asList(1L, 10L, 13L, 16L, 19L, 20L));
+        Assert.assertTrue(table.getRowsWithFieldValue("group", 5L).isEmpty());
+    }
+
+    @Test
+    public void testSecondaryIndexOnMutableField() {
+        BTableType tableType = new BTableType(new BMapType(PredefinedTypes.TYPE_INT), new String[]{"id"}, false);
+        TableValueImpl<Object, Object> table = createTable(tableType);
+
+        Assert.assertFalse(table.createSecondaryIndex("group"));
+        Assert.assertFalse(table.hasSecondaryIndex("group"));
+    }
+
+    @Test
+    public void testSecondaryIndexOnRecordFields() {
+        Field id = TypeCreator.createField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.READONLY);
+        Field group = TypeCreator.createField(PredefinedTypes.TYPE_INT, "group", SymbolFlags.PUBLIC);
+        RecordType rowType = TypeCreator.createRecordType("Row", new Module("testorg", "tables"), 0,
+                                                          Map.of("id", id, "group", group), null, true, 0);
+        TableValueImpl<Object, Object> table = createTable(new BTableType(rowType, false));
+        for (long i = 0; i < 6; i++) {
+            MapValueImpl<Object, Object> row = new MapValueImpl<>(rowType);
+            row.populateInitialValue(StringUtils.fromString("id"), i % 2);
+            row.populateInitialValue(StringUtils.fromString("group"), i);
+            table.add(row);
+        }
+
+        // The value of a field of type int can still be changed, unlike the value of a readonly field
+        Assert.assertTrue(table.createSecondaryIndex("id"));
+        Assert.assertFalse(table.createSecondaryIndex("group"));
+        Assert.assertEquals(table.getRowsWithFieldValue("id", 1L).size(), 3);
+        Assert.assertEquals(table.getRowsWithFieldValue("group", 4L).size(), 1);
+    }
+
+    private TableValueImpl<Object, Object> createTable(BTableType tableType) {
+        return new TableValueImpl<>(tableType);
+    }
+
+    private MapValueImpl<Object, Object> createRow(long id, long group) {
+        MapValueImpl<Object, Object> row = new MapValueImpl<>(ROW_TYPE);
+        row.populateInitialValue(StringUtils.fromString("id"), id);
+        row.populateInitialValue(StringUtils.fromString("group"), group);
+        return row;
+    }
+
+    private List<Object> ids(List<Object> rows) {
+        return Arrays.asList(rows.stream().map(row -> ((MapValueImpl<?, ?>) row).get(StringUtils.fromString("id")))
+                                     .toArray());
+    }
+}
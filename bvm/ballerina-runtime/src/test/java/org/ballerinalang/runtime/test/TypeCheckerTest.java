@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.types.BUnionType;
+import io.ballerina.runtime.internal.values.MapValueImpl;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Test cases for the subtype checks of {@link TypeChecker}, which are cached.
+ */
+public class TypeCheckerTest {
+
+    private static final Module MODULE = new Module("testorg", "types");
+
+    @Test
+    public void testRepeatedTypeChecks() {
+        Type intOrString = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+        Type intArray = TypeCreator.createArrayType(PredefinedTypes.TYPE_INT);
+        Type unionArray = TypeCreator.createArrayType(intOrString);
+        Type tuple = TypeCreator.createTupleType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(intArray, unionArray));
+            Assert.assertFalse(TypeChecker.checkIsType(unionArray, intArray));
+            Assert.assertTrue(TypeChecker.checkIsType(tuple, unionArray));
+            Assert.assertFalse(TypeChecker.checkIsType(tuple, intArray));
+            Assert.assertTrue(TypeChecker.checkIsType(PredefinedTypes.TYPE_STRING, intOrString));
+        }
+    }
+
+    @Test
+    public void testRecordValuesWithReadonlyFields() {
+        Type intOrString = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+        RecordType source = createRecord("Source", TypeCreator.createField(intOrString, "id", SymbolFlags.READONLY));
+        RecordType target = createRecord("Target",
+                                         TypeCreator.createField(PredefinedTypes.TYPE_INT, "id", SymbolFlags.READONLY));
+
+        MapValueImpl<Object, Object> intId = new MapValueImpl<>(source);
+        intId.put(StringUtils.fromString("id"), 1L);
+        MapValueImpl<Object, Object> stringId = new MapValueImpl<>(source);
+        stringId.put(StringUtils.fromString("id"), StringUtils.fromString("one"));
+
+        // The result depends on the value of the readonly field, so it must not be reused for other values
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(TypeChecker.checkIsType(intId, target));
+            Assert.assertFalse(TypeChecker.checkIsType(stringId, target));
+        }
+    }
+
+    @Test
+    public void testValuesAgainstUnionMembers() {
+        Type intOrString = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_INT, PredefinedTypes.TYPE_STRING));
+        Type byteOrNil = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_BYTE, PredefinedTypes.TYPE_NULL));
+        Type mapOrError = TypeCreator.createUnionType(List.of(TypeCreator.createMapType(PredefinedTypes.TYPE_INT),
+                                                              PredefinedTypes.TYPE_ERROR));
+
+        Assert.assertTrue(TypeChecker.checkIsType(1, PredefinedTypes.TYPE_BYTE, intOrString));
+        Assert.assertTrue(TypeChecker.checkIsType(StringUtils.fromString("a"), intOrString));
+        Assert.assertFalse(TypeChecker.checkIsType((Object) null, intOrString));
+        Assert.assertFalse(TypeChecker.checkIsType(1.5d, intOrString));
+        Assert.assertTrue(TypeChecker.checkIsType((Object) null, byteOrNil));
+        Assert.assertTrue(TypeChecker.checkIsType(255L, byteOrNil));
+        Assert.assertFalse(TypeChecker.checkIsType(256L, byteOrNil));
+
+        MapValueImpl<Object, Object> map = new MapValueImpl<>(TypeCreator.createMapType(PredefinedTypes.TYPE_INT));
+        Assert.assertTrue(TypeChecker.checkIsType(map, mapOrError));
+        Assert.assertTrue(TypeChecker.checkIsType(ErrorCreator.createError(StringUtils.fromString("e")), mapOrError));
+        Assert.assertFalse(TypeChecker.checkIsType(1L, mapOrError));
+        Assert.assertTrue(TypeChecker.checkIsType(1L, PredefinedTypes.TYPE_JSON));
+
+        // Members added after a check must be taken into account by the later checks
+        BUnionType union = new BUnionType(0, false, true);
+        union.addMembers(PredefinedTypes.TYPE_INT);
+        Assert.assertFalse(TypeChecker.checkIsType(map, union));
+        union.addMembers(TypeCreator.createMapType(PredefinedTypes.TYPE_INT));
+        Assert.assertTrue(TypeChecker.checkIsType(map, union));
+    }
+
+    @Test
+    public void testSimpleValuesAgainstUnionsWithError() {
+        Type intOrStringOrError = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_INT,
+                                                                      PredefinedTypes.TYPE_STRING,
+                                                                      PredefinedTypes.TYPE_ERROR));
+        Type signed8OrError = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_INT_SIGNED_8,
+                                                                  PredefinedTypes.TYPE_ERROR));
+        Type jsonOrError = TypeCreator.createUnionType(List.of(PredefinedTypes.TYPE_JSON, PredefinedTypes.TYPE_ERROR));
+
+        Assert.assertTrue(TypeChecker.checkIsType(1L, intOrStringOrError));
+        Assert.assertTrue(TypeChecker.checkIsType(StringUtils.fromString("a"), intOrStringOrError));
+        Assert.assertFalse(TypeChecker.checkIsType((Object) null, intOrStringOrError));
+        Assert.assertFalse(TypeChecker.checkIsType(1.5d, intOrStringOrError));
+        Assert.assertFalse(TypeChecker.checkIsType(true, intOrStringOrError));
+
+        // Subtypes of int hold some int values only, which the member type tags cannot tell
+        Assert.assertTrue(TypeChecker.checkIsType(-128L, signed8OrError));
+        Assert.assertFalse(TypeChecker.checkIsType(128L, signed8OrError));
+        Assert.assertTrue(TypeChecker.checkIsType(1.5d, jsonOrError));
+        Assert.assertTrue(TypeChecker.checkIsType((Object) null, jsonOrError));
+    }
+
+    private static RecordType createRecord(String name, Field field) {
+        return TypeCreator.createRecordType(name, MODULE, 0, Map.of(field.getFieldName(), field), null, true, 0);
+    }
+}
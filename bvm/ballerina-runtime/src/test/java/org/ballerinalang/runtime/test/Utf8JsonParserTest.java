@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.runtime.test;
+
+import io.ballerina.runtime.api.PredefinedTypes;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeChecker;
+import io.ballerina.runtime.internal.Utf8JsonParser;
+import io.ballerina.runtime.internal.values.ArrayValue;
+import io.ballerina.runtime.internal.values.DecimalValue;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for {@link Utf8JsonParser}.
+ */
+public class Utf8JsonParserTest {
+
+    private static final String[] DOCUMENTS = {
+            "{\"name\": \"caf\\u00e9 \\ud83d\\ude00 \u00e9 \ud83d\ude00\", " +
+                    "\"escaped\": \"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\"}",
+            "[1, -2, -0, 1.5, -0.0, 1.25E+3, 123456789012345678, 9223372036854775807, true, false, null]",
+            "{\"a\": {\"b\": [[], {}, [{\"c\": \"d\"}]]}, \"a\": \"duplicate\", \"e\": []}",
+            " \"top level\" ", "42", "-0", "null",
+            "{'single': 'quoted'}"
+    };
+
+    @Test
+    public void testSameValuesAsCharParser() {
+        for (String document : DOCUMENTS) {
+            for (JsonUtils.NonStringValueProcessingMode mode : JsonUtils.NonStringValueProcessingMode.values()) {
+                Object expected = JsonUtils.parse(document, mode);
+                Object actual = JsonUtils.parse(document.getBytes(StandardCharsets.UTF_8), mode);
+                Assert.assertTrue(TypeChecker.isEqual(expected, actual), document);
+                Assert.assertEquals(TypeChecker.getType(actual), TypeChecker.getType(expected), document);
+            }
+        }
+    }
+
+    @Test
+    public void testNumberTypes() {
+        ArrayValue numbers = (ArrayValue) JsonUtils.parse("[7, -0, 1.5]".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(numbers.get(0), 7L);
+        Assert.assertEquals(numbers.get(1), -0.0d);
+        Assert.assertTrue(numbers.get(2) instanceof DecimalValue);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFieldNamesAreShared() {
+        byte[] document = "{\"id\": 1}".getBytes(StandardCharsets.UTF_8);
+        BMap<BString, Object> first = (BMap<BString, Object>) JsonUtils.parse(document);
+        BMap<BString, Object> second = (BMap<BString, Object>) JsonUtils.parse(document);
+        Assert.assertSame(first.getKeys()[0], second.getKeys()[0]);
+    }
+
+    @Test
+    public void testSameErrorsAsCharParser() {
+        String[] documents = { "", "{\"a\": 1", "[1 2]", "{\"a\": tru}", "[\"\\x\"]", "1e5", "{} {}" };
+        for (String document : documents) {
+            String expected = errorMessage(() -> JsonUtils.parse(document));
+            String actual = errorMessage(() -> JsonUtils.parse(document.getBytes(StandardCharsets.UTF_8)));
+            Assert.assertNotNull(expected, document);
+            Assert.assertEquals(actual, expected, document);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testParseAsType() {
+        Type type = TypeCreator.createMapType(TypeCreator.createArrayType(PredefinedTypes.TYPE_FLOAT));
+        Assert.assertTrue(JsonUtils.canParseAs(type));
+
+        BMap<BString, Object> map = (BMap<BString, Object>) JsonUtils.parse(
+                "{\"a\": [1, 2.5], \"b\": []}".getBytes(StandardCharsets.UTF_8), type);
+        Assert.assertEquals(map.getType(), type);
+        ArrayValue a = (ArrayValue) map.get(StringUtils.fromString("a"));
+        Assert.assertEquals(a.getType(), TypeCreator.createArrayType(PredefinedTypes.TYPE_FLOAT));
+        Assert.assertEquals(a.getFloat(0), 1.0d);
+        Assert.assertEquals(a.getFloat(1), 2.5d);
+        Assert.assertEquals(((ArrayValue) map.get(StringUtils.fromString("b"))).size(), 0);
+
+        Object json = JsonUtils.parse("{'lenient': [1, {}]}", PredefinedTypes.TYPE_JSON);
+        Assert.assertTrue(TypeChecker.isEqual(json, JsonUtils.parse("{\"lenient\": [1, {}]}")));
+    }
+
+    @Test
+    public void testParseAsTypeErrors() {
+        Type type = TypeCreator.createMapType(TypeCreator.createArrayType(PredefinedTypes.TYPE_INT));
+        Assert.assertEquals(errorDetail(() -> JsonUtils.parse("{\"a\": [1], \"b\": [2, \"3\"]}", type)),
+                            "'map<json>' value cannot be converted to 'map<int[]>': " +
+                                    "'string' value at '$.b[1]' cannot be converted to 'int'");
+        Assert.assertEquals(errorDetail(() -> JsonUtils.parse("{\"a\": {}}", type)),
+                            "'map<json>' value cannot be converted to 'map<int[]>': " +
+                                    "'map<json>' value at '$.a' cannot be converted to 'int[]'");
+        Assert.assertEquals(errorDetail(() -> JsonUtils.parse("[[1], {}]", TypeCreator.createArrayType(
+                                    TypeCreator.createArrayType(PredefinedTypes.TYPE_INT)))),
+                            "'json[]' value cannot be converted to 'int[][]': " +
+                                    "'map<json>' value at '$[1]' cannot be converted to 'int[]'");
+        Assert.assertEquals(errorDetail(() -> JsonUtils.parse("\"1\"", PredefinedTypes.TYPE_INT)),
+                            "'string' value at '$' cannot be converted to 'int'");
+        Assert.assertEquals(errorMessage(() -> JsonUtils.parse("{\"a\": [1", type)),
+                            errorMessage(() -> JsonUtils.parse("{\"a\": [1")));
+        Assert.assertFalse(JsonUtils.canParseAs(PredefinedTypes.TYPE_XML));
+    }
+
+    private static String errorDetail(Runnable parse) {
+        try {
+            parse.run();
+            return null;
+        } catch (BError e) {
+            return ((BMap<?, ?>) e.getDetails()).get(StringUtils.fromString("message")).toString();
+        }
+    }
+
+    private static String errorMessage(Runnable parse) {
+        try {
+            parse.run();
+            return null;
+        } catch (BError e) {
+            return e.getMessage();
+        }
+    }
+}
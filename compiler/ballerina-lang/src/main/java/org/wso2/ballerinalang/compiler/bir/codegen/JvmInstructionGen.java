@@ -128,6 +128,7 @@ import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_MAP;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_MAPPING_INITIAL_VALUE_ENTRY;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_OBJECT;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.B_XML_QNAME;
+import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.CONCATENATED_STRING_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.DECIMAL_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.ERROR_VALUE;
 import static org.wso2.ballerinalang.compiler.bir.codegen.JvmConstants.FUNCTION;
@@ -177,6 +178,7 @@ public class JvmInstructionGen {
 
     //this anytype is currently set from package gen class
     static BType anyType;
+    private static final String CONCAT_PARTS_VAR_PREFIX = "$_concat_parts_";
     private final MethodVisitor mv;
     private final BIRVarToJVMIndexMap indexMap;
     private final String currentPackageName;
@@ -187,6 +189,7 @@ public class JvmInstructionGen {
     private final JvmBStringConstantsGen stringConstantsGen;
     private final SymbolTable symbolTable;
     private final AsyncDataCollector asyncDataCollector;
+    private StringConcatChains stringConcatChains = StringConcatChains.NONE;
 
     public JvmInstructionGen(MethodVisitor mv, BIRVarToJVMIndexMap indexMap, PackageID currentPackage,
                              JvmPackageGen jvmPackageGen, JvmTypeGen jvmTypeGen, JvmCastGen jvmCastGen,
@@ -203,6 +206,15 @@ public class JvmInstructionGen {
         this.stringConstantsGen = stringConstantsGen;
     }
 
+    /**
+     * Sets the string concatenation chains of the function whose instructions are generated next.
+     *
+     * @param stringConcatChains string concatenation chains of the function
+     */
+    public void setStringConcatChains(StringConcatChains stringConcatChains) {
+        this.stringConcatChains = stringConcatChains;
+    }
+
     static void addJUnboxInsn(MethodVisitor mv, JType jType) {
 
         if (jType == null) {
@@ -875,6 +887,11 @@ public class JvmInstructionGen {
     private void generateAddIns(BIRNonTerminator.BinaryOp binaryIns) {
 
         BType bType = binaryIns.lhsOp.variableDcl.type;
+        StringConcatChains.Link concatLink = this.stringConcatChains.getLink(binaryIns);
+        if (concatLink != null) {
+            this.generateChainedConcatIns(binaryIns, concatLink);
+            return;
+        }
         this.generateBinaryRhsAndLhsLoad(binaryIns);
         if (TypeTags.isIntegerTypeTag(bType.tag)) {
             this.mv.visitInsn(LADD);
@@ -900,6 +917,40 @@ public class JvmInstructionGen {
         this.storeToVar(binaryIns.lhsOp.variableDcl);
     }
 
+    private void generateChainedConcatIns(BIRNonTerminator.BinaryOp binaryIns, StringConcatChains.Link concatLink) {
+
+        // The operands of the chain are collected into an array, which is concatenated at once by the last addition.
+        int partsVarIndex = this.indexMap.addIfNotExists(CONCAT_PARTS_VAR_PREFIX + concatLink.slot + "$",
+                                                         symbolTable.anyType);
+        if (concatLink.isFirst()) {
+            this.mv.visitLdcInsn(concatLink.operandCount);
+            this.mv.visitTypeInsn(ANEWARRAY, JvmConstants.B_STRING_VALUE);
+            this.mv.visitVarInsn(ASTORE, partsVarIndex);
+            this.storeConcatPart(partsVarIndex, 0, binaryIns.rhsOp1);
+        }
+        this.storeConcatPart(partsVarIndex, concatLink.operandIndex, binaryIns.rhsOp2);
+        if (!concatLink.isLast()) {
+            return;
+        }
+
+        this.mv.visitVarInsn(ALOAD, partsVarIndex);
+        this.mv.visitMethodInsn(INVOKESTATIC, CONCATENATED_STRING_VALUE, "concat",
+                                String.format("([L%s;)L%s;", JvmConstants.B_STRING_VALUE,
+                                              JvmConstants.B_STRING_VALUE), false);
+        this.storeToVar(binaryIns.lhsOp.variableDcl);
+        // Let the operands be collected as soon as possible.
+        this.mv.visitInsn(ACONST_NULL);
+        this.mv.visitVarInsn(ASTORE, partsVarIndex);
+    }
+
+    private void storeConcatPart(int partsVarIndex, int index, BIROperand operand) {
+
+        this.mv.visitVarInsn(ALOAD, partsVarIndex);
+        this.mv.visitLdcInsn(index);
+        this.loadVar(operand.variableDcl);
+        this.mv.visitInsn(AASTORE);
+    }
+
     private void generateSubIns(BIRNonTerminator.BinaryOp binaryIns) {
 
         BType bType = binaryIns.lhsOp.variableDcl.type;
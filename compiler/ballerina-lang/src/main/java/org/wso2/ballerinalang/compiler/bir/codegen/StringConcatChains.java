@@ -0,0 +1,200 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.wso2.ballerinalang.compiler.bir.model.BIRAbstractInstruction;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.optimizer.ControlFlowGraph;
+import org.wso2.ballerinalang.compiler.bir.optimizer.LivenessAnalyzer;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds chains of string concatenations in a function, such as the ones of {@code a + b + c + d}, so that each chain
+ * is generated as a single concatenation of all of its operands instead of one concatenation per {@code +}.
+ * <p>
+ * A string addition continues a chain if its first operand is the temporary result of the previous addition of the
+ * chain in the same basic block, and that result is not used anywhere else. The operands of a chain are collected
+ * into an array as the additions are reached, so instructions in between the additions may freely reuse the operand
+ * variables.
+ *
+ * @since 2.0.0
+ */
+public class StringConcatChains {
+
+    static final StringConcatChains NONE = new StringConcatChains(new IdentityHashMap<>());
+
+    private final Map<BIRNonTerminator.BinaryOp, Link> links;
+
+    private StringConcatChains(Map<BIRNonTerminator.BinaryOp, Link> links) {
+        this.links = links;
+    }
+
+    /**
+     * Finds the string concatenation chains of a function.
+     *
+     * @param func function
+     * @return the chains of the function
+     */
+    public static StringConcatChains find(BIRNode.BIRFunction func) {
+        if (!hasCandidates(func)) {
+            return NONE;
+        }
+        LivenessAnalyzer analyzer = new LivenessAnalyzer(new ControlFlowGraph(func).getNodes());
+        Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts = analyzer.getInstructionLiveOuts();
+        Map<BIRNonTerminator.BinaryOp, Link> links = new IdentityHashMap<>();
+        for (BIRNode.BIRBasicBlock basicBlock : func.basicBlocks) {
+            findChains(basicBlock, liveOuts, links);
+        }
+        return links.isEmpty() ? NONE : new StringConcatChains(links);
+    }
+
+    /**
+     * Returns the position of the given addition in its chain.
+     *
+     * @param binaryOp string addition
+     * @return the link of the addition, or null if it is not part of a chain
+     */
+    Link getLink(BIRNonTerminator.BinaryOp binaryOp) {
+        return links.get(binaryOp);
+    }
+
+    private static void findChains(BIRNode.BIRBasicBlock basicBlock,
+                                   Map<BIRAbstractInstruction, Set<BIRNode.BIRVariableDcl>> liveOuts,
+                                   Map<BIRNonTerminator.BinaryOp, Link> links) {
+        // Chains which may still be continued, by the variable holding their current result
+        Map<BIRNode.BIRVariableDcl, List<BIRNonTerminator.BinaryOp>> openChains = new HashMap<>();
+        List<List<BIRNonTerminator.BinaryOp>> chains = new ArrayList<>();
+        for (BIRNonTerminator instruction : basicBlock.instructions) {
+            List<BIRNonTerminator.BinaryOp> chain = null;
+            if (isStringAdd(instruction)) {
+                BIRNonTerminator.BinaryOp add = (BIRNonTerminator.BinaryOp) instruction;
+                BIRNode.BIRVariableDcl previousResult = add.rhsOp1.variableDcl;
+                chain = openChains.remove(previousResult);
+                if (chain != null && (add.rhsOp2.variableDcl == previousResult ||
+                        (liveOuts.get(add).contains(previousResult) && add.lhsOp.variableDcl != previousResult))) {
+                    chain = null;
+                }
+            }
+
+            // The result of a chain cannot be used by anything but the next addition of the chain, and must not be
+            // overwritten before it.
+            for (BIROperand operand : instruction.getRhsOperands()) {
+                openChains.remove(operand.variableDcl);
+            }
+            if (instruction.lhsOp != null) {
+                openChains.remove(instruction.lhsOp.variableDcl);
+            }
+
+            if (!isStringAdd(instruction)) {
+                continue;
+            }
+            if (chain == null) {
+                chain = new ArrayList<>();
+                chains.add(chain);
+            }
+            chain.add((BIRNonTerminator.BinaryOp) instruction);
+            if (instruction.lhsOp.variableDcl.kind == VarKind.TEMP) {
+                openChains.put(instruction.lhsOp.variableDcl, chain);
+            }
+        }
+
+        // Chains which are open at the same time need separate arrays for their operands.
+        List<List<BIRNonTerminator.BinaryOp>> slots = new ArrayList<>();
+        for (List<BIRNonTerminator.BinaryOp> chain : chains) {
+            if (chain.size() < 2) {
+                continue;
+            }
+            int slot = freeSlot(slots, basicBlock, chain.get(0));
+            if (slot == slots.size()) {
+                slots.add(chain);
+            } else {
+                slots.set(slot, chain);
+            }
+            for (int i = 0; i < chain.size(); i++) {
+                links.put(chain.get(i), new Link(slot, i + 1, chain.size() + 1));
+            }
+        }
+    }
+
+    private static int freeSlot(List<List<BIRNonTerminator.BinaryOp>> slots, BIRNode.BIRBasicBlock basicBlock,
+                                BIRNonTerminator.BinaryOp first) {
+        int start = basicBlock.instructions.indexOf(first);
+        for (int slot = 0; slot < slots.size(); slot++) {
+            List<BIRNonTerminator.BinaryOp> chain = slots.get(slot);
+            if (basicBlock.instructions.indexOf(chain.get(chain.size() - 1)) < start) {
+                return slot;
+            }
+        }
+        return slots.size();
+    }
+
+    private static boolean hasCandidates(BIRNode.BIRFunction func) {
+        for (BIRNode.BIRBasicBlock basicBlock : func.basicBlocks) {
+            int stringAdds = 0;
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                if (isStringAdd(instruction) && ++stringAdds > 1) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isStringAdd(BIRNonTerminator instruction) {
+        return instruction.getKind() == InstructionKind.ADD &&
+                TypeTags.isStringTypeTag(instruction.lhsOp.variableDcl.type.tag);
+    }
+
+    /**
+     * Position of a string addition in its chain.
+     */
+    static class Link {
+
+        // Index of the array which holds the operands of the chain, among the chains open at the same time
+        final int slot;
+        // Index of the second operand of the addition in the operands of the chain
+        final int operandIndex;
+        final int operandCount;
+
+        Link(int slot, int operandIndex, int operandCount) {
+            this.slot = slot;
+            this.operandIndex = operandIndex;
+            this.operandCount = operandCount;
+        }
+
+        boolean isFirst() {
+            return operandIndex == 1;
+        }
+
+        boolean isLast() {
+            return operandIndex == operandCount - 1;
+        }
+    }
+}
@@ -19,11 +19,19 @@
 package org.wso2.ballerinalang.compiler.bir.optimizer;
 
 import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
 import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 import org.wso2.ballerinalang.compiler.bir.model.BIRVisitor;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +44,18 @@ import java.util.Set;
  */
 public class BIRLockOptimizer extends BIRVisitor {
 
+    /**
+     * Instructions that create a new value. Stores into such values do not modify state shared with other strands.
+     */
+    private static final Set<InstructionKind> NEW_VALUE_INSTRUCTIONS = EnumSet.of(
+            InstructionKind.NEW_STRUCTURE, InstructionKind.NEW_ARRAY, InstructionKind.NEW_TABLE,
+            InstructionKind.NEW_ERROR, InstructionKind.NEW_XML_ELEMENT, InstructionKind.NEW_XML_TEXT,
+            InstructionKind.NEW_XML_COMMENT, InstructionKind.NEW_XML_PI, InstructionKind.NEW_XML_SEQ);
+
+    private static final Set<InstructionKind> STORE_INSTRUCTIONS = EnumSet.of(
+            InstructionKind.MAP_STORE, InstructionKind.ARRAY_STORE, InstructionKind.OBJECT_STORE,
+            InstructionKind.XML_SEQ_STORE, InstructionKind.XML_ATTRIBUTE_STORE, InstructionKind.TABLE_STORE);
+
     private final List<BIRTerminator.Lock> lockList = new ArrayList<>();
     private final Map<BIRTerminator.Lock, Integer> lockToSetMap = new HashMap<>();
     private final Map<Integer, List<BIRTerminator.Lock>> setToLockMap = new HashMap<>();
@@ -52,6 +72,107 @@ public class BIRLockOptimizer extends BIRVisitor {
     private void optimizeLocks() {
         analyzeLocks();
         propagateLocks();
+        analyzeLockModes();
+    }
+
+    /**
+     * Marks the locks whose regions only read module level state, so that they can be acquired in shared mode.
+     */
+    private void analyzeLockModes() {
+        for (BIRTerminator.Lock lock : lockList) {
+            lock.readOnly = isReadOnlyRegion(lock);
+        }
+    }
+
+    private boolean isReadOnlyRegion(BIRTerminator.Lock lock) {
+        List<BIRNode.BIRBasicBlock> region = new ArrayList<>();
+        Set<BIRNode.BIRBasicBlock> visited = new HashSet<>();
+        Deque<BIRNode.BIRBasicBlock> toVisit = new ArrayDeque<>();
+        toVisit.push(lock.lockedBB);
+        while (!toVisit.isEmpty()) {
+            BIRNode.BIRBasicBlock basicBlock = toVisit.pop();
+            if (!visited.add(basicBlock)) {
+                continue;
+            }
+            region.add(basicBlock);
+
+            BIRTerminator terminator = basicBlock.terminator;
+            if (terminator == null) {
+                return false;
+            }
+            switch (terminator.kind) {
+                case UNLOCK:
+                    if (((BIRTerminator.Unlock) terminator).relatedLock == lock) {
+                        // End of the locked region.
+                        continue;
+                    }
+                    break;
+                case GOTO:
+                case BRANCH:
+                case RETURN:
+                case PANIC:
+                    break;
+                default:
+                    // Calls, nested locks and worker interactions may modify shared state or block while holding
+                    // the lock, hence the lock should be exclusive.
+                    return false;
+            }
+            for (BIRNode.BIRBasicBlock nextBB : terminator.getNextBasicBlocks()) {
+                toVisit.push(nextBB);
+            }
+        }
+
+        Set<BIRNode.BIRVariableDcl> newValueVars = getNewValueVars(region);
+        for (BIRNode.BIRBasicBlock basicBlock : region) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                if (isWrite(instruction, newValueVars)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the temporary variables in the region which only ever hold a value created within the region.
+     */
+    private Set<BIRNode.BIRVariableDcl> getNewValueVars(List<BIRNode.BIRBasicBlock> region) {
+        Set<BIRNode.BIRVariableDcl> newValueVars = new HashSet<>();
+        Set<BIRNode.BIRVariableDcl> otherVars = new HashSet<>();
+        for (BIRNode.BIRBasicBlock basicBlock : region) {
+            for (BIRNonTerminator instruction : basicBlock.instructions) {
+                BIROperand lhsOp = instruction.lhsOp;
+                if (lhsOp == null || lhsOp.variableDcl.kind != VarKind.TEMP ||
+                        STORE_INSTRUCTIONS.contains(instruction.kind)) {
+                    continue;
+                }
+                if (NEW_VALUE_INSTRUCTIONS.contains(instruction.kind)) {
+                    newValueVars.add(lhsOp.variableDcl);
+                } else {
+                    otherVars.add(lhsOp.variableDcl);
+                }
+            }
+        }
+        newValueVars.removeAll(otherVars);
+        return newValueVars;
+    }
+
+    private boolean isWrite(BIRNonTerminator instruction, Set<BIRNode.BIRVariableDcl> newValueVars) {
+        if (instruction.kind == InstructionKind.PLATFORM) {
+            return true;
+        }
+        if (instruction instanceof BIRNonTerminator.FieldAccess &&
+                ((BIRNonTerminator.FieldAccess) instruction).fillingRead) {
+            return true;
+        }
+        BIROperand lhsOp = instruction.lhsOp;
+        if (lhsOp == null) {
+            return false;
+        }
+        if (STORE_INSTRUCTIONS.contains(instruction.kind)) {
+            return !newValueVars.contains(lhsOp.variableDcl);
+        }
+        return lhsOp.variableDcl.kind == VarKind.GLOBAL;
     }
 
     private void analyzeLocks() {
@@ -21,6 +21,7 @@ import org.ballerinalang.model.TreeBuilder;
 import org.ballerinalang.model.clauses.OrderKeyNode;
 import org.ballerinalang.model.tree.IdentifierNode;
 import org.ballerinalang.model.tree.NodeKind;
+import org.ballerinalang.model.tree.OperatorKind;
 import org.ballerinalang.model.tree.expressions.RecordLiteralNode;
 import org.ballerinalang.model.tree.statements.VariableDefinitionNode;
 import org.ballerinalang.model.tree.types.TypeNode;
@@ -30,15 +31,19 @@ import org.wso2.ballerinalang.compiler.semantics.analyzer.Types;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolEnv;
 import org.wso2.ballerinalang.compiler.semantics.model.SymbolTable;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BInvokableSymbol;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.BOperatorSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BRecordTypeSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.BVarSymbol;
 import org.wso2.ballerinalang.compiler.semantics.model.symbols.SymTag;
+import org.wso2.ballerinalang.compiler.semantics.model.symbols.Symbols;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BArrayType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BField;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BIntersectionType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BRecordType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStreamType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BStructureType;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BTableType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BTypedescType;
 import org.wso2.ballerinalang.compiler.semantics.model.types.BUnionType;
@@ -167,10 +172,12 @@ import org.wso2.ballerinalang.compiler.tree.types.BLangLetVariable;
 import org.wso2.ballerinalang.compiler.tree.types.BLangRecordTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangUnionTypeNode;
 import org.wso2.ballerinalang.compiler.tree.types.BLangValueType;
+import org.wso2.ballerinalang.compiler.util.BArrayState;
 import org.wso2.ballerinalang.compiler.util.CompilerContext;
 import org.wso2.ballerinalang.compiler.util.Name;
 import org.wso2.ballerinalang.compiler.util.Names;
 import org.wso2.ballerinalang.compiler.util.TypeTags;
+import org.wso2.ballerinalang.util.Flags;
 import org.wso2.ballerinalang.util.Lists;
 
 import java.util.ArrayList;
@@ -202,10 +209,13 @@ public class QueryDesugar extends BLangNodeVisitor {
     private static final Name QUERY_ADD_STREAM_FUNCTION = new Name("addStreamFunction");
     private static final Name QUERY_CONSUME_STREAM_FUNCTION = new Name("consumeStream");
     private static final Name QUERY_TO_ARRAY_FUNCTION = new Name("toArray");
+    private static final Name QUERY_TO_ARRAY_IN_PARALLEL_FUNCTION = new Name("toArrayInParallel");
     private static final Name QUERY_TO_STRING_FUNCTION = new Name("toString");
     private static final Name QUERY_TO_XML_FUNCTION = new Name("toXML");
     private static final Name QUERY_ADD_TO_TABLE_FUNCTION = new Name("addToTable");
     private static final Name QUERY_GET_STREAM_FROM_PIPELINE_FUNCTION = new Name("getStreamFromPipeline");
+    private static final Name QUERY_IS_LIMIT_REACHED_FUNCTION = new Name("isLimitReached");
+    private static final Name QUERY_GET_ROWS_WITH_FIELD_VALUE_FUNCTION = new Name("getRowsWithFieldValue");
     private static final String FRAME_PARAMETER_NAME = "$frame$";
     private static final CompilerContext.Key<QueryDesugar> QUERY_DESUGAR_KEY = new CompilerContext.Key<>();
     private BLangExpression onConflictExpr;
@@ -248,6 +258,23 @@ public class QueryDesugar extends BLangNodeVisitor {
         List<BLangNode> clauses = queryExpr.getQueryClauses();
         Location pos = clauses.get(0).pos;
         BLangBlockStmt queryBlock = ASTBuilderUtil.createBlockStmt(pos);
+        if (!queryExpr.isStream) {
+            addTableIndexLookup(clauses);
+        }
+        if (isParallelizable(queryExpr)) {
+            BLangVariableReference pipelineRef = buildPipeline(clauses, queryExpr.type, env, queryBlock);
+            BLangVariableReference result = getStreamFunctionVariableRef(queryBlock,
+                    QUERY_TO_ARRAY_IN_PARALLEL_FUNCTION, Lists.of(pipelineRef, createResultArray(queryExpr.type)), pos);
+            BLangStatementExpression stmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, result);
+            stmtExpr.type = result.type;
+            return stmtExpr;
+        }
+        if (isFusible(queryExpr, env)) {
+            BLangVariableReference result = buildFusedLoop(clauses, (BArrayType) queryExpr.type, env, queryBlock);
+            BLangStatementExpression stmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, result);
+            stmtExpr.type = result.type;
+            return stmtExpr;
+        }
         BLangVariableReference streamRef = buildStream(clauses, queryExpr.type, env, queryBlock);
         BLangStatementExpression streamStmtExpr;
         if (queryExpr.isStream) {
@@ -270,17 +297,8 @@ public class QueryDesugar extends BLangNodeVisitor {
             } else if (TypeTags.isStringTypeTag(queryExpr.type.tag)) {
                 result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_STRING_FUNCTION, Lists.of(streamRef), pos);
             } else {
-                BType arrayType = queryExpr.type;
-                if (arrayType.tag == TypeTags.UNION) {
-                    arrayType = ((BUnionType) arrayType).getMemberTypes()
-                            .stream().filter(m -> m.tag == TypeTags.ARRAY)
-                            .findFirst().orElse(symTable.arrayType);
-                }
-                BLangArrayLiteral arr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralExpressionNode();
-                arr.exprs = new ArrayList<>();
-                arr.type = arrayType;
                 result = getStreamFunctionVariableRef(queryBlock, QUERY_TO_ARRAY_FUNCTION,
-                        Lists.of(streamRef, arr), pos);
+                        Lists.of(streamRef, createResultArray(queryExpr.type)), pos);
             }
             streamStmtExpr = ASTBuilderUtil.createStatementExpression(queryBlock, result);
             streamStmtExpr.type = result.type;
@@ -314,9 +332,23 @@ public class QueryDesugar extends BLangNodeVisitor {
      * @param resultType result type of the query output.
      * @param env symbol env.
      * @param block parent block to write to.
-     * @return variableReference to created _StreamPipeline.
+     * @return variableReference to created stream.
      */
     BLangVariableReference buildStream(List<BLangNode> clauses, BType resultType, SymbolEnv env, BLangBlockStmt block) {
+        return addGetStreamFromPipeline(block, buildPipeline(clauses, resultType, env, block));
+    }
+
+    /**
+     * Write the pipeline to the given `block` and return the reference to the pipeline.
+     *
+     * @param clauses list of query clauses.
+     * @param resultType result type of the query output.
+     * @param env symbol env.
+     * @param block parent block to write to.
+     * @return variableReference to created _StreamPipeline.
+     */
+    private BLangVariableReference buildPipeline(List<BLangNode> clauses, BType resultType, SymbolEnv env,
+                                                 BLangBlockStmt block) {
         this.env = env;
         BLangFromClause initFromClause = (BLangFromClause) clauses.get(0);
         final BLangVariableReference initPipeline = addPipeline(block, initFromClause.pos,
@@ -350,7 +382,8 @@ public class QueryDesugar extends BLangNodeVisitor {
                     addStreamFunction(block, initPipeline, whereFunc);
                     break;
                 case ORDER_BY:
-                    BLangVariableReference orderFunc = addOrderByFunction(block, (BLangOrderByClause) clause);
+                    BLangVariableReference orderFunc = addOrderByFunction(block, (BLangOrderByClause) clause,
+                            getOrderByLimit(clauses, clauses.indexOf(clause)));
                     addStreamFunction(block, initPipeline, orderFunc);
                     break;
                 case SELECT:
@@ -371,7 +404,347 @@ public class QueryDesugar extends BLangNodeVisitor {
                     break;
             }
         }
-        return addGetStreamFromPipeline(block, initPipeline);
+        return initPipeline;
+    }
+
+    /**
+     * Check whether the query expression can be run in parallel over parts of the list it iterates over. This is
+     * the case for queries which produce a list from a list with only let, where and select clauses, all of which
+     * are isolated. Whether the query is run in parallel, and the number of parts, is decided at runtime.
+     *
+     * @param queryExpr query expression.
+     * @return whether the query expression can be run in parallel.
+     */
+    private boolean isParallelizable(BLangQueryExpr queryExpr) {
+        BType resultType = queryExpr.type;
+        if (!queryExpr.isolatedClauses || queryExpr.isStream || queryExpr.isTable
+                || TypeTags.isXMLTypeTag(resultType.tag) || TypeTags.isStringTypeTag(resultType.tag)) {
+            return false;
+        }
+        List<BLangNode> clauses = queryExpr.getQueryClauses();
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        if (fromClause.collection.type.tag != TypeTags.ARRAY) {
+            return false;
+        }
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                case WHERE:
+                case SELECT:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Replace the table the query iterates over with the rows of the table which can satisfy the where clause that
+     * follows the from clause, when the where clause compares a readonly field of the rows with a value which does
+     * not change while the query runs. The rows are looked up from an index of the field at runtime instead of
+     * iterating over the whole table. The where clause is kept as it is.
+     * from var x in tbl where x.id == id
+     * is desugared to
+     * from var x in <Row[]> getRowsWithFieldValue(tbl, "id", id) where x.id == id
+     *
+     * @param clauses list of query clauses.
+     */
+    private void addTableIndexLookup(List<BLangNode> clauses) {
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        BLangExpression collection = fromClause.collection;
+        if (collection.type.tag != TypeTags.TABLE || clauses.size() < 2 || clauses.get(1).getKind() != NodeKind.WHERE
+                || fromClause.variableDefinitionNode.getVariable().getKind() != NodeKind.VARIABLE) {
+            return;
+        }
+        BLangExpression condition = ((BLangWhereClause) clauses.get(1)).expression;
+        if (condition.getKind() != NodeKind.BINARY_EXPR || ((BLangBinaryExpr) condition).opKind != OperatorKind.EQUAL) {
+            return;
+        }
+        BLangBinaryExpr equality = (BLangBinaryExpr) condition;
+        BSymbol rowSymbol = ((BLangSimpleVariable) fromClause.variableDefinitionNode.getVariable()).symbol;
+        BTableType tableType = (BTableType) collection.type;
+        String fieldName = getIndexableField(equality.lhsExpr, rowSymbol, tableType);
+        BLangExpression valueExpr = equality.rhsExpr;
+        if (fieldName == null) {
+            fieldName = getIndexableField(equality.rhsExpr, rowSymbol, tableType);
+            valueExpr = equality.lhsExpr;
+        }
+        BLangExpression value = fieldName == null ? null : copyInvariantValue(valueExpr, Lists.of(rowSymbol));
+        if (value == null) {
+            return;
+        }
+
+        BInvokableSymbol lookupSymbol = getQueryLibInvokableSymbol(QUERY_GET_ROWS_WITH_FIELD_VALUE_FUNCTION);
+        BLangInvocation lookup = createQueryLibInvocation(QUERY_GET_ROWS_WITH_FIELD_VALUE_FUNCTION,
+                Lists.of(desugar.addConversionExprIfRequired(collection, lookupSymbol.params.get(0).type),
+                        ASTBuilderUtil.createLiteral(collection.pos, symTable.stringType, fieldName),
+                        desugar.addConversionExprIfRequired(value, symTable.anydataType)), collection.pos);
+        // The rows are in a list of the row type of the table.
+        fromClause.collection = addTypeConversionExpr(lookup, new BArrayType(tableType.constraint));
+    }
+
+    /**
+     * Get the name of the field accessed by the given expression, if the expression is a field access on the row of
+     * a from clause and the value of the field cannot change after the row is added to the table.
+     *
+     * @param expr      expression to check.
+     * @param rowSymbol symbol of the variable of the from clause.
+     * @param tableType type of the table the from clause iterates over.
+     * @return the name of the field, or null if the field cannot be indexed.
+     */
+    private String getIndexableField(BLangExpression expr, BSymbol rowSymbol, BTableType tableType) {
+        if (expr.getKind() != NodeKind.FIELD_BASED_ACCESS_EXPR) {
+            return null;
+        }
+        BLangFieldBasedAccess fieldAccess = (BLangFieldBasedAccess) expr;
+        if (fieldAccess.optionalFieldAccess || fieldAccess.expr.getKind() != NodeKind.SIMPLE_VARIABLE_REF
+                || ((BLangSimpleVarRef) fieldAccess.expr).symbol != rowSymbol) {
+            return null;
+        }
+        BType rowType = tableType.constraint;
+        if (rowType.tag == TypeTags.INTERSECTION) {
+            rowType = ((BIntersectionType) rowType).effectiveType;
+        }
+        if (rowType.tag != TypeTags.RECORD) {
+            return null;
+        }
+        String fieldName = fieldAccess.field.value;
+        BField field = ((BRecordType) rowType).fields.get(fieldName);
+        if (field == null) {
+            return null;
+        }
+        if (Symbols.isFlagOn(tableType.flags, Flags.READONLY) || Symbols.isFlagOn(rowType.flags, Flags.READONLY)
+                || Symbols.isFlagOn(field.symbol.flags, Flags.READONLY)) {
+            return fieldName;
+        }
+        return null;
+    }
+
+    /**
+     * Copy the given expression to be evaluated once before the query runs, if the expression is a literal, or a
+     * reference to a constant or a final variable with an immutable value.
+     *
+     * @param expr         expression to copy.
+     * @param querySymbols symbols of the variables introduced by the clauses of the query.
+     * @return the copy of the expression, or null if the value of the expression may change while the query runs.
+     */
+    private BLangExpression copyInvariantValue(BLangExpression expr, List<BSymbol> querySymbols) {
+        if (!types.isInherentlyImmutableType(expr.type) && !Symbols.isFlagOn(expr.type.flags, Flags.READONLY)) {
+            return null;
+        }
+        if (expr.getKind() == NodeKind.LITERAL || expr.getKind() == NodeKind.NUMERIC_LITERAL) {
+            BLangLiteral literal = (BLangLiteral) expr;
+            return ASTBuilderUtil.createLiteral(literal.pos, literal.type, literal.value);
+        }
+        if (!(expr instanceof BLangSimpleVarRef)) {
+            return null;
+        }
+        BSymbol symbol = ((BLangSimpleVarRef) expr).symbol;
+        if (symbol == null || querySymbols.contains(symbol) || ((symbol.tag & SymTag.CONSTANT) != SymTag.CONSTANT
+                && !Symbols.isFlagOn(symbol.flags, Flags.FINAL)
+                && !Symbols.isFlagOn(symbol.flags, Flags.FUNCTION_FINAL))) {
+            return null;
+        }
+        BLangSimpleVarRef varRef = ASTBuilderUtil.createVariableRef(expr.pos, symbol);
+        varRef.type = expr.type;
+        return varRef;
+    }
+
+    /**
+     * Create the empty list to which the results of a query are added.
+     *
+     * @param queryType type of the query expression.
+     * @return the list constructor.
+     */
+    private BLangArrayLiteral createResultArray(BType queryType) {
+        BType arrayType = queryType;
+        if (arrayType.tag == TypeTags.UNION) {
+            arrayType = ((BUnionType) arrayType).getMemberTypes()
+                    .stream().filter(m -> m.tag == TypeTags.ARRAY)
+                    .findFirst().orElse(symTable.arrayType);
+        }
+        BLangArrayLiteral arr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralExpressionNode();
+        arr.exprs = new ArrayList<>();
+        arr.type = arrayType;
+        return arr;
+    }
+
+    /**
+     * Check whether the query expression can be desugared to a single loop instead of a stream pipeline. The query
+     * should iterate over a list, a mapping or a table, have only let, where and limit clauses in between and
+     * produce a list. Check expressions are not allowed, since they should not return from the enclosing function.
+     *
+     * @param queryExpr query expression.
+     * @param env       symbol env.
+     * @return whether the query expression can be fused.
+     */
+    private boolean isFusible(BLangQueryExpr queryExpr, SymbolEnv env) {
+        BType resultType = queryExpr.type;
+        if (queryExpr.isStream || queryExpr.isTable || queryExpr.hasCheckedExpr || resultType.tag != TypeTags.ARRAY
+                || ((BArrayType) resultType).state != BArrayState.OPEN
+                || Symbols.isFlagOn(resultType.flags, Flags.READONLY)
+                || (env.scope.owner.tag & SymTag.INVOKABLE) != SymTag.INVOKABLE) {
+            return false;
+        }
+        List<BLangNode> clauses = queryExpr.getQueryClauses();
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        switch (fromClause.collection.type.tag) {
+            case TypeTags.ARRAY:
+            case TypeTags.MAP:
+            case TypeTags.TABLE:
+                break;
+            default:
+                return false;
+        }
+        // Module level queries define the variables of the query in the module scope.
+        for (BVarSymbol symbol : getIntroducedSymbols((BLangVariable)
+                fromClause.variableDefinitionNode.getVariable())) {
+            if ((symbol.owner.tag & SymTag.INVOKABLE) != SymTag.INVOKABLE) {
+                return false;
+            }
+        }
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                case WHERE:
+                case LIMIT:
+                case SELECT:
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the query as a single loop to the given `block` and return the reference to the resulting list.
+     * T[] $result$ = [];
+     * int $index$ = 0;
+     * int $count$ = 0;
+     * foreach var x in collection {
+     *     int y = x * 2;
+     *     if x > y {
+     *         if isLimitReached($count$, 10) {
+     *             break;
+     *         }
+     *         $count$ = $count$ + 1;
+     *         $result$[$index$] = x + y;
+     *         $index$ = $index$ + 1;
+     *     }
+     * }
+     *
+     * @param clauses    list of query clauses.
+     * @param resultType list type of the query output.
+     * @param env        symbol env.
+     * @param block      parent block to write to.
+     * @return variableReference to the resulting list.
+     */
+    BLangVariableReference buildFusedLoop(List<BLangNode> clauses, BArrayType resultType, SymbolEnv env,
+                                          BLangBlockStmt block) {
+        this.env = env;
+        BLangFromClause fromClause = (BLangFromClause) clauses.get(0);
+        Location pos = fromClause.pos;
+        BLangArrayLiteral arr = (BLangArrayLiteral) TreeBuilder.createArrayLiteralExpressionNode();
+        arr.exprs = new ArrayList<>();
+        arr.type = resultType;
+        BVarSymbol resultSymbol = defineFusedLoopVariable(block, pos, resultType, arr);
+        BVarSymbol indexSymbol = defineFusedLoopVariable(block, pos, symTable.intType,
+                ASTBuilderUtil.createLiteral(pos, symTable.intType, 0L));
+
+        BLangForeach foreach = (BLangForeach) TreeBuilder.createForeachNode();
+        foreach.pos = pos;
+        foreach.collection = fromClause.collection;
+        foreach.variableDefinitionNode = fromClause.variableDefinitionNode;
+        foreach.varType = fromClause.varType;
+        foreach.resultType = fromClause.resultType;
+        foreach.nillableResultType = fromClause.nillableResultType;
+        foreach.isDeclaredWithVar = fromClause.isDeclaredWithVar;
+        foreach.body = ASTBuilderUtil.createBlockStmt(pos);
+
+        // Clauses after a where clause are written to the body of the if statement of the where clause.
+        BLangBlockStmt loopBlock = foreach.body;
+        BLangSelectClause selectClause = null;
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
+            switch (clause.getKind()) {
+                case LET_CLAUSE:
+                    for (BLangLetVariable letVariable : ((BLangLetClause) clause).letVarDeclarations) {
+                        loopBlock.addStatement((BLangStatement) letVariable.definitionNode);
+                    }
+                    break;
+                case WHERE:
+                    BLangBlockStmt whereBlock = ASTBuilderUtil.createBlockStmt(clause.pos);
+                    loopBlock.addStatement(ASTBuilderUtil.createIfElseStmt(clause.pos,
+                            ((BLangWhereClause) clause).expression, whereBlock, null));
+                    loopBlock = whereBlock;
+                    break;
+                case LIMIT:
+                    addFusedLimit(block, loopBlock, (BLangLimitClause) clause);
+                    break;
+                case SELECT:
+                    selectClause = (BLangSelectClause) clause;
+                    break;
+            }
+        }
+
+        // $result$[$index$] = select-expr;
+        BLangIndexBasedAccess elementAccess = ASTBuilderUtil.createIndexAccessExpr(
+                ASTBuilderUtil.createVariableRef(selectClause.pos, resultSymbol),
+                ASTBuilderUtil.createVariableRef(selectClause.pos, indexSymbol));
+        elementAccess.pos = selectClause.pos;
+        elementAccess.type = resultType.eType;
+        loopBlock.addStatement(ASTBuilderUtil.createAssignmentStmt(selectClause.pos, elementAccess,
+                selectClause.expression));
+        loopBlock.addStatement(createIncrementStmt(selectClause.pos, indexSymbol));
+        block.addStatement(foreach);
+        return ASTBuilderUtil.createVariableRef(pos, resultSymbol);
+    }
+
+    /**
+     * Desugar limit clause of a fused query to below.
+     * int $count$ = 0;
+     * ...
+     * if isLimitReached($count$, limit) {
+     *     break;
+     * }
+     * $count$ = $count$ + 1;
+     *
+     * @param block       parent block of the loop to define the counter in.
+     * @param loopBlock   block within the loop to write to.
+     * @param limitClause to be desugared.
+     */
+    private void addFusedLimit(BLangBlockStmt block, BLangBlockStmt loopBlock, BLangLimitClause limitClause) {
+        Location pos = limitClause.pos;
+        BVarSymbol countSymbol = defineFusedLoopVariable(block, pos, symTable.intType,
+                ASTBuilderUtil.createLiteral(pos, symTable.intType, 0L));
+        BLangInvocation limitReached = createQueryLibInvocation(QUERY_IS_LIMIT_REACHED_FUNCTION,
+                Lists.of(ASTBuilderUtil.createVariableRef(pos, countSymbol),
+                        desugar.addConversionExprIfRequired(limitClause.expression, symTable.intType)), pos);
+        BLangBlockStmt breakBlock = ASTBuilderUtil.createBlockStmt(pos);
+        BLangBreak breakStmt = (BLangBreak) TreeBuilder.createBreakNode();
+        breakStmt.pos = pos;
+        breakBlock.addStatement(breakStmt);
+        loopBlock.addStatement(ASTBuilderUtil.createIfElseStmt(pos, limitReached, breakBlock, null));
+        loopBlock.addStatement(createIncrementStmt(pos, countSymbol));
+    }
+
+    private BVarSymbol defineFusedLoopVariable(BLangBlockStmt block, Location pos, BType type,
+                                               BLangExpression initExpr) {
+        String name = getNewVarName();
+        BVarSymbol symbol = new BVarSymbol(0, names.fromString(name), env.scope.owner.pkgID, type,
+                                           env.scope.owner, pos, VIRTUAL);
+        BLangSimpleVariable variable = ASTBuilderUtil.createVariable(pos, name, type, initExpr, symbol);
+        block.addStatement(ASTBuilderUtil.createVariableDef(pos, variable));
+        return symbol;
+    }
+
+    private BLangAssignment createIncrementStmt(Location pos, BVarSymbol symbol) {
+        BLangBinaryExpr addExpr = ASTBuilderUtil.createBinaryExpr(pos, ASTBuilderUtil.createVariableRef(pos, symbol),
+                ASTBuilderUtil.createLiteral(pos, symTable.intType, 1L), symTable.intType, OperatorKind.ADD,
+                (BOperatorSymbol) symResolver.resolveBinaryOperator(OperatorKind.ADD, symTable.intType,
+                        symTable.intType));
+        return ASTBuilderUtil.createAssignmentStmt(pos, ASTBuilderUtil.createVariableRef(pos, symbol), addExpr);
     }
 
     // ---- Util methods to create the stream pipeline. ---- //
@@ -561,17 +934,75 @@ public class QueryDesugar extends BLangNodeVisitor {
         return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_FILTER_FUNCTION, Lists.of(lambda), pos);
     }
 
+    /**
+     * Get the number of frames an order by clause has to produce, which is the limit of a following limit clause if
+     * the limit does not depend on the variables of the query. Otherwise, all the frames are produced and 0 is
+     * returned.
+     *
+     * @param clauses list of query clauses.
+     * @param index   index of the order by clause.
+     * @return the expression of the number of frames to produce, which is evaluated before the query runs.
+     */
+    private BLangExpression getOrderByLimit(List<BLangNode> clauses, int index) {
+        BLangNode orderByClause = clauses.get(index);
+        for (BLangNode clause : clauses.subList(index + 1, clauses.size())) {
+            // A select clause does not change the number of frames.
+            if (clause.getKind() == NodeKind.SELECT) {
+                continue;
+            }
+            if (clause.getKind() != NodeKind.LIMIT) {
+                break;
+            }
+            BLangExpression limitExpr = ((BLangLimitClause) clause).expression;
+            if (limitExpr.getKind() == NodeKind.NUMERIC_LITERAL && ((BLangLiteral) limitExpr).value instanceof Long) {
+                return ASTBuilderUtil.createLiteral(limitExpr.pos, symTable.intType,
+                        Math.max((Long) ((BLangLiteral) limitExpr).value, 0));
+            }
+            // A limit given by a constant or a final variable, such as a parameter, is the same for all the frames.
+            BLangExpression limit = copyInvariantValue(limitExpr, getIntroducedSymbols(clauses.subList(0, index)));
+            if (limit != null) {
+                return desugar.addConversionExprIfRequired(limit, symTable.intType);
+            }
+            break;
+        }
+        return ASTBuilderUtil.createLiteral(orderByClause.pos, symTable.intType, 0L);
+    }
+
+    private List<BSymbol> getIntroducedSymbols(List<BLangNode> clauses) {
+        List<BSymbol> symbols = new ArrayList<>();
+        for (BLangNode clause : clauses) {
+            switch (clause.getKind()) {
+                case FROM:
+                    symbols.addAll(getIntroducedSymbols((BLangVariable)
+                            ((BLangFromClause) clause).variableDefinitionNode.getVariable()));
+                    break;
+                case JOIN:
+                    symbols.addAll(getIntroducedSymbols((BLangVariable)
+                            ((BLangJoinClause) clause).variableDefinitionNode.getVariable()));
+                    break;
+                case LET_CLAUSE:
+                    symbols.addAll(getIntroducedSymbols((BLangLetClause) clause));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return symbols;
+    }
+
     /**
      * Desugar orderByClause to below and return a reference to created orderBy _StreamFunction.
      * _StreamFunction orderByFunc = createOrderByFunction(function(_Frame frame) {
      * _Frame frame = {"orderKey": frame["x2"] + frame["y2"], $orderDirection$: true + false"};
-     * });
+     * }, limit);
      *
      * @param blockStmt parent block to write to.
      * @param orderByClause  to be desugared.
+     * @param limit number of frames to produce, or 0 for all the frames.
      * @return variableReference to created orderBy _StreamFunction.
      */
-    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause) {
+    BLangVariableReference addOrderByFunction(BLangBlockStmt blockStmt, BLangOrderByClause orderByClause,
+                                              BLangExpression limit) {
         Location pos = orderByClause.pos;
         BLangLambdaFunction lambda = createActionLambda(pos);
         BLangBlockFunctionBody body = (BLangBlockFunctionBody) lambda.function.body;
@@ -603,7 +1034,8 @@ public class QueryDesugar extends BLangNodeVisitor {
         BLangStatement orderDirectionStmt = getAddToFrameStmt(pos, frame, "$orderDirection$", sortModesArrayExpr);
         body.stmts.add(orderDirectionStmt);
         lambda.accept(this);
-        return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_ORDER_BY_FUNCTION, Lists.of(lambda), pos);
+        return getStreamFunctionVariableRef(blockStmt, QUERY_CREATE_ORDER_BY_FUNCTION,
+                Lists.of(lambda, limit), pos);
     }
 
 
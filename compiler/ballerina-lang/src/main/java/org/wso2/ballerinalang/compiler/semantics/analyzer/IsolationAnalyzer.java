@@ -74,6 +74,7 @@ import org.wso2.ballerinalang.compiler.tree.bindingpatterns.BLangRestBindingPatt
 import org.wso2.ballerinalang.compiler.tree.bindingpatterns.BLangWildCardBindingPattern;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangDoClause;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangFromClause;
+import org.wso2.ballerinalang.compiler.tree.clauses.BLangInputClause;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangJoinClause;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangLetClause;
 import org.wso2.ballerinalang.compiler.tree.clauses.BLangLimitClause;
@@ -246,6 +247,7 @@ public class IsolationAnalyzer extends BLangNodeVisitor {
     private boolean inLockStatement = false;
     private Stack<PotentiallyInvalidExpressionInfo> copyInLockInfoStack = new Stack<>();
     private Stack<Set<BSymbol>> isolatedLetVarStack = new Stack<>();
+    private Stack<QueryExprInfo> queryExprInfoStack = new Stack<>();
 
     private IsolationAnalyzer(CompilerContext context) {
         context.put(ISOLATION_ANALYZER_KEY, this);
@@ -1057,6 +1059,7 @@ public class IsolationAnalyzer extends BLangNodeVisitor {
 
         if (!recordFieldDefaultValue && !objectFieldDefaultValue && enclInvokable != null &&
                 isReferenceToVarDefinedInSameInvokable(symbol.owner, enclInvokable.symbol)) {
+            markQueriesCapturingMutableLocalVar(symbol, accessType);
             return;
         }
 
@@ -1407,9 +1410,25 @@ public class IsolationAnalyzer extends BLangNodeVisitor {
 
     @Override
     public void visit(BLangQueryExpr queryExpr) {
-        for (BLangNode clause : queryExpr.getQueryClauses()) {
+        List<BLangNode> clauses = queryExpr.getQueryClauses();
+        analyzeNode(clauses.get(0), env);
+
+        // Record whether the clauses following the first from clause are isolated and do not capture mutable local
+        // variables, in which case the query can be run in parallel over parts of the collection.
+        QueryExprInfo queryExprInfo = new QueryExprInfo();
+        for (BLangNode clause : clauses) {
+            addQueryVarSymbols(clause, queryExprInfo.queryVarSymbols);
+        }
+        queryExprInfoStack.push(queryExprInfo);
+
+        boolean prevInferredIsolated = this.inferredIsolated;
+        this.inferredIsolated = true;
+        for (BLangNode clause : clauses.subList(1, clauses.size())) {
             analyzeNode(clause, env);
         }
+        queryExprInfoStack.pop();
+        queryExpr.isolatedClauses = this.inferredIsolated && !queryExprInfo.capturesMutableLocalVar;
+        this.inferredIsolated = prevInferredIsolated && this.inferredIsolated;
     }
 
     @Override
@@ -2696,6 +2715,77 @@ public class IsolationAnalyzer extends BLangNodeVisitor {
         return false;
     }
 
+    private void addQueryVarSymbols(BLangNode clause, Set<BSymbol> queryVarSymbols) {
+        switch (clause.getKind()) {
+            case FROM:
+            case JOIN:
+                BLangVariable variable =
+                        (BLangVariable) ((BLangInputClause) clause).getVariableDefinitionNode().getVariable();
+                addVarSymbols(variable, queryVarSymbols);
+                break;
+            case LET_CLAUSE:
+                for (BLangLetVariable letVarDeclaration : ((BLangLetClause) clause).letVarDeclarations) {
+                    addVarSymbols((BLangVariable) letVarDeclaration.definitionNode.getVariable(), queryVarSymbols);
+                }
+                break;
+        }
+    }
+
+    private void addVarSymbols(BLangVariable variable, Set<BSymbol> symbols) {
+        if (variable == null) {
+            return;
+        }
+
+        switch (variable.getKind()) {
+            case VARIABLE:
+                if (variable.symbol != null) {
+                    symbols.add(variable.symbol);
+                }
+                break;
+            case TUPLE_VARIABLE:
+                BLangTupleVariable tupleVariable = (BLangTupleVariable) variable;
+                tupleVariable.memberVariables.forEach(memberVariable -> addVarSymbols(memberVariable, symbols));
+                addVarSymbols(tupleVariable.restVariable, symbols);
+                break;
+            case RECORD_VARIABLE:
+                BLangRecordVariable recordVariable = (BLangRecordVariable) variable;
+                recordVariable.variableList.forEach(value -> addVarSymbols(value.valueBindingPattern, symbols));
+                addVarSymbols((BLangVariable) recordVariable.restParam, symbols);
+                break;
+            case ERROR_VARIABLE:
+                BLangErrorVariable errorVariable = (BLangErrorVariable) variable;
+                addVarSymbols(errorVariable.message, symbols);
+                addVarSymbols(errorVariable.cause, symbols);
+                addVarSymbols(errorVariable.restDetail, symbols);
+                errorVariable.detail.forEach(detailEntry -> addVarSymbols(detailEntry.valueBindingPattern, symbols));
+                break;
+        }
+    }
+
+    private void markQueriesCapturingMutableLocalVar(BSymbol symbol, BType accessType) {
+        if (queryExprInfoStack.isEmpty()) {
+            return;
+        }
+
+        // Same as for the arguments of an isolated start action, a local variable can only be shared between the
+        // parts of a parallel query if it is final and either immutable or an isolated object.
+        if ((Symbols.isFlagOn(symbol.flags, Flags.FINAL) || Symbols.isFlagOn(symbol.flags, Flags.FUNCTION_FINAL)) &&
+                types.isSubTypeOfReadOnlyOrIsolatedObjectUnion(accessType)) {
+            return;
+        }
+
+        // A variable declared by a query is created for each evaluation of that query, and is therefore not shared
+        // between the parts of the queries that enclose it. It is captured by every enclosing query outside which it
+        // is declared.
+        for (int i = queryExprInfoStack.size() - 1; i >= 0; i--) {
+            QueryExprInfo queryExprInfo = queryExprInfoStack.get(i);
+            if (queryExprInfo.queryVarSymbols.contains(symbol)) {
+                return;
+            }
+            queryExprInfo.capturesMutableLocalVar = true;
+        }
+    }
+
     private boolean isReferenceToVarDefinedInSameInvokable(BSymbol currentOwner, BInvokableSymbol enclInvokableSymbol) {
         if (currentOwner == enclInvokableSymbol) {
             return true;
@@ -2732,4 +2822,13 @@ public class IsolationAnalyzer extends BLangNodeVisitor {
             this.lockNode = lockNode;
         }
     }
+
+    /**
+     * Holds the variables declared by the clauses of a query expression, and whether the clauses following its first
+     * from clause refer to a local variable declared outside the query which is not safe to share between strands.
+     */
+    private static class QueryExprInfo {
+        Set<BSymbol> queryVarSymbols = new HashSet<>();
+        boolean capturesMutableLocalVar = false;
+    }
 }
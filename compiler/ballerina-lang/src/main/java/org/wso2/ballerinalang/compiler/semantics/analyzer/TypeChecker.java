@@ -258,6 +258,7 @@ public class TypeChecker extends BLangNodeVisitor {
     private int letCount = 0;
     private Stack<SymbolEnv> queryEnvs, prevEnvs;
     private Stack<BLangSelectClause> selectClauses;
+    private Stack<BLangQueryExpr> queryExprs;
     private BLangMissingNodesHelper missingNodesHelper;
 
     /**
@@ -337,6 +338,7 @@ public class TypeChecker extends BLangNodeVisitor {
         this.missingNodesHelper = BLangMissingNodesHelper.getInstance(context);
         this.typeBuilder = new ResolvedTypeBuilder();
         this.selectClauses = new Stack<>();
+        this.queryExprs = new Stack<>();
         this.queryEnvs = new Stack<>();
         this.prevEnvs = new Stack<>();
     }
@@ -4410,6 +4412,7 @@ public class TypeChecker extends BLangNodeVisitor {
         }
         queryEnvs.push(prevEnvs.peek().createClone());
         selectClauses.push(queryExpr.getSelectClause());
+        queryExprs.push(queryExpr);
         List<BLangNode> clauses = queryExpr.getQueryClauses();
         BLangExpression collectionNode = (BLangExpression) ((BLangFromClause) clauses.get(0)).getCollection();
         clauses.forEach(clause -> clause.accept(this));
@@ -4417,6 +4420,7 @@ public class TypeChecker extends BLangNodeVisitor {
                 selectClauses.peek().expression, collectionNode.type, expType, queryExpr);
         resultType = (actualType == symTable.semanticError) ? actualType :
                 types.checkType(queryExpr.pos, actualType, expType, DiagnosticErrorCode.INCOMPATIBLE_TYPES);
+        queryExprs.pop();
         selectClauses.pop();
         queryEnvs.pop();
         prevEnvs.pop();
@@ -4721,6 +4725,10 @@ public class TypeChecker extends BLangNodeVisitor {
 
     private void visitCheckAndCheckPanicExpr(BLangCheckedExpr checkedExpr) {
         String operatorType = checkedExpr.getKind() == NodeKind.CHECK_EXPR ? "check" : "checkpanic";
+        if (checkedExpr.getKind() == NodeKind.CHECK_EXPR && !queryExprs.empty()) {
+            // The error of a check expression within a query is returned from the query, not the enclosing function.
+            queryExprs.peek().hasCheckedExpr = true;
+        }
         BLangExpression exprWithCheckingKeyword = checkedExpr.expr;
         boolean firstVisit = exprWithCheckingKeyword.type == null;
         BType typeOfExprWithCheckingKeyword;
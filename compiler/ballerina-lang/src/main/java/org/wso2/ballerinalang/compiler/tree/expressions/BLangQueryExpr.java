@@ -38,6 +38,8 @@ public class BLangQueryExpr extends BLangAccessibleExpression implements QueryEx
     public List<IdentifierNode> fieldNameIdentifierList = new ArrayList<>();
     public boolean isStream = false;
     public boolean isTable = false;
+    public boolean hasCheckedExpr = false;
+    public boolean isolatedClauses = false;
 
     @Override
     public BLangSelectClause getSelectClause() {
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://wso2.com) All Rights Reserved.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.wso2.ballerinalang.compiler.bir.codegen;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNonTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.BIROperand;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
+import org.wso2.ballerinalang.compiler.bir.model.InstructionKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarKind;
+import org.wso2.ballerinalang.compiler.bir.model.VarScope;
+import org.wso2.ballerinalang.compiler.semantics.model.types.BType;
+import org.wso2.ballerinalang.compiler.util.Name;
+import org.wso2.ballerinalang.compiler.util.TypeTags;
+
+/**
+ * Tests for the {@link StringConcatChains} class.
+ *
+ * @since 2.0.0
+ */
+public class StringConcatChainsTest {
+
+    private static final BType STRING_TYPE = new BType(TypeTags.STRING, null);
+    private static final BType INT_TYPE = new BType(TypeTags.INT, null);
+
+    private BIRNode.BIRFunction function;
+    private BIRNode.BIRBasicBlock basicBlock;
+    private int varCount;
+
+    @BeforeMethod
+    public void createFunction() {
+        function = new BIRNode.BIRFunction(null, new Name("test"), 0, null, null, 0, null, null);
+        basicBlock = new BIRNode.BIRBasicBlock(new Name("bb0"));
+        basicBlock.terminator = new BIRTerminator.Return(null);
+        function.basicBlocks.add(basicBlock);
+        varCount = 0;
+    }
+
+    @Test
+    public void testChainOfTemporaries() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl c = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl d = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl t1 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl t2 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl result = variable(VarKind.LOCAL);
+
+        BIRNonTerminator.BinaryOp first = add(t1, a, b);
+        BIRNonTerminator.BinaryOp second = add(t2, t1, c);
+        BIRNonTerminator.BinaryOp last = add(result, t2, d);
+        StringConcatChains chains = StringConcatChains.find(function);
+
+        assertLink(chains.getLink(first), 0, 1, 4);
+        assertLink(chains.getLink(second), 0, 2, 4);
+        assertLink(chains.getLink(last), 0, 3, 4);
+        Assert.assertTrue(chains.getLink(first).isFirst());
+        Assert.assertFalse(chains.getLink(second).isFirst());
+        Assert.assertFalse(chains.getLink(second).isLast());
+        Assert.assertTrue(chains.getLink(last).isLast());
+    }
+
+    @Test
+    public void testSingleAddition() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl result = variable(VarKind.LOCAL);
+
+        add(result, a, b);
+        Assert.assertSame(StringConcatChains.find(function), StringConcatChains.NONE);
+    }
+
+    @Test
+    public void testNonStringAdditions() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG, INT_TYPE);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG, INT_TYPE);
+        BIRNode.BIRVariableDcl t1 = variable(VarKind.TEMP, INT_TYPE);
+        BIRNode.BIRVariableDcl result = variable(VarKind.LOCAL, INT_TYPE);
+
+        add(t1, a, b);
+        add(result, t1, b);
+        Assert.assertSame(StringConcatChains.find(function), StringConcatChains.NONE);
+    }
+
+    @Test
+    public void testLocalVariableEndsChain() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl local = variable(VarKind.LOCAL);
+        BIRNode.BIRVariableDcl result = variable(VarKind.LOCAL);
+
+        BIRNonTerminator.BinaryOp first = add(local, a, b);
+        BIRNonTerminator.BinaryOp second = add(result, local, b);
+        StringConcatChains chains = StringConcatChains.find(function);
+
+        Assert.assertNull(chains.getLink(first));
+        Assert.assertNull(chains.getLink(second));
+    }
+
+    @Test
+    public void testTemporaryUsedAfterChain() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl t1 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl result = variable(VarKind.LOCAL);
+        BIRNode.BIRVariableDcl copy = variable(VarKind.LOCAL);
+
+        BIRNonTerminator.BinaryOp first = add(t1, a, b);
+        BIRNonTerminator.BinaryOp second = add(result, t1, b);
+        basicBlock.instructions.add(new BIRNonTerminator.Move(null, new BIROperand(t1), new BIROperand(copy)));
+        StringConcatChains chains = StringConcatChains.find(function);
+
+        // t1 is needed after the second addition, so it must be computed on its own.
+        Assert.assertNull(chains.getLink(first));
+        Assert.assertNull(chains.getLink(second));
+    }
+
+    @Test
+    public void testTemporaryUsedInBetween() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl t1 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl copy = variable(VarKind.LOCAL);
+        BIRNode.BIRVariableDcl result = variable(VarKind.LOCAL);
+
+        BIRNonTerminator.BinaryOp first = add(t1, a, b);
+        basicBlock.instructions.add(new BIRNonTerminator.Move(null, new BIROperand(t1), new BIROperand(copy)));
+        BIRNonTerminator.BinaryOp second = add(result, t1, b);
+        StringConcatChains chains = StringConcatChains.find(function);
+
+        Assert.assertNull(chains.getLink(first));
+        Assert.assertNull(chains.getLink(second));
+    }
+
+    @Test
+    public void testInterleavedChainsUseSeparateSlots() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl t1 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl t2 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl result1 = variable(VarKind.LOCAL);
+        BIRNode.BIRVariableDcl result2 = variable(VarKind.LOCAL);
+
+        BIRNonTerminator.BinaryOp first1 = add(t1, a, b);
+        BIRNonTerminator.BinaryOp first2 = add(t2, b, a);
+        BIRNonTerminator.BinaryOp last1 = add(result1, t1, a);
+        BIRNonTerminator.BinaryOp last2 = add(result2, t2, b);
+        StringConcatChains chains = StringConcatChains.find(function);
+
+        assertLink(chains.getLink(first1), 0, 1, 3);
+        assertLink(chains.getLink(last1), 0, 2, 3);
+        assertLink(chains.getLink(first2), 1, 1, 3);
+        assertLink(chains.getLink(last2), 1, 2, 3);
+    }
+
+    @Test
+    public void testConsecutiveChainsReuseSlot() {
+        BIRNode.BIRVariableDcl a = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl b = variable(VarKind.ARG);
+        BIRNode.BIRVariableDcl t1 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl t2 = variable(VarKind.TEMP);
+        BIRNode.BIRVariableDcl result1 = variable(VarKind.LOCAL);
+        BIRNode.BIRVariableDcl result2 = variable(VarKind.LOCAL);
+
+        add(t1, a, b);
+        BIRNonTerminator.BinaryOp last1 = add(result1, t1, a);
+        BIRNonTerminator.BinaryOp first2 = add(t2, result1, b);
+        BIRNonTerminator.BinaryOp last2 = add(result2, t2, a);
+        StringConcatChains chains = StringConcatChains.find(function);
+
+        assertLink(chains.getLink(last1), 0, 2, 3);
+        assertLink(chains.getLink(first2), 0, 1, 3);
+        assertLink(chains.getLink(last2), 0, 2, 3);
+    }
+
+    private BIRNode.BIRVariableDcl variable(VarKind kind) {
+        return variable(kind, STRING_TYPE);
+    }
+
+    private BIRNode.BIRVariableDcl variable(VarKind kind, BType type) {
+        BIRNode.BIRVariableDcl variableDcl =
+                new BIRNode.BIRVariableDcl(type, new Name("%" + varCount++), VarScope.FUNCTION, kind);
+        function.localVars.add(variableDcl);
+        return variableDcl;
+    }
+
+    private BIRNonTerminator.BinaryOp add(BIRNode.BIRVariableDcl lhs, BIRNode.BIRVariableDcl rhs1,
+                                         BIRNode.BIRVariableDcl rhs2) {
+        BIRNonTerminator.BinaryOp binaryOp = new BIRNonTerminator.BinaryOp(null, InstructionKind.ADD, lhs.type,
+                                                                           new BIROperand(lhs), new BIROperand(rhs1),
+                                                                           new BIROperand(rhs2));
+        basicBlock.instructions.add(binaryOp);
+        return binaryOp;
+    }
+
+    private static void assertLink(StringConcatChains.Link link, int slot, int operandIndex, int operandCount) {
+        Assert.assertNotNull(link);
+        Assert.assertEquals(link.slot, slot);
+        Assert.assertEquals(link.operandIndex, operandIndex);
+        Assert.assertEquals(link.operandCount, operandCount);
+    }
+}
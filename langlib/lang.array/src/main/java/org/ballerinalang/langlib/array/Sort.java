@@ -27,13 +27,15 @@ import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.types.UnionType;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.api.values.BString;
 import io.ballerina.runtime.internal.TypeChecker;
 import io.ballerina.runtime.internal.scheduling.Scheduler;
 
-import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.PrimitiveIterator;
 
 import static io.ballerina.runtime.api.constants.RuntimeConstants.ARRAY_LANG_LIB;
 import static io.ballerina.runtime.internal.util.exceptions.BallerinaErrorReasons.INVALID_TYPE_TO_SORT;
@@ -42,11 +44,17 @@ import static org.ballerinalang.langlib.array.utils.ArrayUtils.checkIsArrayOnlyO
 
 /**
  * Native implementation of lang.array:sort((any|error)[], direction, function).
+ * <p>
+ * Arrays of ints, floats and strings without a key function are sorted as arrays of the unboxed values. Otherwise,
+ * the comparator for the type of the keys is created once, before sorting.
  *
  * @since 1.0
  */
 public class Sort {
 
+    private static final Comparator<BString> STRING_COMPARATOR =
+            (str1, str2) -> codePointCompare(str1.getValue(), str2.getValue());
+
     public static BArray sort(BArray arr, Object direction, Object func) {
         checkIsArrayOnlyOperation(arr.getType(), "sort()");
         BFunctionPointer<Object, Object> function = (BFunctionPointer<Object, Object>) func;
@@ -56,8 +64,30 @@ public class Sort {
             isAscending = false;
         }
 
+        if (function == null) {
+            switch (elemType.getTag()) {
+                case TypeTags.INT_TAG:
+                case TypeTags.SIGNED32_INT_TAG:
+                case TypeTags.SIGNED16_INT_TAG:
+                case TypeTags.SIGNED8_INT_TAG:
+                case TypeTags.UNSIGNED32_INT_TAG:
+                case TypeTags.UNSIGNED16_INT_TAG:
+                case TypeTags.UNSIGNED8_INT_TAG:
+                    sortInts(arr, isAscending);
+                    return arr;
+                case TypeTags.FLOAT_TAG:
+                    sortFloats(arr, isAscending);
+                    return arr;
+                case TypeTags.STRING_TAG:
+                case TypeTags.CHAR_STRING_TAG:
+                    sortStrings(arr, isAscending);
+                    return arr;
+                default:
+                    break;
+            }
+        }
+
         Object[][] sortArr = new Object[arr.size()][2];
-        Object[][] sortArrClone = new Object[arr.size()][2];
         if (function != null) {
             boolean elementTypeIdentified = false;
             elemType = ((FunctionType) function.getType()).getReturnType();
@@ -91,7 +121,14 @@ public class Sort {
             }
         }
 
-        mergesort(sortArr, sortArrClone, 0, sortArr.length - 1, isAscending, elemType);
+        Comparator<Object> comparator = getComparator(elemType, isAscending);
+        if (!isAscending) {
+            Comparator<Object> descendingComparator = comparator;
+            comparator = (value1, value2) -> descendingComparator.compare(value2, value1);
+        }
+        Comparator<Object> keyComparator = comparator;
+        // Arrays.sort() is stable for objects
+        Arrays.sort(sortArr, (pair1, pair2) -> keyComparator.compare(pair1[0], pair2[0]));
 
         for (int k = 0; k < sortArr.length; k++) {
             arr.add(k, sortArr[k][1]);
@@ -100,6 +137,68 @@ public class Sort {
         return arr;
     }
 
+    private static void sortInts(BArray arr, boolean isAscending) {
+        long[] values = arr.getIntArray();
+        Arrays.sort(values);
+        int size = values.length;
+        for (int i = 0; i < size; i++) {
+            arr.add(i, isAscending ? values[i] : values[size - 1 - i]);
+        }
+    }
+
+    private static void sortFloats(BArray arr, boolean isAscending) {
+        int size = arr.size();
+        double[] values = new double[size];
+        int zeroCount = 0;
+        for (int i = 0; i < size; i++) {
+            values[i] = arr.getFloat(i);
+            if (values[i] == 0) {
+                zeroCount++;
+            }
+        }
+        // NaN is placed last by Arrays.sort(), which is where it should be irrespective of the sort direction.
+        Arrays.sort(values);
+        int nonNaNCount = size;
+        while (nonNaNCount > 0 && Double.isNaN(values[nonNaNCount - 1])) {
+            nonNaNCount--;
+        }
+        if (!isAscending) {
+            for (int i = 0, j = nonNaNCount - 1; i < j; i++, j--) {
+                double temp = values[i];
+                values[i] = values[j];
+                values[j] = temp;
+            }
+        }
+        if (zeroCount > 1) {
+            // -0.0 = +0.0, so zeros keep their order as with a stable sort, instead of -0.0 coming first.
+            int k = 0;
+            while (values[k] != 0) {
+                k++;
+            }
+            for (int i = 0; i < size; i++) {
+                double value = arr.getFloat(i);
+                if (value == 0) {
+                    values[k++] = value;
+                }
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            arr.add(i, values[i]);
+        }
+    }
+
+    private static void sortStrings(BArray arr, boolean isAscending) {
+        int size = arr.size();
+        BString[] values = new BString[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = arr.getBString(i);
+        }
+        Arrays.sort(values, isAscending ? STRING_COMPARATOR : STRING_COMPARATOR.reversed());
+        for (int i = 0; i < size; i++) {
+            arr.add(i, values[i]);
+        }
+    }
+
     private static Type getMemberType(UnionType unionType) {
         List<Type> memberTypes = unionType.getMemberTypes();
         for (Type type : memberTypes) {
@@ -110,47 +209,69 @@ public class Sort {
         return unionType;
     }
 
-    // Adapted from https://algs4.cs.princeton.edu/22mergesort/Merge.java.html
-    private static void mergesort(Object[][] input, Object[][] aux, int lo, int hi, boolean isAscending, Type type) {
-        if (hi <= lo) {
-            return;
-        }
-
-        int mid = lo + (hi - lo) / 2;
-
-        mergesort(input, aux, lo, mid, isAscending, type);
-        mergesort(input, aux, mid + 1, hi, isAscending, type);
-
-        merge(input, aux, lo, mid, hi, isAscending, type);
+    /**
+     * Get the comparator for values of the given type, which places () last when sorting in the given direction. When
+     * sorting in descending order, the comparator should be applied with the values swapped.
+     *
+     * @param type        type of the values
+     * @param isAscending whether the values are sorted in ascending order
+     * @return the comparator
+     */
+    private static Comparator<Object> getComparator(Type type, boolean isAscending) {
+        Comparator<Object> comparator = getNonNilComparator(type, isAscending);
+        int nilOrder = isAscending ? 1 : -1;
+        return (value1, value2) -> {
+            // () should come last irrespective of the sort direction.
+            if (value1 == null) {
+                return value2 == null ? 0 : nilOrder;
+            }
+            if (value2 == null) {
+                return -nilOrder;
+            }
+            return comparator.compare(value1, value2);
+        };
     }
 
-    private static void merge(Object[][] input, Object[][] aux, int lo, int mid, int hi, boolean isAscending,
-                              Type type) {
-        if (hi + 1 - lo >= 0) {
-            System.arraycopy(input, lo, aux, lo, hi + 1 - lo);
-        }
-
-        for (int i = lo, j = mid + 1, k = lo; k <= hi; k++) {
-            int index;
-            if (i > mid) {
-                index = j++;
-            } else if (j > hi) {
-                index = i++;
-            } else if (isAscending && sortFunc(aux[j][0], aux[i][0], type, true) < 0) {
-                index = j++;
-            } else if (!isAscending && sortFunc(aux[i][0], aux[j][0], type, false) < 0) {
-                index = j++;
-            } else {
-                index = i++;
-            }
-            input[k] = aux[index];
+    private static Comparator<Object> getNonNilComparator(Type type, boolean isAscending) {
+        if (TypeTags.isIntegerTypeTag(type.getTag())) {
+            return (value1, value2) -> Long.compare((long) value1, (long) value2);
+        } else if (type.getTag() == TypeTags.FLOAT_TAG) {
+            return (value1, value2) -> compareFloats((double) value1, (double) value2, isAscending);
+        } else if (type.getTag() == TypeTags.DECIMAL_TAG) {
+            return (value1, value2) -> ((BDecimal) value1).decimalValue().compareTo(((BDecimal) value2).decimalValue());
+        } else if (type.getTag() == TypeTags.BOOLEAN_TAG) {
+            return (value1, value2) -> Boolean.compare((boolean) value1, (boolean) value2);
+        } else if (TypeTags.isStringTypeTag(type.getTag())) {
+            return (value1, value2) -> codePointCompare(value1.toString(), value2.toString());
+        } else if (type.getTag() == TypeTags.BYTE_TAG) {
+            return (value1, value2) -> Integer.compare((int) value1, (int) value2);
+        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
+            Comparator<Object> elementComparator = getComparator(((ArrayType) type).getElementType(), isAscending);
+            return (value1, value2) -> {
+                BArray array1 = (BArray) value1;
+                BArray array2 = (BArray) value2;
+                int len = Math.min(array1.size(), array2.size());
+                for (int i = 0; i < len; i++) {
+                    int c = elementComparator.compare(array1.get(i), array2.get(i));
+                    if (c != 0) {
+                        return c;
+                    }
+                }
+                return Integer.compare(array1.size(), array2.size());
+            };
         }
+        // The error is raised only if values are compared, as with arrays with less than two members.
+        return (value1, value2) -> {
+            throw ErrorCreator.createError(getModulePrefixedReason(ARRAY_LANG_LIB, INVALID_TYPE_TO_SORT),
+                                           StringUtils.fromString("expected an ordered type, but found '" +
+                                                                          type.toString() + "'"));
+        };
     }
 
-    private static int sortFunc(Object value1, Object value2, Type type, boolean isAscending) {
-        // () should come last irrespective of the sort direction.
-        if (value1 == null) {
-            if (value2 == null) {
+    private static int compareFloats(double value1, double value2, boolean isAscending) {
+        // NaN should be placed last or one before the last when () is present irrespective of the sort direction.
+        if (Double.isNaN(value1)) {
+            if (Double.isNaN(value2)) {
                 return 0;
             }
             if (isAscending) {
@@ -158,94 +279,33 @@ public class Sort {
             }
             return -1;
         }
-        if (value2 == null) {
+        if (Double.isNaN(value2)) {
             if (isAscending) {
                 return -1;
             }
             return 1;
         }
-        if (TypeTags.isIntegerTypeTag(type.getTag())) {
-            return Long.compare((long) value1, (long) value2);
-        } else if (type.getTag() == TypeTags.FLOAT_TAG) {
-            // NaN should be placed last or one before the last when () is present irrespective of the sort direction.
-            if (Double.isNaN((double) value1)) {
-                if (Double.isNaN((double) value2)) {
-                    return 0;
-                }
-                if (isAscending) {
-                    return 1;
-                }
-                return -1;
-            }
-            if (Double.isNaN((double) value2)) {
-                if (isAscending) {
-                    return -1;
-                }
-                return 1;
-            }
-            // -0.0 = +0.0
-            if ((double) value1 == 0 && (double) value2 == 0) {
-                return 0;
-            }
-            return Double.compare((double) value1, (double) value2);
-        } else if (type.getTag() == TypeTags.DECIMAL_TAG) {
-            return new BigDecimal(value1.toString()).compareTo(new BigDecimal(value2.toString()));
-        } else if (type.getTag() == TypeTags.BOOLEAN_TAG) {
-            return Boolean.compare((boolean) value1, (boolean) value2);
-        } else if (TypeTags.isStringTypeTag(type.getTag())) {
-            return codePointCompare(value1.toString(), value2.toString());
-        } else if (type.getTag() == TypeTags.BYTE_TAG) {
-            return Integer.compare((int) value1, (int) value2);
-        } else if (type.getTag() == TypeTags.ARRAY_TAG) {
-            int lengthVal1 = ((BArray) value1).size();
-            int lengthVal2 = ((BArray) value2).size();
-            if (lengthVal1 == 0) {
-                if (lengthVal2 == 0) {
-                    return 0;
-                }
-                return -1;
-            }
-            if (lengthVal2 == 0) {
-                return 1;
-            }
-            int len = Math.min(lengthVal1, lengthVal2);
-            int c = 0;
-            for (int i = 0; i < len; i++) {
-                c = sortFunc(((BArray) value1).get(i), ((BArray) value2).get(i),
-                        ((ArrayType) type).getElementType(), isAscending);
-                if (c != 0) {
-                    break;
-                } else {
-                    if (i == len - 1 && lengthVal1 < lengthVal2) {
-                        return -1;
-                    }
-                }
-            }
-            return c;
+        // -0.0 = +0.0
+        if (value1 == value2) {
+            return 0;
         }
-        throw ErrorCreator.createError(getModulePrefixedReason(ARRAY_LANG_LIB, INVALID_TYPE_TO_SORT),
-                                       StringUtils.fromString("expected an ordered type, but found '" +
-                                                                       type.toString() + "'"));
+        return Double.compare(value1, value2);
     }
 
     private static int codePointCompare(String str1, String str2) {
-        PrimitiveIterator.OfInt iterator1 = str1.codePoints().iterator();
-        PrimitiveIterator.OfInt iterator2 = str2.codePoints().iterator();
-        while (iterator1.hasNext()) {
-            if (!iterator2.hasNext()) {
-                return 1;
-            }
-            Integer codePoint1 = iterator1.next();
-            Integer codePoint2 = iterator2.next();
-
-            int cmp = codePoint1.compareTo(codePoint2);
-            if (cmp != 0) {
-                return cmp;
+        int len = Math.min(str1.length(), str2.length());
+        for (int i = 0; i < len; i++) {
+            char char1 = str1.charAt(i);
+            char char2 = str2.charAt(i);
+            if (char1 != char2) {
+                // Surrogates encode code points which are greater than those of all the other chars.
+                boolean isSurrogate1 = Character.isSurrogate(char1);
+                if (isSurrogate1 != Character.isSurrogate(char2)) {
+                    return isSurrogate1 ? 1 : -1;
+                }
+                return Character.compare(char1, char2);
             }
         }
-        if (iterator2.hasNext()) {
-            return -1;
-        }
-        return 0;
+        return Integer.compare(str1.length(), str2.length());
     }
 }
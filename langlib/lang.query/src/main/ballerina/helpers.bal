@@ -58,9 +58,9 @@ function createFilterFunction(function(_Frame _frame) returns boolean filterFunc
     return new _FilterFunction(filterFunc);
 }
 
-function createOrderByFunction(function(_Frame _frame) orderFunc)
+function createOrderByFunction(function(_Frame _frame) orderFunc, int lmt)
         returns _StreamFunction {
-    return new _OrderByFunction(orderFunc);
+    return new _OrderByFunction(orderFunc, lmt);
 }
 
 function createSelectFunction(function(_Frame _frame) returns _Frame|error? selectFunc)
@@ -97,6 +97,59 @@ function toArray(stream<Type, ErrorType> strm, Type[] arr) returns Type[]|error
     return arr;
 }
 
+function toArrayInParallel(_StreamPipeline pipeline, Type[] arr) returns Type[]|error {
+    _StreamPipeline[]? partitions = pipeline.partition(getQueryParallelism(), getMinQueryPartSize());
+    if (partitions is _StreamPipeline[]) {
+        return collectInParallel(partitions, collectPartition, arr);
+    }
+    return toArray(pipeline.getStream(), arr);
+}
+
+function collectPartition(_StreamPipeline pipeline) returns Type[]|error {
+    return toArray(pipeline.getStream(), []);
+}
+
+# Splits the given list into consecutive parts, with a pipeline of copies of the given stages over each part.
+#
+# + collection - list to split
+# + stages - stages of the pipeline over the whole list, starting from the last
+# + parallelism - maximum number of parts
+# + minPartSize - minimum number of elements in a part
+# + resType - type of the elements of the resulting stream
+# + return - the pipelines over the parts in order, or `()` if there are fewer than two parts
+function partitionList(Type[] collection, _StreamFunction[] stages, int parallelism, int minPartSize,
+        typedesc<Type> resType) returns _StreamPipeline[]? {
+    int length = collection.length();
+    int maxParts = length / minPartSize;
+    int parts = parallelism < maxParts ? parallelism : maxParts;
+    if (parts < 2) {
+        return ();
+    }
+    _StreamPipeline[] pipelines = [];
+    int partStart = 0;
+    foreach int i in 0 ..< parts {
+        int partEnd = partStart + (length - partStart) / (parts - i);
+        _StreamPipeline pipeline = new (collection.slice(partStart, partEnd), resType);
+        int j = stages.length() - 1;
+        while (j >= 0) {
+            _StreamFunction stage = stages[j];
+            if (stage is _InputFunction) {
+                pipeline.addStreamFunction(new _InputFunction(stage.inputFunc));
+            } else if (stage is _LetFunction) {
+                pipeline.addStreamFunction(new _LetFunction(stage.letFunc));
+            } else if (stage is _FilterFunction) {
+                pipeline.addStreamFunction(new _FilterFunction(stage.filterFunc));
+            } else if (stage is _SelectFunction) {
+                pipeline.addStreamFunction(new _SelectFunction(stage.selectFunc));
+            }
+            j -= 1;
+        }
+        pipelines.push(pipeline);
+        partStart = partEnd;
+    }
+    return pipelines;
+}
+
 function toXML(stream<Type, ErrorType> strm) returns xml {
     xml result = 'xml:concat();
     record {| Type value; |}|ErrorType? v = strm.next();
@@ -150,3 +203,64 @@ function consumeStream(stream<Type, ErrorType> strm) returns error? {
         return v;
     }
 }
+
+function isLimitReached(int count, int lmt) returns boolean {
+    if (lmt < 1) {
+        panic error("Invalid limit", message = "limit cannot be < 1.");
+    }
+    return count >= lmt;
+}
+
+function createFrameMultiMap() returns handle = @java:Constructor {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap"
+} external;
+
+function putFrame(handle frameMultiMap, any key, _Frame frame) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "put"
+} external;
+
+function getFrames(handle frameMultiMap, any key) returns _Frame[]? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "get"
+} external;
+
+function mergeFrames(_Frame lhsFrame, _Frame rhsFrame) returns _Frame = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameMultiMap",
+    name: "merge"
+} external;
+
+function createFrameSorter(int lmt) returns handle = @java:Constructor {
+    'class: "org.ballerinalang.langlib.query.FrameSorter"
+} external;
+
+function addFrameToSort(handle frameSorter, _Frame frame) = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameSorter",
+    name: "add"
+} external;
+
+function getNextSortedFrame(handle frameSorter) returns _Frame|error? = @java:Method {
+    'class: "org.ballerinalang.langlib.query.FrameSorter",
+    name: "next"
+} external;
+
+function getQueryParallelism() returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.GetQueryParallelism",
+    name: "getQueryParallelism"
+} external;
+
+function getMinQueryPartSize() returns int = @java:Method {
+    'class: "org.ballerinalang.langlib.query.GetQueryParallelism",
+    name: "getMinQueryPartSize"
+} external;
+
+function collectInParallel(_StreamPipeline[] pipelines, function (_StreamPipeline) returns Type[]|error collectFunc,
+        Type[] arr) returns Type[]|error = @java:Method {
+    'class: "org.ballerinalang.langlib.query.CollectInParallel",
+    name: "collectInParallel"
+} external;
+
+function getRowsWithFieldValue(table<map<Type>> tbl, string fieldName, anydata value) returns Type[] = @java:Method {
+    'class: "org.ballerinalang.langlib.query.GetRowsWithFieldValue",
+    name: "getRowsWithFieldValue"
+} external;
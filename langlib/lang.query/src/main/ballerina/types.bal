@@ -98,6 +98,28 @@ class _StreamPipeline {
         var strm = internal:construct(self.resType, itrObj);
         return strm;
     }
+
+    # Splits the pipeline into pipelines over consecutive parts of the source list, which can be run in parallel.
+    # Only pipelines over a list, of from, let, where and select clauses, are split.
+    #
+    # + parallelism - maximum number of parts
+    # + minPartSize - minimum number of elements in a part
+    # + return - the pipelines over the parts in order, or `()` if the pipeline is not split
+    function partition(int parallelism, int minPartSize) returns _StreamPipeline[]? {
+        _StreamFunction[] stages = [];
+        _StreamFunction? sf = self.streamFunction;
+        while (sf is _InputFunction|_LetFunction|_FilterFunction|_SelectFunction) {
+            stages.push(sf);
+            sf = sf.prevFunc;
+        }
+        if (sf is _InitFunction) {
+            var collection = sf.collection;
+            if (collection is Type[]) {
+                return partitionList(collection, stages, parallelism, minPartSize, self.resType);
+            }
+        }
+        return ();
+    }
 }
 
 class _InitFunction {
@@ -312,8 +334,9 @@ class _InnerJoinFunction {
     *_StreamFunction;
     function (_Frame _frame) returns any lhsKeyFunction;
     function (_Frame _frame) returns any rhsKeyFunction;
-    _FrameMultiMap rhsFramesMap = new;
+    handle rhsFramesMap = createFrameMultiMap();
     _Frame[]? rhsCandidates;
+    int rhsCandidateIndex;
     _Frame|error? lhsFrame;
 
     function init(
@@ -323,11 +346,12 @@ class _InnerJoinFunction {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
         self.rhsCandidates = ();
+        self.rhsCandidateIndex = 0;
         self.prevFunc = ();
         self.lhsFrame = ();
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            putFrame(self.rhsFramesMap, rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -339,38 +363,33 @@ class _InnerJoinFunction {
     public function process() returns _Frame|error? {
         function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
-         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
         _Frame[]? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
-        string lhsKey = "";
 
-        if (lhsFrame is ()) {
+        // Skip the lhs frames without any rhs candidates.
+        while (rhsCandidates is ()) {
             lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
-        }
-
-        if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
-            if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
-                self.rhsCandidates = rhsCandidates;
-            }
-            if (rhsCandidates is _Frame[] && rhsCandidates.length() > 0) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                self.rhsCandidates = rhsCandidates;
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
+            if (lhsFrame is _Frame) {
+                rhsCandidates = getFrames(self.rhsFramesMap, lhsKF(lhsFrame));
+                self.rhsCandidateIndex = 0;
             } else {
-                // Move to next lhs frame
                 self.lhsFrame = ();
-                self.rhsCandidates = ();
-                return self.process();
+                return lhsFrame;
             }
         }
-        return lhsFrame;
+
+        _Frame[] candidates = <_Frame[]>rhsCandidates;
+        _Frame rhsFrame = candidates[self.rhsCandidateIndex];
+        self.rhsCandidateIndex += 1;
+        if (self.rhsCandidateIndex < candidates.length()) {
+            self.lhsFrame = lhsFrame;
+            self.rhsCandidates = candidates;
+        } else {
+            // Move to next lhs frame in next iteration.
+            self.lhsFrame = ();
+            self.rhsCandidates = ();
+        }
+        return mergeFrames(<_Frame>lhsFrame, rhsFrame);
     }
 
     public function reset() {
@@ -388,8 +407,9 @@ class _OuterJoinFunction {
     *_StreamFunction;
     function (_Frame _frame) returns any lhsKeyFunction;
     function (_Frame _frame) returns any rhsKeyFunction;
-    _FrameMultiMap rhsFramesMap = new;
+    handle rhsFramesMap = createFrameMultiMap();
     _Frame[]? rhsCandidates;
+    int rhsCandidateIndex;
     _Frame|error? lhsFrame;
     _Frame nilFrame;
 
@@ -400,12 +420,13 @@ class _OuterJoinFunction {
         self.lhsKeyFunction = lhsKeyFunction;
         self.rhsKeyFunction = rhsKeyFunction;
         self.rhsCandidates = ();
+        self.rhsCandidateIndex = 0;
         self.prevFunc = ();
         self.lhsFrame = ();
         self.nilFrame = nilFrame;
         _Frame|error? f = pipelineToJoin.next();
         while (f is _Frame) {
-            self.rhsFramesMap.put(rhsKeyFunction(f).toString(), f);
+            putFrame(self.rhsFramesMap, rhsKeyFunction(f), f);
             f = pipelineToJoin.next();
         }
     }
@@ -417,49 +438,36 @@ class _OuterJoinFunction {
     public function process() returns _Frame|error? {
         function (_Frame _frame) returns any lhsKF = self.lhsKeyFunction;
         _StreamFunction pf = <_StreamFunction>self.prevFunc;
-         _FrameMultiMap rhsFramesMap = self.rhsFramesMap;
         _Frame[]? rhsCandidates = self.rhsCandidates;
         _Frame|error? lhsFrame = self.lhsFrame;
-        _Frame nilFrame = self.nilFrame;
-        string lhsKey = "";
 
         if (lhsFrame is ()) {
             lhsFrame = pf.process();
-            self.lhsFrame = lhsFrame;
+            if (lhsFrame is _Frame) {
+                rhsCandidates = getFrames(self.rhsFramesMap, lhsKF(lhsFrame));
+                self.rhsCandidateIndex = 0;
+            } else {
+                return lhsFrame;
+            }
         }
 
-        if (lhsFrame is _Frame) {
-            lhsKey = lhsKF(lhsFrame).toString();
-            if (rhsCandidates is ()) {
-                rhsCandidates = rhsFramesMap.get(lhsKey);
+        _Frame joiningFrame = <_Frame>lhsFrame;
+        if (rhsCandidates is _Frame[]) {
+            _Frame rhsFrame = rhsCandidates[self.rhsCandidateIndex];
+            self.rhsCandidateIndex += 1;
+            if (self.rhsCandidateIndex < rhsCandidates.length()) {
+                self.lhsFrame = joiningFrame;
                 self.rhsCandidates = rhsCandidates;
-            }
-
-            if (rhsCandidates is _Frame[]) {
-                _Frame rhsFrame = rhsCandidates.shift();
-                if (rhsCandidates.length() > 0) {
-                    self.rhsCandidates = rhsCandidates;
-                } else {
-                    // Move to next lhs frame in next iteration.
-                    self.rhsCandidates = ();
-                    self.lhsFrame = ();
-                }
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in rhsFrame.entries() {
-                    joinedFrame[k] = val;
-                }
-                return joinedFrame;
             } else {
-                // rhsCandidates is nil, move to next lhs frame in next iteration.
-                _Frame joinedFrame = {...lhsFrame};
-                foreach var [k, val] in nilFrame.entries() {
-                    joinedFrame[k] = val;
-                }
+                // Move to next lhs frame in next iteration.
                 self.lhsFrame = ();
-                return joinedFrame;
+                self.rhsCandidates = ();
             }
+            return mergeFrames(joiningFrame, rhsFrame);
         }
-        return lhsFrame;
+        // rhsCandidates is nil, move to next lhs frame in next iteration.
+        self.lhsFrame = ();
+        return mergeFrames(joiningFrame, self.nilFrame);
     }
 
     public function reset() {
@@ -510,43 +518,42 @@ class _OrderByFunction {
     # Desugared function to do;
     # order by person.fname true, person.age false
     function(_Frame _frame) orderKeyFunc;
-    stream<_Frame>? orderedStream;
+    # Number of frames required by a following limit clause, or 0 if all the frames are required.
+    int lmt;
+    # Sorter holding the ordered frames, which are read one at a time.
+    handle? sorter;
 
-    function init(function(_Frame _frame) orderKeyFunc) {
+    function init(function(_Frame _frame) orderKeyFunc, int lmt) {
         self.orderKeyFunc = orderKeyFunc;
-        self.orderedStream = ();
+        self.lmt = lmt;
+        self.sorter = ();
         self.prevFunc = ();
     }
 
     public function process() returns _Frame|error? {
-        if (self.orderedStream is ()) {
+        handle? sorter = self.sorter;
+        if (sorter is ()) {
             _StreamFunction pf = <_StreamFunction> self.prevFunc;
             function(_Frame _frame) orderKeyFunc = self.orderKeyFunc;
+            handle frameSorter = createFrameSorter(self.lmt);
             _Frame|error? f = pf.process();
-            boolean[] directions = [];
-            _OrderTreeNode oTree = new;
             // consume all events for ordering.
             while (f is _Frame) {
                 orderKeyFunc(f);
-                oTree.add(f, <any[]>(checkpanic f["$orderDirection$"]), <any[]>(checkpanic f["$orderKey$"]));
+                addFrameToSort(frameSorter, f);
                 f = pf.process();
             }
             if (f is error) {
                 return f;
             }
-            self.orderedStream = oTree.get().toStream();
-        }
-
-        stream<_Frame> s = <stream<_Frame>>self.orderedStream;
-        record {|_Frame value;|}|error? f = s.next();
-        if (f is record {|_Frame value;|}) {
-            return f.value;
+            self.sorter = frameSorter;
+            return getNextSortedFrame(frameSorter);
         }
-        return f;
+        return getNextSortedFrame(sorter);
     }
 
     public function reset() {
-        self.orderedStream = ();
+        self.sorter = ();
         _StreamFunction? pf = self.prevFunc;
         if (pf is _StreamFunction) {
             pf.reset();
@@ -665,38 +672,6 @@ class _LimitFunction {
 
 // ---- helper types ----
 
-class _FrameMultiMap {
-    map<_Frame[]> m;
-
-    function init() {
-        self.m = {};
-    }
-
-    function put(string k, _Frame v) {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            vals.push(v);
-        } else {
-            self.m[k] = [v];
-        }
-    }
-
-    function get(string k) returns _Frame[]? {
-        _Frame[]? vals = self.m[k];
-        if (vals is _Frame[]) {
-            _Frame[] frames = [];
-            int l = vals.length();
-            int i = 0;
-            while (i < l) {
-                frames.push(vals[i]);
-                i += 1;
-            }
-            return frames;
-        }
-    }
-
-}
-
 class IterHelper {
     public _StreamPipeline pipeline;
     public typedesc<Type> outputType;
@@ -717,107 +692,3 @@ class IterHelper {
         }
     }
 }
-
-class _OrderTreeNode {
-    any? key = ();
-    _Frame[]? frames = ();
-    lang_array:SortDirection nodesDirection = lang_array:ASCENDING;
-    map<_OrderTreeNode> nodes = {};
-    any[] keys = [];
-
-    # adds a _Frame into the _OrderTreeNode tree structure.
-    function add(_Frame f, any[] directions, any[] keys) {
-        if (keys.length() == 0 && directions.length() == 0) {
-            _Frame[]? currentFrames = self.frames;
-            if (currentFrames is _Frame[]) {
-                currentFrames.push(f);
-            } else {
-                self.frames = [f];
-            }
-
-        } else {
-            if(!<boolean>directions.shift()) {
-                self.nodesDirection = lang_array:DESCENDING;
-            }
-            any key = keys.shift();
-            string keyStr = key.toString();
-            _OrderTreeNode o;
-            if (self.nodes.hasKey(keyStr)) {
-                o = self.nodes.get(keyStr);
-            } else {
-                o = new;
-                o.key = key;
-                self.nodes[keyStr] = o;
-                self.keys.push(key);
-            }
-            o.add(f, directions, keys);
-        }
-    }
-
-    # do a pre-order tree traversal and return collected leaf frames as orderedFrames.
-    # + return -  ordered frames.
-    function get() returns _Frame[] {
-        _Frame[] orderedFrames = [];
-        if (self.frames is _Frame[]) {
-            _Frame[] frames = <_Frame[]>self.frames;
-            int l = frames.length();
-            int i = 0;
-            while (i < l) {
-                orderedFrames.push(frames[i]);
-                i += 1;
-            }
-        } else {
-            any[] keys = self.getSortedArray(self.keys);
-            foreach any k in keys {
-                _OrderTreeNode o = self.nodes.get(k.toString());
-                _Frame[] frms = o.get();
-                foreach _Frame f in frms {
-                    orderedFrames.push(f);
-                }
-            }
-        }
-        return orderedFrames;
-    }
-
-    # sorting is not supported for any[], therefore have to resolve runtime type and sort it.
-    # + return -  ordered array.
-    function getSortedArray(any[] arr) returns any[] {
-        if (arr.length() > 0) {
-            int i = 0;
-            while (i < arr.length()) {
-                if (arr[i] is ()) {
-                    i += 1;
-                    continue;
-                } else if (arr[i] is boolean) {
-                    boolean?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is int) {
-                    int?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is float) {
-                    float?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is decimal) {
-                    decimal?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                } else if (arr[i] is string) {
-                    string?[] res = [];
-                    self.copyArray(arr, res);
-                    return res.sort(self.nodesDirection, (v) => v);
-                }
-            }
-        }
-        return arr;
-    }
-
-    # copy every element of source array into empty target array.
-    function copyArray(any[] 'source, any[] 'target) {
-        foreach var v in 'source {
-            'target.push(v);
-        }
-    }
-}
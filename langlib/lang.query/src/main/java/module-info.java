@@ -1,3 +1,5 @@
 module io.ballerina.lang.query {
+    requires io.ballerina.lang;
+    requires io.ballerina.runtime;
     exports org.ballerinalang.langlib.query;
 }
\ No newline at end of file
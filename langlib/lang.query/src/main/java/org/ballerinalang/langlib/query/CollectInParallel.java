@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.async.StrandMetadata;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BFunctionPointer;
+import io.ballerina.runtime.internal.scheduling.AsyncUtils;
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static io.ballerina.runtime.api.constants.RuntimeConstants.BALLERINA_BUILTIN_PKG_PREFIX;
+import static io.ballerina.runtime.api.constants.RuntimeConstants.QUERY_LANG_LIB;
+import static org.ballerinalang.util.BLangCompilerConstants.QUERY_VERSION;
+
+/**
+ * Collects the results of the pipelines over the parts of the source list of a query, running each pipeline on a
+ * strand of its own so that the parts are processed in parallel. The results are added to the result list in the
+ * order of the parts.
+ *
+ * @since 2.0.0
+ */
+public class CollectInParallel {
+
+    private static final StrandMetadata METADATA = new StrandMetadata(BALLERINA_BUILTIN_PKG_PREFIX, QUERY_LANG_LIB,
+                                                                      QUERY_VERSION, "collectInParallel");
+
+    public static Object collectInParallel(BArray pipelines, BFunctionPointer<Object, Object> collectFunc,
+                                           BArray arr) {
+        List<Object[]> argsList = new ArrayList<>(pipelines.size());
+        for (int i = 0; i < pipelines.size(); i++) {
+            argsList.add(new Object[]{null, pipelines.get(i), true});
+        }
+        AsyncUtils.invokeFunctionPointerAsyncConcurrently(collectFunc, null, METADATA, argsList, results -> {
+            for (Object result : results) {
+                if (result instanceof BError) {
+                    return result;
+                }
+            }
+            for (Object result : results) {
+                BArray part = (BArray) result;
+                for (int i = 0; i < part.size(); i++) {
+                    arr.append(part.get(i));
+                }
+            }
+            return arr;
+        }, Scheduler.getStrand().scheduler);
+        return arr;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.TypeChecker;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Frames of the right hand side of a join clause, grouped by the values of their join keys.
+ * <p>
+ * Keys are compared as by the `==` operator, which the `equals` of a join clause uses, instead of by their string
+ * representations. Numeric keys are hashed by their integral parts, so that `1`, `1.0f` and `1.0d` have the same
+ * hash.
+ *
+ * @since 2.0.0
+ */
+public class FrameMultiMap {
+
+    /**
+     * Depth up to which the members of structured keys are hashed. Deeper members, including those of cyclic values,
+     * only affect the equality check.
+     */
+    private static final int MAX_HASH_DEPTH = 4;
+
+    private final Map<JoinKey, BArray> frames = new HashMap<>();
+
+    public void put(Object key, BMap<BString, Object> frame) {
+        frames.computeIfAbsent(new JoinKey(key),
+                k -> ValueCreator.createArrayValue(TypeCreator.createArrayType(frame.getType()))).append(frame);
+    }
+
+    /**
+     * Returns the frames with a join key equal to the given key.
+     *
+     * @param key join key of the left hand side frame
+     * @return the frames in the order they were added, or null if there are none
+     */
+    public Object get(Object key) {
+        return frames.get(new JoinKey(key));
+    }
+
+    /**
+     * Merges a frame of the left hand side of a join clause with a frame of the right hand side into a new frame.
+     *
+     * @param lhsFrame left hand side frame
+     * @param rhsFrame right hand side frame, whose entries replace those of the left hand side frame
+     * @return the merged frame
+     */
+    public static BMap<BString, Object> merge(BMap<BString, Object> lhsFrame, BMap<BString, Object> rhsFrame) {
+        BMap<BString, Object> joinedFrame = ValueCreator.createMapValue(lhsFrame.getType());
+        for (Map.Entry<BString, Object> entry : lhsFrame.entrySet()) {
+            joinedFrame.put(entry.getKey(), entry.getValue());
+        }
+        for (Map.Entry<BString, Object> entry : rhsFrame.entrySet()) {
+            joinedFrame.put(entry.getKey(), entry.getValue());
+        }
+        return joinedFrame;
+    }
+
+    private static int hash(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Long || value instanceof Integer) {
+            return Long.hashCode(((Number) value).longValue());
+        }
+        if (value instanceof Double) {
+            // An int is equal to a float with the same integral part
+            return Long.hashCode(((Double) value).longValue());
+        }
+        if (value instanceof BDecimal) {
+            BigDecimal decimalValue = ((BDecimal) value).decimalValue();
+            try {
+                return Long.hashCode(decimalValue.longValueExact());
+            } catch (ArithmeticException e) {
+                return decimalValue.stripTrailingZeros().hashCode();
+            }
+        }
+        if (value instanceof BString || value instanceof Boolean) {
+            return value.hashCode();
+        }
+        if (depth == MAX_HASH_DEPTH) {
+            return TypeChecker.getType(value).getTag();
+        }
+        if (value instanceof BMap) {
+            // Mappings are equal regardless of the order of their fields
+            int hash = 0;
+            for (Object entry : ((BMap<?, ?>) value).entrySet()) {
+                Map.Entry<?, ?> field = (Map.Entry<?, ?>) entry;
+                hash += field.getKey().hashCode() ^ hash(field.getValue(), depth + 1);
+            }
+            return hash;
+        }
+        if (value instanceof BArray) {
+            BArray array = (BArray) value;
+            int hash = 1;
+            for (int i = 0; i < array.size(); i++) {
+                hash = 31 * hash + hash(array.get(i), depth + 1);
+            }
+            return hash;
+        }
+        return TypeChecker.getType(value).getTag();
+    }
+
+    /**
+     * Join key, which is equal to another join key if their values are equal as per `==`.
+     */
+    private static class JoinKey {
+
+        private final Object value;
+        private final int hash;
+
+        JoinKey(Object value) {
+            this.value = value;
+            this.hash = FrameMultiMap.hash(value, 0);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof JoinKey)) {
+                return false;
+            }
+            JoinKey other = (JoinKey) o;
+            return hash == other.hash && TypeChecker.isEqual(value, other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
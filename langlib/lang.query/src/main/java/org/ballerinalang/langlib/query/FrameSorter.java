@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Orders the frames of an order by clause by the `$orderKey$` and `$orderDirection$` entries of the frames.
+ * <p>
+ * Frames with equal keys keep the order in which they were added. As with lang.array:sort(), `()` comes last and
+ * NaN comes last but for `()`, irrespective of the direction. Keys of types which are not ordered are treated as
+ * equal.
+ * <p>
+ * The frames are sorted in runs of a bounded size. A sorted run is written to a temp file when its frames only hold
+ * immutable anydata values, and the runs are merged when the ordered frames are read. Frames holding other values
+ * keep their identity, so they stay in memory.
+ * <p>
+ * If the order by clause is followed by a limit clause, only the given number of frames are kept, in a heap which
+ * has the last of the kept frames at the top, instead of keeping all the frames.
+ *
+ * @since 2.0.0
+ */
+public class FrameSorter {
+
+    private static final BString ORDER_KEY = StringUtils.fromString("$orderKey$");
+    private static final BString ORDER_DIRECTION = StringUtils.fromString("$orderDirection$");
+    private static final int INITIAL_HEAP_CAPACITY = 16;
+    private static final int DEFAULT_RUN_SIZE = 1 << 16;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final int limit;
+    private final int runSize;
+    private final List<OrderedFrame> frames = new ArrayList<>();
+    private final Comparator<OrderedFrame> comparator = this::compare;
+    private PriorityQueue<OrderedFrame> topFrames;
+    private boolean[] ascending;
+    private long frameCount;
+    private boolean spillable = true;
+    private SortedRunFiles runFiles;
+    private Cleaner.Cleanable runFilesCleanable;
+    private PriorityQueue<Run> runs;
+
+    /**
+     * @param limit number of frames to keep, or a value less than one to keep all the frames
+     */
+    public FrameSorter(long limit) {
+        this(limit, DEFAULT_RUN_SIZE);
+    }
+
+    /**
+     * @param limit   number of frames to keep, or a value less than one to keep all the frames
+     * @param runSize number of frames sorted in memory before they are written to a temp file
+     */
+    FrameSorter(long limit, int runSize) {
+        // A heap larger than a run is not kept, as the frames can be sorted in runs then
+        this.limit = limit < 1 || limit > runSize ? 0 : (int) limit;
+        this.runSize = runSize;
+    }
+
+    public void add(BMap<BString, Object> frame) {
+        if (ascending == null) {
+            BArray directions = (BArray) frame.get(ORDER_DIRECTION);
+            ascending = new boolean[directions.size()];
+            for (int i = 0; i < ascending.length; i++) {
+                ascending[i] = (Boolean) directions.get(i);
+            }
+        }
+        BArray orderKeys = (BArray) frame.get(ORDER_KEY);
+        Object[] keys = new Object[ascending.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = orderKeys.get(i);
+        }
+        OrderedFrame orderedFrame = new OrderedFrame(frame, keys, frameCount++);
+        if (limit == 0) {
+            frames.add(orderedFrame);
+            if (spillable && frames.size() >= runSize) {
+                spillRun();
+            }
+            return;
+        }
+        if (topFrames == null) {
+            // The heap grows with the frames, as the limit can be much larger than the number of frames
+            topFrames = new PriorityQueue<>(Math.min(limit, INITIAL_HEAP_CAPACITY), comparator.reversed());
+        }
+        if (topFrames.size() < limit) {
+            topFrames.add(orderedFrame);
+        } else if (compare(orderedFrame, topFrames.peek()) < 0) {
+            topFrames.poll();
+            topFrames.add(orderedFrame);
+        }
+    }
+
+    /**
+     * Returns the next frame in order. No frames can be added once the frames are read.
+     *
+     * @return the next frame, an error if the frames written to a temp file cannot be read, or null if all the
+     * frames are read
+     */
+    public Object next() {
+        try {
+            if (runs == null) {
+                startMerge();
+            }
+            Run run = runs.poll();
+            if (run == null) {
+                if (runFilesCleanable != null) {
+                    runFilesCleanable.clean();
+                }
+                return null;
+            }
+            OrderedFrame frame = run.head;
+            if (run.advance()) {
+                runs.add(run);
+            }
+            return frame.frame;
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    private void spillRun() {
+        if (runFiles == null) {
+            runFiles = new SortedRunFiles(ORDER_KEY, ORDER_DIRECTION);
+            // The files are deleted once the frames are read, or once the sorter is no longer used
+            runFilesCleanable = CLEANER.register(this, runFiles);
+        }
+        for (OrderedFrame frame : frames) {
+            if (!runFiles.canWrite(frame)) {
+                spillable = false;
+                return;
+            }
+        }
+        frames.sort(comparator);
+        try {
+            runFiles.write(frames);
+        } catch (IOException e) {
+            // Continue with the frames in memory
+            spillable = false;
+            return;
+        }
+        frames.clear();
+    }
+
+    private void startMerge() {
+        if (topFrames != null) {
+            frames.addAll(topFrames);
+            topFrames = null;
+        }
+        frames.sort(comparator);
+        runs = new PriorityQueue<>((r1, r2) -> compare(r1.head, r2.head));
+        Run memoryRun = new MemoryRun();
+        if (memoryRun.advance()) {
+            runs.add(memoryRun);
+        }
+        for (int i = 0; runFiles != null && i < runFiles.size(); i++) {
+            Run fileRun;
+            try {
+                fileRun = new FileRun(runFiles.open(i));
+            } catch (IOException e) {
+                throw createSortError(e);
+            }
+            if (fileRun.advance()) {
+                runs.add(fileRun);
+            }
+        }
+    }
+
+    private static BError createSortError(IOException e) {
+        return ErrorCreator.createError(StringUtils.fromString("failed to read the sorted frames of an order by " +
+                                                                       "clause: " + e.getMessage()));
+    }
+
+    private int compare(OrderedFrame f1, OrderedFrame f2) {
+        for (int i = 0; i < ascending.length; i++) {
+            int c = compareKeys(f1.keys[i], f2.keys[i], ascending[i]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Long.compare(f1.index, f2.index);
+    }
+
+    private static int compareKeys(Object k1, Object k2, boolean ascending) {
+        int last = ascending ? 1 : -1;
+        if (k1 == null || k2 == null) {
+            return k1 == k2 ? 0 : k1 == null ? last : -last;
+        }
+        if (k1 instanceof Double && k2 instanceof Double) {
+            double d1 = (Double) k1;
+            double d2 = (Double) k2;
+            if (Double.isNaN(d1) || Double.isNaN(d2)) {
+                return Double.isNaN(d1) == Double.isNaN(d2) ? 0 : Double.isNaN(d1) ? last : -last;
+            }
+        }
+        int c = compareValues(k1, k2);
+        return ascending ? c : -c;
+    }
+
+    private static int compareValues(Object v1, Object v2) {
+        if (v1 == null || v2 == null) {
+            return v1 == v2 ? 0 : v1 == null ? 1 : -1;
+        }
+        if (v1 instanceof Long && v2 instanceof Long) {
+            return Long.compare((Long) v1, (Long) v2);
+        }
+        if (v1 instanceof Double && v2 instanceof Double) {
+            // -0.0 is equal to +0.0, and NaN comes last
+            double d1 = (Double) v1;
+            double d2 = (Double) v2;
+            return d1 == d2 ? 0 : Double.compare(d1, d2);
+        }
+        if (v1 instanceof BDecimal && v2 instanceof BDecimal) {
+            return ((BDecimal) v1).decimalValue().compareTo(((BDecimal) v2).decimalValue());
+        }
+        if (v1 instanceof BString && v2 instanceof BString) {
+            return codePointCompare(((BString) v1).getValue(), ((BString) v2).getValue());
+        }
+        if (v1 instanceof Boolean && v2 instanceof Boolean) {
+            return Boolean.compare((Boolean) v1, (Boolean) v2);
+        }
+        if (v1 instanceof Integer && v2 instanceof Integer) {
+            return Integer.compare((Integer) v1, (Integer) v2);
+        }
+        if (v1 instanceof BArray && v2 instanceof BArray) {
+            BArray a1 = (BArray) v1;
+            BArray a2 = (BArray) v2;
+            int length = Math.min(a1.size(), a2.size());
+            for (int i = 0; i < length; i++) {
+                int c = compareValues(a1.get(i), a2.get(i));
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(a1.size(), a2.size());
+        }
+        return 0;
+    }
+
+    private static int codePointCompare(String s1, String s2) {
+        int length = Math.min(s1.length(), s2.length());
+        for (int i = 0; i < length; i++) {
+            char c1 = s1.charAt(i);
+            char c2 = s2.charAt(i);
+            if (c1 != c2) {
+                // Surrogates encode the code points above all the other chars
+                boolean surrogate1 = Character.isSurrogate(c1);
+                if (surrogate1 != Character.isSurrogate(c2)) {
+                    return surrogate1 ? 1 : -1;
+                }
+                return Character.compare(c1, c2);
+            }
+        }
+        return Integer.compare(s1.length(), s2.length());
+    }
+
+    /**
+     * Frame with its order keys and the index at which it was added.
+     */
+    static class OrderedFrame {
+
+        final BMap<BString, Object> frame;
+        final Object[] keys;
+        final long index;
+
+        OrderedFrame(BMap<BString, Object> frame, Object[] keys, long index) {
+            this.frame = frame;
+            this.keys = keys;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Sorted frames to merge, with the next of the frames at the head.
+     */
+    private abstract static class Run {
+
+        OrderedFrame head;
+
+        /**
+         * Moves the next frame to the head.
+         *
+         * @return false if there are no more frames
+         */
+        abstract boolean advance();
+    }
+
+    /**
+     * Run of the frames kept in memory.
+     */
+    private class MemoryRun extends Run {
+
+        private int index;
+
+        @Override
+        boolean advance() {
+            if (index == frames.size()) {
+                frames.clear();
+                return false;
+            }
+            head = frames.set(index++, null);
+            return true;
+        }
+    }
+
+    /**
+     * Run of the frames written to a temp file.
+     */
+    private class FileRun extends Run {
+
+        private final DataInputStream in;
+        private int remaining;
+
+        FileRun(DataInputStream in) throws IOException {
+            this.in = in;
+            this.remaining = in.readInt();
+        }
+
+        @Override
+        boolean advance() {
+            if (remaining == 0) {
+                return false;
+            }
+            try {
+                head = runFiles.readFrame(in, ascending.length);
+            } catch (IOException e) {
+                throw createSortError(e);
+            }
+            remaining--;
+            return true;
+        }
+    }
+}
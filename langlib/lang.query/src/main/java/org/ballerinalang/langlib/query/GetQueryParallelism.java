@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.constants.RuntimeConstants;
+
+import static java.lang.System.err;
+
+/**
+ * Returns how isolated queries are run in parallel. Queries are run sequentially, unless the BALLERINA_QUERY_PARALLEL
+ * system variable is set to true. The source list of a query is then split into as many parts as the available
+ * processors, unless set by the BALLERINA_QUERY_PARALLELISM system variable, provided that each part has at least
+ * {@value #DEFAULT_MIN_PART_SIZE} elements, unless set by the BALLERINA_QUERY_MIN_PART_SIZE system variable. Smaller
+ * lists are not worth the cost of scheduling the parts.
+ *
+ * @since 2.0.0
+ */
+public class GetQueryParallelism {
+
+    private static final int DEFAULT_MIN_PART_SIZE = 100;
+    private static final int PARALLELISM = readParallelism();
+    private static final int MIN_PART_SIZE = readPositiveInt(RuntimeConstants.BALLERINA_QUERY_MIN_PART_SIZE_ENV_VAR,
+                                                             DEFAULT_MIN_PART_SIZE);
+
+    public static long getQueryParallelism() {
+        return PARALLELISM;
+    }
+
+    public static long getMinQueryPartSize() {
+        return MIN_PART_SIZE;
+    }
+
+    private static int readParallelism() {
+        if (!Boolean.parseBoolean(System.getenv(RuntimeConstants.BALLERINA_QUERY_PARALLEL_ENV_VAR))) {
+            return 1;
+        }
+        return readPositiveInt(RuntimeConstants.BALLERINA_QUERY_PARALLELISM_ENV_VAR,
+                               Runtime.getRuntime().availableProcessors());
+    }
+
+    private static int readPositiveInt(String envVar, int defaultValue) {
+        String conf = System.getenv(envVar);
+        if (conf == null) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(Integer.parseInt(conf.trim()), 1);
+        } catch (NumberFormatException e) {
+            // Log and continue with the default value
+            err.println("ballerina: error occurred while reading system variable:" + envVar + ", " + e.getMessage());
+            return defaultValue;
+        }
+    }
+}
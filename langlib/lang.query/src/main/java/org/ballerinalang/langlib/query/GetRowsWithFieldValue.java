@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.TableType;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTable;
+import io.ballerina.runtime.internal.values.TableValueImpl;
+
+/**
+ * Returns the rows of a table with a given value of a field, for a query over the table whose where clause compares
+ * the field with a value which does not change while the query runs. The field is indexed on the first lookup, and
+ * the index is kept up to date for the later queries over the table. Fields which can change after a row is added
+ * cannot be indexed, so the table is scanned for those.
+ *
+ * @since 2.0.0
+ */
+public class GetRowsWithFieldValue {
+
+    public static BArray getRowsWithFieldValue(BTable tbl, BString fieldName, Object value) {
+        TableValueImpl<?, ?> table = (TableValueImpl<?, ?>) tbl;
+        String field = fieldName.getValue();
+        table.createSecondaryIndex(field);
+        Object[] rows = table.getRowsWithFieldValue(field, value).toArray();
+        return ValueCreator.createArrayValue(rows, TypeCreator.createArrayType(
+                ((TableType) table.getType()).getConstrainedType()));
+    }
+}
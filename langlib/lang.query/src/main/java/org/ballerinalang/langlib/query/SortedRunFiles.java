@@ -0,0 +1,360 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.langlib.query;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.TupleType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BMapInitialValueEntry;
+import io.ballerina.runtime.api.values.BRefValue;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.internal.values.ArrayValueImpl;
+import io.ballerina.runtime.internal.values.ListInitialValueEntry;
+import io.ballerina.runtime.internal.values.TupleValueImpl;
+import org.ballerinalang.langlib.query.FrameSorter.OrderedFrame;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Temp files holding sorted runs of the frames of an order by clause.
+ * <p>
+ * The values of a frame are written in a compact binary form, in which a list or a mapping refers to its type by
+ * an index into a table kept in memory, as the files are only read by the sorter which wrote them. Only anydata
+ * values can be written. The values of the entries of a frame should also be immutable, as the frames read back
+ * hold copies of the values, while the order keys are only compared. Closing the files deletes them.
+ *
+ * @since 2.0.0
+ */
+class SortedRunFiles implements Runnable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private static final byte NIL = 0;
+    private static final byte FALSE = 1;
+    private static final byte TRUE = 2;
+    private static final byte INT = 3;
+    private static final byte BYTE = 4;
+    private static final byte FLOAT = 5;
+    private static final byte DECIMAL = 6;
+    private static final byte STRING = 7;
+    private static final byte LIST = 8;
+    private static final byte MAPPING = 9;
+
+    private final BString[] excludedKeys;
+    private final List<Type> types = new ArrayList<>();
+    private final Map<Type, Integer> typeIndexes = new IdentityHashMap<>();
+    private final List<Path> files = new ArrayList<>();
+    private final List<DataInputStream> inputs = new ArrayList<>();
+
+    /**
+     * @param excludedKeys keys of the entries of the frames which are not needed after the frames are sorted
+     */
+    SortedRunFiles(BString... excludedKeys) {
+        this.excludedKeys = excludedKeys;
+    }
+
+    int size() {
+        return files.size();
+    }
+
+    /**
+     * Checks whether the given frame can be written to a file.
+     *
+     * @param frame frame to check
+     * @return true if the order keys of the frame are anydata, and the values of the frame are immutable anydata
+     */
+    boolean canWrite(OrderedFrame frame) {
+        for (Object key : frame.keys) {
+            if (!canWrite(key, false)) {
+                return false;
+            }
+        }
+        for (Map.Entry<BString, Object> entry : frame.frame.entrySet()) {
+            if (!isExcluded(entry.getKey()) && !canWrite(entry.getValue(), true)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the given frames to a new file, as a sorted run.
+     *
+     * @param run sorted frames
+     * @throws IOException if the frames cannot be written
+     */
+    void write(List<OrderedFrame> run) throws IOException {
+        Path file = Files.createTempFile("ballerina-order-by-", ".run");
+        files.add(file);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file),
+                                                                                  BUFFER_SIZE))) {
+            out.writeInt(run.size());
+            for (OrderedFrame frame : run) {
+                writeFrame(out, frame);
+            }
+        } catch (IOException e) {
+            files.remove(files.size() - 1);
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens the run written to the file at the given index.
+     *
+     * @param index index of the file
+     * @return the input stream to read the frames of the run from, starting with the number of frames
+     * @throws IOException if the file cannot be opened
+     */
+    DataInputStream open(int index) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(files.get(index)),
+                                                                         BUFFER_SIZE));
+        inputs.add(in);
+        return in;
+    }
+
+    OrderedFrame readFrame(DataInputStream in, int keyCount) throws IOException {
+        long index = in.readLong();
+        Object[] keys = new Object[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = readValue(in);
+        }
+        BMap<BString, Object> frame = ValueCreator.createMapValue(types.get(in.readInt()));
+        int entryCount = in.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            frame.populateInitialValue(readString(in), readValue(in));
+        }
+        return new OrderedFrame(frame, keys, index);
+    }
+
+    /**
+     * Closes and deletes the files.
+     */
+    @Override
+    public void run() {
+        for (DataInputStream in : inputs) {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // The file is deleted anyway
+            }
+        }
+        inputs.clear();
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // Temp files are left to the system
+            }
+        }
+        files.clear();
+    }
+
+    private void writeFrame(DataOutputStream out, OrderedFrame frame) throws IOException {
+        out.writeLong(frame.index);
+        for (Object key : frame.keys) {
+            writeValue(out, key);
+        }
+        out.writeInt(getTypeIndex(frame.frame.getType()));
+        int entryCount = 0;
+        for (BString key : frame.frame.getKeys()) {
+            if (!isExcluded(key)) {
+                entryCount++;
+            }
+        }
+        out.writeInt(entryCount);
+        for (Map.Entry<BString, Object> entry : frame.frame.entrySet()) {
+            if (!isExcluded(entry.getKey())) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        }
+    }
+
+    private boolean isExcluded(BString key) {
+        for (BString excludedKey : excludedKeys) {
+            if (excludedKey.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean canWrite(Object value, boolean immutable) {
+        if (value == null || value instanceof Boolean || value instanceof Long || value instanceof Integer
+                || value instanceof Double || value instanceof BDecimal || value instanceof BString) {
+            return true;
+        }
+        if (immutable && !(value instanceof BRefValue && ((BRefValue) value).isFrozen())) {
+            return false;
+        }
+        if (value instanceof BArray) {
+            BArray list = (BArray) value;
+            int tag = list.getType().getTag();
+            if (tag != TypeTags.ARRAY_TAG && tag != TypeTags.TUPLE_TAG) {
+                return false;
+            }
+            for (int i = 0; i < list.size(); i++) {
+                if (!canWrite(list.get(i), immutable)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (value instanceof BMap) {
+            BMap<?, ?> mapping = (BMap<?, ?>) value;
+            int tag = mapping.getType().getTag();
+            if (tag != TypeTags.MAP_TAG && tag != TypeTags.RECORD_TYPE_TAG) {
+                return false;
+            }
+            for (Object member : mapping.values()) {
+                if (!canWrite(member, immutable)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NIL);
+        } else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Long) {
+            out.writeByte(INT);
+            out.writeLong((Long) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(BYTE);
+            out.writeByte((Integer) value);
+        } else if (value instanceof Double) {
+            out.writeByte(FLOAT);
+            out.writeDouble((Double) value);
+        } else if (value instanceof BDecimal) {
+            out.writeByte(DECIMAL);
+            writeString(out, ((BDecimal) value).decimalValue().toString());
+        } else if (value instanceof BString) {
+            out.writeByte(STRING);
+            writeString(out, ((BString) value).getValue());
+        } else if (value instanceof BArray) {
+            BArray list = (BArray) value;
+            out.writeByte(LIST);
+            out.writeInt(getTypeIndex(list.getType()));
+            out.writeInt(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                writeValue(out, list.get(i));
+            }
+        } else {
+            BMap<?, ?> mapping = (BMap<?, ?>) value;
+            out.writeByte(MAPPING);
+            out.writeInt(getTypeIndex(mapping.getType()));
+            out.writeInt(mapping.size());
+            for (Map.Entry<?, ?> entry : mapping.entrySet()) {
+                writeString(out, (BString) entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        }
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NIL:
+                return null;
+            case FALSE:
+                return false;
+            case TRUE:
+                return true;
+            case INT:
+                return in.readLong();
+            case BYTE:
+                return in.readUnsignedByte();
+            case FLOAT:
+                return in.readDouble();
+            case DECIMAL:
+                return ValueCreator.createDecimalValue(new BigDecimal(readString(in).getValue()));
+            case STRING:
+                return readString(in);
+            case LIST:
+                // The members are added as by a list constructor, since the type of an immutable list is readonly
+                Type listType = types.get(in.readInt());
+                ListInitialValueEntry[] members = new ListInitialValueEntry[in.readInt()];
+                for (int i = 0; i < members.length; i++) {
+                    members[i] = new ListInitialValueEntry.ExpressionEntry(readValue(in));
+                }
+                if (listType.getTag() == TypeTags.TUPLE_TAG) {
+                    return new TupleValueImpl((TupleType) listType, members.length, members);
+                }
+                return new ArrayValueImpl((ArrayType) listType, members.length, members);
+            case MAPPING:
+                Type mappingType = types.get(in.readInt());
+                BMapInitialValueEntry[] entries = new BMapInitialValueEntry[in.readInt()];
+                for (int i = 0; i < entries.length; i++) {
+                    entries[i] = ValueCreator.createKeyFieldEntry(readString(in), readValue(in));
+                }
+                return ValueCreator.createMapValue(mappingType, entries);
+            default:
+                throw new IOException("invalid value tag: " + tag);
+        }
+    }
+
+    private int getTypeIndex(Type type) {
+        Integer index = typeIndexes.get(type);
+        if (index == null) {
+            index = types.size();
+            types.add(type);
+            typeIndexes.put(type, index);
+        }
+        return index;
+    }
+
+    private static void writeString(DataOutputStream out, BString value) throws IOException {
+        writeString(out, value.getValue());
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static BString readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return StringUtils.fromString(new String(bytes, StandardCharsets.UTF_8));
+    }
+}
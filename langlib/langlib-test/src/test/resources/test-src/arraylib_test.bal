@@ -1106,6 +1106,40 @@ function testSort10() {
     assertValueEquality(sortedArr6, arr3);
 }
 
+function testSort11() {
+    int[] arr = [10, -1, 3, 2, 0, 6, 3];
+    assertValueEquality(arr.sort(), [-1, 0, 2, 3, 3, 6, 10]);
+    assertValueEquality(arr.sort(array:DESCENDING), [10, 6, 3, 3, 2, 0, -1]);
+
+    ints:Signed8[] arr2 = [10, -1, 3, -128];
+    assertValueEquality(arr2.sort(), [-128, -1, 3, 10]);
+
+    float[] arr3 = [1.5, 0.0 / 0.0, 0.0, 2.0, -0.0, -3.0];
+    float[] sortedArr3 = arr3.sort();
+    assertValueEquality(sortedArr3.slice(0, 5), [-3.0, 0.0, -0.0, 1.5, 2.0]);
+    assertTrue(sortedArr3[5].isNaN());
+    // -0.0 = +0.0, so the zeros keep their order
+    assertTrue(1.0 / sortedArr3[1] > 0.0);
+    assertTrue(1.0 / sortedArr3[2] < 0.0);
+
+    float[] sortedArr4 = arr3.sort(array:DESCENDING);
+    assertValueEquality(sortedArr4.slice(0, 5), [2.0, 1.5, 0.0, -0.0, -3.0]);
+    assertTrue(sortedArr4[5].isNaN());
+    assertTrue(1.0 / sortedArr4[2] > 0.0);
+    assertTrue(1.0 / sortedArr4[3] < 0.0);
+
+    string[] arr5 = ["b", "\u{1F600}", "\u{FFFD}", "a", "ab", ""];
+    assertValueEquality(arr5.sort(), ["", "a", "ab", "b", "\u{FFFD}", "\u{1F600}"]);
+    assertValueEquality(arr5.sort(array:DESCENDING), ["\u{1F600}", "\u{FFFD}", "b", "ab", "a", ""]);
+
+    decimal[] arr6 = [2.5, 1.0, -3, 1.00];
+    assertValueEquality(arr6.sort(array:DESCENDING), [2.5, 1.0, 1.00, -3]);
+
+    int[][] arr7 = [[1, 2], [1], [], [0, 5]];
+    assertValueEquality(arr7.sort(), [[], [0, 5], [1], [1, 2]]);
+    assertValueEquality(arr7.sort(array:DESCENDING), [[1, 2], [1], [0, 5], []]);
+}
+
 const ASSERTION_ERROR_REASON = "AssertionError";
 
 function assertTrue(any|error actual) {
@@ -23,11 +23,19 @@ import io.ballerina.runtime.observability.metrics.MetricId;
 import io.ballerina.runtime.observability.metrics.Snapshot;
 import io.ballerina.runtime.observability.metrics.StatisticConfig;
 
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.DoubleAdder;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
- * An implementation of {@link Gauge}.
+ * An implementation of {@link Gauge}. The value is updated without locking, and each update records the value it
+ * results in.
+ * <p>
+ * Increments and decrements are added to one of several cells picked by the updating thread, as the values of a
+ * {@link RollingHistogram} are recorded, so that threads updating at the same time do not contend on the same value.
+ * The value of the gauge is the value last set plus the amounts in the cells. Setting the value clears the cells, so
+ * an increment done at the same time may be applied either before or after it.
  *
  * @since 0.980.0
  */
@@ -35,10 +43,16 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
 
     private static final RollingHistogram[] EMPTY_ROLLING_HISTOGRAMS = new RollingHistogram[0];
     private static final Snapshot[] EMPTY_SNAPSHOTS = new Snapshot[0];
+    private static final long ZERO_BITS = Double.doubleToRawLongBits(0D);
+    // Number of longs taken by a cell, so that each cell is on a cache line of its own
+    private static final int CELL_PADDING = 8;
 
     private final LongAdder count = new LongAdder();
     private final DoubleAdder sum = new DoubleAdder();
-    private final DoubleAdder value = new DoubleAdder();
+    // Bits of double values, as returned by Double.doubleToRawLongBits
+    private volatile long baseValue = ZERO_BITS;
+    // Created when the value is first incremented or decremented
+    private final AtomicReference<AtomicLongArray> cells = new AtomicReference<>();
     private final RollingHistogram[] rollingHistograms;
 
     private DefaultGauge(MetricId id, Clock clock, StatisticConfig... statisticConfigs) {
@@ -66,36 +80,55 @@ public class DefaultGauge extends AbstractMetric implements Gauge {
         }
     }
 
+    private double addToValue(double amount) {
+        AtomicLongArray cells = this.cells.get();
+        if (cells == null) {
+            this.cells.compareAndSet(null, new AtomicLongArray(RollingHistogram.STRIPES * CELL_PADDING));
+            cells = this.cells.get();
+        }
+        int cell = RollingHistogram.currentStripe() * CELL_PADDING;
+        long current;
+        do {
+            current = cells.get(cell);
+        } while (!cells.compareAndSet(cell, current,
+                                      Double.doubleToRawLongBits(Double.longBitsToDouble(current) + amount)));
+        return getValue();
+    }
+
     @Override
     public void increment(double amount) {
-        synchronized (this) {
-            value.add(amount);
-            updateHistogram(value.sum());
-        }
+        updateHistogram(addToValue(amount));
     }
 
     @Override
     public void decrement(double amount) {
-        synchronized (this) {
-            value.add(-amount);
-            updateHistogram(value.sum());
-        }
+        updateHistogram(addToValue(-amount));
     }
 
     @Override
     public void setValue(double value) {
-        synchronized (this) {
-            this.value.reset();
-            this.value.add(value);
-            updateHistogram(value);
+        AtomicLongArray cells = this.cells.get();
+        if (cells != null) {
+            for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+                if (cells.get(i) != ZERO_BITS) {
+                    cells.set(i, ZERO_BITS);
+                }
+            }
         }
+        this.baseValue = Double.doubleToRawLongBits(value);
+        updateHistogram(value);
     }
 
     @Override
     public double getValue() {
-        synchronized (this) {
-            return value.sum();
+        double value = Double.longBitsToDouble(baseValue);
+        AtomicLongArray cells = this.cells.get();
+        if (cells != null) {
+            for (int i = 0; i < cells.length(); i += CELL_PADDING) {
+                value += Double.longBitsToDouble(cells.get(i));
+            }
         }
+        return value;
     }
 
     @Override
@@ -24,13 +24,23 @@ import org.HdrHistogram.DoubleHistogram;
 import org.HdrHistogram.DoubleRecorder;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Using {@link DoubleHistogram} to maintain samples in a ring buffer to decay older samples and give greater weight
  * to recent samples. This implementation allows to get summary statistics for a rolling window over the last X minutes.
+ * <p>
+ * Each bucket records values in one of several recorders picked by the recording thread, so that threads recording
+ * at the same time do not contend on the same histogram counts. The recorders of a bucket are merged when a snapshot
+ * is taken.
  */
 public class RollingHistogram {
 
+    /**
+     * Number of recorders in a bucket, which is the number of available processors rounded up to a power of two.
+     */
+    static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
     /**
      * Clock for measuring time.
      */
@@ -44,7 +54,7 @@ public class RollingHistogram {
     /**
      * Recorder in a ring buffer.
      */
-    private final DoubleRecorder[] ringBuffer;
+    private final StripedRecorder[] ringBuffer;
 
     /**
      * Current bucket index.
@@ -91,9 +101,9 @@ public class RollingHistogram {
         this.clock = clock;
         this.statisticConfig = statisticConfig;
         int ageBuckets = (int) statisticConfig.getBuckets();
-        ringBuffer = new DoubleRecorder[ageBuckets];
+        ringBuffer = new StripedRecorder[ageBuckets];
         for (int i = 0; i < ageBuckets; i++) {
-            ringBuffer[i] = new DoubleRecorder(statisticConfig.getPercentilePrecision());
+            ringBuffer[i] = new StripedRecorder(statisticConfig.getPercentilePrecision());
         }
         this.currentBucket = 0;
         this.lastRotateTimestampMillis = clock.getCurrentTime();
@@ -105,8 +115,9 @@ public class RollingHistogram {
     public void record(double value) {
         rotate();
         try {
-            for (DoubleRecorder recorder : ringBuffer) {
-                recorder.recordValue(value);
+            int stripe = currentStripe();
+            for (StripedRecorder recorder : ringBuffer) {
+                recorder.recordValue(stripe, value);
             }
         } finally {
             accumulatedHistogramStale = true;
@@ -153,6 +164,15 @@ public class RollingHistogram {
         }
     }
 
+    /**
+     * Returns the stripe of the current thread, which is picked by the id of the thread.
+     *
+     * @return stripe index less than {@link #STRIPES}
+     */
+    static int currentStripe() {
+        return (int) Thread.currentThread().getId() & (STRIPES - 1);
+    }
+
     public StatisticConfig getStatisticConfig() {
         return statisticConfig;
     }
@@ -187,11 +207,58 @@ public class RollingHistogram {
     }
 
     private void accumulate() {
-        currentHistogram().getIntervalHistogramInto(intervalHistogram);
-        accumulatedHistogram.add(intervalHistogram);
+        currentHistogram().addIntervalHistogramsTo(accumulatedHistogram, intervalHistogram);
     }
 
-    private DoubleRecorder currentHistogram() {
+    private StripedRecorder currentHistogram() {
         return ringBuffer[currentBucket];
     }
+
+    /**
+     * The recorders of a bucket. A recorder is created when a thread mapped to it first records a value, so that a
+     * histogram recorded by a few threads only keeps a few recorders.
+     */
+    private static class StripedRecorder {
+
+        private final int numberOfSignificantValueDigits;
+        private final AtomicReferenceArray<DoubleRecorder> recorders = new AtomicReferenceArray<>(STRIPES);
+
+        StripedRecorder(int numberOfSignificantValueDigits) {
+            this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+        }
+
+        void recordValue(int stripe, double value) {
+            DoubleRecorder recorder = recorders.get(stripe);
+            if (recorder == null) {
+                recorders.compareAndSet(stripe, null, new DoubleRecorder(numberOfSignificantValueDigits));
+                recorder = recorders.get(stripe);
+            }
+            recorder.recordValue(value);
+        }
+
+        void reset() {
+            for (int i = 0; i < STRIPES; i++) {
+                DoubleRecorder recorder = recorders.get(i);
+                if (recorder != null) {
+                    recorder.reset();
+                }
+            }
+        }
+
+        /**
+         * Adds the values recorded since the last call to the target histogram.
+         *
+         * @param target            histogram to add the values to
+         * @param intervalHistogram histogram to reuse for reading the values of a recorder
+         */
+        void addIntervalHistogramsTo(DoubleHistogram target, DoubleHistogram intervalHistogram) {
+            for (int i = 0; i < STRIPES; i++) {
+                DoubleRecorder recorder = recorders.get(i);
+                if (recorder != null) {
+                    recorder.getIntervalHistogramInto(intervalHistogram);
+                    target.add(intervalHistogram);
+                }
+            }
+        }
+    }
 }
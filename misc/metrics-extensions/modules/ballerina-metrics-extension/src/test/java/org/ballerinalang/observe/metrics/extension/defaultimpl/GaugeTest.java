@@ -20,12 +20,17 @@ package org.ballerinalang.observe.metrics.extension.defaultimpl;
 import io.ballerina.runtime.observability.metrics.Gauge;
 import io.ballerina.runtime.observability.metrics.MetricRegistry;
 import io.ballerina.runtime.observability.metrics.PolledGauge;
+import io.ballerina.runtime.observability.metrics.Snapshot;
+import io.ballerina.runtime.observability.metrics.StatisticConfig;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 /**
@@ -72,4 +77,48 @@ public class GaugeTest {
         Assert.assertEquals(4.0, gauge.getSum());
     }
 
+    @Test
+    public void testConcurrentUpdates() throws InterruptedException {
+        Gauge gauge = Gauge.builder("test_gauge_concurrent").description("Test Gauge")
+                .summarize(StatisticConfig.DEFAULT).register(metricRegistry);
+        int threads = 8;
+        int updates = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < updates; j++) {
+                    gauge.increment();
+                    gauge.decrement();
+                    gauge.increment();
+                }
+            });
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        Assert.assertEquals(gauge.getValue(), (double) threads * updates);
+        Assert.assertEquals(gauge.getCount(), 3L * threads * updates);
+        Snapshot snapshot = gauge.getSnapshots()[0];
+        Assert.assertEquals(snapshot.getMax(), threads * updates, threads * updates / 100D);
+    }
+
+    @Test
+    public void testSetValueAfterConcurrentIncrements() throws InterruptedException {
+        Gauge gauge = Gauge.builder("test_gauge_set_after_increments").description("Test Gauge")
+                .register(metricRegistry);
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.execute(() -> gauge.increment(0.1D));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+
+        // The amounts added by each thread are replaced by the value set
+        gauge.setValue(2.5D);
+        Assert.assertEquals(gauge.getValue(), 2.5D);
+        gauge.decrement();
+        Assert.assertEquals(gauge.getValue(), 1.5D);
+        Assert.assertEquals(gauge.getCount(), threads + 2L);
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.observe.metrics.extension.defaultimpl;
+
+import io.ballerina.runtime.observability.ObserverContext;
+import io.ballerina.runtime.observability.metrics.BallerinaMetricsObserver;
+import io.ballerina.runtime.observability.metrics.Counter;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.Gauge;
+import io.ballerina.runtime.observability.metrics.MetricId;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static io.ballerina.runtime.observability.ObservabilityConstants.PROPERTY_KEY_HTTP_STATUS_CODE;
+import static io.ballerina.runtime.observability.ObservabilityConstants.TAG_KEY_HTTP_STATUS_CODE_GROUP;
+
+/**
+ * Tests for the metrics recorded by {@link BallerinaMetricsObserver}, which caches the metrics of each tag set.
+ */
+public class MetricsObserverTest {
+
+    private MetricRegistry metricRegistry;
+    private BallerinaMetricsObserver observer;
+    private Method setStarted;
+
+    @BeforeClass
+    public void init() throws NoSuchMethodException {
+        // The observer uses the default registry which is set when it is first loaded.
+        if (DefaultMetricRegistry.getInstance() == null) {
+            DefaultMetricRegistry.setInstance(new MetricRegistry(new DefaultMetricProvider()));
+        }
+        metricRegistry = DefaultMetricRegistry.getInstance();
+        observer = new BallerinaMetricsObserver();
+        setStarted = ObserverContext.class.getDeclaredMethod("setStarted");
+        setStarted.setAccessible(true);
+    }
+
+    @Test
+    public void testRepeatedObservations() throws Exception {
+        Tag testTag = Tag.of("test", "repeated");
+        for (int i = 0; i < 3; i++) {
+            observe(createContext(testTag), null);
+        }
+        Assert.assertEquals(getRequestCount(testTag), 3L);
+        Assert.assertEquals(getInProgressGauge(testTag).getValue(), 0D);
+    }
+
+    @Test
+    public void testCustomTagWithKeyOfContextTag() throws Exception {
+        Tag testTag = Tag.of("test", "custom");
+        Tag contextTag = Tag.of("service", "context");
+        Tag customTag = Tag.of("service", "custom");
+
+        // A custom tag does not replace a context tag with the same key, both are in the tag set.
+        observe(createContext(testTag, contextTag), customTag);
+        // The same tag as a custom tag and a context tag is counted once.
+        observe(createContext(testTag, customTag), customTag);
+        observe(createContext(testTag, contextTag), null);
+        observe(createContext(testTag, contextTag), customTag);
+
+        Assert.assertEquals(getRequestCount(testTag, contextTag, customTag), 2L);
+        Assert.assertEquals(getRequestCount(testTag, customTag), 1L);
+        Assert.assertEquals(getRequestCount(testTag, contextTag), 1L);
+    }
+
+    @Test
+    public void testStatusCodeGroupTag() throws Exception {
+        Tag testTag = Tag.of("test", "status");
+        Tag okGroupTag = Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, "2xx");
+        Tag notFoundGroupTag = Tag.of(TAG_KEY_HTTP_STATUS_CODE_GROUP, "4xx");
+
+        observeWithStatusCode(createContext(testTag), null, 200);
+        observeWithStatusCode(createContext(testTag), null, 404);
+        observeWithStatusCode(createContext(testTag), null, 201);
+        observe(createContext(testTag), null);
+        // The status code group tag is counted once when it is also a context tag or a custom tag.
+        observeWithStatusCode(createContext(testTag, okGroupTag), null, 204);
+        observeWithStatusCode(createContext(testTag), okGroupTag, 202);
+
+        Assert.assertEquals(getRequestCount(testTag, okGroupTag), 4L);
+        Assert.assertEquals(getRequestCount(testTag, notFoundGroupTag), 1L);
+        Assert.assertEquals(getRequestCount(testTag), 1L);
+    }
+
+    @Test
+    public void testMetricRemoval() throws Exception {
+        Tag testTag = Tag.of("test", "removal");
+        observe(createContext(testTag), null);
+        Assert.assertEquals(getRequestCount(testTag), 1L);
+
+        // The cached counter is no longer registered, so it must not be updated.
+        metricRegistry.remove("requests_total");
+        Assert.assertNull(metricRegistry.lookup(getRequestCountId(testTag)));
+        observe(createContext(testTag), null);
+        Assert.assertEquals(getRequestCount(testTag), 1L);
+    }
+
+    @Test
+    public void testTagSetsInSameSlot() throws Exception {
+        // "Aa" and "BB" have the same hash code, hence so do the tag sets.
+        Tag firstTag = Tag.of("test", "Aa");
+        Tag secondTag = Tag.of("test", "BB");
+        Assert.assertEquals(firstTag.hashCode(), secondTag.hashCode());
+
+        observe(createContext(firstTag), null);
+        observe(createContext(secondTag), null);
+        observe(createContext(firstTag), null);
+        observe(createContext(firstTag), null);
+
+        Assert.assertEquals(getRequestCount(firstTag), 3L);
+        Assert.assertEquals(getRequestCount(secondTag), 1L);
+        Assert.assertEquals(getInProgressGauge(firstTag).getValue(), 0D);
+        Assert.assertEquals(getInProgressGauge(secondTag).getValue(), 0D);
+    }
+
+    private ObserverContext createContext(Tag... tags) throws Exception {
+        ObserverContext observerContext = new ObserverContext();
+        for (Tag tag : tags) {
+            observerContext.addTag(tag.getKey(), tag.getValue());
+        }
+        setStarted.invoke(observerContext);
+        return observerContext;
+    }
+
+    private void observe(ObserverContext observerContext, Tag customTag) {
+        observeWithStatusCode(observerContext, customTag, 0);
+    }
+
+    private void observeWithStatusCode(ObserverContext observerContext, Tag customTag, int statusCode) {
+        observer.startServerObservation(observerContext);
+        if (customTag != null) {
+            Map<String, Tag> customTags = new HashMap<>();
+            customTags.put(customTag.getKey(), customTag);
+            observerContext.customMetricTags = customTags;
+        }
+        if (statusCode > 0) {
+            observerContext.addProperty(PROPERTY_KEY_HTTP_STATUS_CODE, statusCode);
+        }
+        observer.stopServerObservation(observerContext);
+    }
+
+    private long getRequestCount(Tag... tags) {
+        Counter counter = (Counter) metricRegistry.lookup(getRequestCountId(tags));
+        Assert.assertNotNull(counter, "No request count for " + Arrays.toString(tags));
+        return counter.getValue();
+    }
+
+    private MetricId getRequestCountId(Tag... tags) {
+        return new MetricId("requests_total", "Total number of requests", toSet(tags));
+    }
+
+    private Gauge getInProgressGauge(Tag... tags) {
+        return (Gauge) metricRegistry.lookup(new MetricId("inprogress_requests", "In-progress requests",
+                                                          toSet(tags)));
+    }
+
+    private static Set<Tag> toSet(Tag... tags) {
+        return new HashSet<>(Arrays.asList(tags));
+    }
+}
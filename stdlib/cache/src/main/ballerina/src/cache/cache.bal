@@ -20,19 +20,25 @@ import ballerina/time;
 
 # Represents configurations for the `cache:Cache` object.
 #
-# + capacity - Maximum number of entries allowed in the cache
+# + capacity - Maximum number of entries allowed in the cache. With the `cache:SizeAwareEvictionPolicy`, this is the
+#              maximum total size of the entries in bytes
 # + evictionPolicy - The policy, which defines the cache eviction algorithm
 # + evictionFactor - The factor by which the entries will be evicted once the cache is full
 # + defaultMaxAgeInSeconds - The default value in seconds which all the cache entries are valid.
 #                            '-1' means, the entries are valid forever. This will be overwritten by the the
 #                            `maxAgeInSeconds` property set when inserting item to the cache
 # + cleanupIntervalInSeconds - Interval of the timer task, which will clean up the cache
+# + name - Name of the cache, which is used to publish the hit, miss, eviction, and load time metrics of the cache
+#          when metrics are enabled. The metrics are only published for caches with a name and an eviction policy of
+#          this module. If several of these caches have the same name, the metrics of the last one created are
+#          published
 public type CacheConfig record {|
     int capacity = 100;
     AbstractEvictionPolicy evictionPolicy = new LruEvictionPolicy();
     float evictionFactor = 0.25;
     int defaultMaxAgeInSeconds = -1;
     int cleanupIntervalInSeconds?;
+    string name?;
 |};
 
 type CacheEntry record {|
@@ -50,7 +56,7 @@ service class CleanupService {
         // This check will skip the processes triggered while the clean up in progress.
         if (!cleanupInProgress) {
             cleanupInProgress = true;
-            cleanup(cache, list, evictionPolicy);
+            cache.cleanUp();
             cleanupInProgress = false;
         }
     }
@@ -67,6 +73,9 @@ public class Cache {
     private float evictionFactor;
     private int defaultMaxAgeInSeconds;
     private LinkedList list;
+    // Whether the eviction and the expiry are handled natively, which is the case for the eviction policies of this
+    // module.
+    private boolean nativeEviction;
 
     # Called when a new `cache:Cache` object is created.
     #
@@ -96,7 +105,8 @@ public class Cache {
             tail: ()
         };
 
-        externInit(self, self.capacity_);
+        self.nativeEviction = externIsNativeEvictionPolicy(self.evictionPolicy);
+        externInit(self, self.capacity_, self.evictionFactor, self.evictionPolicy, cacheConfig?.name);
 
         int? cleanupIntervalInSeconds = cacheConfig?.cleanupIntervalInSeconds;
         if (cleanupIntervalInSeconds is int) {
@@ -129,6 +139,12 @@ public class Cache {
             return prepareError("Unsupported cache value '()' for the key: " + key + ".",
                                 logLevel = LOG_LEVEL_DEBUG);
         }
+        int entryMaxAgeInSeconds = maxAgeInSeconds > 0 ? maxAgeInSeconds : self.defaultMaxAgeInSeconds;
+        if (self.nativeEviction) {
+            externPutValue(self, key, value, entryMaxAgeInSeconds);
+            return;
+        }
+
         // If the current cache is full (i.e. size = capacity), evict cache.
         if (self.size() == self.capacity_) {
             evict(self, self.list, self.evictionPolicy, self.capacity_, self.evictionFactor);
@@ -137,12 +153,8 @@ public class Cache {
         // Calculate the `expTime` of the cache entry based on the `maxAgeInSeconds` property and
         // `defaultMaxAgeInSeconds` property.
         int calculatedExpTime = -1;
-        if (maxAgeInSeconds != -1 && maxAgeInSeconds > 0) {
-            calculatedExpTime = time:nanoTime() + (maxAgeInSeconds * 1000 * 1000 * 1000);
-        } else {
-            if (self.defaultMaxAgeInSeconds != -1) {
-                calculatedExpTime = time:nanoTime() + (self.defaultMaxAgeInSeconds * 1000 * 1000 * 1000);
-            }
+        if (entryMaxAgeInSeconds > 0) {
+            calculatedExpTime = time:nanoTime() + (entryMaxAgeInSeconds * 1000 * 1000 * 1000);
         }
 
         CacheEntry entry = {
@@ -168,9 +180,16 @@ public class Cache {
     #            exisiting in the cache or any error occurred while retrieving the value from the cache.
     public function get(string key) returns any|Error {
         if (!self.hasKey(key)) {
+            if (self.nativeEviction) {
+                externRecordMiss(self);
+            }
             return prepareError("Cache entry from the given key: " + key + ", is not available.",
                                 logLevel = LOG_LEVEL_DEBUG);
         }
+        if (self.nativeEviction) {
+            // Expired entries are removed natively and returned as `()`.
+            return externGetValue(self, key);
+        }
 
         Node node = externGet(self, key);
         CacheEntry entry = <CacheEntry>node.value;
@@ -198,6 +217,10 @@ public class Cache {
             return prepareError("Cache entry from the given key: " + key + ", is not available.",
                                 logLevel = LOG_LEVEL_DEBUG);
         }
+        if (self.nativeEviction) {
+            externRemove(self, key);
+            return;
+        }
 
         Node node = externGet(self, key);
         self.evictionPolicy.remove(self.list, node);
@@ -209,7 +232,9 @@ public class Cache {
     # + return - `()` if successfully discarded all the values from the cache or an `Error` if any error occurred while
     # discarding all the values from the cache.
     public function invalidateAll() returns Error? {
-        self.evictionPolicy.clear(self.list);
+        if (!self.nativeEviction) {
+            self.evictionPolicy.clear(self.list);
+        }
         externRemoveAll(self);
     }
 
@@ -242,6 +267,15 @@ public class Cache {
     public function capacity() returns int {
         return self.capacity_;
     }
+
+    // Removes the expired entries of the cache. This is called by the cleanup task.
+    function cleanUp() {
+        if (self.nativeEviction) {
+            externCleanUp(self);
+        } else {
+            cleanup(self, self.list, self.evictionPolicy);
+        }
+    }
 }
 
 function evict(Cache cache, LinkedList list, AbstractEvictionPolicy evictionPolicy, int capacity, float evictionFactor) {
@@ -276,7 +310,28 @@ function cleanup(Cache cache, LinkedList list, AbstractEvictionPolicy evictionPo
     }
 }
 
-function externInit(Cache cache, int capacity) = @java:Method {
+function externIsNativeEvictionPolicy(AbstractEvictionPolicy evictionPolicy) returns boolean = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externInit(Cache cache, int capacity, float evictionFactor, AbstractEvictionPolicy evictionPolicy,
+                    string? name) = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externPutValue(Cache cache, string key, any value, int maxAgeInSeconds) = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externGetValue(Cache cache, string key) returns any = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externRecordMiss(Cache cache) = @java:Method {
+    'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
+} external;
+
+function externCleanUp(Cache cache) = @java:Method {
     'class: "org.ballerinalang.stdlib.cache.nativeimpl.Cache"
 } external;
 
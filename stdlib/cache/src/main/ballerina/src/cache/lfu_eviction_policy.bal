@@ -0,0 +1,122 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# The `cache:LfuEvictionPolicy` object consists of the LFU eviction algorithm related operations. The `cache:Cache`
+# object runs this policy natively, evicting the least frequently used entries first and the least recently used ones
+# among equally used entries. The policy evicts the nodes in the same order when it is used on a linked list by any
+# other cache implementation. It keeps track of the nodes of one linked list, so it should not be shared by caches.
+public class LfuEvictionPolicy {
+
+    *AbstractEvictionPolicy;
+
+    // The nodes used the same number of times are kept together, from the most recently used one to the least
+    // recently used one. These runs are ordered from the most used nodes at the head of the list to the least used
+    // nodes at the tail. This holds the first node of each run, by the number of uses.
+    private map<Node> runHeads = {};
+
+    # Updates the linked list based on the get operation related to the LFU eviction algorithm.
+    #
+    # + list - Linked list data structure, which is used to govern the eviction policy
+    # + node - Node of the linked list, which is retrieved
+    public function get(LinkedList list, Node node) {
+        self.removeFromRun(node);
+        node.frequency += 1;
+        // The node moves to the head of the run of its new number of uses. If there is no such run, the node stays
+        // in place unless it was behind other nodes of its previous run.
+        Node? runHead = self.runHeads[node.frequency.toString()] ?: self.runHeads[(node.frequency - 1).toString()];
+        if (runHead is Node) {
+            remove(list, node);
+            addBefore(list, node, runHead);
+        }
+        self.runHeads[node.frequency.toString()] = node;
+    }
+
+    # Updates the linked list based on the put operation related to the LFU eviction algorithm.
+    #
+    # + list - Linked list data structure, which is used to govern the eviction policy
+    # + node - Node of the linked list, which is added newly
+    public function put(LinkedList list, Node node) {
+        // A new node is the most recently used among the nodes which are not used yet, which are at the tail.
+        node.frequency = 0;
+        Node? runHead = self.runHeads["0"];
+        if (runHead is Node) {
+            addBefore(list, node, runHead);
+        } else {
+            addLast(list, node);
+        }
+        self.runHeads["0"] = node;
+    }
+
+    # Updates the linked list based on the remove operation related to the LFU eviction algorithm.
+    #
+    # + list - Linked list data structure, which is used to govern the eviction policy
+    # + node - Node of the linked list, which is deleted
+    public function remove(LinkedList list, Node node) {
+        self.removeFromRun(node);
+        remove(list, node);
+    }
+
+    # Updates the linked list based on the replace operation related to the LFU eviction algorithm.
+    #
+    # + list - Linked list data structure, which is used to govern the eviction policy
+    # + newNode - Node of the linked list, which will be replacing the `oldNode`
+    # + oldNode - Node of the linked list, which will be replaced by the `newNode`
+    public function replace(LinkedList list, Node newNode, Node oldNode) {
+        // Replacing the value of an entry is a use of the entry.
+        string run = oldNode.frequency.toString();
+        if (self.runHeads[run] === oldNode) {
+            self.runHeads[run] = newNode;
+        }
+        newNode.frequency = oldNode.frequency;
+        replaceNode(list, newNode, oldNode);
+        self.get(list, newNode);
+    }
+
+    # Updates the linked list based on the clear operation related to the LFU eviction algorithm.
+    #
+    # + list - Linked list data structure, which is used to govern the eviction policy
+    public function clear(LinkedList list) {
+        self.runHeads = {};
+        clear(list);
+    }
+
+    # Updates the linked list based on the evict operation.
+    #
+    # + list - Linked list data structure, which is used to govern the eviction policy
+    # + return - The Node, which is evicted from the linked list or `()` if nothing to be evicted
+    public function evict(LinkedList list) returns Node? {
+        Node? tail = list.tail;
+        if (tail is Node) {
+            self.removeFromRun(tail);
+            remove(list, tail);
+        }
+        return tail;
+    }
+
+    // Removes the node from the run of its number of uses, without changing the linked list.
+    function removeFromRun(Node node) {
+        string run = node.frequency.toString();
+        if (self.runHeads[run] !== node) {
+            return;
+        }
+        Node? next = node.next;
+        if (next is Node && next.frequency == node.frequency) {
+            self.runHeads[run] = next;
+        } else {
+            _ = self.runHeads.remove(run);
+        }
+    }
+}
@@ -21,10 +21,12 @@
 # + value - Value to be stored in the linked list node
 # + prev - Previous node of the linked list
 # + next - Next node of the linked list
+# + frequency - Number of times the node was used since it was added, which is kept by the LFU eviction policy
 public type Node record {|
     any value;
     Node? prev = ();
     Node? next = ();
+    int frequency = 0;
 |};
 
 # Represents a linked list, which is used to govern the cache eviction policy.
@@ -127,3 +129,36 @@ public function clear(LinkedList list) {
     list.head = ();
     list.tail = ();
 }
+
+// Puts the new node in the place of the old node of the provided linked list.
+function replaceNode(LinkedList list, Node newNode, Node oldNode) {
+    Node? prev = oldNode.prev;
+    Node? next = oldNode.next;
+    newNode.prev = prev;
+    newNode.next = next;
+    if (prev is Node) {
+        prev.next = newNode;
+    } else {
+        list.head = newNode;
+    }
+    if (next is Node) {
+        next.prev = newNode;
+    } else {
+        list.tail = newNode;
+    }
+    oldNode.prev = ();
+    oldNode.next = ();
+}
+
+// Adds the new node before the next node of the provided linked list.
+function addBefore(LinkedList list, Node node, Node next) {
+    Node? prev = next.prev;
+    node.prev = prev;
+    node.next = next;
+    next.prev = node;
+    if (prev is Node) {
+        prev.next = node;
+    } else {
+        list.head = node;
+    }
+}
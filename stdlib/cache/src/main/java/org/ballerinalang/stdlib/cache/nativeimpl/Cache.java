@@ -18,67 +18,189 @@
 
 package org.ballerinalang.stdlib.cache.nativeimpl;
 
+import io.ballerina.runtime.api.Module;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ObjectType;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.observability.metrics.DefaultMetricRegistry;
+import io.ballerina.runtime.observability.metrics.MetricRegistry;
+import io.ballerina.runtime.observability.metrics.PolledGauge;
 
+import java.io.PrintStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToDoubleFunction;
 
 /**
- * Ballerina function to cache with java.util.concurrent.ConcurrentHashMap.
+ * Native functions of the Ballerina cache, backed by a {@link CacheEngine}. When the cache uses one of the eviction
+ * policies of this module, the engine evicts and expires the entries by itself. For any other eviction policy, the
+ * engine only stores the linked list nodes and the eviction is left to the policy object.
  *
  * @since 2.0.0
  */
 public class Cache {
 
-    public static final String CACHE_MAP = "CACHE_MAP";
+    public static final String CACHE_ENGINE = "CACHE_ENGINE";
 
-    public static void externInit(BObject cache, int capacity) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map = new ConcurrentHashMap<>(capacity);
-        cache.addNativeData(CACHE_MAP, map);
+    private static final String CACHE_MODULE_ORG = "ballerina";
+    private static final String CACHE_MODULE_NAME = "cache";
+    private static final String SIZE_AWARE_EVICTION_POLICY = "SizeAwareEvictionPolicy";
+    private static final Map<String, EvictionPolicy> NATIVE_EVICTION_POLICIES = new HashMap<>();
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final String TAG_KEY_CACHE = "cache";
+    private static final PrintStream consoleError = System.err;
+    // Statistics published for each cache name. The metrics of a cache are told apart only by its name, so the
+    // last cache created with a name publishes the metrics of that name.
+    private static final Map<String, PublishedStatistics> PUBLISHED_STATISTICS = new ConcurrentHashMap<>();
+
+    static {
+        NATIVE_EVICTION_POLICIES.put("LruEvictionPolicy", EvictionPolicy.LRU);
+        NATIVE_EVICTION_POLICIES.put("LfuEvictionPolicy", EvictionPolicy.LFU);
+        NATIVE_EVICTION_POLICIES.put("FifoEvictionPolicy", EvictionPolicy.FIFO);
+        // Evicts in LRU order, but weighs the entries by their size.
+        NATIVE_EVICTION_POLICIES.put(SIZE_AWARE_EVICTION_POLICY, EvictionPolicy.LRU);
+    }
+
+    public static boolean externIsNativeEvictionPolicy(BObject evictionPolicy) {
+        return getNativeEvictionPolicy(evictionPolicy) != null;
+    }
+
+    /**
+     * Creates the engine of a cache, and registers the metrics of the cache if it is named and uses an eviction policy
+     * of this module. If another such cache has the same name, the metrics of the name are taken over by this cache.
+     */
+    public static void externInit(BObject cache, long capacity, double evictionFactor, BObject evictionPolicy,
+                                     Object name) {
+        EvictionPolicy nativeEvictionPolicy = getNativeEvictionPolicy(evictionPolicy);
+        CacheEngine<BString, Object> engine;
+        if (nativeEvictionPolicy != null) {
+            boolean sizeAware = SIZE_AWARE_EVICTION_POLICY.equals(evictionPolicy.getType().getName());
+            engine = new CacheEngine<>(capacity, evictionFactor, nativeEvictionPolicy,
+                                       sizeAware ? ValueWeigher.INSTANCE : null);
+        } else {
+            engine = new CacheEngine<>(Long.MAX_VALUE, evictionFactor, EvictionPolicy.LRU, null);
+        }
+        cache.addNativeData(CACHE_ENGINE, engine);
+
+        // The statistics are only kept by the engine when it evicts the entries by itself.
+        if (name == null || nativeEvictionPolicy == null) {
+            return;
+        }
+        String cacheName = ((BString) name).getValue();
+        PublishedStatistics published = PUBLISHED_STATISTICS.computeIfAbsent(cacheName,
+                                                                            k -> new PublishedStatistics());
+        published.statistics = engine.getStatistics();
+        // The default metric registry is only set once metrics are enabled. The gauges of a name which are already
+        // registered are kept, as they read the statistics of the last cache.
+        MetricRegistry metricRegistry = DefaultMetricRegistry.getInstance();
+        if (metricRegistry != null) {
+            registerMetrics(metricRegistry, cacheName, published);
+        }
+    }
+
+    public static void externPutValue(BObject cache, BString key, Object value, long maxAgeInSeconds) {
+        long maxAgeNanos = maxAgeInSeconds > 0 ? maxAgeInSeconds * NANOS_PER_SECOND : CacheEngine.NO_EXPIRY;
+        getEngine(cache).put(key, value, maxAgeNanos);
+    }
+
+    public static Object externGetValue(BObject cache, BString key) {
+        return getEngine(cache).get(key);
     }
 
     public static void externPut(BObject cache, BString key, BMap<BString, Object> value) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        map.put(key, value);
+        getEngine(cache).put(key, value, CacheEngine.NO_EXPIRY);
     }
 
+    @SuppressWarnings("unchecked")
     public static BMap<BString, Object> externGet(BObject cache, BString key) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return map.get(key);
+        // The eviction policy object tracks the uses of the nodes.
+        return (BMap<BString, Object>) getEngine(cache).peek(key);
+    }
+
+    public static void externRecordMiss(BObject cache) {
+        getEngine(cache).recordMiss();
     }
 
     public static void externRemove(BObject cache, BString key) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        map.remove(key);
+        getEngine(cache).remove(key);
     }
 
     public static void externRemoveAll(BObject cache) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        map.clear();
+        getEngine(cache).clear();
+    }
+
+    public static void externCleanUp(BObject cache) {
+        getEngine(cache).cleanUp();
     }
 
     public static boolean externHasKey(BObject cache, BString key) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return map.containsKey(key);
+        return getEngine(cache).containsKey(key);
     }
 
     public static BArray externKeys(BObject cache) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return ValueCreator.createArrayValue(map.keySet().toArray(new BString[0]));
+        return ValueCreator.createArrayValue(getEngine(cache).keySet().toArray(new BString[0]));
     }
 
     public static int externSize(BObject cache) {
-        ConcurrentHashMap<BString, BMap<BString, Object>> map =
-                (ConcurrentHashMap<BString, BMap<BString, Object>>) cache.getNativeData(CACHE_MAP);
-        return map.size();
+        return getEngine(cache).size();
+    }
+
+    private static EvictionPolicy getNativeEvictionPolicy(BObject evictionPolicy) {
+        ObjectType policyType = evictionPolicy.getType();
+        Module module = policyType.getPackage();
+        if (module == null || !CACHE_MODULE_ORG.equals(module.getOrg()) ||
+                !CACHE_MODULE_NAME.equals(module.getName())) {
+            return null;
+        }
+        return NATIVE_EVICTION_POLICIES.get(policyType.getName());
+    }
+
+    private static void registerMetrics(MetricRegistry metricRegistry, String cacheName,
+                                        PublishedStatistics statistics) {
+        try {
+            registerMetric(metricRegistry, "cache_hits_total", "Number of lookups which found a valid entry",
+                           cacheName, statistics, CacheStatistics::getHitCount);
+            registerMetric(metricRegistry, "cache_misses_total",
+                           "Number of lookups which found no entry or an expired one", cacheName, statistics,
+                           CacheStatistics::getMissCount);
+            registerMetric(metricRegistry, "cache_evictions_total",
+                           "Number of entries evicted to make room for new ones", cacheName, statistics,
+                           CacheStatistics::getEvictionCount);
+            registerMetric(metricRegistry, "cache_loads_total", "Number of values stored in the cache", cacheName,
+                           statistics, CacheStatistics::getLoadCount);
+            registerMetric(metricRegistry, "cache_load_time_nanoseconds_total",
+                           "Total time spent storing values in the cache", cacheName, statistics,
+                           CacheStatistics::getTotalLoadTimeNanos);
+        } catch (RuntimeException e) {
+            // Metric Provider may throw exceptions if there is a mismatch in tags.
+            consoleError.println("error: error registering metrics for cache " + cacheName + ": " + e.getMessage());
+        }
+    }
+
+    private static void registerMetric(MetricRegistry metricRegistry, String name, String description,
+                                       String cacheName, PublishedStatistics statistics,
+                                       ToDoubleFunction<CacheStatistics> valueFunction) {
+        PolledGauge.builder(name, statistics, published -> valueFunction.applyAsDouble(published.statistics))
+                .description(description)
+                .tag(TAG_KEY_CACHE, cacheName)
+                .register(metricRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheEngine<BString, Object> getEngine(BObject cache) {
+        return (CacheEngine<BString, Object>) cache.getNativeData(CACHE_ENGINE);
+    }
+
+    /**
+     * Statistics read by the gauges of a cache name. Only the counters of the last cache with the name are kept, not
+     * the cache itself, so the entries of a cache which is no longer used can be collected.
+     */
+    private static class PublishedStatistics {
+
+        private volatile CacheStatistics statistics;
     }
 }
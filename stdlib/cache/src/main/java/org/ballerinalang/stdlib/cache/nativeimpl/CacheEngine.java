@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * A concurrent, size bounded cache with a configurable {@link EvictionPolicy} and per entry expiry.
+ * <p>
+ * Entries are looked up in a {@link ConcurrentHashMap} without locking. Each key belongs to one of a power of two
+ * number of segments, and each segment keeps the eviction order and the expiry timer wheel of its entries under its
+ * own lock. A read records the entry in a small lossy buffer of the segment instead of taking the lock, and the
+ * buffered reads are applied to the eviction order whenever the lock is held anyway, or when the buffer fills up and
+ * the lock is free. Under heavy contention some reads are dropped from the eviction order, which only makes the order
+ * approximate.
+ * <p>
+ * The capacity is the maximum total weight of the entries, which is the number of entries unless a weigher is given.
+ * It is split evenly between the segments. Small caches use a single segment, so they evict in exact policy order.
+ * Caches with a weigher also use a single segment, since a single value may take up most of the capacity.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ * @since 2.0.0
+ */
+public class CacheEngine<K, V> {
+
+    public static final long NO_EXPIRY = -1;
+
+    private static final int MIN_SEGMENT_CAPACITY = 64;
+    private static final int MAX_SEGMENTS = 64;
+    private static final int READ_BUFFER_SIZE = 32;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    // Try to drain the read buffer after this many reads.
+    private static final int READ_DRAIN_THRESHOLD_MASK = 7;
+    // LFU frequencies saturate at this value.
+    private static final int MAX_FREQUENCY = 255;
+
+    private final ConcurrentHashMap<K, Entry<K, V>> map;
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final ToIntFunction<? super V> weigher;
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    /**
+     * Creates a cache engine which evicts the least recently used entries.
+     *
+     * @param capacity       maximum number of entries, or {@link Integer#MAX_VALUE} for an unbounded engine
+     * @param evictionFactor fraction of the entries of a full segment that are evicted at once
+     */
+    public CacheEngine(int capacity, double evictionFactor) {
+        this(capacity, evictionFactor, EvictionPolicy.LRU, null);
+    }
+
+    /**
+     * Creates a cache engine.
+     *
+     * @param capacity       maximum total weight of the entries, or {@link Long#MAX_VALUE} for an unbounded engine
+     * @param evictionFactor fraction of the weight of a full segment that is evicted at once
+     * @param evictionPolicy order in which the entries are evicted
+     * @param weigher        function which gives the weight of a value, or null to weigh every entry as one
+     */
+    @SuppressWarnings("unchecked")
+    public CacheEngine(long capacity, double evictionFactor, EvictionPolicy evictionPolicy,
+                       ToIntFunction<? super V> weigher) {
+        boolean unbounded = capacity == Integer.MAX_VALUE || capacity == Long.MAX_VALUE;
+        int segmentCount = weigher == null ? segmentCount(capacity) : 1;
+        // Only a bounded count of entries says how large the map is going to be.
+        int initialMapCapacity = unbounded || weigher != null ? 16 : (int) Math.min(capacity, 1 << 16);
+        this.map = new ConcurrentHashMap<>(initialMapCapacity);
+        this.segments = new Segment[segmentCount];
+        this.segmentMask = segmentCount - 1;
+        this.weigher = weigher;
+        long segmentCapacity = unbounded ? Long.MAX_VALUE : (capacity + segmentCount - 1) / segmentCount;
+        long evictionWeight = (long) Math.max(1, Math.rint(segmentCapacity * evictionFactor));
+        long now = System.nanoTime();
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(evictionPolicy, segmentCapacity, evictionWeight, statistics, now);
+        }
+    }
+
+    /**
+     * Adds or replaces the value of the given key. A value which weighs more than the capacity is not stored, and it
+     * removes the previous value of the key.
+     *
+     * @param key          key
+     * @param value        value
+     * @param maxAgeNanos  time in nanoseconds for which the entry is valid, or {@link #NO_EXPIRY}
+     */
+    public void put(K key, V value, long maxAgeNanos) {
+        long now = System.nanoTime();
+        int weight = weigher == null ? 1 : Math.max(0, weigher.applyAsInt(value));
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.maintain(map, now);
+            Entry<K, V> entry = map.get(key);
+            if (weight > segment.capacity) {
+                if (entry != null) {
+                    map.remove(key, entry);
+                    segment.unlink(entry);
+                }
+                statistics.recordEvictions(1);
+                return;
+            }
+            if (entry != null) {
+                segment.wheel.unschedule(entry);
+                entry.value = value;
+                entry.setExpiry(now, maxAgeNanos);
+                segment.weight += weight - entry.weight;
+                entry.weight = weight;
+                segment.onReplace(entry);
+                if (segment.weight > segment.capacity) {
+                    segment.evict(map, 0);
+                }
+            } else {
+                segment.evict(map, weight);
+                entry = new Entry<>(key, value, 0, false);
+                entry.weight = weight;
+                entry.setExpiry(now, maxAgeNanos);
+                map.put(key, entry);
+                segment.link(entry);
+            }
+            if (entry.expires && entry.prev != null) {
+                segment.wheel.schedule(entry);
+            }
+        } finally {
+            segment.lock.unlock();
+            statistics.recordLoad(System.nanoTime() - now);
+        }
+    }
+
+    /**
+     * Returns the value of the given key. An expired entry is removed and not returned.
+     *
+     * @param key key
+     * @return the value, or null if there is no valid entry for the key
+     */
+    public V get(K key) {
+        Entry<K, V> entry = map.get(key);
+        if (entry == null) {
+            statistics.recordMiss();
+            return null;
+        }
+        Segment<K, V> segment = segmentFor(key);
+        if (entry.isExpired(System.nanoTime())) {
+            segment.lock.lock();
+            try {
+                if (map.remove(key, entry)) {
+                    segment.unlink(entry);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+            statistics.recordMiss();
+            return null;
+        }
+        segment.recordRead(entry);
+        statistics.recordHit();
+        return entry.value;
+    }
+
+    /**
+     * Returns the value of the given key without checking its expiry, and without counting it as a use of the entry.
+     *
+     * @param key key
+     * @return the value, or null if there is no entry for the key
+     */
+    public V peek(K key) {
+        Entry<K, V> entry = map.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public boolean containsKey(K key) {
+        return map.containsKey(key);
+    }
+
+    public void remove(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            Entry<K, V> entry = map.remove(key);
+            if (entry != null) {
+                segment.unlink(entry);
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.clear(map);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes the expired entries of all segments.
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.maintain(map, now);
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public Set<K> keySet() {
+        return map.keySet();
+    }
+
+    public int size() {
+        return map.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Records a lookup of a key that is not in the cache, which was answered without calling {@link #get}.
+     */
+    public void recordMiss() {
+        statistics.recordMiss();
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    private static int segmentCount(long capacity) {
+        long segmentCount = Math.min(capacity / MIN_SEGMENT_CAPACITY,
+                                     Math.min(MAX_SEGMENTS, Runtime.getRuntime().availableProcessors() * 2));
+        return segmentCount <= 1 ? 1 : Integer.highestOneBit((int) segmentCount);
+    }
+
+    /**
+     * An entry of the cache. The links, the weight and the frequency are guarded by the lock of the segment of the
+     * entry.
+     *
+     * @param <K> type of the key
+     * @param <V> type of the value
+     */
+    static class Entry<K, V> {
+
+        final K key;
+        volatile V value;
+        volatile long expiresAt;
+        volatile boolean expires;
+        int weight;
+        int frequency;
+
+        // Eviction order, from the entry evicted last
+        Entry<K, V> prev;
+        Entry<K, V> next;
+
+        // Bucket of the timer wheel
+        Entry<?, ?> wheelPrev;
+        Entry<?, ?> wheelNext;
+
+        Entry(K key, V value, long expiresAt, boolean expires) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+            this.expires = expires;
+        }
+
+        void setExpiry(long now, long maxAgeNanos) {
+            // Readers do not lock, so the expiry time has to be in place before the flag is set.
+            if (maxAgeNanos == NO_EXPIRY) {
+                expires = false;
+            } else {
+                expiresAt = now + maxAgeNanos;
+                expires = true;
+            }
+        }
+
+        boolean isExpired(long now) {
+            return expires && now - expiresAt >= 0;
+        }
+    }
+
+    /**
+     * A lock guarded part of the cache.
+     * <p>
+     * The entries of a segment are kept in a circular list in eviction order, and the entry before the sentinel is the
+     * next one to be evicted. For LFU, the list is made of runs of entries with the same frequency, in descending
+     * order of frequency. The first entry of each run is tracked, so that an entry can move to the next run in
+     * constant time.
+     *
+     * @param <K> type of the keys
+     * @param <V> type of the values
+     */
+    private static class Segment<K, V> {
+
+        final ReentrantLock lock = new ReentrantLock();
+        final EvictionPolicy evictionPolicy;
+        final long capacity;
+        final long evictionWeight;
+        final CacheStatistics statistics;
+        final TimerWheel wheel;
+        // Sentinel of the circular eviction list
+        final Entry<K, V> head = new Entry<>(null, null, 0, false);
+        // First entry of the run of each frequency, only used by LFU
+        final Entry<K, V>[] runHeads;
+        long weight;
+
+        final AtomicReferenceArray<Entry<K, V>> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong readCount = new AtomicLong();
+        long drainedReadCount;
+
+        @SuppressWarnings("unchecked")
+        Segment(EvictionPolicy evictionPolicy, long capacity, long evictionWeight, CacheStatistics statistics,
+                long now) {
+            this.evictionPolicy = evictionPolicy;
+            this.capacity = capacity;
+            this.evictionWeight = evictionWeight;
+            this.statistics = statistics;
+            this.wheel = new TimerWheel(now);
+            this.runHeads = evictionPolicy == EvictionPolicy.LFU ? new Entry[MAX_FREQUENCY + 1] : null;
+            head.prev = head;
+            head.next = head;
+        }
+
+        void recordRead(Entry<K, V> entry) {
+            if (evictionPolicy == EvictionPolicy.FIFO) {
+                // Reads do not change the FIFO order.
+                return;
+            }
+            long count = readCount.getAndIncrement();
+            readBuffer.lazySet((int) count & READ_BUFFER_MASK, entry);
+            if ((count & READ_DRAIN_THRESHOLD_MASK) == READ_DRAIN_THRESHOLD_MASK && lock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void maintain(ConcurrentHashMap<K, Entry<K, V>> map, long now) {
+            drainReads();
+            wheel.advance(now, expired -> {
+                map.remove(expired.key, expired);
+                unlinkFromEvictionOrder((Entry<K, V>) expired);
+            });
+        }
+
+        /**
+         * Evicts entries until there is room for the given weight. Once the segment is full, at least the eviction
+         * weight is evicted, so that the following puts do not have to evict again.
+         */
+        void evict(ConcurrentHashMap<K, Entry<K, V>> map, int incomingWeight) {
+            if (weight + incomingWeight <= capacity) {
+                return;
+            }
+            long target = Math.min(capacity - incomingWeight, capacity - evictionWeight);
+            int evicted = 0;
+            while (weight > target && head.prev != head) {
+                Entry<K, V> eldest = head.prev;
+                map.remove(eldest.key, eldest);
+                unlink(eldest);
+                evicted++;
+            }
+            statistics.recordEvictions(evicted);
+        }
+
+        void link(Entry<K, V> entry) {
+            if (evictionPolicy != EvictionPolicy.LFU) {
+                linkBefore(entry, head.next);
+            } else {
+                // New entries start at the lowest frequency, which is the end of the list.
+                entry.frequency = 1;
+                linkBefore(entry, runHeads[1] != null ? runHeads[1] : head);
+                runHeads[1] = entry;
+            }
+            weight += entry.weight;
+        }
+
+        void onReplace(Entry<K, V> entry) {
+            // Replacing a value counts as a use of the entry, except for FIFO which keeps the order of addition.
+            if (evictionPolicy != EvictionPolicy.FIFO) {
+                onAccess(entry);
+            }
+        }
+
+        void unlink(Entry<K, V> entry) {
+            wheel.unschedule(entry);
+            unlinkFromEvictionOrder(entry);
+        }
+
+        void clear(ConcurrentHashMap<K, Entry<K, V>> map) {
+            Entry<K, V> entry = head.next;
+            while (entry != head) {
+                Entry<K, V> next = entry.next;
+                map.remove(entry.key, entry);
+                // A concurrent read may still buffer the entry, which must then be seen as removed when drained.
+                entry.prev = null;
+                entry.next = null;
+                entry.wheelPrev = null;
+                entry.wheelNext = null;
+                entry = next;
+            }
+            head.prev = head;
+            head.next = head;
+            weight = 0;
+            wheel.clear();
+            if (runHeads != null) {
+                Arrays.fill(runHeads, null);
+            }
+            for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+                readBuffer.set(i, null);
+            }
+        }
+
+        private void onAccess(Entry<K, V> entry) {
+            if (entry.prev == null) {
+                // Already removed from the segment
+                return;
+            }
+            if (evictionPolicy == EvictionPolicy.LRU) {
+                if (head.next != entry) {
+                    detach(entry);
+                    linkBefore(entry, head.next);
+                }
+                return;
+            }
+
+            int frequency = entry.frequency;
+            int newFrequency = Math.min(frequency + 1, MAX_FREQUENCY);
+            if (runHeads[newFrequency] == entry) {
+                return;
+            }
+            Entry<K, V> anchor = runHeads[newFrequency];
+            if (anchor == null) {
+                if (runHeads[frequency] == entry) {
+                    // The entry already sits between the higher runs and the rest of its own run.
+                    advanceRunHead(entry);
+                    entry.frequency = newFrequency;
+                    runHeads[newFrequency] = entry;
+                    return;
+                }
+                anchor = runHeads[frequency];
+            }
+            detachFromRun(entry);
+            detach(entry);
+            linkBefore(entry, anchor);
+            entry.frequency = newFrequency;
+            runHeads[newFrequency] = entry;
+        }
+
+        private void unlinkFromEvictionOrder(Entry<K, V> entry) {
+            if (entry.prev == null) {
+                return;
+            }
+            if (runHeads != null) {
+                detachFromRun(entry);
+            }
+            detach(entry);
+            entry.prev = null;
+            entry.next = null;
+            weight -= entry.weight;
+        }
+
+        private void detachFromRun(Entry<K, V> entry) {
+            if (runHeads[entry.frequency] == entry) {
+                advanceRunHead(entry);
+            }
+        }
+
+        private void advanceRunHead(Entry<K, V> entry) {
+            Entry<K, V> next = entry.next;
+            runHeads[entry.frequency] = next != head && next.frequency == entry.frequency ? next : null;
+        }
+
+        private void linkBefore(Entry<K, V> entry, Entry<K, V> successor) {
+            entry.next = successor;
+            entry.prev = successor.prev;
+            successor.prev.next = entry;
+            successor.prev = entry;
+        }
+
+        private void detach(Entry<K, V> entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+        }
+
+        private void drainReads() {
+            long count = readCount.get();
+            // Older reads were overwritten if the buffer wrapped around since the last drain.
+            long start = Math.max(drainedReadCount, count - READ_BUFFER_SIZE);
+            for (long i = start; i < count; i++) {
+                Entry<K, V> entry = readBuffer.getAndSet((int) i & READ_BUFFER_MASK, null);
+                if (entry != null) {
+                    onAccess(entry);
+                }
+            }
+            drainedReadCount = count;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+/**
+ * Eviction policies implemented by the {@link CacheEngine}.
+ *
+ * @since 2.0.0
+ */
+public enum EvictionPolicy {
+
+    /**
+     * Evicts the least recently used entries.
+     */
+    LRU,
+
+    /**
+     * Evicts the least frequently used entries. Entries used equally often are evicted in least recently used order.
+     */
+    LFU,
+
+    /**
+     * Evicts the entries in the order they were added. Reads do not change the order.
+     */
+    FIFO
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import java.util.function.Consumer;
+
+/**
+ * A hashed timer wheel, which finds the expired entries of a cache segment without going through all of its entries.
+ * Each bucket holds the entries which expire in the same tick modulo the number of buckets, so an entry that expires
+ * more than one revolution ahead stays in its bucket until a later revolution. The wheel is not thread safe and is
+ * guarded by the lock of its segment.
+ *
+ * @since 2.0.0
+ */
+class TimerWheel {
+
+    // A tick is about a second, which is the resolution of the max age of cache entries.
+    private static final int TICK_SHIFT = 30;
+    private static final int BUCKET_COUNT = 64;
+    private static final int BUCKET_MASK = BUCKET_COUNT - 1;
+
+    private final CacheEngine.Entry<?, ?>[] buckets = new CacheEngine.Entry<?, ?>[BUCKET_COUNT];
+    // The last tick whose bucket was fully processed
+    private long processedTick;
+
+    TimerWheel(long now) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            CacheEngine.Entry<?, ?> sentinel = new CacheEngine.Entry<>(null, null, 0, false);
+            sentinel.wheelPrev = sentinel;
+            sentinel.wheelNext = sentinel;
+            buckets[i] = sentinel;
+        }
+        processedTick = (now >> TICK_SHIFT) - 1;
+    }
+
+    void schedule(CacheEngine.Entry<?, ?> entry) {
+        CacheEngine.Entry<?, ?> sentinel = buckets[(int) (entry.expiresAt >> TICK_SHIFT) & BUCKET_MASK];
+        entry.wheelNext = sentinel;
+        entry.wheelPrev = sentinel.wheelPrev;
+        sentinel.wheelPrev.wheelNext = entry;
+        sentinel.wheelPrev = entry;
+    }
+
+    void unschedule(CacheEngine.Entry<?, ?> entry) {
+        if (entry.wheelPrev == null) {
+            return;
+        }
+        entry.wheelPrev.wheelNext = entry.wheelNext;
+        entry.wheelNext.wheelPrev = entry.wheelPrev;
+        entry.wheelPrev = null;
+        entry.wheelNext = null;
+    }
+
+    /**
+     * Removes the entries of the ticks that have fully passed by now, and hands the ones that are expired over to the
+     * given consumer.
+     *
+     * @param now     current value of {@link System#nanoTime()}
+     * @param expired consumer of the expired entries
+     */
+    void advance(long now, Consumer<CacheEngine.Entry<?, ?>> expired) {
+        long lastFullTick = (now >> TICK_SHIFT) - 1;
+        long ticks = lastFullTick - processedTick;
+        if (ticks <= 0) {
+            return;
+        }
+        // Going around more than once does not find anything new.
+        int bucketsToProcess = (int) Math.min(ticks, BUCKET_COUNT);
+        for (int i = 1; i <= bucketsToProcess; i++) {
+            CacheEngine.Entry<?, ?> sentinel = buckets[(int) (processedTick + i) & BUCKET_MASK];
+            CacheEngine.Entry<?, ?> entry = sentinel.wheelNext;
+            while (entry != sentinel) {
+                CacheEngine.Entry<?, ?> next = entry.wheelNext;
+                if (entry.isExpired(now)) {
+                    unschedule(entry);
+                    expired.accept(entry);
+                }
+                entry = next;
+            }
+        }
+        processedTick = lastFullTick;
+    }
+
+    void clear() {
+        for (CacheEngine.Entry<?, ?> sentinel : buckets) {
+            sentinel.wheelPrev = sentinel;
+            sentinel.wheelNext = sentinel;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache.nativeimpl;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.Map;
+import java.util.function.ToIntFunction;
+
+/**
+ * Weighs cache values by an estimate of their size in bytes, for the size aware eviction policy. Strings weigh two
+ * bytes per character, byte arrays one byte per member, other simple values eight bytes, and structured values the
+ * sum of their members. Values nested deeper than a few levels are weighed as simple values, which keeps the cost of
+ * weighing bounded and stops at cyclic values.
+ *
+ * @since 2.0.0
+ */
+class ValueWeigher implements ToIntFunction<Object> {
+
+    static final ValueWeigher INSTANCE = new ValueWeigher();
+
+    private static final int SIMPLE_VALUE_WEIGHT = 8;
+    private static final int MAX_DEPTH = 8;
+
+    private ValueWeigher() {
+    }
+
+    @Override
+    public int applyAsInt(Object value) {
+        return (int) Math.min(weigh(value, 0), Integer.MAX_VALUE);
+    }
+
+    private static long weigh(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof BString) {
+            return 2L * ((BString) value).getValue().length();
+        }
+        if (depth >= MAX_DEPTH) {
+            return SIMPLE_VALUE_WEIGHT;
+        }
+        if (value instanceof BArray) {
+            return weighArray((BArray) value, depth);
+        }
+        if (value instanceof BMap) {
+            long weight = 0;
+            for (Map.Entry<?, ?> entry : ((BMap<?, ?>) value).entrySet()) {
+                weight += weigh(entry.getKey(), depth + 1) + weigh(entry.getValue(), depth + 1);
+            }
+            return weight;
+        }
+        return SIMPLE_VALUE_WEIGHT;
+    }
+
+    private static long weighArray(BArray array, int depth) {
+        long length = array.getLength();
+        switch (array.getElementType().getTag()) {
+            case TypeTags.BYTE_TAG:
+                return length;
+            case TypeTags.INT_TAG:
+            case TypeTags.FLOAT_TAG:
+            case TypeTags.BOOLEAN_TAG:
+                return length * SIMPLE_VALUE_WEIGHT;
+            default:
+                long weight = 0;
+                for (long i = 0; i < length; i++) {
+                    weight += weigh(array.get(i), depth + 1);
+                }
+                return weight;
+        }
+    }
+}
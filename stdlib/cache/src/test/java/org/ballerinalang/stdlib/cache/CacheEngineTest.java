@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.cache;
+
+import org.ballerinalang.stdlib.cache.nativeimpl.CacheEngine;
+import org.ballerinalang.stdlib.cache.nativeimpl.CacheStatistics;
+import org.ballerinalang.stdlib.cache.nativeimpl.EvictionPolicy;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Test cases for the native {@link CacheEngine}.
+ */
+public class CacheEngineTest {
+
+    @Test
+    public void testLruEviction() {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(4, 0.5);
+        engine.put("A", 1, CacheEngine.NO_EXPIRY);
+        engine.put("B", 2, CacheEngine.NO_EXPIRY);
+        engine.put("C", 3, CacheEngine.NO_EXPIRY);
+        engine.put("D", 4, CacheEngine.NO_EXPIRY);
+        // A and C become the most recently used entries, so B and D are evicted.
+        Assert.assertEquals(engine.get("A"), Integer.valueOf(1));
+        Assert.assertEquals(engine.get("C"), Integer.valueOf(3));
+        engine.put("E", 5, CacheEngine.NO_EXPIRY);
+
+        Assert.assertEquals(engine.size(), 3);
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("A", "C", "E")));
+        Assert.assertNull(engine.get("B"));
+    }
+
+    @Test
+    public void testReplaceDoesNotEvict() {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(2, 1);
+        engine.put("A", 1, CacheEngine.NO_EXPIRY);
+        engine.put("B", 2, CacheEngine.NO_EXPIRY);
+        engine.put("A", 10, CacheEngine.NO_EXPIRY);
+
+        Assert.assertEquals(engine.size(), 2);
+        Assert.assertEquals(engine.get("A"), Integer.valueOf(10));
+        Assert.assertEquals(engine.get("B"), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testExpiry() throws InterruptedException {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(10, 0.25);
+        engine.put("A", 1, TimeUnit.MILLISECONDS.toNanos(1));
+        engine.put("B", 2, CacheEngine.NO_EXPIRY);
+        Thread.sleep(10);
+
+        Assert.assertNull(engine.get("A"));
+        Assert.assertFalse(engine.containsKey("A"));
+        Assert.assertEquals(engine.get("B"), Integer.valueOf(2));
+    }
+
+    @Test
+    public void testRemoveAndClear() {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(1000, 0.25);
+        for (int i = 0; i < 1000; i++) {
+            engine.put("key" + i, i, TimeUnit.MINUTES.toNanos(1));
+        }
+        engine.remove("key10");
+        Assert.assertEquals(engine.size(), 999);
+        Assert.assertFalse(engine.containsKey("key10"));
+
+        engine.clear();
+        Assert.assertEquals(engine.size(), 0);
+        engine.put("key10", 10, CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(engine.get("key10"), Integer.valueOf(10));
+    }
+
+    @Test
+    public void testGetDuringClear() throws Exception {
+        int capacity = 64;
+        int keyCount = 2 * capacity;
+        CacheEngine<Integer, Integer> engine = new CacheEngine<>(capacity, 0.25);
+        AtomicBoolean clearing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                readers.add(executor.submit(() -> {
+                    int key = 0;
+                    while (clearing.get()) {
+                        engine.get(key);
+                        key = (key + 1) % keyCount;
+                    }
+                }));
+            }
+            for (int i = 0; i < 2000; i++) {
+                for (int key = 0; key < keyCount; key++) {
+                    engine.put(key, key, TimeUnit.MINUTES.toNanos(1));
+                }
+                // Cleared entries relinked by buffered reads would be evicted in place of live ones, so the cache
+                // would grow beyond its capacity.
+                Assert.assertTrue(engine.size() <= capacity);
+                engine.clear();
+            }
+            clearing.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            clearing.set(false);
+            executor.shutdownNow();
+        }
+
+        engine.put(0, 0, CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(engine.size(), 1);
+        Assert.assertEquals(engine.get(0), Integer.valueOf(0));
+    }
+
+    @Test
+    public void testLfuEviction() {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(4, 0.25, EvictionPolicy.LFU, null);
+        engine.put("A", 1, CacheEngine.NO_EXPIRY);
+        engine.put("B", 2, CacheEngine.NO_EXPIRY);
+        engine.put("C", 3, CacheEngine.NO_EXPIRY);
+        engine.put("D", 4, CacheEngine.NO_EXPIRY);
+        engine.get("A");
+        engine.get("A");
+        engine.get("B");
+        engine.get("D");
+        // C is the only entry that was never used.
+        engine.put("E", 5, CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("A", "B", "D", "E")));
+
+        // B and D were used once, but B was used before D. E is newer than both of them, but never used.
+        engine.get("E");
+        engine.put("F", 6, CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("A", "D", "E", "F")));
+    }
+
+    @Test
+    public void testFifoEviction() {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(3, 0.3, EvictionPolicy.FIFO, null);
+        engine.put("A", 1, CacheEngine.NO_EXPIRY);
+        engine.put("B", 2, CacheEngine.NO_EXPIRY);
+        engine.put("C", 3, CacheEngine.NO_EXPIRY);
+        engine.get("A");
+        engine.put("A", 10, CacheEngine.NO_EXPIRY);
+        engine.put("D", 4, CacheEngine.NO_EXPIRY);
+
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("B", "C", "D")));
+    }
+
+    @Test
+    public void testWeightedEviction() {
+        CacheEngine<String, String> engine = new CacheEngine<>(10, 0.1, EvictionPolicy.LRU, String::length);
+        engine.put("A", "aaaa", CacheEngine.NO_EXPIRY);
+        engine.put("B", "bbbb", CacheEngine.NO_EXPIRY);
+        // Needs the room of both A and B.
+        engine.put("C", "cccccccc", CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("C")));
+
+        // Heavier than the whole cache, so it is not stored.
+        engine.put("C", "ccccccccccc", CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(engine.size(), 0);
+    }
+
+    @Test
+    public void testWeightedEvictionOfLargeCache() {
+        CacheEngine<String, String> engine = new CacheEngine<>(1000, 0.1, EvictionPolicy.LRU, String::length);
+        // Heavier than an even share of the capacity between processors, but still fits in the cache.
+        engine.put("A", repeat('a', 600), CacheEngine.NO_EXPIRY);
+        engine.put("B", repeat('b', 300), CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("A", "B")));
+
+        engine.put("C", repeat('c', 200), CacheEngine.NO_EXPIRY);
+        Assert.assertEquals(new HashSet<>(engine.keySet()), new HashSet<>(Arrays.asList("B", "C")));
+        Assert.assertEquals(engine.getStatistics().getEvictionCount(), 1);
+    }
+
+    @Test
+    public void testStatistics() {
+        CacheEngine<String, Integer> engine = new CacheEngine<>(2, 0.5);
+        engine.put("A", 1, CacheEngine.NO_EXPIRY);
+        engine.put("B", 2, CacheEngine.NO_EXPIRY);
+        engine.put("C", 3, CacheEngine.NO_EXPIRY);
+        engine.get("A");
+        engine.get("B");
+        engine.get("C");
+        engine.recordMiss();
+
+        CacheStatistics statistics = engine.getStatistics();
+        Assert.assertEquals(statistics.getHitCount(), 2);
+        Assert.assertEquals(statistics.getMissCount(), 2);
+        Assert.assertEquals(statistics.getEvictionCount(), 1);
+        Assert.assertEquals(statistics.getLoadCount(), 3);
+        Assert.assertTrue(statistics.getTotalLoadTimeNanos() > 0);
+    }
+
+    private static String repeat(char c, int count) {
+        char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
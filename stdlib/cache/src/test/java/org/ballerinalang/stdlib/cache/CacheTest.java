@@ -285,6 +285,26 @@ public class CacheTest {
         BRunUtil.invoke(compileResult, "testCreateCacheWithNegativeDefaultMaxAge");
     }
 
+    @Test
+    public void testCreateCachesWithSameName() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCreateCachesWithSameName");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 12);
+    }
+
+    @Test
+    public void testCreateCachesWithDifferentNames() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testCreateCachesWithDifferentNames");
+        Assert.assertEquals(((BInteger) returns[0]).intValue(), 2);
+    }
+
+    @Test
+    public void testLfuEvictionPolicyOnLinkedList() {
+        BValue[] returns = BRunUtil.invoke(compileResult, "testLfuEvictionPolicyOnLinkedList");
+        BValueArray evicted = (BValueArray) returns[0];
+        // The least used nodes are evicted first, and the least recently used ones among equally used nodes.
+        Assert.assertEquals(removeEmptyValues(evicted.getStringArray()), new String[]{"B", "D", "C", "A"});
+    }
+
     private String[] removeEmptyValues(String[] arr) {
         List<String> list = new ArrayList<>(Arrays.asList(arr));
         list.removeAll(Arrays.asList("", null));
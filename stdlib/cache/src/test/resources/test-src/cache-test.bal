@@ -293,3 +293,49 @@ function testCreateCacheWithNegativeDefaultMaxAge() {
     };
     cache:Cache c = new(config);
 }
+
+function testCreateCachesWithSameName() returns int {
+    cache:CacheConfig config = {
+        capacity: 10,
+        evictionFactor: 0.2,
+        name: "sessions"
+    };
+    cache:Cache c1 = new(config);
+    cache:Cache c2 = new(config);
+    checkpanic c1.put("Hello", "Ballerina");
+    checkpanic c2.put("Hello", "Ballerina");
+    checkpanic c2.put("Hi", "Ballerina");
+    return c1.size() * 10 + c2.size();
+}
+
+function testCreateCachesWithDifferentNames() returns int {
+    cache:Cache c1 = new({name: "users"});
+    cache:Cache c2 = new({name: "roles"});
+    checkpanic c1.put("Hello", "Ballerina");
+    checkpanic c2.put("Hello", "Ballerina");
+    return c1.size() + c2.size();
+}
+
+function testLfuEvictionPolicyOnLinkedList() returns string[] {
+    cache:LinkedList list = {head: (), tail: ()};
+    cache:LfuEvictionPolicy evictionPolicy = new;
+    cache:Node a = {value: "A"};
+    cache:Node b = {value: "B"};
+    cache:Node c = {value: "C"};
+    cache:Node d = {value: "D"};
+    evictionPolicy.put(list, a);
+    evictionPolicy.put(list, b);
+    evictionPolicy.put(list, c);
+    evictionPolicy.get(list, a);
+    evictionPolicy.get(list, a);
+    evictionPolicy.get(list, c);
+    evictionPolicy.put(list, d);
+
+    string[] evicted = [];
+    cache:Node? node = evictionPolicy.evict(list);
+    while (node is cache:Node) {
+        evicted.push(<string>node.value);
+        node = evictionPolicy.evict(list);
+    }
+    return evicted;
+}
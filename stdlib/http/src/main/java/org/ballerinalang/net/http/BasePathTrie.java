@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A case insensitive radix trie of the service base paths of a host, used to find the service of a request without
+ * going through all the base paths. A trie is immutable; registering or removing a base path creates a new trie, so
+ * requests may be dispatched concurrently without locking.
+ * <p>
+ * A base path matches a request path which is equal to it, or which starts with it followed by a {@code /}. Looking
+ * up a path does not allocate, and takes time proportional to the length of the path.
+ *
+ * @since 2.0.0
+ */
+public class BasePathTrie {
+
+    public static final BasePathTrie EMPTY = new BasePathTrie(Collections.emptyList());
+
+    // Base paths in the order they were registered. Of the base paths which differ only in case, the first one wins.
+    private final List<String> basePaths;
+    private final Node root;
+
+    private BasePathTrie(List<String> basePaths) {
+        this.basePaths = basePaths;
+        Map<String, String> basePathsByKey = new TreeMap<>();
+        for (String basePath : basePaths) {
+            basePathsByKey.putIfAbsent(normalize(basePath), basePath);
+        }
+        if (basePathsByKey.isEmpty()) {
+            this.root = null;
+            return;
+        }
+        String[] keys = basePathsByKey.keySet().toArray(new String[0]);
+        String[] values = basePathsByKey.values().toArray(new String[0]);
+        this.root = build(keys, values, 0, keys.length, 0);
+    }
+
+    /**
+     * Returns a trie which also contains the given base path.
+     *
+     * @param basePath base path to add
+     * @return the new trie
+     */
+    public BasePathTrie with(String basePath) {
+        List<String> newBasePaths = new ArrayList<>(basePaths.size() + 1);
+        newBasePaths.addAll(basePaths);
+        newBasePaths.add(basePath);
+        return new BasePathTrie(Collections.unmodifiableList(newBasePaths));
+    }
+
+    /**
+     * Returns a trie which does not contain the given base path.
+     *
+     * @param basePath base path to remove
+     * @return the new trie
+     */
+    public BasePathTrie without(String basePath) {
+        List<String> newBasePaths = new ArrayList<>(basePaths);
+        if (!newBasePaths.remove(basePath)) {
+            return this;
+        }
+        return newBasePaths.isEmpty() ? EMPTY : new BasePathTrie(Collections.unmodifiableList(newBasePaths));
+    }
+
+    /**
+     * Get the base paths of the trie, in the order they were added.
+     *
+     * @return the base paths
+     */
+    public List<String> getBasePaths() {
+        return basePaths;
+    }
+
+    /**
+     * Finds the longest base path which matches the given request path.
+     *
+     * @param requestPath raw path of the request
+     * @return the most specific base path, or null if none of the base paths matches
+     */
+    public String findMostSpecific(String requestPath) {
+        Node node = root;
+        String match = null;
+        int index = 0;
+        while (node != null) {
+            char[] label = node.label;
+            if (requestPath.length() - index < label.length) {
+                return match;
+            }
+            for (char c : label) {
+                if (Character.toLowerCase(requestPath.charAt(index++)) != c) {
+                    return match;
+                }
+            }
+            if (index == requestPath.length()) {
+                return node.basePath != null ? node.basePath : match;
+            }
+            char next = Character.toLowerCase(requestPath.charAt(index));
+            if (node.basePath != null && next == '/') {
+                match = node.basePath;
+            }
+            node = node.getChild(next);
+        }
+        return match;
+    }
+
+    /**
+     * Builds the node of the given range of keys, which have the first {@code depth} chars in common.
+     */
+    private static Node build(String[] keys, String[] values, int from, int to, int depth) {
+        String first = keys[from];
+        String last = keys[to - 1];
+        // Keys are sorted, so the prefix shared by the first and the last is shared by all of them.
+        int end = depth;
+        int maxEnd = Math.min(first.length(), last.length());
+        while (end < maxEnd && first.charAt(end) == last.charAt(end)) {
+            end++;
+        }
+        char[] label = first.substring(depth, end).toCharArray();
+
+        String basePath = null;
+        if (first.length() == end) {
+            basePath = values[from];
+            from++;
+        }
+
+        List<Node> children = new ArrayList<>();
+        int start = from;
+        while (start < to) {
+            char c = keys[start].charAt(end);
+            int childEnd = start + 1;
+            while (childEnd < to && keys[childEnd].charAt(end) == c) {
+                childEnd++;
+            }
+            children.add(build(keys, values, start, childEnd, end));
+            start = childEnd;
+        }
+        return new Node(label, basePath, children.toArray(new Node[0]));
+    }
+
+    private static String normalize(String basePath) {
+        char[] chars = basePath.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return new String(chars);
+    }
+
+    /**
+     * A node of the trie. Its label holds the chars on the edge from its parent, including the one it is looked up by.
+     */
+    private static class Node {
+
+        private final char[] label;
+        private final String basePath;
+        // First chars of the labels of the children, in ascending order
+        private final char[] childChars;
+        private final Node[] children;
+
+        Node(char[] label, String basePath, Node[] children) {
+            this.label = label;
+            this.basePath = basePath;
+            this.children = children;
+            this.childChars = new char[children.length];
+            for (int i = 0; i < children.length; i++) {
+                childChars[i] = children[i].label[0];
+            }
+        }
+
+        Node getChild(char c) {
+            int index = Arrays.binarySearch(childChars, c);
+            return index < 0 ? null : children[index];
+        }
+    }
+}
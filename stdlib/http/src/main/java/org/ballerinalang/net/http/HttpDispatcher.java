@@ -21,6 +21,7 @@ import io.ballerina.runtime.api.BStringUtils;
 import io.ballerina.runtime.api.TypeTags;
 import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
@@ -34,12 +35,12 @@ import org.ballerinalang.mime.util.EntityBodyHandler;
 import org.ballerinalang.net.uri.URIUtil;
 import org.wso2.transport.http.netty.message.HttpCarbonMessage;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 
 import static org.ballerinalang.net.http.HttpConstants.DEFAULT_HOST;
@@ -55,15 +56,15 @@ public class HttpDispatcher {
     public static HttpService findService(HTTPServicesRegistry servicesRegistry, HttpCarbonMessage inboundReqMsg) {
         try {
             Map<String, HttpService> servicesOnInterface;
-            List<String> sortedServiceURIs;
+            BasePathTrie basePathTrie;
             String hostName = inboundReqMsg.getHeader(HttpHeaderNames.HOST.toString());
 
             if (hostName != null && servicesRegistry.getServicesMapHolder(hostName) != null) {
                 servicesOnInterface = servicesRegistry.getServicesByHost(hostName);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(hostName);
+                basePathTrie = servicesRegistry.getBasePathTrieByHost(hostName);
             } else if (servicesRegistry.getServicesMapHolder(DEFAULT_HOST) != null) {
                 servicesOnInterface = servicesRegistry.getServicesByHost(DEFAULT_HOST);
-                sortedServiceURIs = servicesRegistry.getSortedServiceURIsByHost(DEFAULT_HOST);
+                basePathTrie = servicesRegistry.getBasePathTrieByHost(DEFAULT_HOST);
             } else {
                 inboundReqMsg.setHttpStatusCode(404);
                 String localAddress = inboundReqMsg.getProperty(HttpConstants.LOCAL_ADDRESS).toString();
@@ -81,7 +82,7 @@ public class HttpDispatcher {
             URI validatedUri = getValidatedURI(uriWithoutMatrixParams);
 
             String basePath = servicesRegistry.findTheMostSpecificBasePath(validatedUri.getRawPath(),
-                    servicesOnInterface, sortedServiceURIs);
+                    servicesOnInterface, basePathTrie);
 
             if (basePath == null) {
                 inboundReqMsg.setHttpStatusCode(404);
@@ -171,7 +172,7 @@ public class HttpDispatcher {
         BMap pathParamOrder = HttpResource.getPathParamOrderMap(httpResource.getBalResource());
 
         for (Object paramName : pathParamOrder.getKeys()) {
-            String argumentValue = resourceArgumentValues.getMap().get(paramName.toString());
+            String argumentValue = resourceArgumentValues.get(paramName.toString());
             try {
                 argumentValue = URLDecoder.decode(argumentValue, "UTF-8");
             } catch (UnsupportedEncodingException e) {
@@ -256,7 +257,14 @@ public class HttpDispatcher {
         return null;
     }
 
-    private static Object getRecordEntity(BObject inRequestEntity, Type entityBodyType) {
+    private static Object getRecordEntity(BObject inRequestEntity, Type entityBodyType) throws IOException {
+        if (JsonUtils.canParseAs(entityBodyType)) {
+            // Bind the record straight from the payload, and keep the payload as bytes for the other accessors.
+            BArray blobDataSource = EntityBodyHandler.constructBlobDataSource(inRequestEntity);
+            EntityBodyHandler.addMessageDataSource(inRequestEntity, blobDataSource);
+            return EntityBodyHandler.constructJsonDataSource(
+                    inRequestEntity, new ByteArrayInputStream(blobDataSource.getBytes()), entityBodyType);
+        }
         Object result = getRecord(entityBodyType, getBJsonValue(inRequestEntity));
         if (result instanceof BError) {
             throw (BError) result;
@@ -28,13 +28,36 @@ import java.util.Map;
  */
 public class HttpResourceArguments {
 
-    private Map<String, String> resourceArgumentValues = new HashMap<>();
+    // Created when the first argument is added, as most requests do not have any
+    private Map<String, String> resourceArgumentValues;
 
     public HttpResourceArguments() {
-        resourceArgumentValues = new HashMap<>();
     }
 
     public Map<String, String> getMap() {
+        if (resourceArgumentValues == null) {
+            resourceArgumentValues = new HashMap<>();
+        }
         return resourceArgumentValues;
     }
+
+    /**
+     * Get the value of an argument.
+     *
+     * @param name name of the argument
+     * @return the value of the argument, or null if it is not set
+     */
+    public String get(String name) {
+        return resourceArgumentValues == null ? null : resourceArgumentValues.get(name);
+    }
+
+    /**
+     * Set the value of an argument.
+     *
+     * @param name  name of the argument
+     * @param value value of the argument
+     */
+    public void put(String name, String value) {
+        getMap().put(name, value);
+    }
 }
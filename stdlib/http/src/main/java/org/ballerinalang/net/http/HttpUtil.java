@@ -18,7 +18,6 @@
 
 package org.ballerinalang.net.http;
 
-import io.ballerina.runtime.internal.JSONGenerator;
 import io.ballerina.runtime.api.BErrorCreator;
 import io.ballerina.runtime.api.BStringUtils;
 import io.ballerina.runtime.api.runtime.Module;
@@ -724,10 +723,10 @@ public class HttpUtil {
                               BStringUtils.fromString(inboundRequestMsg.getHttpVersion()));
         HttpResourceArguments resourceArgValues = (HttpResourceArguments) inboundRequestMsg.getProperty(
                 HttpConstants.RESOURCE_ARGS);
-        if (resourceArgValues != null && resourceArgValues.getMap().get(HttpConstants.EXTRA_PATH_INFO) != null) {
+        if (resourceArgValues != null && resourceArgValues.get(HttpConstants.EXTRA_PATH_INFO) != null) {
             inboundRequestObj.set(
                     HttpConstants.REQUEST_EXTRA_PATH_INFO_FIELD, BStringUtils.fromString(
-                            resourceArgValues.getMap().get(HttpConstants.EXTRA_PATH_INFO)));
+                            resourceArgValues.get(HttpConstants.EXTRA_PATH_INFO)));
         }
     }
 
@@ -1461,10 +1460,27 @@ public class HttpUtil {
      */
     public static void serializeDataSource(Object outboundMessageSource, BObject entity,
                                            OutputStream messageOutputStream) throws IOException {
+        serializeDataSource(outboundMessageSource, entity, null, messageOutputStream);
+    }
+
+    /**
+     * Serialize outbound message. A JSON payload is written straight into the content of the given message,
+     * instead of going through the output stream.
+     *
+     * @param outboundMessageSource Represent the outbound message datasource
+     * @param entity                Represent the entity of the outbound message
+     * @param outboundMessage       Represent the outbound message, or null to write JSON to the output stream
+     * @param messageOutputStream   Represent the output stream
+     * @throws IOException In case an error occurs while writing to output stream
+     */
+    public static void serializeDataSource(Object outboundMessageSource, BObject entity,
+                                           HttpCarbonMessage outboundMessage, OutputStream messageOutputStream)
+            throws IOException {
         if (MimeUtil.generateAsJSON(outboundMessageSource, entity)) {
-            JSONGenerator gen = new JSONGenerator(messageOutputStream);
-            gen.serialize(outboundMessageSource);
-            gen.flush();
+            JsonByteBufWriter writer = outboundMessage != null ? new JsonByteBufWriter(outboundMessage) :
+                    new JsonByteBufWriter(messageOutputStream);
+            writer.serialize(outboundMessageSource);
+            writer.flush();
         } else {
             serialize(outboundMessageSource, messageOutputStream);
         }
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.net.http;
+
+import io.ballerina.runtime.api.TypeTags;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BStreamingJson;
+import io.ballerina.runtime.api.values.BString;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.handler.codec.http.DefaultHttpContent;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes JSON values as UTF-8 straight into pooled Netty buffers. The characters are encoded once, instead of
+ * going through a writer and an output stream, and the encoded names of the fields of record types are reused
+ * across messages.
+ * <p>
+ * A buffer is handed over to the outbound message as soon as it is full, so a large payload does not have to be
+ * kept in memory as a whole. The output is the same as the one of the JSON generator of the runtime, except that
+ * records are written out as objects and the charset is always UTF-8.
+ *
+ * @since 2.0.0
+ */
+public class JsonByteBufWriter {
+
+    private static final int CHUNK_SIZE = 8192;
+    // Enough room for any single code point or escape sequence
+    private static final int MAX_SEQUENCE_LENGTH = 4;
+
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SEPARATOR = ", ".getBytes(StandardCharsets.US_ASCII);
+
+    // A string is escaped only if it has one of these, and then '/' and '\f' are escaped as well.
+    private static final boolean[] ESCAPE_TRIGGERS = new boolean[128];
+    private static final byte[] ESCAPES = new byte[128];
+
+    static {
+        for (char ch : new char[]{'"', '\\', '\b', '\n', '\r', '\t'}) {
+            ESCAPE_TRIGGERS[ch] = true;
+        }
+        ESCAPES['"'] = '"';
+        ESCAPES['\\'] = '\\';
+        ESCAPES['/'] = '/';
+        ESCAPES['\b'] = 'b';
+        ESCAPES['\n'] = 'n';
+        ESCAPES['\r'] = 'r';
+        ESCAPES['\f'] = 'f';
+        ESCAPES['\t'] = 't';
+    }
+
+    // Encoded "name": of the declared fields of the most recently written record types. The cache is direct mapped
+    // on the identity of the type, so it stays bounded when types are created at runtime, and a type which maps to
+    // an occupied slot replaces the previous one.
+    private static final int RECORD_FIELD_NAMES_SIZE = 256;
+    private static final RecordFieldNames[] RECORD_FIELD_NAMES = new RecordFieldNames[RECORD_FIELD_NAMES_SIZE];
+
+    private final ByteBufAllocator allocator;
+    private final HttpCarbonMessage message;
+    private final OutputStream outputStream;
+    private ByteBuf buffer;
+
+    /**
+     * Creates a writer which adds the serialized value to the content of the given message.
+     *
+     * @param message outbound message
+     */
+    public JsonByteBufWriter(HttpCarbonMessage message) {
+        this(PooledByteBufAllocator.DEFAULT, message, null);
+    }
+
+    /**
+     * Creates a writer which writes the serialized value to the given output stream.
+     *
+     * @param outputStream output stream
+     */
+    public JsonByteBufWriter(OutputStream outputStream) {
+        this(PooledByteBufAllocator.DEFAULT, null, outputStream);
+    }
+
+    JsonByteBufWriter(ByteBufAllocator allocator, HttpCarbonMessage message, OutputStream outputStream) {
+        this.allocator = allocator;
+        this.message = message;
+        this.outputStream = outputStream;
+    }
+
+    /**
+     * Serializes a JSON value. The last part of it stays in the writer until it is flushed.
+     *
+     * @param json JSON value
+     * @throws IOException if writing to the output stream fails
+     */
+    public void serialize(Object json) throws IOException {
+        try {
+            writeValue(json);
+        } catch (IOException | RuntimeException e) {
+            release();
+            throw e;
+        }
+    }
+
+    /**
+     * Hands the data which is still in the writer over to the message or the output stream.
+     *
+     * @throws IOException if writing to the output stream fails
+     */
+    public void flush() throws IOException {
+        ByteBuf remaining = buffer;
+        buffer = null;
+        if (remaining == null) {
+            return;
+        }
+        if (remaining.isReadable()) {
+            emit(remaining);
+        } else {
+            remaining.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeValue(Object json) throws IOException {
+        if (json == null) {
+            writeBytes(NULL);
+            return;
+        }
+        Type type = TypeUtils.getType(json);
+        switch (type.getTag()) {
+            case TypeTags.ARRAY_TAG:
+            case TypeTags.TUPLE_TAG:
+                if (json instanceof BStreamingJson) {
+                    writeStreamingJson((BStreamingJson) json);
+                    break;
+                }
+                writeArray((BArray) json);
+                break;
+            case TypeTags.BOOLEAN_TAG:
+                writeBytes((Boolean) json ? TRUE : FALSE);
+                break;
+            case TypeTags.FLOAT_TAG:
+                writeAscii(Double.toString(((Number) json).doubleValue()));
+                break;
+            case TypeTags.DECIMAL_TAG:
+                writeAscii(((BDecimal) json).value().toString());
+                break;
+            case TypeTags.INT_TAG:
+            case TypeTags.BYTE_TAG:
+                writeAscii(Long.toString(((Number) json).longValue()));
+                break;
+            case TypeTags.MAP_TAG:
+            case TypeTags.JSON_TAG:
+                writeObject((BMap<BString, Object>) json, Collections.emptyMap());
+                break;
+            case TypeTags.RECORD_TYPE_TAG:
+                writeObject((BMap<BString, Object>) json, getFieldNames((RecordType) type));
+                break;
+            case TypeTags.STRING_TAG:
+                writeString(json.toString());
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void writeArray(BArray array) throws IOException {
+        writeByte('[');
+        int size = array.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                writeBytes(SEPARATOR);
+            }
+            writeValue(array.get(i));
+        }
+        writeByte(']');
+    }
+
+    private void writeObject(BMap<BString, Object> map, Map<String, byte[]> encodedFieldNames) throws IOException {
+        writeByte('{');
+        boolean first = true;
+        for (Map.Entry<BString, Object> entry : map.entrySet()) {
+            if (!first) {
+                writeBytes(SEPARATOR);
+            }
+            first = false;
+            String fieldName = entry.getKey().getValue();
+            byte[] encodedFieldName = encodedFieldNames.get(fieldName);
+            if (encodedFieldName != null) {
+                writeBytes(encodedFieldName);
+            } else {
+                writeString(fieldName);
+                writeByte(':');
+            }
+            writeValue(entry.getValue());
+        }
+        writeByte('}');
+    }
+
+    private void writeStreamingJson(BStreamingJson json) throws IOException {
+        // A streaming value is written through the runtime, since its members are only available to it.
+        ByteBuf target = ensureWritable(CHUNK_SIZE);
+        json.serialize(new ByteBufOutputStream(target));
+        if (target.readableBytes() >= CHUNK_SIZE) {
+            emit(target);
+            buffer = null;
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        int length = value.length();
+        boolean escape = false;
+        for (int i = 0; i < length; i++) {
+            char ch = value.charAt(i);
+            if (ch < ESCAPE_TRIGGERS.length && ESCAPE_TRIGGERS[ch]) {
+                escape = true;
+                break;
+            }
+        }
+
+        writeByte('"');
+        if (!escape && (long) length * 3 <= CHUNK_SIZE) {
+            ByteBuf target = ensureWritable(length * 3);
+            ByteBufUtil.writeUtf8(target, value);
+        } else {
+            writeChars(value, escape);
+        }
+        writeByte('"');
+    }
+
+    /**
+     * Encodes the given string char by char, which lets the string span multiple buffers. An unpaired surrogate is
+     * written as '?', like the UTF-8 encoder of the JDK does.
+     */
+    private void writeChars(String value, boolean escape) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            ByteBuf target = ensureWritable(MAX_SEQUENCE_LENGTH);
+            char ch = value.charAt(i);
+            if (ch < 0x80) {
+                if (escape && ESCAPES[ch] != 0) {
+                    target.writeByte('\\');
+                    target.writeByte(ESCAPES[ch]);
+                } else {
+                    target.writeByte(ch);
+                }
+            } else if (ch < 0x800) {
+                target.writeByte(0xc0 | (ch >> 6));
+                target.writeByte(0x80 | (ch & 0x3f));
+            } else if (!Character.isSurrogate(ch)) {
+                target.writeByte(0xe0 | (ch >> 12));
+                target.writeByte(0x80 | ((ch >> 6) & 0x3f));
+                target.writeByte(0x80 | (ch & 0x3f));
+            } else if (Character.isHighSurrogate(ch) && i + 1 < length &&
+                    Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+                target.writeByte(0xf0 | (codePoint >> 18));
+                target.writeByte(0x80 | ((codePoint >> 12) & 0x3f));
+                target.writeByte(0x80 | ((codePoint >> 6) & 0x3f));
+                target.writeByte(0x80 | (codePoint & 0x3f));
+            } else {
+                target.writeByte('?');
+            }
+        }
+    }
+
+    private void writeAscii(String value) throws IOException {
+        ByteBuf target = ensureWritable(value.length());
+        ByteBufUtil.writeAscii(target, value);
+    }
+
+    private void writeByte(char ch) throws IOException {
+        ensureWritable(1).writeByte(ch);
+    }
+
+    private void writeBytes(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            ByteBuf target = ensureWritable(1);
+            int count = Math.min(target.writableBytes(), bytes.length - offset);
+            target.writeBytes(bytes, offset, count);
+            offset += count;
+        }
+    }
+
+    /**
+     * Returns the current buffer if it has room for the given number of bytes, and hands it over otherwise.
+     */
+    private ByteBuf ensureWritable(int size) throws IOException {
+        ByteBuf current = buffer;
+        if (current != null) {
+            if (current.writableBytes() >= size) {
+                return current;
+            }
+            buffer = null;
+            emit(current);
+        }
+        current = allocator.directBuffer(Math.max(CHUNK_SIZE, size));
+        buffer = current;
+        return current;
+    }
+
+    private void emit(ByteBuf content) throws IOException {
+        if (message != null) {
+            message.addHttpContent(new DefaultHttpContent(content));
+            return;
+        }
+        try {
+            content.readBytes(outputStream, content.readableBytes());
+        } finally {
+            content.release();
+        }
+    }
+
+    private void release() {
+        if (buffer != null) {
+            buffer.release();
+            buffer = null;
+        }
+    }
+
+    private static Map<String, byte[]> getFieldNames(RecordType recordType) {
+        int slot = System.identityHashCode(recordType) & (RECORD_FIELD_NAMES_SIZE - 1);
+        RecordFieldNames cached = RECORD_FIELD_NAMES[slot];
+        if (cached != null && cached.recordType == recordType) {
+            return cached.fieldNames;
+        }
+        Map<String, byte[]> fieldNames = new HashMap<>();
+        for (String fieldName : recordType.getFields().keySet()) {
+            fieldNames.put(fieldName, encodeFieldName(fieldName));
+        }
+        // Racing writers may replace each other's entries, which only costs encoding the names again.
+        RECORD_FIELD_NAMES[slot] = new RecordFieldNames(recordType, fieldNames);
+        return fieldNames;
+    }
+
+    private static byte[] encodeFieldName(String fieldName) {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream(fieldName.length() + 3);
+        try {
+            JsonByteBufWriter writer = new JsonByteBufWriter(UnpooledByteBufAllocator.DEFAULT, null, encoded);
+            writer.writeString(fieldName);
+            writer.writeByte(':');
+            writer.flush();
+        } catch (IOException e) {
+            // Not thrown by a byte array output stream
+            throw new IllegalStateException(e);
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Encoded field names of a record type. The fields are final, so an entry read through a data race is always
+     * complete.
+     */
+    private static class RecordFieldNames {
+
+        final RecordType recordType;
+        final Map<String, byte[]> fieldNames;
+
+        RecordFieldNames(RecordType recordType, Map<String, byte[]> fieldNames) {
+            this.recordType = recordType;
+            this.fieldNames = fieldNames;
+        }
+    }
+}
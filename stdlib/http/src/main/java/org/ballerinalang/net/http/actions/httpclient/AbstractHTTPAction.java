@@ -347,7 +347,7 @@ public abstract class AbstractHTTPAction {
                 if (boundaryString != null) {
                     serializeMultiparts(entityObj, messageOutputStream, boundaryString);
                 } else {
-                    serializeDataSource(entityObj, messageOutputStream);
+                    serializeDataSource(entityObj, outboundRequestMsg, messageOutputStream);
                 }
             }
         } catch (IOException | EncoderException serializerException) {
@@ -389,7 +389,7 @@ public abstract class AbstractHTTPAction {
         if (bodyParts != null && bodyParts.size() > 0) {
             serializeMultipartDataSource(messageOutputStream, boundaryString, entityObj);
         } else { //If the content is in a byte channel
-            serializeDataSource(entityObj, messageOutputStream);
+            serializeDataSource(entityObj, null, messageOutputStream);
         }
     }
 
@@ -407,11 +407,11 @@ public abstract class AbstractHTTPAction {
         HttpUtil.closeMessageOutputStream(messageOutputStream);
     }
 
-    private static void serializeDataSource(BObject entityObj, OutputStream messageOutputStream)
-            throws IOException {
+    private static void serializeDataSource(BObject entityObj, HttpCarbonMessage outboundRequestMsg,
+                                            OutputStream messageOutputStream) throws IOException {
         Object messageDataSource = EntityBodyHandler.getMessageDataSource(entityObj);
         if (messageDataSource != null) {
-            HttpUtil.serializeDataSource(messageDataSource, entityObj, messageOutputStream);
+            HttpUtil.serializeDataSource(messageDataSource, entityObj, outboundRequestMsg, messageOutputStream);
             HttpUtil.closeMessageOutputStream(messageOutputStream);
         } else if (EntityBodyHandler.getByteChannel(entityObj) != null) {
             //When the entity body is a byte channel and when it is not null
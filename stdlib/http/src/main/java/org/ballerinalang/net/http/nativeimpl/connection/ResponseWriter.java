@@ -79,7 +79,7 @@ public class ResponseWriter {
                 serializeMultiparts(boundaryString, entityObj, messageOutputStream);
             } else {
                 Object outboundMessageSource = EntityBodyHandler.getMessageDataSource(entityObj);
-                serializeDataSource(outboundMessageSource, entityObj, messageOutputStream);
+                serializeDataSource(outboundMessageSource, entityObj, responseMessage, messageOutputStream);
             }
         }
     }
@@ -119,9 +119,22 @@ public class ResponseWriter {
      */
     static void serializeDataSource(Object outboundMessageSource, BObject entity,
                                     OutputStream messageOutputStream) {
+        serializeDataSource(outboundMessageSource, entity, null, messageOutputStream);
+    }
+
+    /**
+     * Serialize message datasource, writing a JSON payload straight into the content of the outbound message.
+     *
+     * @param outboundMessageSource Outbound message datasource that needs to be serialized
+     * @param entity                Represents the entity that holds headers and body content
+     * @param outboundMessage       Represents the outbound message, or null to write JSON to the output stream
+     * @param messageOutputStream   Represents the output stream
+     */
+    static void serializeDataSource(Object outboundMessageSource, BObject entity, HttpCarbonMessage outboundMessage,
+                                    OutputStream messageOutputStream) {
         try {
             if (outboundMessageSource != null) {
-                HttpUtil.serializeDataSource(outboundMessageSource, entity, messageOutputStream);
+                HttpUtil.serializeDataSource(outboundMessageSource, entity, outboundMessage, messageOutputStream);
                 HttpUtil.closeMessageOutputStream(messageOutputStream);
             } else { //When the entity body is a byte channel
                 EntityBodyHandler.writeByteChannelToOutputStream(entity, messageOutputStream);
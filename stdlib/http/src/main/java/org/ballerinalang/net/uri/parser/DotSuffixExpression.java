@@ -39,45 +39,60 @@ public class DotSuffixExpression<DataType, InboundMsgType> extends SimpleStringE
     }
 
     @Override
-    int match(String uriFragment, HttpResourceArguments variables) {
-        String pathSegment = uriFragment;
-        if (uriFragment.contains(URIUtil.URI_PATH_DELIMITER)) {
-            pathSegment = uriFragment.substring(0, uriFragment.indexOf(URIUtil.URI_PATH_DELIMITER));
+    int match(String uri, int start, HttpResourceArguments variables) {
+        int pathSegmentEnd = uri.indexOf(URIUtil.URI_PATH_DELIMITER, start);
+        if (pathSegmentEnd < 0) {
+            pathSegmentEnd = uri.length();
         }
-        String[] subSegments = pathSegment.split("\\.");
 
-        int endCharacterCount = subSegments.length - 1;
+        int endCharacterCount = countSubSegments(uri, start, pathSegmentEnd) - 1;
         int dotSegmentCounter = 0;
-        int length = uriFragment.length();
+        int length = uri.length();
 
-        for (int i = 0; i < length; i++) {
-            char ch = uriFragment.charAt(i);
+        for (int i = start; i < length; i++) {
+            char ch = uri.charAt(i);
             if (isEndCharacter(ch)) {
                 dotSegmentCounter++;
                 if (dotSegmentCounter != endCharacterCount) {
                     continue;
                 }
 
-                if (!setVariables(uriFragment.substring(0, i), variables)) {
+                if (!setVariables(uri, start, i, variables)) {
                     return -1;
                 }
-                return i;
+                return i - start;
             } else if (i == length - 1) {
-                if (!setVariables(uriFragment, variables)) {
+                if (!setVariables(uri, start, length, variables)) {
                     return -1;
                 }
-                return length;
+                return length - start;
             }
         }
         return 0;
     }
 
-    protected boolean isEndCharacter(Character endCharacter) {
-        for (Node childNode : childNodesList) {
-            if (endCharacter == childNode.getFirstCharacter() && endCharacter == URIUtil.DOT_SEGMENT) {
-                return true;
+    protected boolean isEndCharacter(char endCharacter) {
+        return endCharacter == URIUtil.DOT_SEGMENT && hasLiteralChildStartingWith(endCharacter);
+    }
+
+    /**
+     * Counts the dot separated sub segments of a path segment the way {@link String#split(String)} does, which drops
+     * the trailing empty sub segments.
+     */
+    private static int countSubSegments(String uri, int start, int end) {
+        if (start == end) {
+            return 1;
+        }
+        int lastEnd = end;
+        while (lastEnd > start && uri.charAt(lastEnd - 1) == URIUtil.DOT_SEGMENT) {
+            lastEnd--;
+        }
+        int count = lastEnd == start ? 0 : 1;
+        for (int i = start; i < lastEnd; i++) {
+            if (uri.charAt(i) == URIUtil.DOT_SEGMENT) {
+                count++;
             }
         }
-        return false;
+        return count;
     }
 }
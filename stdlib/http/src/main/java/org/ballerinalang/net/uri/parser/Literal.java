@@ -33,6 +33,7 @@ import java.util.Map;
 public class Literal<DataType, InboundMsgType> extends Node<DataType, InboundMsgType> {
 
     private int tokenLength;
+    private boolean wildcardSuffix;
 
     public Literal(DataElement<DataType, InboundMsgType> dataElement, String token) throws URITemplateException {
         super(dataElement, token);
@@ -40,6 +41,7 @@ public class Literal<DataType, InboundMsgType> extends Node<DataType, InboundMsg
         if (tokenLength == 0) {
             throw new URITemplateException("Invalid literal token with zero length");
         }
+        wildcardSuffix = token.endsWith("*");
     }
 
     @Override
@@ -48,37 +50,22 @@ public class Literal<DataType, InboundMsgType> extends Node<DataType, InboundMsg
     }
 
     @Override
-    int match(String uriFragment, HttpResourceArguments variables) {
-        if (!token.endsWith("*")) {
-            if (uriFragment.length() < tokenLength) {
+    int match(String uri, int start, HttpResourceArguments variables) {
+        int fragmentLength = uri.length() - start;
+        if (!wildcardSuffix) {
+            if (fragmentLength < tokenLength || !uri.startsWith(token, start)) {
                 return -1;
             }
-            for (int i = 0; i < tokenLength; i++) {
-                if (token.charAt(i) != uriFragment.charAt(i)) {
-                    if (token.charAt(i) == '*' && i == token.length() - 1) {
-                        return uriFragment.length();
-                    }
-                    return -1;
-                }
-            }
             //special case request urls which contains only the root("/") to be dispatched to default resource("/*").
-            if (uriFragment.equals("/") && uriFragment.equals(token) && !this.dataElement.hasData()) {
+            if (fragmentLength == 1 && "/".equals(token) && !this.dataElement.hasData()) {
                 return 0;
             }
             return tokenLength;
         } else {
-            if (uriFragment.length() < tokenLength - 1) {
+            if (fragmentLength < tokenLength - 1 || !uri.regionMatches(start, token, 0, tokenLength - 1)) {
                 return -1;
             }
-            for (int i = 0; i < tokenLength - 1; i++) {
-                if (token.charAt(i) != uriFragment.charAt(i)) {
-                    if (i == token.length() - 1) {
-                        return uriFragment.length();
-                    }
-                    return -1;
-                }
-            }
-            return uriFragment.length();
+            return fragmentLength;
         }
     }
 
@@ -22,7 +22,8 @@ import org.ballerinalang.net.http.HttpConstants;
 import org.ballerinalang.net.http.HttpResourceArguments;
 import org.ballerinalang.net.uri.URITemplateException;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -36,7 +37,9 @@ public abstract class Node<DataType, InboundMsgType> {
 
     protected String token;
     DataElement<DataType, InboundMsgType> dataElement;
-    List<Node<DataType, InboundMsgType>> childNodesList = new LinkedList<>();
+    List<Node<DataType, InboundMsgType>> childNodesList = new ArrayList<>();
+    // Rebuilt when a child is added, so matching always sees a complete index
+    private volatile ChildIndex<DataType, InboundMsgType> childIndex = new ChildIndex<>(childNodesList);
 
     protected Node(DataElement<DataType, InboundMsgType> dataElement, String token) {
         this.dataElement = dataElement;
@@ -58,72 +61,95 @@ public abstract class Node<DataType, InboundMsgType> {
         }
 
         childNodesList.sort((o1, o2) -> getIntValue(o2) - getIntValue(o1));
+        childIndex = new ChildIndex<>(childNodesList);
 
         return node;
     }
 
-    public boolean matchAll(String uriFragment, HttpResourceArguments variables, int start, InboundMsgType inboundMsg,
+    /**
+     * Matches the part of the uri starting from the given offset against this node and its children. The uri is
+     * not split into fragments; all the nodes work on offsets into it.
+     *
+     * @param uri             uri to be matched
+     * @param variables       holder of the path params found on the way
+     * @param start           offset of the uri fragment to be matched by this node
+     * @param inboundMsg      inbound message
+     * @param dataReturnAgent holder of the data of the matching node
+     * @return true if a matching node is found
+     */
+    public boolean matchAll(String uri, HttpResourceArguments variables, int start, InboundMsgType inboundMsg,
                             DataReturnAgent<DataType> dataReturnAgent) {
-        int matchLength = match(uriFragment, variables);
+        int matchLength = match(uri, start, variables);
         if (matchLength < 0) {
             return false;
         }
-        if (matchLength == uriFragment.length()) {
+        int fragmentLength = uri.length() - start;
+        if (matchLength == fragmentLength) {
             return dataElement.getData(inboundMsg, dataReturnAgent);
         }
-        if (matchLength >= uriFragment.length()) {
+        if (matchLength >= fragmentLength) {
             return false;
         }
-        String subUriFragment = nextURIFragment(uriFragment, matchLength);
-        String subPath = nextSubPath(subUriFragment);
+        int subFragmentStart = nextURIFragment(uri, start, matchLength);
+        int subPathEnd = uri.indexOf('/', subFragmentStart);
+        if (subPathEnd < 0) {
+            subPathEnd = uri.length();
+        }
 
-        boolean isFound;
-        for (Node<DataType, InboundMsgType> childNode : childNodesList) {
+        List<Node<DataType, InboundMsgType>> candidates = childIndex.getCandidates(uri, subFragmentStart, subPathEnd);
+        for (int i = 0; i < candidates.size(); i++) {
+            Node<DataType, InboundMsgType> childNode = candidates.get(i);
             if (childNode instanceof Literal) {
-                String regex = childNode.getToken();
-                if (regex.equals("*")) {
-                    regex = "." + regex;
-                    if (!subPath.matches(regex)) {
-                        continue;
-                    }
-                    isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
-                                                 dataReturnAgent);
-                    if (isFound) {
-                        setUriPostFix(variables, subUriFragment);
+                String literal = childNode.getToken();
+                if (literal.equals("*")) {
+                    if (childNode.matchAll(uri, variables, subFragmentStart, inboundMsg, dataReturnAgent)) {
+                        setUriPostFix(variables, uri, subFragmentStart);
                         return true;
                     }
                     continue;
                 }
-                if (!subPath.contains(regex)) {
+                if (!containsLiteral(uri, subFragmentStart, subPathEnd, literal)) {
                     continue;
                 }
-                isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
-                                             dataReturnAgent);
-                if (isFound) {
-                    return true;
-                }
-                continue;
             }
-            isFound = childNode.matchAll(subUriFragment, variables, start + matchLength, inboundMsg,
-                                         dataReturnAgent);
-            if (isFound) {
+            if (childNode.matchAll(uri, variables, subFragmentStart, inboundMsg, dataReturnAgent)) {
                 return true;
             }
         }
         return false;
     }
 
+    /**
+     * Checks whether any of the children is a literal starting with the given character.
+     *
+     * @param ch character
+     * @return true if there is such a literal child
+     */
+    boolean hasLiteralChildStartingWith(char ch) {
+        return childIndex.hasLiteralStartingWith(ch);
+    }
+
     private boolean hasDataElement(DataElement<DataType, InboundMsgType> dataElement) {
         return dataElement != null && dataElement.hasData();
     }
 
-    private void setUriPostFix(HttpResourceArguments variables, String subUriFragment) {
-        variables.getMap().putIfAbsent(HttpConstants.EXTRA_PATH_INFO, "/" + subUriFragment);
+    private void setUriPostFix(HttpResourceArguments variables, String uri, int subFragmentStart) {
+        if (variables.get(HttpConstants.EXTRA_PATH_INFO) == null) {
+            variables.put(HttpConstants.EXTRA_PATH_INFO, "/".concat(uri.substring(subFragmentStart)));
+        }
     }
 
     abstract String expand(Map<String, String> variables);
 
-    abstract int match(String uriFragment, HttpResourceArguments variables);
+    /**
+     * Matches the start of the uri fragment beginning at the given offset.
+     *
+     * @param uri       uri to be matched
+     * @param start     offset of the uri fragment
+     * @param variables holder of the path params
+     * @return the number of characters matched, or -1 if the fragment does not match
+     */
+    abstract int match(String uri, int start, HttpResourceArguments variables);
 
     abstract String getToken();
 
@@ -177,29 +203,76 @@ public abstract class Node<DataType, InboundMsgType> {
         }
     }
 
-    private String nextURIFragment(String uri, int matchLength) {
-        String uriFragment = uri;
-        if (uriFragment.startsWith("/")) {
-            uriFragment = uriFragment.substring(matchLength);
-        } else if (uriFragment.contains("/")) {
-            if (uriFragment.charAt(matchLength) == '/') {
-                uriFragment = uriFragment.substring(matchLength + 1);
-            } else {
-                uriFragment = uriFragment.substring(matchLength);
-            }
-        } else {
-            uriFragment = uriFragment.substring(matchLength);
+    private int nextURIFragment(String uri, int start, int matchLength) {
+        int next = start + matchLength;
+        if (uri.charAt(start) != '/' && uri.charAt(next) == '/') {
+            return next + 1;
         }
-        return uriFragment;
+        return next;
     }
 
-    private String nextSubPath(String uriFragment) {
-        String subPath;
-        if (uriFragment.contains("/")) {
-            subPath = uriFragment.substring(0, uriFragment.indexOf("/"));
-        } else {
-            subPath = uriFragment;
+    private static boolean containsLiteral(String uri, int subPathStart, int subPathEnd, String literal) {
+        int index = uri.indexOf(literal, subPathStart);
+        return index >= 0 && index + literal.length() <= subPathEnd;
+    }
+
+    /**
+     * Children of a node, indexed by the first character of the literals among them. A literal other than the
+     * wildcard can only match a path segment which starts with its first character, so only the literals that
+     * share the first character of the segment are tried, along with the expressions and the wildcard. The
+     * candidates keep the order of the children.
+     *
+     * @param <DataType> Type of data which should be stored in the node.
+     * @param <InboundMsgType> Inbound message type for additional checks.
+     */
+    private static class ChildIndex<DataType, InboundMsgType> {
+
+        private final char[] literalFirstChars;
+        private final List<List<Node<DataType, InboundMsgType>>> literalCandidates;
+        private final List<Node<DataType, InboundMsgType>> otherCandidates;
+
+        ChildIndex(List<Node<DataType, InboundMsgType>> children) {
+            StringBuilder firstChars = new StringBuilder();
+            otherCandidates = new ArrayList<>();
+            for (Node<DataType, InboundMsgType> child : children) {
+                if (isIndexed(child)) {
+                    char firstChar = child.getFirstCharacter();
+                    if (firstChars.indexOf(String.valueOf(firstChar)) < 0) {
+                        firstChars.append(firstChar);
+                    }
+                } else {
+                    otherCandidates.add(child);
+                }
+            }
+            literalFirstChars = firstChars.toString().toCharArray();
+            Arrays.sort(literalFirstChars);
+
+            literalCandidates = new ArrayList<>(literalFirstChars.length);
+            for (char firstChar : literalFirstChars) {
+                List<Node<DataType, InboundMsgType>> candidates = new ArrayList<>();
+                for (Node<DataType, InboundMsgType> child : children) {
+                    if (!isIndexed(child) || child.getFirstCharacter() == firstChar) {
+                        candidates.add(child);
+                    }
+                }
+                literalCandidates.add(candidates);
+            }
+        }
+
+        List<Node<DataType, InboundMsgType>> getCandidates(String uri, int subPathStart, int subPathEnd) {
+            if (subPathStart == subPathEnd) {
+                return otherCandidates;
+            }
+            int index = Arrays.binarySearch(literalFirstChars, uri.charAt(subPathStart));
+            return index < 0 ? otherCandidates : literalCandidates.get(index);
+        }
+
+        boolean hasLiteralStartingWith(char ch) {
+            return Arrays.binarySearch(literalFirstChars, ch) >= 0;
+        }
+
+        private static boolean isIndexed(Node<?, ?> child) {
+            return child instanceof Literal && !child.getToken().equals("*");
         }
-        return subPath;
     }
 }
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.services.dispatching;
+
+import org.ballerinalang.net.http.BasePathTrie;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test cases for finding the base path of a request with {@link BasePathTrie}.
+ */
+public class BasePathTrieTest {
+
+    @Test
+    public void testMostSpecificBasePath() {
+        BasePathTrie trie = BasePathTrie.EMPTY.with("/hello").with("/hello/world").with("/help").with("/");
+
+        Assert.assertEquals(trie.findMostSpecific("/hello"), "/hello");
+        Assert.assertEquals(trie.findMostSpecific("/hello/"), "/hello");
+        Assert.assertEquals(trie.findMostSpecific("/hello/there"), "/hello");
+        Assert.assertEquals(trie.findMostSpecific("/hello/world/again"), "/hello/world");
+        Assert.assertEquals(trie.findMostSpecific("/help"), "/help");
+        Assert.assertEquals(trie.findMostSpecific("/"), "/");
+        Assert.assertNull(trie.findMostSpecific("/hel"));
+        Assert.assertNull(trie.findMostSpecific("/helloworld"));
+        Assert.assertNull(trie.findMostSpecific("/other"));
+    }
+
+    @Test
+    public void testCaseInsensitiveMatch() {
+        BasePathTrie trie = BasePathTrie.EMPTY.with("/Orders").with("/orders/Items");
+
+        Assert.assertEquals(trie.findMostSpecific("/ORDERS"), "/Orders");
+        Assert.assertEquals(trie.findMostSpecific("/orders/42"), "/Orders");
+        Assert.assertEquals(trie.findMostSpecific("/Orders/items/1"), "/orders/Items");
+    }
+
+    @Test
+    public void testRemoveBasePath() {
+        BasePathTrie trie = BasePathTrie.EMPTY.with("/a").with("/a/b").with("/A");
+
+        Assert.assertEquals(trie.findMostSpecific("/a/b/c"), "/a/b");
+        trie = trie.without("/a/b");
+        Assert.assertEquals(trie.findMostSpecific("/a/b/c"), "/a");
+        trie = trie.without("/a");
+        Assert.assertEquals(trie.findMostSpecific("/a/b/c"), "/A");
+        Assert.assertNull(trie.without("/A").findMostSpecific("/a"));
+        Assert.assertEquals(trie.without("/missing"), trie);
+    }
+}
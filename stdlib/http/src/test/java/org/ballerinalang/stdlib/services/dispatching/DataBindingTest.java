@@ -240,7 +240,8 @@ public class DataBindingTest {
 
     @Test(expectedExceptions = BallerinaConnectorException.class,
           expectedExceptionsMessageRegExp = "data binding failed: error\\(\"\\{ballerina/lang.typedesc\\}" +
-                  "ConversionError\",message=\"'map<json>' value cannot be converted to 'Person'.*")
+                  "ConversionError\",message=\"'map<json>' value cannot be converted to 'Person': " +
+                  "field '\\$\\.team' is not defined in closed record 'Person'.*")
     public void testDataBindingStructWithNoMatchingContent() {
         HTTPTestRequest requestMsg = MessageUtils
                 .generateHTTPMessage("/echo/body6", "POST", "{'name':'WSO2', 'team':8}");
@@ -250,7 +251,8 @@ public class DataBindingTest {
 
     @Test(expectedExceptions = BallerinaConnectorException.class,
             expectedExceptionsMessageRegExp = "data binding failed: error\\(\"\\{ballerina/lang.typedesc\\}" +
-                    "ConversionError\",message=\"'map<json>' value cannot be converted to 'Stock'.*")
+                    "ConversionError\",message=\"'map<json>' value cannot be converted to 'Stock': " +
+                    "field '\\$\\.name' is not defined in closed record 'Stock'.*")
     public void testDataBindingStructWithInvalidTypes() {
         HTTPTestRequest requestMsg = MessageUtils
                 .generateHTTPMessage("/echo/body7", "POST", "{'name':'WSO2', 'team':8}");
@@ -260,7 +262,8 @@ public class DataBindingTest {
 
     @Test(expectedExceptions = BallerinaConnectorException.class,
           expectedExceptionsMessageRegExp = ".*data binding failed: error\\(\"\\{ballerina/lang" +
-                  ".typedesc\\}ConversionError\",message=\"'json\\[\\]' value cannot be converted to 'Person\\[\\]'.*")
+                  ".typedesc\\}ConversionError\",message=\"'json\\[\\]' value cannot be converted to " +
+                  "'Person\\[\\]': field '\\$\\[0\\]\\.team' is not defined in closed record 'Person'.*")
     public void testDataBindingWithRecordArrayNegative() {
         HTTPTestRequest requestMsg = MessageUtils.generateHTTPMessage("/echo/body8", "POST",
                   "[{'name':'wso2','team':12}, " + "{'lang':'ballerina','age':3}]");
@@ -0,0 +1,256 @@
+/*
+*  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+*
+*  WSO2 Inc. licenses this file to you under the Apache License,
+*  Version 2.0 (the "License"); you may not use this file except
+*  in compliance with the License.
+*  You may obtain a copy of the License at
+*
+*  http://www.apache.org/licenses/LICENSE-2.0
+*
+*  Unless required by applicable law or agreed to in writing,
+*  software distributed under the License is distributed on an
+*  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+*  KIND, either express or implied.  See the License for the
+*  specific language governing permissions and limitations
+*  under the License.
+*/
+package org.ballerinalang.stdlib.services.dispatching;
+
+import org.ballerinalang.net.http.HttpConstants;
+import org.ballerinalang.net.http.HttpResourceArguments;
+import org.ballerinalang.net.uri.URITemplate;
+import org.ballerinalang.net.uri.URITemplateException;
+import org.ballerinalang.net.uri.parser.DataElement;
+import org.ballerinalang.net.uri.parser.DataReturnAgent;
+import org.ballerinalang.net.uri.parser.Literal;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.UnsupportedEncodingException;
+
+/**
+ * Test class for matching request paths against the nodes of a {@link URITemplate}, without dispatching requests.
+ */
+public class URITemplateMatchTest {
+
+    @Test(description = "Test that a literal segment is preferred over a path param")
+    public void testLiteralPrecedence() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/foo/bar", "/foo/{id}", "/foo/barbaz");
+
+        Assert.assertEquals(match(template, "/foo/bar", new HttpResourceArguments()), "/foo/bar");
+        Assert.assertEquals(match(template, "/foo/barbaz", new HttpResourceArguments()), "/foo/barbaz");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/foo/ba", arguments), "/foo/{id}");
+        Assert.assertEquals(arguments.get("id"), "ba");
+    }
+
+    @Test(description = "Test literals which share the first character with each other and with the path")
+    public void testLiteralsWithSameFirstCharacter() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/abc", "/abd", "/xyz", "/{name}");
+
+        Assert.assertEquals(match(template, "/abc", new HttpResourceArguments()), "/abc");
+        Assert.assertEquals(match(template, "/abd", new HttpResourceArguments()), "/abd");
+        Assert.assertEquals(match(template, "/xyz", new HttpResourceArguments()), "/xyz");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/abe", arguments), "/{name}");
+        Assert.assertEquals(arguments.get("name"), "abe");
+    }
+
+    @Test(description = "Test that a literal which only matches part of a segment is not selected")
+    public void testLiteralPrefixOfSegment() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/foo/bar");
+
+        Assert.assertNull(match(template, "/foo/barbaz", new HttpResourceArguments()));
+        Assert.assertNull(match(template, "/foo/bar/baz", new HttpResourceArguments()));
+        Assert.assertNull(match(template, "/foo", new HttpResourceArguments()));
+    }
+
+    @Test(description = "Test several path params in a path")
+    public void testMultiplePathParams() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/orders/{orderId}/items/{itemId}");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/orders/15/items/abc", arguments), "/orders/{orderId}/items/{itemId}");
+        Assert.assertEquals(arguments.get("orderId"), "15");
+        Assert.assertEquals(arguments.get("itemId"), "abc");
+
+        Assert.assertNull(match(template, "/orders/15/items", new HttpResourceArguments()));
+        Assert.assertNull(match(template, "/orders/15/products/abc", new HttpResourceArguments()));
+    }
+
+    @Test(description = "Test decoding percent encoded path params")
+    public void testEncodedPathParams() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/users/{name}");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/users/john%20doe", arguments), "/users/{name}");
+        Assert.assertEquals(arguments.get("name"), "john doe");
+
+        arguments = new HttpResourceArguments();
+        match(template, "/users/a%2Bb", arguments);
+        Assert.assertEquals(arguments.get("name"), "a+b");
+
+        // A '+' is not a space in a path
+        arguments = new HttpResourceArguments();
+        match(template, "/users/a+b", arguments);
+        Assert.assertEquals(arguments.get("name"), "a+b");
+
+        arguments = new HttpResourceArguments();
+        match(template, "/users/a+b%20c", arguments);
+        Assert.assertEquals(arguments.get("name"), "a+b c");
+
+        arguments = new HttpResourceArguments();
+        match(template, "/users/%E0%B6%9A", arguments);
+        Assert.assertEquals(arguments.get("name"), "\u0D9A");
+    }
+
+    @Test(description = "Test that a path param which occurs twice must have the same value")
+    public void testRepeatedPathParam() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/{id}/copy/{id}");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/a%20b/copy/a%20b", arguments), "/{id}/copy/{id}");
+        Assert.assertEquals(arguments.get("id"), "a b");
+
+        Assert.assertNull(match(template, "/a/copy/b", new HttpResourceArguments()));
+    }
+
+    @Test(description = "Test path params with a dot suffix")
+    public void testDotSuffixPathParams() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/files/{name}.json", "/files/{name}.xml",
+                                                              "/files/{name}", "/files/{name}.json/meta");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/report.json", arguments), "/files/{name}.json");
+        Assert.assertEquals(arguments.get("name"), "report");
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/report.xml", arguments), "/files/{name}.xml");
+        Assert.assertEquals(arguments.get("name"), "report");
+
+        // Only the last dot separates the suffix
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/report.v1.json", arguments), "/files/{name}.json");
+        Assert.assertEquals(arguments.get("name"), "report.v1");
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/report..json", arguments), "/files/{name}.json");
+        Assert.assertEquals(arguments.get("name"), "report.");
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/r%20x.json", arguments), "/files/{name}.json");
+        Assert.assertEquals(arguments.get("name"), "r x");
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/report.json/meta", arguments), "/files/{name}.json/meta");
+        Assert.assertEquals(arguments.get("name"), "report");
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/files/report", arguments), "/files/{name}");
+        Assert.assertEquals(arguments.get("name"), "report");
+
+        Assert.assertNull(match(template, "/files/report.csv", new HttpResourceArguments()));
+    }
+
+    @Test(description = "Test the wildcard and the extra path info it captures")
+    public void testWildcard() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/foo/*", "/foo/bar");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/foo/bar", arguments), "/foo/bar");
+        Assert.assertNull(arguments.get(HttpConstants.EXTRA_PATH_INFO));
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/foo/baz/qux", arguments), "/foo/*");
+        Assert.assertEquals(arguments.get(HttpConstants.EXTRA_PATH_INFO), "/baz/qux");
+
+        arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/foo/bar/qux", arguments), "/foo/*");
+        Assert.assertEquals(arguments.get(HttpConstants.EXTRA_PATH_INFO), "/bar/qux");
+
+        Assert.assertNull(match(template, "/other", new HttpResourceArguments()));
+    }
+
+    @Test(description = "Test the default resource which matches any path")
+    public void testDefaultResource() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/*", "/foo");
+
+        Assert.assertEquals(match(template, "/foo", new HttpResourceArguments()), "/foo");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/bar/baz", arguments), "/*");
+        Assert.assertEquals(arguments.get(HttpConstants.EXTRA_PATH_INFO), "/bar/baz");
+
+        Assert.assertEquals(match(template, "/", new HttpResourceArguments()), "/*");
+    }
+
+    @Test(description = "Test the root resource")
+    public void testRootResource() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/", "/foo");
+
+        Assert.assertEquals(match(template, "/", new HttpResourceArguments()), "/");
+        Assert.assertEquals(match(template, "/foo", new HttpResourceArguments()), "/foo");
+        Assert.assertNull(match(template, "/bar", new HttpResourceArguments()));
+    }
+
+    @Test(description = "Test that the resource arguments are only created when a path param is captured")
+    public void testResourceArguments() throws Exception {
+        URITemplate<String, Object> template = createTemplate("/foo", "/bar/{id}");
+
+        HttpResourceArguments arguments = new HttpResourceArguments();
+        Assert.assertEquals(match(template, "/foo", arguments), "/foo");
+        Assert.assertNull(arguments.get("id"));
+
+        arguments = new HttpResourceArguments();
+        match(template, "/bar/1", arguments);
+        Assert.assertEquals(arguments.get("id"), "1");
+        Assert.assertEquals(arguments.getMap().size(), 1);
+
+        arguments.put("id", "2");
+        Assert.assertEquals(arguments.get("id"), "2");
+        Assert.assertTrue(new HttpResourceArguments().getMap().isEmpty());
+    }
+
+    private static URITemplate<String, Object> createTemplate(String... paths)
+            throws URITemplateException, UnsupportedEncodingException {
+        URITemplate<String, Object> template = new URITemplate<>(new Literal<>(new PathDataElement(), "/"));
+        for (String path : paths) {
+            template.parse(path, path, PathDataElement::new);
+        }
+        return template;
+    }
+
+    private static String match(URITemplate<String, Object> template, String path, HttpResourceArguments arguments) {
+        return template.matches(path, arguments, null);
+    }
+
+    /**
+     * Data element which holds the template a path was registered with.
+     */
+    private static class PathDataElement implements DataElement<String, Object> {
+
+        private String path;
+
+        @Override
+        public void setData(String path) {
+            this.path = path;
+        }
+
+        @Override
+        public boolean hasData() {
+            return path != null;
+        }
+
+        @Override
+        public boolean getData(Object inboundMessage, DataReturnAgent<String> dataReturnAgent) {
+            if (path == null) {
+                return false;
+            }
+            dataReturnAgent.setData(path);
+            return true;
+        }
+    }
+}
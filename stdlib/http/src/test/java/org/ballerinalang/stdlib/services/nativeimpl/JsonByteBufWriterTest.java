@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.ballerinalang.stdlib.services.nativeimpl;
+
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.netty.buffer.ByteBuf;
+import io.netty.handler.codec.http.HttpContent;
+import io.netty.handler.codec.http.LastHttpContent;
+import org.ballerinalang.net.http.HttpUtil;
+import org.ballerinalang.net.http.JsonByteBufWriter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.transport.http.netty.message.HttpCarbonMessage;
+import org.wso2.transport.http.netty.message.HttpMessageDataStreamer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test cases for serializing JSON payloads with {@link JsonByteBufWriter}.
+ */
+public class JsonByteBufWriterTest {
+
+    @Test
+    public void testSameOutputAsJsonGenerator() throws IOException {
+        String payload = "{\"name\":\"caf\\u00e9 \\ud83d\\ude00\", \"path\":\"a/b\", " +
+                "\"quote\":\"say \\\"hi\\\"\\n\", " +
+                "\"values\":[1, -2.5, true, null, {}, []], \"nested\":{\"decimal\":1.25E+3}}";
+        Object json = JsonUtils.parse(payload);
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JsonUtils.serialize(json, expected, StandardCharsets.UTF_8);
+        Assert.assertEquals(serialize(json), expected.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testStringSpanningBuffers() throws IOException {
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            value.append("\u00e9\ud83d\ude00\n");
+        }
+        Object json = JsonUtils.parse("[\"" + value.toString().replace("\n", "\\n") + "\"]");
+
+        String expected = "[\"" + value.toString().replace("\n", "\\n") + "\"]";
+        Assert.assertEquals(serialize(json), expected);
+    }
+
+    @Test
+    public void testMessageContent() throws IOException {
+        StringBuilder payload = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            if (i > 0) {
+                payload.append(", ");
+            }
+            payload.append("{\"id\":").append(i).append(", \"name\":\"item \u00e9").append(i).append("\"}");
+        }
+        Object json = JsonUtils.parse(payload.append("]").toString());
+
+        HttpCarbonMessage message = HttpUtil.createHttpCarbonMessage(false);
+        OutputStream messageOutputStream = new HttpMessageDataStreamer(message).getOutputStream();
+        JsonByteBufWriter writer = new JsonByteBufWriter(message);
+        writer.serialize(json);
+        writer.flush();
+        // Written after the content added by the writer, and ends the message.
+        messageOutputStream.write(' ');
+        HttpUtil.closeMessageOutputStream(messageOutputStream);
+
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        int chunks = 0;
+        HttpContent httpContent;
+        do {
+            httpContent = message.getHttpContent();
+            ByteBuf buffer = httpContent.content();
+            buffer.readBytes(content, buffer.readableBytes());
+            buffer.release();
+            chunks++;
+        } while (!(httpContent instanceof LastHttpContent));
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        JsonUtils.serialize(json, expected, StandardCharsets.UTF_8);
+        expected.write(' ');
+        Assert.assertEquals(content.toString(StandardCharsets.UTF_8), expected.toString(StandardCharsets.UTF_8));
+        Assert.assertTrue(chunks > 2, "Expected the payload to be split into chunks, but got " + chunks);
+    }
+
+    private String serialize(Object json) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonByteBufWriter writer = new JsonByteBufWriter(out);
+        writer.serialize(json);
+        writer.flush();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
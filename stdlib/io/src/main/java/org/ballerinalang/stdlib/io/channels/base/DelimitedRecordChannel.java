@@ -17,6 +17,7 @@
 
 package org.ballerinalang.stdlib.io.channels.base;
 
+import org.ballerinalang.stdlib.io.csv.CsvTokenizer;
 import org.ballerinalang.stdlib.io.csv.Format;
 import org.ballerinalang.stdlib.io.utils.BallerinaIOException;
 import org.slf4j.Logger;
@@ -55,12 +56,34 @@ public class DelimitedRecordChannel implements IOChannel {
      */
     private StringBuilder persistentCharSequence;
 
+    /**
+     * Index of the first character in persistentCharSequence which is not read yet. Only the tokenizer reads records
+     * without removing them from persistentCharSequence.
+     */
+    private int position;
+
+    /**
+     * Splits the records of the predefined formats, which use line breaks as the record separator.
+     */
+    private CsvTokenizer tokenizer;
+
+    /**
+     * Compiled record and field separators, which are used when the separators are given as regular expressions.
+     */
+    private Pattern recordSeparatorPattern;
+    private Pattern fieldSeparatorPattern;
+
     /**
      * A rough character count which will contain a record. This will be resized dynamically if the length of the
      * record is long.
      */
     private int recordCharacterCount = 100;
 
+    /**
+     * Number of characters read from the channel at a time when reading records with the tokenizer.
+     */
+    private static final int TOKENIZER_READ_SIZE = 8192;
+
     /**
      * Read/Writes characters.
      */
@@ -92,14 +115,14 @@ public class DelimitedRecordChannel implements IOChannel {
      */
     private Format format;
 
-    private static final String DOUBLE_QUOTE_REGEX = "\"([^\"]*)\"";
-
     private static final Logger log = LoggerFactory.getLogger(DelimitedRecordChannel.class);
 
     public DelimitedRecordChannel(CharacterChannel channel, Format format) {
         this.channel = channel;
         this.format = format;
         this.persistentCharSequence = new StringBuilder();
+        this.tokenizer = new CsvTokenizer(format.getWriteFieldSeparator().charAt(0), format.shouldIgnoreBlanks());
+        this.recordCharacterCount = TOKENIZER_READ_SIZE;
     }
 
     public DelimitedRecordChannel(CharacterChannel channel, String recordSeparator, String fieldSeparator) {
@@ -107,6 +130,8 @@ public class DelimitedRecordChannel implements IOChannel {
         this.fieldSeparator = fieldSeparator;
         this.channel = channel;
         this.persistentCharSequence = new StringBuilder();
+        this.recordSeparatorPattern = Pattern.compile(recordSeparator);
+        this.fieldSeparatorPattern = Pattern.compile(fieldSeparator);
     }
 
     @Override
@@ -118,30 +143,6 @@ public class DelimitedRecordChannel implements IOChannel {
         return channel.getChannel();
     }
 
-    /**
-     * Retrieves the record separator for reading records.
-     *
-     * @return the record separator.
-     */
-    private String getRecordSeparatorForReading() {
-        if (null == format) {
-            return recordSeparator;
-        }
-        return format.getReadRecSeparator();
-    }
-
-    /**
-     * Retrieves field separator for reading.
-     *
-     * @return the field separator.
-     */
-    private String getFieldSeparatorForReading() {
-        if (null == format) {
-            return fieldSeparator;
-        }
-        return format.getReadFieldSeparator();
-    }
-
     /**
      * Retrieves record separator for writing.
      *
@@ -183,8 +184,7 @@ public class DelimitedRecordChannel implements IOChannel {
                 log.trace(String.format("char[] remaining in memory %s", persistentCharSequence));
             }
             //We need to split the string into 2
-            String[] delimitedRecord = persistentCharSequence.toString().
-                    split(getRecordSeparatorForReading(), numberOfSplits);
+            String[] delimitedRecord = recordSeparatorPattern.split(persistentCharSequence, numberOfSplits);
             if (delimitedRecord.length > minimumRecordCount) {
                 record = processIdentifiedRecord(delimitedRecord);
                 int recordCharacterLength = record.length();
@@ -194,8 +194,7 @@ public class DelimitedRecordChannel implements IOChannel {
             } else {
                 readRecordFromChannel();
                 if (channel.hasReachedEnd()) {
-                    delimitedRecord = persistentCharSequence.toString().
-                            split(getRecordSeparatorForReading(), numberOfSplits);
+                    delimitedRecord = recordSeparatorPattern.split(persistentCharSequence, numberOfSplits);
                     record = (delimitedRecord.length == numberOfSplits) ?
                             processIdentifiedRecord(delimitedRecord) :
                             readFinalRecord();
@@ -255,6 +254,11 @@ public class DelimitedRecordChannel implements IOChannel {
         if (log.isTraceEnabled()) {
             log.trace(String.format("char [] get from channel,%d=%s", channel.hashCode(), readCharacters));
         }
+        if (position > 0) {
+            //Drop the records which were read by the tokenizer before appending more characters
+            persistentCharSequence.delete(0, position);
+            position = 0;
+        }
         persistentCharSequence.append(readCharacters);
         if (log.isTraceEnabled()) {
             log.trace(String.format("char [] appended to the memory %s", persistentCharSequence));
@@ -290,46 +294,42 @@ public class DelimitedRecordChannel implements IOChannel {
     }
 
     /**
-     * <p>
-     * Split based on given regEx.
-     * </p>
-     * <p>
-     * This operation will produce null for blanks.
-     * </p>
+     * Reads the next record with the tokenizer, which reads the fields while it looks for the end of the record.
      *
-     * @param record record which should be separated.
-     * @param regex  condition which should be used to split.
-     * @return the list of fields
+     * @return the fields of the record, or null if there are no more records.
+     * @throws BallerinaIOException during I/O error.
      */
-    private String[] splitIgnoreBlanks(String record, String regex) {
-        Pattern reg = Pattern.compile(regex);
-        String[] split = reg.split(record);
-        for (int i = 0; i < split.length; i++) {
-            String field = split[i];
-            if (field.isEmpty()) {
-                split[i] = "";
-                continue;
-            }
-            if (field.matches(DOUBLE_QUOTE_REGEX)) {
-                split[i] = field.substring(field.indexOf('\"') + 1, field.lastIndexOf('\"'));
+    private String[] readTokenizedRecord() throws BallerinaIOException {
+        int recordEnd = tokenizer.tokenize(persistentCharSequence, position, false);
+        while (recordEnd < 0 && !channel.hasReachedEnd()) {
+            readRecordFromChannel();
+            recordEnd = tokenizer.tokenize(persistentCharSequence, position, false);
+        }
+        if (recordEnd < 0) {
+            //There're no more characters to be read, hence the remaining characters make the final record
+            this.remaining = false;
+            if (position == persistentCharSequence.length()) {
+                return null;
             }
+            recordEnd = tokenizer.tokenize(persistentCharSequence, position, true);
         }
-        return split;
+        recordCharacterCount = Math.max(recordCharacterCount, recordEnd - position);
+        position = recordEnd;
+        return tokenizer.getFields();
     }
 
     /**
-     * Get the fields identified through the record.
+     * Reads the next record by splitting the characters with the record and field separators.
      *
-     * @param record the record which contains all the fields.
-     * @return fields which are separated as records.
+     * @return the fields of the record, or null if there are no more records.
+     * @throws BallerinaIOException during I/O error.
      */
-    private String[] getFields(String record) {
-        String fieldSeparatorForReading = getFieldSeparatorForReading();
-        if (null != format && format.shouldIgnoreBlanks()) {
-            return splitIgnoreBlanks(record, fieldSeparatorForReading);
-        } else {
-            return record.split(fieldSeparatorForReading);
+    private String[] readDelimitedRecord() throws BallerinaIOException {
+        String record = readRecord();
+        if (!record.isEmpty() || remaining) {
+            return fieldSeparatorPattern.split(record);
         }
+        return null;
     }
 
     /**
@@ -352,9 +352,9 @@ public class DelimitedRecordChannel implements IOChannel {
                 log.debug(String.format("Reading record %d from %d", numberOfRecordsReadThroughChannel,
                         channel.hashCode()));
             }
-            String record = readRecord();
-            if (!record.isEmpty() || remaining) {
-                fields = getFields(record);
+            String[] recordFields = null != tokenizer ? readTokenizedRecord() : readDelimitedRecord();
+            if (null != recordFields) {
+                fields = recordFields;
                 numberOfRecordsReadThroughChannel++;
                 if (log.isDebugEnabled()) {
                     log.debug("Record " + numberOfRecordsReadThroughChannel + " returned " + fields.length + " from " +
@@ -460,7 +460,7 @@ public class DelimitedRecordChannel implements IOChannel {
 
     @Override
     public boolean remaining() {
-        return persistentCharSequence.length() > 0;
+        return persistentCharSequence.length() > position;
     }
 
     /**
@@ -470,7 +470,7 @@ public class DelimitedRecordChannel implements IOChannel {
      * @throws BallerinaIOException if encoding error or channel reading error happens
      */
     public boolean hasNext() throws BallerinaIOException {
-        if (remaining && persistentCharSequence.length() == 0) {
+        if (remaining && persistentCharSequence.length() == position) {
             //If this is the case we need to further verify whether there will be more bytes left to be read
             //Remaining can become false in the next iteration
             String readChars = readRecordFromChannel();
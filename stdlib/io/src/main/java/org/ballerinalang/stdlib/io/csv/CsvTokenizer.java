@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.io.csv;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Splits records separated by line breaks into fields in a single pass over the characters.
+ * </p>
+ * <p>
+ * When quoting is enabled, fields are read as specified by RFC 4180. A field enclosed in double quotes may contain
+ * field separators and line breaks, and a double quote in it is escaped by another double quote. A double quote which
+ * is not at the start of a field is kept as it is, but the field separators and line breaks up to the next double
+ * quote still do not end the field.
+ * </p>
+ * <p>
+ * As with {@link String#split(String)}, empty fields at the end of a record are dropped, unless the record has a
+ * single field.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class CsvTokenizer {
+
+    private static final char QUOTE = '"';
+    private static final char CARRIAGE_RETURN = '\r';
+    private static final char LINE_FEED = '\n';
+    private static final String[] EMPTY_RECORD = new String[0];
+
+    private final char fieldSeparator;
+    private final boolean quoting;
+
+    /**
+     * Fields of the last record, which is reused for the following records.
+     */
+    private final List<String> fields = new ArrayList<>();
+
+    /**
+     * Characters of the current field, which is reused for the following fields.
+     */
+    private final StringBuilder field = new StringBuilder();
+
+    /**
+     * Number of fields up to the last field which is not empty, including quoted empty fields.
+     */
+    private int nonEmptyFieldCount;
+
+    public CsvTokenizer(char fieldSeparator, boolean quoting) {
+        this.fieldSeparator = fieldSeparator;
+        this.quoting = quoting;
+    }
+
+    /**
+     * Reads the record which starts at the given index. The fields of the record are returned by
+     * {@link #getFields()}.
+     *
+     * @param chars      characters which contain the record
+     * @param start      index of the first character of the record
+     * @param endOfInput whether there are no more characters after the given ones, in which case the remaining
+     *                   characters are read as the final record if there is no line break
+     * @return the index after the line break which ends the record, or -1 if more characters are required to find
+     * the end of the record
+     */
+    public int tokenize(CharSequence chars, int start, boolean endOfInput) {
+        fields.clear();
+        field.setLength(0);
+        nonEmptyFieldCount = 0;
+        boolean quotedField = false;
+        boolean inQuotes = false;
+        boolean fieldEmpty = true;
+        int length = chars.length();
+        int index = start;
+        while (index < length) {
+            char c = chars.charAt(index++);
+            if (inQuotes) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (!quotedField) {
+                    field.append(c);
+                    inQuotes = false;
+                } else if (index < length) {
+                    if (chars.charAt(index) == QUOTE) {
+                        field.append(QUOTE);
+                        index++;
+                    } else {
+                        inQuotes = false;
+                    }
+                } else if (endOfInput) {
+                    inQuotes = false;
+                } else {
+                    // The next character decides whether the quote is escaped
+                    return -1;
+                }
+                continue;
+            }
+
+            if (c == fieldSeparator) {
+                addField(fieldEmpty);
+                quotedField = false;
+                fieldEmpty = true;
+            } else if (c == LINE_FEED) {
+                addField(fieldEmpty);
+                return index;
+            } else if (c == CARRIAGE_RETURN && index < length && chars.charAt(index) == LINE_FEED) {
+                addField(fieldEmpty);
+                return index + 1;
+            } else if (c == CARRIAGE_RETURN && index == length && !endOfInput) {
+                // The next character decides whether this is a line break
+                return -1;
+            } else if (quoting && c == QUOTE) {
+                if (fieldEmpty) {
+                    quotedField = true;
+                } else {
+                    field.append(c);
+                }
+                inQuotes = true;
+                fieldEmpty = false;
+            } else {
+                field.append(c);
+                fieldEmpty = false;
+            }
+        }
+        if (!endOfInput) {
+            return -1;
+        }
+        addField(fieldEmpty);
+        return length;
+    }
+
+    /**
+     * Returns the fields of the record read by the last call to {@link #tokenize(CharSequence, int, boolean)}.
+     *
+     * @return the fields of the record
+     */
+    public String[] getFields() {
+        if (fields.size() == 1) {
+            return new String[]{fields.get(0)};
+        }
+        if (nonEmptyFieldCount == 0) {
+            return EMPTY_RECORD;
+        }
+        return fields.subList(0, nonEmptyFieldCount).toArray(new String[nonEmptyFieldCount]);
+    }
+
+    private void addField(boolean fieldEmpty) {
+        fields.add(field.toString());
+        field.setLength(0);
+        if (!fieldEmpty) {
+            nonEmptyFieldCount = fields.size();
+        }
+    }
+}
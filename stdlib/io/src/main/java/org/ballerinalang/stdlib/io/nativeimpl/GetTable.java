@@ -39,9 +39,7 @@ import org.ballerinalang.stdlib.io.utils.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -67,18 +65,15 @@ public class GetTable {
             if (delimitedChannel.hasReachedEnd()) {
                 return IOUtils.createEoFError();
             }
-            List<String[]> records = new ArrayList<>();
-            while (delimitedChannel.hasNext()) {
-                records.add(delimitedChannel.read());
-            }
-            return getTable(bTypedesc, key, records);
+            return getTable(bTypedesc, key, delimitedChannel);
         } catch (BallerinaIOException | BError e) {
             String msg = "failed to process the delimited file: " + e.getMessage();
             return IOUtils.createError(msg);
         }
     }
 
-    private static BTable getTable(BTypedesc bTypedesc, BArray key, List<String[]> records) {
+    private static BTable getTable(BTypedesc bTypedesc, BArray key, DelimitedRecordChannel delimitedChannel)
+            throws BallerinaIOException {
         Type describingType = bTypedesc.getDescribingType();
         TableType newTableType;
         if (key.size() == 0) {
@@ -88,8 +83,10 @@ public class GetTable {
         }
         BTable table = ValueCreator.createTableValue(newTableType);
         StructureType structType = (StructureType) describingType;
-        for (String[] fields : records) {
-            final Map<String, Object> struct = getStruct(fields, structType);
+        // Records are added to the table as they are read, using the fields of the record type resolved once
+        Field[] structFields = structType.getFields().values().toArray(new Field[0]);
+        while (delimitedChannel.hasNext()) {
+            final Map<String, Object> struct = getStruct(delimitedChannel.read(), structFields);
             if (struct != null) {
                 table.add(ValueCreator.createRecordValue(describingType.getPackage(), describingType.getName(),
                                                          struct));
@@ -98,15 +95,13 @@ public class GetTable {
         return table;
     }
 
-    private static Map<String, Object> getStruct(String[] fields, final StructureType structType) {
-        Map<String, Field> internalStructFields = structType.getFields();
-        int fieldLength = internalStructFields.size();
+    private static Map<String, Object> getStruct(String[] fields, final Field[] structFields) {
+        int fieldLength = structFields.length;
         Map<String, Object> struct = null;
         if (fields.length > 0) {
-            Iterator<Map.Entry<String, Field>> itr = internalStructFields.entrySet().iterator();
-            struct = new HashMap();
+            struct = new HashMap<>(fieldLength * 2);
             for (int i = 0; i < fieldLength; i++) {
-                final Field internalStructField = itr.next().getValue();
+                final Field internalStructField = structFields[i];
                 final int type = internalStructField.getFieldType().getTag();
                 String fieldName = internalStructField.getFieldName();
                 if (fields.length > i) {
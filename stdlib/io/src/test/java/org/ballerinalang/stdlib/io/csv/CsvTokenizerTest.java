@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.ballerinalang.stdlib.io.csv;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests splitting records with {@link CsvTokenizer}.
+ */
+public class CsvTokenizerTest {
+
+    @Test(description = "Read quoted fields as specified by RFC 4180")
+    public void readQuotedFields() {
+        CsvTokenizer tokenizer = new CsvTokenizer(',', true);
+        String content = "\"User1,12\",\"say \"\"hi\"\"\",\"line\r\nbreak\"\r\nUser2,\"\",x\n";
+
+        int recordEnd = tokenizer.tokenize(content, 0, false);
+        Assert.assertEquals(tokenizer.getFields(), new String[]{"User1,12", "say \"hi\"", "line\r\nbreak"});
+        recordEnd = tokenizer.tokenize(content, recordEnd, false);
+        Assert.assertEquals(tokenizer.getFields(), new String[]{"User2", "", "x"});
+        Assert.assertEquals(recordEnd, content.length());
+    }
+
+    @Test(description = "Keep quotes which do not start a field")
+    public void readUnquotedFields() {
+        CsvTokenizer tokenizer = new CsvTokenizer(',', true);
+        tokenizer.tokenize("a, \"b,c\",d\"e", 0, true);
+        Assert.assertEquals(tokenizer.getFields(), new String[]{"a", " \"b,c\"", "d\"e"});
+
+        tokenizer = new CsvTokenizer('\t', false);
+        tokenizer.tokenize("\"a\tb\"\tc\n", 0, false);
+        Assert.assertEquals(tokenizer.getFields(), new String[]{"\"a", "b\"", "c"});
+    }
+
+    @Test(description = "Drop empty fields at the end of a record as String#split does")
+    public void readEmptyFields() {
+        CsvTokenizer tokenizer = new CsvTokenizer(',', true);
+        String[] records = {"3,Person3,,", ",", "", ",a", "a,\"\""};
+        for (String record : records) {
+            tokenizer.tokenize(record, 0, true);
+            String[] expected = record.split(",");
+            if (record.endsWith("\"\"")) {
+                expected = new String[]{"a", ""};
+            }
+            Assert.assertEquals(tokenizer.getFields(), expected, record);
+        }
+    }
+
+    @Test(description = "Request more characters when the end of a record is not found")
+    public void readIncompleteRecords() {
+        CsvTokenizer tokenizer = new CsvTokenizer(',', true);
+        Assert.assertEquals(tokenizer.tokenize("a,b", 0, false), -1);
+        Assert.assertEquals(tokenizer.tokenize("a,\"b\n", 0, false), -1);
+        Assert.assertEquals(tokenizer.tokenize("a,\"b\"", 0, false), -1);
+        Assert.assertEquals(tokenizer.tokenize("a,b\r", 0, false), -1);
+
+        Assert.assertEquals(tokenizer.tokenize("a,b\r", 0, true), 4);
+        Assert.assertEquals(tokenizer.getFields(), new String[]{"a", "b\r"});
+        Assert.assertEquals(tokenizer.tokenize("x\na,\"b", 2, true), 6);
+        Assert.assertEquals(tokenizer.getFields(), new String[]{"a", "b"});
+    }
+}
@@ -44,6 +44,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.OpenOption;
@@ -225,6 +226,27 @@ public class EntityBodyHandler {
         return jsonData;
     }
 
+    /**
+     * Construct a value of the given type from the JSON content of the given input stream, without building the json
+     * first.
+     *
+     * @param entity      Represent an entity object
+     * @param inputStream Represent the input stream
+     * @param targetType  Type of the value, for which {@link JsonUtils#canParseAs(Type)} is true
+     * @return value of the given type
+     */
+    public static Object constructJsonDataSource(BObject entity, InputStream inputStream, Type targetType) {
+        String charsetValue = null;
+        String contentTypeValue = EntityHeaderHandler.getHeaderValue(entity, CONTENT_TYPE);
+        if (isNotNullAndEmpty(contentTypeValue)) {
+            charsetValue = MimeUtil.getContentTypeParamValue(contentTypeValue, CHARSET);
+        }
+        if (!isNotNullAndEmpty(charsetValue)) {
+            charsetValue = Charset.defaultCharset().name();
+        }
+        return JsonUtils.parse(inputStream, charsetValue, targetType);
+    }
+
     /**
      * Construct XML data source from the underneath byte channel which is associated with the entity object.
      *
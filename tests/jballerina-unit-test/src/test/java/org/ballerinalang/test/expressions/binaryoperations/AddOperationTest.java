@@ -20,6 +20,7 @@ import org.ballerinalang.core.model.values.BFloat;
 import org.ballerinalang.core.model.values.BInteger;
 import org.ballerinalang.core.model.values.BString;
 import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.core.model.values.BValueArray;
 import org.ballerinalang.test.BAssertUtil;
 import org.ballerinalang.test.BCompileUtil;
 import org.ballerinalang.test.BRunUtil;
@@ -111,6 +112,53 @@ public class AddOperationTest {
         Assert.assertEquals(actualResult, expectedResult);
     }
 
+    @Test(description = "Test a chain of string add expressions")
+    public void testStringChainAddExpr() {
+        String longPart = repeat("long", 100);
+        BValue[] args = {new BString("a"), new BString(longPart), new BString("c"), new BString("d")};
+        BValue[] returns = BRunUtil.invoke(result, "stringChainAdd", args);
+        Assert.assertEquals(returns[0].stringValue(), "a" + longPart + "cd");
+
+        args = new BValue[]{new BString("a"), new BString("b"), new BString("c"), new BString("d")};
+        returns = BRunUtil.invoke(result, "stringChainAdd", args);
+        Assert.assertEquals(returns[0].stringValue(), "abcd");
+    }
+
+    @Test(description = "Test chains of string add expressions which are evaluated at the same time")
+    public void testStringChainsAsArguments() {
+        BValue[] args = {new BString("a"), new BString("b"), new BString("c")};
+        BValue[] returns = BRunUtil.invoke(result, "stringChainsAsArguments", args);
+        Assert.assertEquals(returns[0].stringValue(), "abccba");
+    }
+
+    @Test(description = "Test a chain of string add expressions which uses a variable more than once")
+    public void testStringChainWithReusedOperand() {
+        BValue[] args = {new BString("a"), new BString("b")};
+        BValue[] returns = BRunUtil.invoke(result, "stringChainWithReusedOperand", args);
+        Assert.assertEquals(returns[0].stringValue(), "abaabb");
+    }
+
+    @Test(description = "Test a chain of string add expressions in a loop")
+    public void testStringChainInLoop() {
+        BValue[] args = {new BString("item"), new BInteger(200)};
+        BValue[] returns = BRunUtil.invoke(result, "stringChainInLoop", args);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            expected.append("item").append(i).append(",");
+        }
+        Assert.assertEquals(returns[0].stringValue(), expected.toString());
+    }
+
+    @Test(description = "Test the code points of a chain of string add expressions with non BMP characters")
+    public void testStringChainCodePoints() {
+        String nonBmp = "\uD83D\uDE00";
+        String longPart = repeat("x" + nonBmp, 150);
+        BValue[] args = {new BString(nonBmp + "a"), new BString(longPart), new BString("b" + nonBmp)};
+        BValueArray returns = (BValueArray) BRunUtil.invoke(result, "stringChainCodePoints", args)[0];
+        Assert.assertEquals(((BInteger) returns.getBValue(0)).intValue(), 2 + 300 + 2);
+        Assert.assertEquals(returns.getBValue(1).stringValue(), longPart);
+    }
+
     @Test(description = "Test int float add expression")
     public void testIntFloatAddExpr() {
         int a = 10;
@@ -166,4 +214,12 @@ public class AddOperationTest {
         BAssertUtil.validateError(resultNegative, 0, "operator '+' not defined for 'json' and 'json'", 8, 10);
         BAssertUtil.validateError(resultNegative, 1, "operator '+' not defined for 'int' and 'string'", 14, 9);
     }
+
+    private static String repeat(String str, int count) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.append(str);
+        }
+        return builder.toString();
+    }
 }
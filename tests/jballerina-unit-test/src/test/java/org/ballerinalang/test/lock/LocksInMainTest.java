@@ -32,6 +32,8 @@ import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
+import org.wso2.ballerinalang.compiler.bir.model.BIRNode;
+import org.wso2.ballerinalang.compiler.bir.model.BIRTerminator;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
@@ -299,6 +301,42 @@ public class LocksInMainTest {
         BRunUtil.invoke(parallelCompileResult, "testForGlobalRefUpdateInsideConditional");
     }
 
+    @Test(description = "Test for read only locks running concurrently with locks that update the same globals")
+    public void testReadOnlyLocksWithConcurrentWrites() {
+        BRunUtil.invoke(parallelCompileResult, "testReadOnlyLocksWithConcurrentWrites");
+    }
+
+    @Test(description = "Test that only the lock regions which do not update globals are acquired in shared mode")
+    public void testReadOnlyLockRegionsAreShared() {
+        BCompileUtil.BIRCompileResult birCompileResult =
+                BCompileUtil.generateBIR("test-src/lock/parallel-run-lock.bal");
+        Assert.assertNotNull(birCompileResult);
+
+        int sharedLocks = 0;
+        int exclusiveLocks = 0;
+        for (BIRNode.BIRFunction function : birCompileResult.getExpectedBIR().functions) {
+            for (BIRNode.BIRBasicBlock basicBlock : function.basicBlocks) {
+                if (!(basicBlock.terminator instanceof BIRTerminator.Lock)) {
+                    continue;
+                }
+                BIRTerminator.Lock lock = (BIRTerminator.Lock) basicBlock.terminator;
+                boolean locksPairA = lock.lockVariables.stream()
+                        .anyMatch(globalVar -> globalVar.name.value.equals("readOnlyLockPairA"));
+                if (!locksPairA) {
+                    continue;
+                }
+                if (lock.readOnly) {
+                    sharedLocks++;
+                } else {
+                    exclusiveLocks++;
+                }
+            }
+        }
+        // Workers w2 and w3 only read the pair, while w1 increments it.
+        assertEquals(sharedLocks, 2);
+        assertEquals(exclusiveLocks, 1);
+    }
+
     @AfterClass
     public void tearDown() {
         parallelCompileResult = null;
@@ -154,6 +154,18 @@ public class LimitClauseTest {
         Assert.assertTrue(((BBoolean) values[0]).booleanValue());
     }
 
+    @Test(description = "Test limit clause with a limit < 1")
+    public void testLimitClauseWithInvalidLimit() {
+        BValue[] values = BRunUtil.invoke(result, "testLimitClauseWithInvalidLimit");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test limit clause with a map")
+    public void testLimitClauseWithMap() {
+        BValue[] values = BRunUtil.invoke(result, "testLimitClauseWithMap");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
     @Test(description = "Test limit clause with incompatible types", groups = {"disableOnOldParser"})
     public void testNegativeScenarios() {
         negativeResult = BCompileUtil.compile("test-src/query/limit-clause-negative.bal");
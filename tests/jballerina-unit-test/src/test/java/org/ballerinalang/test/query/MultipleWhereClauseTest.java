@@ -18,6 +18,7 @@
 
 package org.ballerinalang.test.query;
 
+import org.ballerinalang.core.model.values.BBoolean;
 import org.ballerinalang.core.model.values.BFloat;
 import org.ballerinalang.core.model.values.BMap;
 import org.ballerinalang.core.model.values.BValue;
@@ -89,6 +90,12 @@ public class MultipleWhereClauseTest {
         Assert.assertEquals(((BFloat) person1.get("score")).floatValue(), 90.6);
     }
 
+    @Test(description = "Test where clauses comparing the fields of the rows of a table with a value")
+    public void testWhereClausesOnFieldsOfTable() {
+        BValue[] returnValues = BRunUtil.invoke(result, "testWhereClausesOnFieldsOfTable");
+        Assert.assertTrue(((BBoolean) returnValues[0]).booleanValue());
+    }
+
     @AfterClass
     public void tearDown() {
         result = null;
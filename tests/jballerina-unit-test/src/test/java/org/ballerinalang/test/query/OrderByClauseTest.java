@@ -239,6 +239,25 @@ public class OrderByClauseTest {
                 "<author>Dan Brown</author><author>Enid Blyton</author>");
     }
 
+    @Test(description = "Test query expr with order by clause followed by a limit clause")
+    public void testQueryExprWithOrderByAndLimitClauses() {
+        BValue[] values = BRunUtil.invoke(result, "testQueryExprWithOrderByAndLimitClauses");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by clause followed by a limit clause with a constant or a " +
+            "parameter")
+    public void testQueryExprWithOrderByAndLimitClausesWithoutLiterals() {
+        BValue[] values = BRunUtil.invoke(result, "testQueryExprWithOrderByAndLimitClausesWithoutLiterals");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(description = "Test query expr with order by clause on more frames than are sorted in memory")
+    public void testQueryExprWithOrderByClauseOnManyFrames() {
+        BValue[] values = BRunUtil.invoke(result, "testQueryExprWithOrderByClauseOnManyFrames");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
     @Test(description = "Test negative scenarios for query expr with order by clause")
     public void testNegativeScenarios() {
         Assert.assertEquals(negativeResult.getErrorCount(), 3);
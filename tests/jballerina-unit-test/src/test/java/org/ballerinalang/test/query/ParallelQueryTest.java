@@ -0,0 +1,115 @@
+/*
+ *  Copyright (c) 2020, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ */
+package org.ballerinalang.test.query;
+
+import io.ballerina.runtime.internal.scheduling.Scheduler;
+import org.ballerinalang.core.model.values.BBoolean;
+import org.ballerinalang.core.model.values.BValue;
+import org.ballerinalang.test.BCompileUtil;
+import org.ballerinalang.test.BRunUtil;
+import org.ballerinalang.test.CompileResult;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This contains methods to test the parallel execution of query expressions with isolated clauses, which is enabled
+ * with the BALLERINA_QUERY_PARALLEL system variable set for the tests. The results should be the same as those of
+ * the sequential execution.
+ *
+ * @since 2.0.0
+ */
+public class ParallelQueryTest {
+    private static final Set<Integer> QUERY_STRAND_IDS = ConcurrentHashMap.newKeySet();
+
+    private CompileResult result;
+
+    @BeforeClass
+    public void setup() {
+        result = BCompileUtil.compile("test-src/query/parallel-query.bal");
+    }
+
+    @Test(dataProvider = "queryFunctions", description = "Test isolated queries over lists run in parallel")
+    public void testParallelQueries(String function) {
+        BValue[] values = BRunUtil.invoke(result, function);
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+    }
+
+    @Test(dataProvider = "strandRecordingQueryFunctions",
+            description = "Test that isolated queries over lists are run on a strand per part")
+    public void testParallelQueriesRunOnMultipleStrands(String function) {
+        if (Runtime.getRuntime().availableProcessors() < 2) {
+            throw new SkipException("Queries are run sequentially with a single processor");
+        }
+        QUERY_STRAND_IDS.clear();
+        BValue[] values = BRunUtil.invoke(result, function);
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+        Assert.assertTrue(QUERY_STRAND_IDS.size() > 1);
+    }
+
+    @Test(description = "Test that an isolated query over a list too small to be split is run on a single strand")
+    public void testQueryOverSmallListRunsOnSingleStrand() {
+        QUERY_STRAND_IDS.clear();
+        BValue[] values = BRunUtil.invoke(result, "testIsolatedQueryOverSmallListOnStrands");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+        Assert.assertEquals(QUERY_STRAND_IDS.size(), 1);
+    }
+
+    @Test(description = "Test that a query capturing a mutable local variable is not run in parallel")
+    public void testQueryCapturingMutableLocalVariable() {
+        QUERY_STRAND_IDS.clear();
+        BValue[] values = BRunUtil.invoke(result, "testQueryCapturingMutableLocalVariable");
+        Assert.assertTrue(((BBoolean) values[0]).booleanValue());
+        Assert.assertEquals(QUERY_STRAND_IDS.size(), 1);
+    }
+
+    public static long recordStrand(long i) {
+        QUERY_STRAND_IDS.add(Scheduler.getStrand().getId());
+        return i;
+    }
+
+    @DataProvider(name = "queryFunctions")
+    public Object[][] queryFunctions() {
+        return new Object[][]{
+                {"testIsolatedQueryOverList"},
+                {"testIsolatedQueryOverRecordList"},
+                {"testQueryOverListWithModuleVariable"},
+                {"testIsolatedQueryOverEmptyList"}
+        };
+    }
+
+    @DataProvider(name = "strandRecordingQueryFunctions")
+    public Object[][] strandRecordingQueryFunctions() {
+        return new Object[][]{
+                {"testIsolatedQueryOverListOnStrands"},
+                {"testFirstErrorOfIsolatedQuery"},
+                {"testFirstPanicOfIsolatedQuery"}
+        };
+    }
+
+    @AfterClass
+    public void tearDown() {
+        result = null;
+    }
+}
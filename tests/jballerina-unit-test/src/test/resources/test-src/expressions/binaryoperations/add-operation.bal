@@ -39,3 +39,29 @@ function stringXmlAdd() returns (xml) {
     xml b = xml `abc`;
     return a + b;
 }
+
+function stringChainAdd(string a, string b, string c, string d) returns string {
+    return a + b + c + d;
+}
+
+function stringChainsAsArguments(string a, string b, string c) returns string {
+    return stringAdd(a + b + c, c + b + a);
+}
+
+function stringChainWithReusedOperand(string a, string b) returns string {
+    string ab = a + b;
+    return ab + a + ab + b;
+}
+
+function stringChainInLoop(string part, int count) returns string {
+    string result = "";
+    foreach int i in 0 ..< count {
+        result = result + part + i.toString() + ",";
+    }
+    return result;
+}
+
+function stringChainCodePoints(string a, string b, string c) returns [int, string] {
+    string result = a + b + c;
+    return [result.length(), result.substring(a.length(), a.length() + b.length())];
+}
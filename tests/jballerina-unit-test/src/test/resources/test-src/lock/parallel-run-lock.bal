@@ -330,6 +330,58 @@ function testForGlobalRefUpdateInsideConditional() {
     }
 }
 
+int readOnlyLockPairA = 0;
+int readOnlyLockPairB = 0;
+
+function testReadOnlyLocksWithConcurrentWrites() {
+    @strand {thread: "any"}
+    worker w1 {
+        foreach var i in 1 ... 1000 {
+            lock {
+                readOnlyLockPairA = readOnlyLockPairA + 1;
+                readOnlyLockPairB = readOnlyLockPairB + 1;
+            }
+        }
+    }
+
+    @strand {thread: "any"}
+    worker w2 returns boolean {
+        boolean consistent = true;
+        foreach var i in 1 ... 1000 {
+            int a = 0;
+            int b = 0;
+            lock {
+                a = readOnlyLockPairA;
+                b = readOnlyLockPairB;
+            }
+            consistent = consistent && a == b;
+        }
+        return consistent;
+    }
+
+    @strand {thread: "any"}
+    worker w3 returns boolean {
+        boolean consistent = true;
+        foreach var i in 1 ... 1000 {
+            int a = 0;
+            int b = 0;
+            lock {
+                a = readOnlyLockPairA;
+                b = readOnlyLockPairB;
+            }
+            consistent = consistent && a == b;
+        }
+        return consistent;
+    }
+
+    wait w1;
+    boolean w2Consistent = wait w2;
+    boolean w3Consistent = wait w3;
+    if (!w2Consistent || !w3Consistent || readOnlyLockPairA != 1000 || readOnlyLockPairB != 1000) {
+        panic error("Inconsistent values read inside read only locks in \"testReadOnlyLocksWithConcurrentWrites\"");
+    }
+}
+
 public function sleep(int millis) = @java:Method {
     'class: "org.ballerinalang.test.utils.interop.Sleep"
 } external;
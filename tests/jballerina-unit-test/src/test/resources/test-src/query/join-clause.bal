@@ -448,6 +448,43 @@ function testSimpleJoinClauseWithFunctionInAnEquals() returns boolean {
     return testPassed;
 }
 
+function testJoinClauseWithStructuredKeys() returns boolean {
+    Person p1 = {id: 1, fname: "Alex", lname: "George"};
+    Person p2 = {id: 2, fname: "Ranjan", lname: "Fonseka"};
+    Person p3 = {id: 3, fname: "John", lname: "David"};
+    Person p4 = {id: 1, fname: "Rohan", lname: "Perera"};
+
+    Department d1 = {id: 1, name:"HR"};
+    Department d2 = {id: 4, name:"Operations"};
+    Department d3 = {id: 1, name:"Legal"};
+
+    Person[] personList = [p1, p2, p3, p4];
+    Department[] deptList = [d1, d2, d3];
+
+    DeptPerson[] deptPersonList =
+       from var person in personList
+       join Department dept in deptList
+       on {id: person.id} equals {id: dept.id}
+       select {
+           fname : person.fname,
+           lname : person.lname,
+           dept : dept.name
+       };
+
+    boolean testPassed = true;
+    DeptPerson dp;
+    testPassed = testPassed && deptPersonList.length() == 4;
+    dp = deptPersonList[0];
+    testPassed = testPassed && dp.fname == "Alex" && dp.dept == "HR";
+    dp = deptPersonList[1];
+    testPassed = testPassed && dp.fname == "Alex" && dp.dept == "Legal";
+    dp = deptPersonList[2];
+    testPassed = testPassed && dp.fname == "Rohan" && dp.dept == "HR";
+    dp = deptPersonList[3];
+    testPassed = testPassed && dp.fname == "Rohan" && dp.dept == "Legal";
+    return testPassed;
+}
+
 function getDeptName(int id) returns string {
     if (id == 1) {
         return "HR";
@@ -259,3 +259,24 @@ function testLetExpressionWithLimitClause() returns boolean {
     testPassed = testPassed && p.firstName == "John" && p.lastName == "David" && p.age == 34;
     return testPassed;
 }
+
+function testLimitClauseWithInvalidLimit() returns boolean {
+    Person[]|error result = trap limitPersons(0);
+    return result is error && result.message() == "Invalid limit";
+}
+
+function limitPersons(int count) returns Person[] {
+    Person[] personList = [{firstName: "Alex", lastName: "George", age: 33}];
+    return from var person in personList
+           limit count
+           select person;
+}
+
+function testLimitClauseWithMap() returns boolean {
+    map<int> ages = {alex: 33, ranjan: 35, john: 33, max: 40};
+    int[] output = from var age in ages
+                   where age > 33
+                   limit 1
+                   select age;
+    return output.length() == 1 && output[0] == 35;
+}
@@ -30,6 +30,14 @@ type Student record{|
     float score;
 |};
 
+type Employee record {|
+    readonly int id;
+    readonly string team;
+    string name;
+|};
+
+const TEAM_B = "B";
+
 function testMultipleWhereClausesWithSimpleVariable() returns Person[]{
 
     Person p1 = {firstName: "Alex", lastName: "George", deptAccess: "XYZ"};
@@ -100,3 +108,25 @@ function testLogicalOperandsWithWhere() returns Student[]{
 
     return  outputStudentList;
 }
+
+function testWhereClausesOnFieldsOfTable() returns boolean {
+    table<Employee> key(id) employees = table [
+        {id: 1, team: "A", name: "Alex"},
+        {id: 2, team: "B", name: "Ranjan"},
+        {id: 3, team: "A", name: "John"}
+    ];
+
+    string[] teamA = from var employee in employees where employee.team == "A" select employee.name;
+    employees.add({id: 4, team: "A", name: "Anne"});
+    Employee removed = employees.remove(1);
+    string[] teamAAfterUpdate = from var employee in employees where "A" == employee.team select employee.name;
+    string[] teamB = from var employee in employees where employee.team == TEAM_B select employee.name;
+    string[] john = from var employee in employees where employee.name == "John" select employee.name;
+
+    return teamA == ["Alex", "John"] && teamAAfterUpdate == ["John", "Anne"] && teamB == ["Ranjan"] &&
+        john == ["John"] && getNamesInTeam(employees, "A") == ["John", "Anne"];
+}
+
+function getNamesInTeam(table<Employee> employees, string team) returns string[] {
+    return from var employee in employees where employee.team == team select employee.name;
+}
@@ -498,6 +498,78 @@ function testQueryExprWithOrderByClauseAndInnerQueries2() returns CustomerProfil
     return customerProfileList;
 }
 
+function testQueryExprWithOrderByAndLimitClauses() returns boolean {
+    int[] numbers = [5, 3, 9, 7, 6, 1, 4, 0, 8, 2];
+
+    int[] byRemainder = from var n in numbers
+         order by n % 3
+         limit 5
+         select n;
+
+    int[] byRemainderAndValue = from var n in numbers
+         order by n % 3, n descending
+         limit 5
+         select n;
+
+    int[] all = from var n in numbers
+         order by n descending
+         limit 20
+         select n;
+
+    int[] allWithLargeLimit = from var n in numbers
+         order by n
+         limit 100000000
+         select n;
+
+    return byRemainder == [3, 9, 6, 0, 7] && byRemainderAndValue == [9, 6, 3, 0, 7]
+        && all == [9, 8, 7, 6, 5, 4, 3, 2, 1, 0] && allWithLargeLimit == [0, 1, 2, 3, 4, 5, 6, 7, 8, 9];
+}
+
+const TOP_COUNT = 3;
+
+function testQueryExprWithOrderByAndLimitClausesWithoutLiterals() returns boolean {
+    int[] numbers = [5, 3, 9, 7, 6, 1, 4, 0, 8, 2];
+
+    int[] topThree = from var n in numbers
+         order by n descending
+         limit TOP_COUNT
+         select n;
+
+    return topThree == [9, 8, 7] && getSmallest(numbers, 4) == [0, 1, 2, 3] && getSmallest(numbers, 0) == []
+        && getSmallest(numbers, 12) == [0, 1, 2, 3, 4, 5, 6, 7, 8, 9];
+}
+
+function getSmallest(int[] numbers, int count) returns int[] {
+    return from var n in numbers
+         order by n
+         limit count
+         select n;
+}
+
+function testQueryExprWithOrderByClauseOnManyFrames() returns boolean {
+    int[] numbers = [];
+    foreach int i in 0 ..< 150000 {
+        numbers.push((i * 7919) % 100003);
+    }
+
+    string[] ordered = from var n in numbers
+         let string name = n.toString()
+         order by n % 1000, n descending
+         select name;
+
+    if (ordered.length() != numbers.length()) {
+        return false;
+    }
+    foreach int i in 1 ..< ordered.length() {
+        int prev = checkpanic int:fromString(ordered[i - 1]);
+        int next = checkpanic int:fromString(ordered[i]);
+        if (prev % 1000 > next % 1000 || (prev % 1000 == next % 1000 && prev < next)) {
+            return false;
+        }
+    }
+    return true;
+}
+
 function incrementCount(int i) returns int {
     int count = i + 2;
     return count;
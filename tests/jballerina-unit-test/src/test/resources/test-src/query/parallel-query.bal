@@ -0,0 +1,186 @@
+// Copyright (c) 2020 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+//
+// WSO2 Inc. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+type Person record {|
+    string name;
+    int age;
+|};
+
+int minAge = 18;
+
+isolated function square(int i) returns int {
+    return i * i;
+}
+
+isolated function recordStrand(int i) returns int = @java:Method {
+    'class: "org.ballerinalang.test.query.ParallelQueryTest"
+} external;
+
+isolated function validate(int i) returns int|error {
+    if (i % 250 == 249) {
+        return error("invalid " + i.toString());
+    }
+    return i;
+}
+
+isolated function assertValid(int i) returns int {
+    if (i % 250 == 249) {
+        panic error("invalid " + i.toString());
+    }
+    return i;
+}
+
+isolated function markSeen(map<boolean> seen, int i) returns boolean {
+    string key = i.toString();
+    boolean seenBefore = seen.hasKey(key);
+    seen[key] = true;
+    return !seenBefore;
+}
+
+function testIsolatedQueryOverList() returns boolean {
+    int[] nums = [];
+    foreach int i in 0 ..< 1000 {
+        nums.push(i);
+    }
+    int offset = 3;
+
+    int[] result = from int i in nums
+                   let int sq = square(i)
+                   where sq % 2 == 0
+                   select sq + offset;
+
+    if (result.length() != 500) {
+        return false;
+    }
+    foreach int i in 0 ..< 500 {
+        if (result[i] != (2 * i) * (2 * i) + offset) {
+            return false;
+        }
+    }
+    return true;
+}
+
+function testIsolatedQueryOverListOnStrands() returns boolean {
+    int[] nums = [];
+    foreach int i in 0 ..< 1000 {
+        nums.push(i);
+    }
+
+    int[] result = from int i in nums
+                   select recordStrand(i);
+
+    return result == nums;
+}
+
+function testIsolatedQueryOverSmallListOnStrands() returns boolean {
+    // Splitting the list would leave fewer elements in a part than the minimum part size of 100.
+    int[] nums = [];
+    foreach int i in 0 ..< 150 {
+        nums.push(i);
+    }
+
+    int[] result = from int i in nums
+                   select recordStrand(i);
+
+    return result == nums;
+}
+
+function testFirstErrorOfIsolatedQuery() returns boolean {
+    int[] nums = [];
+    foreach int i in 0 ..< 1000 {
+        nums.push(i);
+    }
+
+    // Parts after the first may fail earlier, but the error of the first failing part is returned.
+    int[]|error result = from int i in nums
+                         select check validate(recordStrand(i));
+
+    if (result is error) {
+        return result.message() == "invalid 249";
+    }
+    return false;
+}
+
+function testFirstPanicOfIsolatedQuery() returns boolean {
+    int[] nums = [];
+    foreach int i in 0 ..< 1000 {
+        nums.push(i);
+    }
+
+    int[]|error result = trap (from int i in nums
+                               select assertValid(recordStrand(i)));
+
+    if (result is error) {
+        return result.message() == "invalid 249";
+    }
+    return false;
+}
+
+function testIsolatedQueryOverRecordList() returns boolean {
+    Person[] persons = [];
+    foreach int i in 0 ..< 100 {
+        persons.push({name: "person" + i.toString(), age: i});
+    }
+
+    string[] names = from var {name, age} in persons
+                     where age >= 90
+                     select name;
+
+    return names == ["person90", "person91", "person92", "person93", "person94", "person95", "person96",
+                     "person97", "person98", "person99"];
+}
+
+function testQueryOverListWithModuleVariable() returns boolean {
+    Person[] persons = [{name: "Alex", age: 12}, {name: "Ranjan", age: 30}, {name: "John", age: 18},
+                        {name: "Kate", age: 17}];
+
+    string[] adults = from var person in persons
+                      where person.age >= minAge
+                      select person.name;
+
+    return adults == ["Ranjan", "John"];
+}
+
+function testIsolatedQueryOverEmptyList() returns boolean {
+    int[] nums = [];
+    int[] result = from int i in nums
+                   select i * 2;
+    return result.length() == 0;
+}
+
+function testQueryCapturingMutableLocalVariable() returns boolean {
+    int[] nums = [];
+    foreach int i in 0 ..< 1000 {
+        nums.push(i % 100);
+    }
+    map<boolean> seen = {};
+
+    int[] result = from int i in nums
+                   where markSeen(seen, i)
+                   select recordStrand(i);
+
+    if (result.length() != 100) {
+        return false;
+    }
+    foreach int i in 0 ..< 100 {
+        if (result[i] != i) {
+            return false;
+        }
+    }
+    return true;
+}